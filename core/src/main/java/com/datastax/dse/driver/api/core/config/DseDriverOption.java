@@ -288,6 +288,13 @@ public enum DseDriverOption implements DriverOption {
    * <p>Value-type: {@link java.time.Duration Duration}
    */
   METRICS_NODE_GRAPH_MESSAGES_SLO("advanced.metrics.node.graph-messages.slo"),
+
+  /**
+   * The maximum number of bytes that can be stored in the continuous paging local queue.
+   *
+   * <p>Value-type: long
+   */
+  CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES("advanced.continuous-paging.max-enqueued-bytes"),
   ;
 
   private final String path;
@@ -102,6 +102,15 @@ public class ContinuousCqlRequestHandler
     return executionProfile.getInt(DseDriverOption.CONTINUOUS_PAGING_MAX_ENQUEUED_PAGES);
   }
 
+  @Override
+  protected long getMaxEnqueuedBytes(@NonNull Statement<?> statement) {
+    DriverExecutionProfile executionProfile =
+        Conversions.resolveExecutionProfile(statement, context);
+    return executionProfile.isDefined(DseDriverOption.CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES)
+        ? executionProfile.getBytes(DseDriverOption.CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES)
+        : 0;
+  }
+
   @Override
   protected int getMaxPages(@NonNull Statement<?> statement) {
     DriverExecutionProfile executionProfile =
@@ -220,6 +220,17 @@ public abstract class ContinuousRequestHandlerBase<StatementT extends Request, R
 
   protected abstract int getMaxEnqueuedPages(@NonNull StatementT statement);
 
+  /**
+   * The maximum number of bytes that the local queue should hold, or 0 if only {@link
+   * #getMaxEnqueuedPages(Request)} applies.
+   *
+   * <p>When positive, the effective queue capacity shrinks for large pages, based on the average
+   * size of the responses received so far. The default implementation returns 0.
+   */
+  protected long getMaxEnqueuedBytes(@NonNull StatementT statement) {
+    return 0;
+  }
+
   protected abstract int getMaxPages(@NonNull StatementT statement);
 
   @NonNull
@@ -499,6 +510,17 @@ public abstract class ContinuousRequestHandlerBase<StatementT extends Request, R
     @GuardedBy("lock")
     private int numPagesRequested;
 
+    // A moving average of the size of the responses received so far, in bytes. Zero until the
+    // first response with a known size arrives.
+    @GuardedBy("lock")
+    private long averagePageBytes;
+
+    // Whether the client found the queue empty the last time it asked for a page. When that is the
+    // case, the client is faster than the server, and we request more pages as soon as there is
+    // room for one, instead of waiting for half of the queue to drain.
+    @GuardedBy("lock")
+    private boolean consumerStarved;
+
     // An integer that represents the state of the continuous paging request:
     // - if positive, it is the sequence number of the next expected page;
     // - if negative, it is a terminal state, identified by the constants below.
@@ -839,6 +861,9 @@ public abstract class ContinuousRequestHandlerBase<StatementT extends Request, R
                 false);
           } else {
             int pageSize = ((Rows) result).getData().size();
+            if (frame != null) {
+              updateAveragePageBytes(frame.size);
+            }
             ResultSetT resultSet =
                 createResultSet(statement, (Rows) result, executionInfo, columnDefinitions);
             if (rowsMetadata.isLastContinuousPage) {
@@ -1217,6 +1242,11 @@ public abstract class ContinuousRequestHandlerBase<StatementT extends Request, R
         Object head = null;
         if (queue != null) {
           head = queue.poll();
+          if (head == null) {
+            consumerStarved = true;
+          } else if (queue.size() >= queueCapacity() / 2) {
+            consumerStarved = false;
+          }
           if (!protocolBackpressureAvailable
               && head != null
               && queue.size() == getMaxEnqueuedPages(statement) - 1) {
@@ -1271,9 +1301,12 @@ public abstract class ContinuousRequestHandlerBase<StatementT extends Request, R
 
     /**
      * If the total number of results in the queue and in-flight (requested - received) is less than
-     * half the queue size, then request more pages, unless the {@link #state} is failed, we're
+     * half the queue capacity, then request more pages, unless the {@link #state} is failed, we're
      * still waiting for the first page (so maybe still throttled or in the middle of a retry), or
      * we don't support backpressure at the protocol level.
+     *
+     * <p>If the client is consuming pages faster than they arrive ({@link #consumerStarved}), more
+     * pages are requested as soon as one fits in the queue.
      */
     @SuppressWarnings("GuardedBy")
     private void maybeRequestMore() {
@@ -1290,17 +1323,47 @@ public abstract class ContinuousRequestHandlerBase<StatementT extends Request, R
       int received = state - 1;
       int requested = numPagesRequested;
       // the pages that fit in the queue, which is the queue free space minus the requests in flight
-      int freeSpace = getMaxEnqueuedPages(statement) - queue.size();
+      int capacity = queueCapacity();
+      int freeSpace = capacity - queue.size();
       int inFlight = requested - received;
       int numPagesFittingInQueue = freeSpace - inFlight;
-      if (numPagesFittingInQueue > 0
-          && numPagesFittingInQueue >= getMaxEnqueuedPages(statement) / 2) {
+      int threshold = consumerStarved ? 1 : Math.max(1, capacity / 2);
+      if (numPagesFittingInQueue >= threshold) {
         LOG.trace("[{}] Requesting more {} pages", logPrefix, numPagesFittingInQueue);
         numPagesRequested = requested + numPagesFittingInQueue;
         sendMorePagesRequest(numPagesFittingInQueue);
       }
     }
 
+    /**
+     * The number of pages that the queue should hold: {@link #getMaxEnqueuedPages(Request)}, or
+     * less if {@link #getMaxEnqueuedBytes(Request)} is set and pages are large enough that it would
+     * be exceeded. Never less than one.
+     */
+    @SuppressWarnings("GuardedBy")
+    private int queueCapacity() {
+      assert lock.isHeldByCurrentThread();
+      int maxEnqueuedPages = getMaxEnqueuedPages(statement);
+      long maxEnqueuedBytes = getMaxEnqueuedBytes(statement);
+      if (maxEnqueuedBytes <= 0 || averagePageBytes <= 0) {
+        return maxEnqueuedPages;
+      }
+      long fitting = maxEnqueuedBytes / averagePageBytes;
+      return (int) Math.max(1, Math.min(maxEnqueuedPages, fitting));
+    }
+
+    @SuppressWarnings("GuardedBy")
+    private void updateAveragePageBytes(int responseBytes) {
+      assert lock.isHeldByCurrentThread();
+      if (responseBytes <= 0) {
+        return;
+      }
+      averagePageBytes =
+          (averagePageBytes == 0)
+              ? responseBytes
+              : averagePageBytes + (responseBytes - averagePageBytes) / 4;
+    }
+
     /**
      * Sends a request for more pages (a.k.a. backpressure request).
      *
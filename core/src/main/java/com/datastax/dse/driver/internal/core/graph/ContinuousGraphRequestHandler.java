@@ -37,8 +37,6 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
-import java.util.ArrayDeque;
-import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import net.jcip.annotations.ThreadSafe;
@@ -163,14 +161,9 @@ public class ContinuousGraphRequestHandler
     GraphProtocol subProtocol =
         graphSupportChecker.inferGraphProtocol(statement, executionProfile, context);
 
-    Queue<GraphNode> graphNodes = new ArrayDeque<>();
-    for (List<ByteBuffer> row : rows.getData()) {
-      if (subProtocol.isGraphBinary()) {
-        graphNodes.offer(GraphConversions.createGraphBinaryGraphNode(row, this.graphBinaryModule));
-      } else {
-        graphNodes.offer(GraphSONUtils.createGraphNode(row, subProtocol));
-      }
-    }
+    // Results are decoded lazily, as the client iterates
+    Queue<GraphNode> graphNodes =
+        new LazyGraphNodeQueue(rows.getData(), subProtocol, this.graphBinaryModule);
 
     DseRowsMetadata metadata = (DseRowsMetadata) rows.getMetadata();
     return new ContinuousAsyncGraphResultSet(
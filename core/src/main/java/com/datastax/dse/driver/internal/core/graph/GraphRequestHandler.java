@@ -73,7 +73,6 @@ import io.netty.util.concurrent.GenericFutureListener;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.AbstractMap;
-import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -330,16 +329,12 @@ public class GraphRequestHandler implements Throttled {
       GraphProtocol subProtocol =
           GraphConversions.resolveGraphSubProtocol(
               callback.statement, graphSupportChecker, context);
-      Queue<GraphNode> graphNodes = new ArrayDeque<>();
-      for (List<ByteBuffer> row : ((Rows) resultMessage).getData()) {
-        if (subProtocol.isGraphBinary()) {
-          graphNodes.offer(
-              GraphConversions.createGraphBinaryGraphNode(
-                  row, GraphRequestHandler.this.graphBinaryModule));
-        } else {
-          graphNodes.offer(GraphSONUtils.createGraphNode(row, subProtocol));
-        }
-      }
+      // Results are decoded lazily, as the client iterates
+      Queue<GraphNode> graphNodes =
+          new LazyGraphNodeQueue(
+              ((Rows) resultMessage).getData(),
+              subProtocol,
+              GraphRequestHandler.this.graphBinaryModule);
 
       DefaultAsyncGraphResultSet resultSet =
           new DefaultAsyncGraphResultSet(executionInfo, graphNodes, subProtocol);
@@ -354,8 +349,13 @@ public class GraphRequestHandler implements Throttled {
           completionTimeNanos = System.nanoTime();
           totalLatencyNanos = completionTimeNanos - startTimeNanos;
           long nodeLatencyNanos = completionTimeNanos - callback.nodeStartTimeNanos;
+          // Use the execution's prefix, like onNodeError does
           requestTracker.onNodeSuccess(
-              callback.statement, nodeLatencyNanos, executionProfile, callback.node, logPrefix);
+              callback.statement,
+              nodeLatencyNanos,
+              executionProfile,
+              callback.node,
+              callback.logPrefix);
           requestTracker.onSuccess(
               callback.statement, totalLatencyNanos, executionProfile, callback.node, logPrefix);
         }
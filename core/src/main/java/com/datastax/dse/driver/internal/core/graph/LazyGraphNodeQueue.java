@@ -0,0 +1,127 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.dse.driver.internal.core.graph;
+
+import com.datastax.dse.driver.api.core.graph.GraphNode;
+import com.datastax.dse.driver.internal.core.graph.binary.GraphBinaryModule;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A queue of graph results that decodes the raw rows of a response page one at a time, as they are
+ * polled.
+ *
+ * <p>Decoding a whole page upfront materializes the object graphs of all its results at once, which
+ * can dominate heap usage for traversals that return large nested structures (for example paths).
+ * With this queue, a result only gets decoded when the client iterates to it, and becomes eligible
+ * for garbage collection as soon as the client moves on. Decoding errors are surfaced during
+ * iteration, as {@link UncheckedIOException}s.
+ */
+@NotThreadSafe // wraps a mutable queue
+class LazyGraphNodeQueue extends AbstractQueue<GraphNode> {
+
+  private final Queue<List<ByteBuffer>> rows;
+  private final GraphProtocol subProtocol;
+  private final GraphBinaryModule graphBinaryModule;
+
+  // The result decoded by peek(), if it hasn't been polled yet.
+  private GraphNode head;
+
+  LazyGraphNodeQueue(
+      @NonNull Queue<List<ByteBuffer>> rows,
+      @NonNull GraphProtocol subProtocol,
+      @Nullable GraphBinaryModule graphBinaryModule) {
+    this.rows = rows;
+    this.subProtocol = subProtocol;
+    this.graphBinaryModule = graphBinaryModule;
+  }
+
+  @Override
+  public GraphNode poll() {
+    GraphNode result = peek();
+    head = null;
+    return result;
+  }
+
+  @Override
+  public GraphNode peek() {
+    if (head == null) {
+      List<ByteBuffer> row = rows.poll();
+      if (row != null) {
+        head = decode(row);
+      }
+    }
+    return head;
+  }
+
+  @Override
+  public boolean offer(GraphNode graphNode) {
+    throw new UnsupportedOperationException("This queue is read-only");
+  }
+
+  @Override
+  public int size() {
+    return rows.size() + (head == null ? 0 : 1);
+  }
+
+  /**
+   * Returns an iterator that decodes the remaining results without removing them from the queue.
+   */
+  @NonNull
+  @Override
+  public Iterator<GraphNode> iterator() {
+    Iterator<List<ByteBuffer>> remainingRows = rows.iterator();
+    return new Iterator<GraphNode>() {
+      private boolean headReturned = (head == null);
+
+      @Override
+      public boolean hasNext() {
+        return !headReturned || remainingRows.hasNext();
+      }
+
+      @Override
+      public GraphNode next() {
+        if (!headReturned) {
+          headReturned = true;
+          return head;
+        }
+        if (!remainingRows.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return decode(remainingRows.next());
+      }
+    };
+  }
+
+  private GraphNode decode(List<ByteBuffer> row) {
+    try {
+      return subProtocol.isGraphBinary()
+          ? GraphConversions.createGraphBinaryGraphNode(row, graphBinaryModule)
+          : GraphSONUtils.createGraphNode(row, subProtocol);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Couldn't decode graph result", e);
+    }
+  }
+}
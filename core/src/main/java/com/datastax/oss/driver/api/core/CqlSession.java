@@ -22,6 +22,7 @@ import com.datastax.dse.driver.api.core.graph.GraphSession;
 import com.datastax.dse.driver.api.core.graph.reactive.ReactiveGraphSession;
 import com.datastax.oss.driver.api.core.cql.AsyncCqlSession;
 import com.datastax.oss.driver.api.core.cql.SyncCqlSession;
+import com.datastax.oss.driver.api.core.cql.TokenRangeScanSession;
 import com.datastax.oss.driver.api.core.session.Session;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -52,7 +53,8 @@ public interface CqlSession
         ContinuousSession,
         GraphSession,
         ContinuousReactiveSession,
-        ReactiveGraphSession {
+        ReactiveGraphSession,
+        TokenRangeScanSession {
 
   /**
    * Returns a builder to create a new instance.
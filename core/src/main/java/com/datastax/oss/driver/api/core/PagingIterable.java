@@ -169,7 +169,8 @@ public interface PagingIterable<ElementT> extends Iterable<ElementT> {
    * <p>Default spliterators created by the driver will report the following characteristics: {@link
    * Spliterator#ORDERED}, {@link Spliterator#IMMUTABLE}, {@link Spliterator#NONNULL}. Single-page
    * result sets will also report {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, since
-   * the result set size is known.
+   * the result set size is known. Multi-page result sets split at page boundaries, and fetch the
+   * next page in the background while the current one is processed.
    *
    * <p>This method should be called at most once. Spliterators share the same underlying data but
    * do not support concurrent consumption; once a spliterator for this iterable is obtained, the
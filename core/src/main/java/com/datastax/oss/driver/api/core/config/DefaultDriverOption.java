@@ -909,6 +909,178 @@ public enum DefaultDriverOption implements DriverOption {
    * <p>Value-type: boolean
    */
   PREPARED_CACHE_WEAK_VALUES("advanced.prepared-statements.prepared-cache.weak-values"),
+
+  /**
+   * The maximum number of prepared statements to track with the per-statement latency metric.
+   *
+   * <p>Value-type: int
+   */
+  METRICS_SESSION_CQL_REQUESTS_PER_STATEMENT_MAX_TRACKED(
+      "advanced.metrics.session.cql-requests-per-statement.max-tracked"),
+  /**
+   * The maximum number of tables to track with the per-table latency metric.
+   *
+   * <p>Value-type: int
+   */
+  METRICS_SESSION_CQL_REQUESTS_PER_TABLE_MAX_TRACKED(
+      "advanced.metrics.session.cql-requests-per-table.max-tracked"),
+
+  /**
+   * The SSL implementation to use with the default SSL engine factory: JDK or OPENSSL.
+   *
+   * <p>Value-type: {@link String}
+   */
+  SSL_PROVIDER("advanced.ssl-engine-factory.provider"),
+  /**
+   * The maximum number of TLS sessions to cache for resumption, when the OpenSSL provider is used.
+   *
+   * <p>Value-type: long
+   */
+  SSL_SESSION_CACHE_SIZE("advanced.ssl-engine-factory.session-cache-size"),
+  /**
+   * How long cached TLS sessions remain valid for resumption, when the OpenSSL provider is used.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  SSL_SESSION_TIMEOUT("advanced.ssl-engine-factory.session-timeout"),
+
+  /**
+   * The maximum number of entries in the prepared statements cache.
+   *
+   * <p>Value-type: long
+   */
+  PREPARED_CACHE_MAX_SIZE("advanced.prepared-statements.prepared-cache.max-size"),
+  /**
+   * How long an entry can stay in the prepared statements cache without being accessed.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  PREPARED_CACHE_EXPIRE_AFTER_ACCESS(
+      "advanced.prepared-statements.prepared-cache.expire-after-access"),
+
+  /**
+   * How many pages of a paged result set the driver fetches ahead of the page being consumed.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_READ_AHEAD_PAGES("advanced.request.read-ahead.pages"),
+  /**
+   * The maximum total size of the pages fetched ahead of the page being consumed.
+   *
+   * <p>Value-type: long
+   */
+  REQUEST_READ_AHEAD_MAX_BYTES("advanced.request.read-ahead.max-bytes"),
+
+  /**
+   * How many splits each token range of the ring is divided into for a token range scan.
+   *
+   * <p>Value-type: int
+   */
+  TOKEN_RANGE_SCAN_SPLITS_PER_RANGE("advanced.token-range-scan.splits-per-range"),
+  /**
+   * The maximum number of splits of a token range scan that are executed concurrently against the
+   * same replica.
+   *
+   * <p>Value-type: int
+   */
+  TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE(
+      "advanced.token-range-scan.max-concurrent-splits-per-node"),
+
+  /**
+   * How long a write batcher waits for more statements before sending a batch.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  WRITE_BATCHER_WINDOW("advanced.write-batcher.window"),
+  /**
+   * The maximum number of statements in a batch sent by a write batcher.
+   *
+   * <p>Value-type: int
+   */
+  WRITE_BATCHER_MAX_STATEMENTS("advanced.write-batcher.max-statements"),
+
+  /**
+   * The compression level to use with the zstd algorithm.
+   *
+   * <p>Value-type: int
+   */
+  PROTOCOL_ZSTD_LEVEL("advanced.protocol.zstd.level"),
+  /**
+   * The path of a pre-trained dictionary to use with the zstd algorithm.
+   *
+   * <p>Value-type: {@link String}
+   */
+  PROTOCOL_ZSTD_DICTIONARY("advanced.protocol.zstd.dictionary"),
+
+  /**
+   * The size under which protocol v5 segments are sent uncompressed.
+   *
+   * <p>Value-type: long
+   */
+  PROTOCOL_COMPRESSION_THRESHOLD("advanced.protocol.compression-threshold"),
+
+  /**
+   * The fraction of requests recorded by the span tracker, regardless of their outcome.
+   *
+   * <p>Value-type: double
+   */
+  REQUEST_TRACKER_SPANS_SAMPLE_RATE("advanced.request-tracker.spans.sample-rate"),
+  /**
+   * The latency above which the span tracker records a request, even if it was not sampled.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  REQUEST_TRACKER_SPANS_SLOW_THRESHOLD("advanced.request-tracker.spans.slow-threshold"),
+  /**
+   * The number of spans buffered by the span tracker between two exports.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_TRACKER_SPANS_BUFFER_SIZE("advanced.request-tracker.spans.buffer-size"),
+  /**
+   * How often the span tracker hands buffered spans to its exporter.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  REQUEST_TRACKER_SPANS_EXPORT_INTERVAL("advanced.request-tracker.spans.export-interval"),
+  /**
+   * The class of the exporter that receives the spans recorded by the span tracker.
+   *
+   * <p>Value-type: {@link String}
+   */
+  REQUEST_TRACKER_SPANS_EXPORTER_CLASS("advanced.request-tracker.spans.exporter.class"),
+
+  /**
+   * Whether the request logger formats and writes log records on a background thread.
+   *
+   * <p>Value-type: boolean
+   */
+  REQUEST_LOGGER_ASYNC_ENABLED("advanced.request-tracker.logs.async.enabled"),
+  /**
+   * The maximum number of log records queued by the request logger, when it logs asynchronously.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_LOGGER_ASYNC_QUEUE_SIZE("advanced.request-tracker.logs.async.queue-size"),
+
+  /**
+   * How often a query trace collector fetches the traces it has accumulated.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  REQUEST_TRACE_COLLECTOR_INTERVAL("advanced.request.trace.collector.interval"),
+  /**
+   * The maximum number of traces that a query trace collector fetches with a single query.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_TRACE_COLLECTOR_BATCH_SIZE("advanced.request.trace.collector.batch-size"),
+  /**
+   * The maximum number of traces that a query trace collector holds before it drops new ones.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_TRACE_COLLECTOR_MAX_PENDING("advanced.request.trace.collector.max-pending"),
   ;
 
   private final String path;
@@ -292,6 +292,12 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.REQUEST_TRACE_INTERVAL, Duration.ofMillis(3));
     map.put(TypedDriverOption.REQUEST_TRACE_CONSISTENCY, "ONE");
     map.put(TypedDriverOption.REQUEST_LOG_WARNINGS, true);
+    map.put(TypedDriverOption.REQUEST_READ_AHEAD_PAGES, 0);
+    map.put(TypedDriverOption.REQUEST_READ_AHEAD_MAX_BYTES, 16L * 1024 * 1024);
+    map.put(TypedDriverOption.TOKEN_RANGE_SCAN_SPLITS_PER_RANGE, 1);
+    map.put(TypedDriverOption.TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE, 2);
+    map.put(TypedDriverOption.WRITE_BATCHER_WINDOW, Duration.ofMillis(2));
+    map.put(TypedDriverOption.WRITE_BATCHER_MAX_STATEMENTS, 32);
     map.put(TypedDriverOption.GRAPH_PAGING_ENABLED, "AUTO");
     map.put(TypedDriverOption.GRAPH_CONTINUOUS_PAGING_PAGE_SIZE, requestPageSize);
     map.put(TypedDriverOption.GRAPH_CONTINUOUS_PAGING_MAX_PAGES, continuousMaxPages);
@@ -313,6 +319,8 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.METRICS_SESSION_CQL_REQUESTS_LOWEST, Duration.ofMillis(1));
     map.put(TypedDriverOption.METRICS_SESSION_CQL_REQUESTS_DIGITS, 3);
     map.put(TypedDriverOption.METRICS_SESSION_CQL_REQUESTS_INTERVAL, Duration.ofMinutes(5));
+    map.put(TypedDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_STATEMENT_MAX_TRACKED, 20);
+    map.put(TypedDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_TABLE_MAX_TRACKED, 20);
     map.put(TypedDriverOption.METRICS_SESSION_THROTTLING_HIGHEST, Duration.ofSeconds(3));
     map.put(TypedDriverOption.METRICS_SESSION_THROTTLING_LOWEST, Duration.ofMillis(1));
     map.put(TypedDriverOption.METRICS_SESSION_THROTTLING_DIGITS, 3);
@@ -239,6 +239,19 @@ public class TypedDriverOption<ValueT> {
   /** The truststore password. */
   public static final TypedDriverOption<String> SSL_TRUSTSTORE_PASSWORD =
       new TypedDriverOption<>(DefaultDriverOption.SSL_TRUSTSTORE_PASSWORD, GenericType.STRING);
+  /** The SSL implementation to use with the default SSL engine factory: JDK or OPENSSL. */
+  public static final TypedDriverOption<String> SSL_PROVIDER =
+      new TypedDriverOption<>(DefaultDriverOption.SSL_PROVIDER, GenericType.STRING);
+  /**
+   * The maximum number of TLS sessions to cache for resumption, when the OpenSSL provider is used.
+   */
+  public static final TypedDriverOption<Long> SSL_SESSION_CACHE_SIZE =
+      new TypedDriverOption<>(DefaultDriverOption.SSL_SESSION_CACHE_SIZE, GenericType.LONG);
+  /**
+   * How long cached TLS sessions remain valid for resumption, when the OpenSSL provider is used.
+   */
+  public static final TypedDriverOption<Duration> SSL_SESSION_TIMEOUT =
+      new TypedDriverOption<>(DefaultDriverOption.SSL_SESSION_TIMEOUT, GenericType.DURATION);
   /** The class of the generator that assigns a microsecond timestamp to each request. */
   public static final TypedDriverOption<String> TIMESTAMP_GENERATOR_CLASS =
       new TypedDriverOption<>(DefaultDriverOption.TIMESTAMP_GENERATOR_CLASS, GenericType.STRING);
@@ -524,6 +537,13 @@ public class TypedDriverOption<ValueT> {
   /** Whether the prepared statements cache use weak values. */
   public static final TypedDriverOption<Boolean> PREPARED_CACHE_WEAK_VALUES =
       new TypedDriverOption<>(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, GenericType.BOOLEAN);
+  /** The maximum number of entries in the prepared statements cache. */
+  public static final TypedDriverOption<Long> PREPARED_CACHE_MAX_SIZE =
+      new TypedDriverOption<>(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, GenericType.LONG);
+  /** How long an entry can stay in the prepared statements cache without being accessed. */
+  public static final TypedDriverOption<Duration> PREPARED_CACHE_EXPIRE_AFTER_ACCESS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.PREPARED_CACHE_EXPIRE_AFTER_ACCESS, GenericType.DURATION);
   /** The number of threads in the I/O group. */
   public static final TypedDriverOption<Integer> NETTY_IO_SIZE =
       new TypedDriverOption<>(DefaultDriverOption.NETTY_IO_SIZE, GenericType.INTEGER);
@@ -576,6 +596,79 @@ public class TypedDriverOption<ValueT> {
    */
   public static final TypedDriverOption<Boolean> REQUEST_LOG_WARNINGS =
       new TypedDriverOption<>(DefaultDriverOption.REQUEST_LOG_WARNINGS, GenericType.BOOLEAN);
+  /** How many pages of a paged result set the driver fetches ahead of the page being consumed. */
+  public static final TypedDriverOption<Integer> REQUEST_READ_AHEAD_PAGES =
+      new TypedDriverOption<>(DefaultDriverOption.REQUEST_READ_AHEAD_PAGES, GenericType.INTEGER);
+  /** The maximum total size of the pages fetched ahead of the page being consumed. */
+  public static final TypedDriverOption<Long> REQUEST_READ_AHEAD_MAX_BYTES =
+      new TypedDriverOption<>(DefaultDriverOption.REQUEST_READ_AHEAD_MAX_BYTES, GenericType.LONG);
+  /** How many splits each token range of the ring is divided into for a token range scan. */
+  public static final TypedDriverOption<Integer> TOKEN_RANGE_SCAN_SPLITS_PER_RANGE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.TOKEN_RANGE_SCAN_SPLITS_PER_RANGE, GenericType.INTEGER);
+  /**
+   * The maximum number of splits of a token range scan that are executed concurrently against the
+   * same replica.
+   */
+  public static final TypedDriverOption<Integer> TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE, GenericType.INTEGER);
+  /** How long a write batcher waits for more statements before sending a batch. */
+  public static final TypedDriverOption<Duration> WRITE_BATCHER_WINDOW =
+      new TypedDriverOption<>(DefaultDriverOption.WRITE_BATCHER_WINDOW, GenericType.DURATION);
+  /** The maximum number of statements in a batch sent by a write batcher. */
+  public static final TypedDriverOption<Integer> WRITE_BATCHER_MAX_STATEMENTS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.WRITE_BATCHER_MAX_STATEMENTS, GenericType.INTEGER);
+  /** The compression level to use with the zstd algorithm. */
+  public static final TypedDriverOption<Integer> PROTOCOL_ZSTD_LEVEL =
+      new TypedDriverOption<>(DefaultDriverOption.PROTOCOL_ZSTD_LEVEL, GenericType.INTEGER);
+  /** The path of a pre-trained dictionary to use with the zstd algorithm. */
+  public static final TypedDriverOption<String> PROTOCOL_ZSTD_DICTIONARY =
+      new TypedDriverOption<>(DefaultDriverOption.PROTOCOL_ZSTD_DICTIONARY, GenericType.STRING);
+  /** The size under which protocol v5 segments are sent uncompressed. */
+  public static final TypedDriverOption<Long> PROTOCOL_COMPRESSION_THRESHOLD =
+      new TypedDriverOption<>(DefaultDriverOption.PROTOCOL_COMPRESSION_THRESHOLD, GenericType.LONG);
+  /** The fraction of requests recorded by the span tracker, regardless of their outcome. */
+  public static final TypedDriverOption<Double> REQUEST_TRACKER_SPANS_SAMPLE_RATE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACKER_SPANS_SAMPLE_RATE, GenericType.DOUBLE);
+  /** The latency above which the span tracker records a request, even if it was not sampled. */
+  public static final TypedDriverOption<Duration> REQUEST_TRACKER_SPANS_SLOW_THRESHOLD =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACKER_SPANS_SLOW_THRESHOLD, GenericType.DURATION);
+  /** The number of spans buffered by the span tracker between two exports. */
+  public static final TypedDriverOption<Integer> REQUEST_TRACKER_SPANS_BUFFER_SIZE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACKER_SPANS_BUFFER_SIZE, GenericType.INTEGER);
+  /** How often the span tracker hands buffered spans to its exporter. */
+  public static final TypedDriverOption<Duration> REQUEST_TRACKER_SPANS_EXPORT_INTERVAL =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACKER_SPANS_EXPORT_INTERVAL, GenericType.DURATION);
+  /** The class of the exporter that receives the spans recorded by the span tracker. */
+  public static final TypedDriverOption<String> REQUEST_TRACKER_SPANS_EXPORTER_CLASS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACKER_SPANS_EXPORTER_CLASS, GenericType.STRING);
+  /** Whether the request logger formats and writes log records on a background thread. */
+  public static final TypedDriverOption<Boolean> REQUEST_LOGGER_ASYNC_ENABLED =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_LOGGER_ASYNC_ENABLED, GenericType.BOOLEAN);
+  /** The maximum number of log records queued by the request logger in asynchronous mode. */
+  public static final TypedDriverOption<Integer> REQUEST_LOGGER_ASYNC_QUEUE_SIZE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_LOGGER_ASYNC_QUEUE_SIZE, GenericType.INTEGER);
+  /** How often a query trace collector fetches the traces it has accumulated. */
+  public static final TypedDriverOption<Duration> REQUEST_TRACE_COLLECTOR_INTERVAL =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACE_COLLECTOR_INTERVAL, GenericType.DURATION);
+  /** The maximum number of traces that a query trace collector fetches with a single query. */
+  public static final TypedDriverOption<Integer> REQUEST_TRACE_COLLECTOR_BATCH_SIZE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACE_COLLECTOR_BATCH_SIZE, GenericType.INTEGER);
+  /** The maximum number of traces that a query trace collector holds before it drops new ones. */
+  public static final TypedDriverOption<Integer> REQUEST_TRACE_COLLECTOR_MAX_PENDING =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_TRACE_COLLECTOR_MAX_PENDING, GenericType.INTEGER);
   /** Whether the threads created by the driver should be daemon threads. */
   public static final TypedDriverOption<Boolean> NETTY_DAEMON =
       new TypedDriverOption<>(DefaultDriverOption.NETTY_DAEMON, GenericType.BOOLEAN);
@@ -637,6 +730,10 @@ public class TypedDriverOption<ValueT> {
   public static final TypedDriverOption<Integer> CONTINUOUS_PAGING_MAX_ENQUEUED_PAGES =
       new TypedDriverOption<>(
           DseDriverOption.CONTINUOUS_PAGING_MAX_ENQUEUED_PAGES, GenericType.INTEGER);
+  /** The maximum number of bytes that can be stored in the continuous paging local queue. */
+  public static final TypedDriverOption<Long> CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES =
+      new TypedDriverOption<>(
+          DseDriverOption.CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES, GenericType.LONG);
   /** How long to wait for the coordinator to send the first continuous page. */
   public static final TypedDriverOption<Duration> CONTINUOUS_PAGING_TIMEOUT_FIRST_PAGE =
       new TypedDriverOption<>(
@@ -802,6 +899,19 @@ public class TypedDriverOption<ValueT> {
               DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS,
               GenericType.BOOLEAN);
 
+  /** The maximum number of prepared statements to track with the per-statement latency metric. */
+  public static final TypedDriverOption<Integer>
+      METRICS_SESSION_CQL_REQUESTS_PER_STATEMENT_MAX_TRACKED =
+          new TypedDriverOption<>(
+              DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_STATEMENT_MAX_TRACKED,
+              GenericType.INTEGER);
+  /** The maximum number of tables to track with the per-table latency metric. */
+  public static final TypedDriverOption<Integer>
+      METRICS_SESSION_CQL_REQUESTS_PER_TABLE_MAX_TRACKED =
+          new TypedDriverOption<>(
+              DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_TABLE_MAX_TRACKED,
+              GenericType.INTEGER);
+
   private static Iterable<TypedDriverOption<?>> introspectBuiltInValues() {
     try {
       ImmutableList.Builder<TypedDriverOption<?>> result = ImmutableList.builder();
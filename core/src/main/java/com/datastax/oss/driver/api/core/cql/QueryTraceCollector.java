@@ -0,0 +1,70 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.internal.core.cql.DefaultQueryTraceCollector;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.function.Consumer;
+
+/**
+ * Fetches the query traces of many requests in the background, in bulk.
+ *
+ * <p>{@link ExecutionInfo#getQueryTrace()} queries the trace tables for each request, and retries
+ * until the trace is complete. This is fine to debug a single request, but if you trace a sample of
+ * your production traffic, it roughly doubles the number of requests for the traced ones. A
+ * collector instead accumulates tracing ids, and periodically fetches them in groups, with one
+ * {@code IN} query on {@code system_traces.sessions} and one on {@code system_traces.events}.
+ * Traces that are not complete yet are retried in the next rounds. Completed traces are passed to a
+ * listener.
+ *
+ * <p>The behavior is controlled by the {@code advanced.request.trace} section of the configuration
+ * (see {@code reference.conf} in the manual or core driver JAR).
+ *
+ * @since 4.13.0
+ */
+public interface QueryTraceCollector extends AutoCloseable {
+
+  /**
+   * Creates a new collector for the given session, and starts its background fetches.
+   *
+   * @param listener the callback that receives each trace once it is fetched. It is invoked on a
+   *     driver thread, it should not block.
+   */
+  @NonNull
+  static QueryTraceCollector create(
+      @NonNull CqlSession session, @NonNull Consumer<QueryTrace> listener) {
+    return new DefaultQueryTraceCollector(session, listener);
+  }
+
+  /**
+   * Schedules the trace of a request to be fetched. This method does not block.
+   *
+   * @return whether the trace was scheduled. This is {@code false} if tracing was not enabled for
+   *     the request, if the collector is closed, or if too many traces are already pending.
+   */
+  boolean collect(@NonNull ExecutionInfo executionInfo);
+
+  /**
+   * The number of traces that were dropped, either because too many traces were pending, or because
+   * they were still incomplete after the configured number of attempts.
+   */
+  long getDroppedTraces();
+
+  /** Stops the background fetches. Traces that were not fetched yet are discarded. */
+  @Override
+  void close();
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.dse.driver.api.core.cql.reactive.ReactiveResultSet;
+import com.datastax.dse.driver.internal.core.cql.reactive.CqlRequestReactiveProcessor;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.cql.TokenRangeScanRequest;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A session that can scan a whole table in parallel, by splitting the token ring.
+ *
+ * <p>A scan issues one query per split of the ring, of the form {@code SELECT * FROM table WHERE
+ * token(pk) > ? AND token(pk) <= ?}. Each split is routed to one of its replicas, and the number of
+ * splits executing concurrently against a given replica is bounded, so that the load is spread
+ * evenly across the cluster instead of going through a single coordinator. The results of all the
+ * splits are merged into a single result set; rows are returned in no particular order.
+ *
+ * <p>Scans require {@linkplain TokenMap token metadata} and schema metadata for the table. The
+ * queries use the default execution profile. See {@link
+ * DefaultDriverOption#TOKEN_RANGE_SCAN_SPLITS_PER_RANGE} and {@link
+ * DefaultDriverOption#TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE} to tune the splitting and
+ * the concurrency.
+ *
+ * <p>If any split fails, the whole scan fails.
+ *
+ * @since 4.13.0
+ */
+public interface TokenRangeScanSession extends Session {
+
+  /**
+   * Scans the given table asynchronously.
+   *
+   * <p>Each page of the result comes from one of the splits. The next pages of the scan must be
+   * fetched with {@link AsyncResultSet#fetchNextPage()}; the driver only requests the next page of
+   * a split once the client has fetched its current page, so a slow client doesn't cause results to
+   * accumulate in memory.
+   */
+  @NonNull
+  default CompletionStage<AsyncResultSet> scanAsync(
+      @NonNull CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
+    return Objects.requireNonNull(
+        execute(new TokenRangeScanRequest(keyspace, table), Statement.ASYNC),
+        "The token range scan processor should never return a null result");
+  }
+
+  /**
+   * Shortcut for {@link #scanAsync(CqlIdentifier, CqlIdentifier)
+   * scanAsync(CqlIdentifier.fromCql(keyspace), CqlIdentifier.fromCql(table))}.
+   */
+  @NonNull
+  default CompletionStage<AsyncResultSet> scanAsync(
+      @NonNull String keyspace, @NonNull String table) {
+    return scanAsync(CqlIdentifier.fromCql(keyspace), CqlIdentifier.fromCql(table));
+  }
+
+  /**
+   * Scans the given table synchronously.
+   *
+   * <p>The calling thread blocks until the first page is available; iterating the result set
+   * fetches the next pages as needed. This must not be called on a driver thread.
+   */
+  @NonNull
+  default ResultSet scan(@NonNull CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
+    return Objects.requireNonNull(
+        execute(new TokenRangeScanRequest(keyspace, table), Statement.SYNC),
+        "The token range scan processor should never return a null result");
+  }
+
+  /**
+   * Shortcut for {@link #scan(CqlIdentifier, CqlIdentifier) scan(CqlIdentifier.fromCql(keyspace),
+   * CqlIdentifier.fromCql(table))}.
+   */
+  @NonNull
+  default ResultSet scan(@NonNull String keyspace, @NonNull String table) {
+    return scan(CqlIdentifier.fromCql(keyspace), CqlIdentifier.fromCql(table));
+  }
+
+  /**
+   * Returns a {@link ReactiveResultSet} that, once subscribed to, scans the given table and emits
+   * all its rows.
+   */
+  @NonNull
+  default ReactiveResultSet scanReactive(
+      @NonNull CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
+    return Objects.requireNonNull(
+        execute(
+            new TokenRangeScanRequest(keyspace, table),
+            CqlRequestReactiveProcessor.REACTIVE_RESULT_SET),
+        "The token range scan processor should never return a null result");
+  }
+
+  /**
+   * Shortcut for {@link #scanReactive(CqlIdentifier, CqlIdentifier)
+   * scanReactive(CqlIdentifier.fromCql(keyspace), CqlIdentifier.fromCql(table))}.
+   */
+  @NonNull
+  default ReactiveResultSet scanReactive(@NonNull String keyspace, @NonNull String table) {
+    return scanReactive(CqlIdentifier.fromCql(keyspace), CqlIdentifier.fromCql(table));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.oss.driver.api.core.AsyncAutoCloseable;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.cql.DefaultWriteBatcher;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Groups individual writes into {@linkplain BatchType#UNLOGGED unlogged} batches, to reduce the
+ * number of requests in high-volume ingestion scenarios.
+ *
+ * <p>Statements that target the same replicas (or, if the replicas are unknown, the same partition)
+ * and have the same execution profile, keyspace, consistency levels, timeout and node are
+ * accumulated for a short time window ({@link DefaultDriverOption#WRITE_BATCHER_WINDOW}), or until
+ * a maximum number of statements is reached ({@link
+ * DefaultDriverOption#WRITE_BATCHER_MAX_STATEMENTS}), then sent as a single batch that carries
+ * those attributes. Each caller still gets its own future, which completes when the batch
+ * containing its statement completes. Statements without any routing information, or with their own
+ * {@linkplain Statement#getQueryTimestamp() timestamp}, are sent on their own.
+ *
+ * <p>Only submit statements that are valid in an unlogged batch: no conditional updates
+ * (lightweight transactions), and no mix of counter and non-counter updates. Since the statements
+ * of a batch succeed or fail together, a failure affects all the statements of that batch.
+ *
+ * <p>Closing the batcher sends all pending statements; the close future completes when all
+ * in-flight batches are done. Closing the batcher does not close the session.
+ *
+ * @since 4.13.0
+ */
+public interface WriteBatcher extends AsyncAutoCloseable {
+
+  /** Creates a new batcher that executes its batches with the given session. */
+  @NonNull
+  static WriteBatcher newInstance(@NonNull Session session) {
+    return new DefaultWriteBatcher(session);
+  }
+
+  /**
+   * Submits a statement for execution as part of a batch.
+   *
+   * @return a future that completes when the batch containing the statement completes. In case of
+   *     success, the result is the batch's result set. If the batcher is closed, the future fails
+   *     with an {@link IllegalStateException}.
+   */
+  @NonNull
+  CompletionStage<AsyncResultSet> executeAsync(@NonNull BatchableStatement<?> statement);
+
+  /** Sends all pending statements immediately, without waiting for the end of their window. */
+  void flush();
+}
@@ -30,6 +30,12 @@ public enum DefaultSessionMetric implements SessionMetric {
   THROTTLING_QUEUE_SIZE("throttling.queue-size"),
   THROTTLING_ERRORS("throttling.errors"),
   CQL_PREPARED_CACHE_SIZE("cql-prepared-cache-size"),
+  CQL_REQUESTS_PER_STATEMENT("cql-requests-per-statement"),
+  CQL_REQUESTS_PER_TABLE("cql-requests-per-table"),
+  CQL_PREPARED_CACHE_HITS("cql-prepared-cache-hits"),
+  CQL_PREPARED_CACHE_MISSES("cql-prepared-cache-misses"),
+  CQL_PREPARED_CACHE_EVICTIONS("cql-prepared-cache-evictions"),
+  CQL_PREPARES_IN_FLIGHT("cql-prepares-in-flight"),
   ;
 
   private static final Map<String, DefaultSessionMetric> BY_PATH = sortByPath();
@@ -0,0 +1,107 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.tracker;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+
+/**
+ * A structured record of the execution of a request, produced by the built-in span tracker and
+ * handed to a {@link RequestSpanExporter}.
+ *
+ * <p>A span covers the whole request, as seen by the client. It contains an {@linkplain Attempt
+ * attempt} for each node that the request was sent to, including retries and speculative
+ * executions.
+ *
+ * <p>Spans are built from the {@link RequestTracker} callbacks, and only contain the timings that
+ * they expose. In particular, the time spent waiting for the request throttler, the time to write
+ * the request and the time to first byte are not recorded separately.
+ *
+ * @since 4.13.0
+ */
+public interface RequestSpan {
+
+  /** The request. */
+  @NonNull
+  Request getRequest();
+
+  /** The log prefix of the request, which identifies it in the driver logs. */
+  @NonNull
+  String getLogPrefix();
+
+  /** The name of the execution profile of the request. */
+  @NonNull
+  String getExecutionProfileName();
+
+  /** The time at which the request completed, in milliseconds since the epoch. */
+  long getEndTimeMillis();
+
+  /**
+   * The overall execution time (from the {@code session.execute} call until the result or error is
+   * made available to the client).
+   */
+  long getLatencyNanos();
+
+  /**
+   * The node that returned the final response, or {@code null} if the request failed before
+   * reaching any node.
+   */
+  @Nullable
+  Node getNode();
+
+  /** The error that failed the request, or {@code null} if it succeeded. */
+  @Nullable
+  Throwable getError();
+
+  /**
+   * The attempts made for this request, in the order in which they completed.
+   *
+   * <p>This may be empty if the request was only recorded because it failed, see the tracker's
+   * configuration in {@code reference.conf}.
+   */
+  @NonNull
+  List<Attempt> getAttempts();
+
+  /** The execution of a request on a particular node. */
+  interface Attempt {
+
+    /** The node that the request was sent to. */
+    @NonNull
+    Node getNode();
+
+    /**
+     * The index of the execution this attempt belongs to: 0 for the initial execution, 1 for the
+     * first speculative execution, etc. Retries are part of the same execution. Returns -1 if
+     * unknown.
+     */
+    int getExecution();
+
+    /** Whether this attempt belongs to a speculative execution. */
+    default boolean isSpeculative() {
+      return getExecution() > 0;
+    }
+
+    /** The time between the moment the request was sent to the node and its response. */
+    long getLatencyNanos();
+
+    /** The error returned by the node, or {@code null} if the node responded successfully. */
+    @Nullable
+    Throwable getError();
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.tracker;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * Receives the spans recorded by the built-in span tracker.
+ *
+ * <p>The tracker buffers spans and invokes this interface periodically, in batches, from a driver
+ * admin thread (never from a request thread). Implementations should not block for long, since
+ * spans recorded in the meantime may be dropped if the buffer fills up.
+ *
+ * <p>Implementations are specified in the configuration (see {@code
+ * advanced.request-tracker.spans.exporter} in {@code reference.conf}), and must have a public
+ * constructor with a {@code DriverContext} argument.
+ *
+ * @since 4.13.0
+ */
+public interface RequestSpanExporter extends AutoCloseable {
+
+  /**
+   * Exports a batch of spans.
+   *
+   * @param spans the spans, in no particular order. The list must not be modified, or used after
+   *     this method returns.
+   * @param droppedSpans the number of spans that were dropped since the previous invocation,
+   *     because the tracker's buffer was full.
+   */
+  void export(@NonNull List<RequestSpan> spans, long droppedSpans);
+}
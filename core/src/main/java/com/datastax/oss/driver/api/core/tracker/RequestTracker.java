@@ -115,7 +115,9 @@ public interface RequestTracker extends AutoCloseable {
    *     GenericType) session.execute} call until the error is propagated to the client).
    * @param executionProfile the execution profile of this request.
    * @param node the node that returned the error response.
-   * @param requestLogPrefix the dedicated log prefix for this request
+   * @param requestLogPrefix the dedicated log prefix for this execution of the request: the
+   *     request's log prefix, followed by the index of the execution (0 for the initial execution,
+   *     1 for the first speculative execution, etc.)
    */
   default void onNodeError(
       @NonNull Request request,
@@ -147,7 +149,9 @@ public interface RequestTracker extends AutoCloseable {
    *     GenericType) session.execute} call until the result is made available to the client).
    * @param executionProfile the execution profile of this request.
    * @param node the node that returned the successful response.
-   * @param requestLogPrefix the dedicated log prefix for this request
+   * @param requestLogPrefix the dedicated log prefix for this execution of the request: the
+   *     request's log prefix, followed by the index of the execution (0 for the initial execution,
+   *     1 for the first speculative execution, etc.)
    */
   default void onNodeSuccess(
       @NonNull Request request,
@@ -16,9 +16,11 @@
 package com.datastax.oss.driver.api.core.type.codec;
 
 import com.datastax.oss.driver.api.core.session.SessionBuilder;
+import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.core.type.codec.registry.MutableCodecRegistry;
 import com.datastax.oss.driver.api.core.type.reflect.GenericType;
 import com.datastax.oss.driver.internal.core.type.codec.SimpleBlobCodec;
+import com.datastax.oss.driver.internal.core.type.codec.StringCodec;
 import com.datastax.oss.driver.internal.core.type.codec.TimestampCodec;
 import com.datastax.oss.driver.internal.core.type.codec.extras.OptionalCodec;
 import com.datastax.oss.driver.internal.core.type.codec.extras.array.BooleanListToArrayCodec;
@@ -39,6 +41,7 @@ import com.datastax.oss.driver.internal.core.type.codec.extras.time.ZonedTimesta
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -434,6 +437,23 @@ public class ExtraTypeCodecs {
     return new OptionalCodec<>(innerCodec);
   }
 
+  /**
+   * Builds a new codec that maps CQL type {@code text} to Java's {@link String}, and reuses the
+   * same instances for short, repeated values.
+   *
+   * <p>When decoding, ASCII values up to {@code maxLength} bytes are looked up in a small, bounded
+   * cache. This reduces the memory footprint of large result sets where a column has a low
+   * cardinality (status codes, country codes, etc.); for other columns, it only adds overhead.
+   *
+   * <p>Note that this codec handles the same CQL and Java types as {@link TypeCodecs#TEXT}, which
+   * always takes precedence in the codec registry. Therefore it must be passed explicitly, for
+   * example {@code row.get("country", codec)}.
+   */
+  @NonNull
+  public static TypeCodec<String> deduplicatingText(int maxLength) {
+    return new StringCodec(DataTypes.TEXT, StandardCharsets.UTF_8, maxLength);
+  }
+
   /**
    * Builds a new codec that maps CQL type {@code text} to the given Java type, using JSON
    * serialization with a default Jackson mapper.
@@ -54,6 +54,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import net.jcip.annotations.NotThreadSafe;
 import org.slf4j.Logger;
@@ -202,9 +203,26 @@ class ProtocolInitHandler extends ConnectInitHandler {
           ProtocolUtils.opcodeString(response.opcode));
       try {
         if (step == Step.OPTIONS && response instanceof Supported) {
-          channel.attr(DriverChannel.OPTIONS_KEY).set(((Supported) response).options);
-          step = Step.STARTUP;
-          send();
+          Map<String, List<String>> supportedOptions = ((Supported) response).options;
+          channel.attr(DriverChannel.OPTIONS_KEY).set(supportedOptions);
+          String unsupportedCompression = findUnsupportedCompression(supportedOptions);
+          if (unsupportedCompression != null) {
+            // The compressor is shared by all the connections of the session, so there is no way
+            // to fall back to another algorithm for this node only
+            fail(
+                String.format(
+                    "[%s] Node %s does not support the configured protocol compression '%s' "
+                        + "(supported algorithms: %s), check %s",
+                    logPrefix,
+                    endPoint,
+                    unsupportedCompression,
+                    supportedOptions.get(Startup.COMPRESSION_KEY),
+                    DefaultDriverOption.PROTOCOL_COMPRESSION.getPath()),
+                null);
+          } else {
+            step = Step.STARTUP;
+            send();
+          }
         } else if (step == Step.STARTUP && response instanceof Ready) {
           maybeSwitchToModernFraming();
           context.getAuthProvider().ifPresent(provider -> provider.onMissingChallenge(endPoint));
@@ -357,6 +375,20 @@ class ProtocolInitHandler extends ConnectInitHandler {
       setConnectFailure(finalException);
     }
 
+    /**
+     * @return the compression algorithm of the STARTUP options if the node advertises a list of
+     *     supported algorithms that doesn't contain it, otherwise null.
+     */
+    private String findUnsupportedCompression(Map<String, List<String>> supportedOptions) {
+      String compression = context.getStartupOptions().get(Startup.COMPRESSION_KEY);
+      List<String> supportedCompressions = supportedOptions.get(Startup.COMPRESSION_KEY);
+      return (compression == null
+              || supportedCompressions == null
+              || supportedCompressions.contains(compression))
+          ? null
+          : compression;
+    }
+
     private Authenticator buildAuthenticator(EndPoint endPoint, String authenticator) {
       return context
           .getAuthProvider()
@@ -52,7 +52,9 @@ import com.datastax.oss.driver.internal.core.ProtocolVersionRegistry;
 import com.datastax.oss.driver.internal.core.channel.ChannelFactory;
 import com.datastax.oss.driver.internal.core.channel.DefaultWriteCoalescer;
 import com.datastax.oss.driver.internal.core.channel.WriteCoalescer;
+import com.datastax.oss.driver.internal.core.config.ConfigChangeEvent;
 import com.datastax.oss.driver.internal.core.control.ControlConnection;
+import com.datastax.oss.driver.internal.core.cql.ExecutionProfileSnapshots;
 import com.datastax.oss.driver.internal.core.metadata.CloudTopologyMonitor;
 import com.datastax.oss.driver.internal.core.metadata.DefaultTopologyMonitor;
 import com.datastax.oss.driver.internal.core.metadata.LoadBalancingPolicyWrapper;
@@ -77,7 +79,9 @@ import com.datastax.oss.driver.internal.core.session.BuiltInRequestProcessors;
 import com.datastax.oss.driver.internal.core.session.PoolManager;
 import com.datastax.oss.driver.internal.core.session.RequestProcessor;
 import com.datastax.oss.driver.internal.core.session.RequestProcessorRegistry;
+import com.datastax.oss.driver.internal.core.ssl.DefaultSslEngineFactory;
 import com.datastax.oss.driver.internal.core.ssl.JdkSslHandlerFactory;
+import com.datastax.oss.driver.internal.core.ssl.OpenSslHandlerFactory;
 import com.datastax.oss.driver.internal.core.ssl.SslHandlerFactory;
 import com.datastax.oss.driver.internal.core.tracker.NoopRequestTracker;
 import com.datastax.oss.driver.internal.core.tracker.RequestLogFormatter;
@@ -86,6 +90,7 @@ import com.datastax.oss.driver.internal.core.util.DependencyCheck;
 import com.datastax.oss.driver.internal.core.util.Reflection;
 import com.datastax.oss.driver.internal.core.util.concurrent.CycleDetector;
 import com.datastax.oss.driver.internal.core.util.concurrent.LazyReference;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.protocol.internal.Compressor;
 import com.datastax.oss.protocol.internal.FrameCodec;
 import com.datastax.oss.protocol.internal.PrimitiveCodec;
@@ -227,10 +232,14 @@ public class DefaultDriverContext implements InternalDriverContext {
   private final Map<String, String> localDatacentersFromBuilder;
   private final Map<String, Predicate<Node>> nodeFiltersFromBuilder;
   private final Map<String, NodeDistanceEvaluator> nodeDistanceEvaluatorsFromBuilder;
+  private final SslEngineFactory sslEngineFactoryFromBuilder;
   private final ClassLoader classLoader;
   private final InetSocketAddress cloudProxyAddress;
   private final LazyReference<RequestLogFormatter> requestLogFormatterRef =
       new LazyReference<>("requestLogFormatter", this::buildRequestLogFormatter, cycleDetector);
+  private final LazyReference<ExecutionProfileSnapshots> executionProfileSnapshotsRef =
+      new LazyReference<>(
+          "executionProfileSnapshots", this::buildExecutionProfileSnapshots, cycleDetector);
   private final UUID startupClientId;
   private final String startupApplicationName;
   private final String startupApplicationVersion;
@@ -278,6 +287,7 @@ public class DefaultDriverContext implements InternalDriverContext {
             "sslEngineFactory",
             () -> buildSslEngineFactory(programmaticArguments.getSslEngineFactory()),
             cycleDetector);
+    this.sslEngineFactoryFromBuilder = programmaticArguments.getSslEngineFactory();
     @SuppressWarnings("deprecation")
     Map<String, Predicate<Node>> nodeFilters = programmaticArguments.getNodeFilters();
     this.nodeFiltersFromBuilder = nodeFilters;
@@ -466,11 +476,50 @@ public class DefaultDriverContext implements InternalDriverContext {
   }
 
   protected Optional<SslHandlerFactory> buildSslHandlerFactory() {
+    // If the default factory is configured with the OpenSSL provider, use Netty's native support.
+    // This is checked before building the engine factory, which would otherwise initialize a JDK
+    // SSL context for nothing.
+    if (isOpenSslRequested()) {
+      if (isOpenSslAvailable()) {
+        return Optional.of(buildOpenSslHandlerFactory());
+      } else {
+        LOG.warn(
+            "[{}] OpenSSL was requested for SSL, but it is not available; "
+                + "falling back to the JDK implementation. "
+                + "Check that netty-tcnative is on the classpath.",
+            getSessionName(),
+            OpenSslHandlerFactory.unavailabilityCause());
+      }
+    }
     // If a JDK-based factory was provided through the public API, wrap it
     return getSslEngineFactory().map(JdkSslHandlerFactory::new);
 
-    // For more advanced options (like using Netty's native OpenSSL support instead of the JDK),
-    // extend DefaultDriverContext and override this method
+    // For more advanced options (like a custom Netty SslContext), extend DefaultDriverContext and
+    // override this method
+  }
+
+  private boolean isOpenSslRequested() {
+    if (sslEngineFactoryFromBuilder != null) {
+      return false;
+    }
+    DriverExecutionProfile config = getConfig().getDefaultProfile();
+    if (!config.isDefined(DefaultDriverOption.SSL_ENGINE_FACTORY_CLASS)) {
+      return false;
+    }
+    String className = config.getString(DefaultDriverOption.SSL_ENGINE_FACTORY_CLASS);
+    return (className.equals(DefaultSslEngineFactory.class.getSimpleName())
+            || className.equals(DefaultSslEngineFactory.class.getName()))
+        && "OPENSSL".equalsIgnoreCase(config.getString(DefaultDriverOption.SSL_PROVIDER, "JDK"));
+  }
+
+  @VisibleForTesting
+  boolean isOpenSslAvailable() {
+    return OpenSslHandlerFactory.isAvailable();
+  }
+
+  @VisibleForTesting
+  SslHandlerFactory buildOpenSslHandlerFactory() {
+    return new OpenSslHandlerFactory(this);
   }
 
   protected WriteCoalescer buildWriteCoalescer() {
@@ -960,6 +1009,18 @@ public class DefaultDriverContext implements InternalDriverContext {
     return requestLogFormatterRef.get();
   }
 
+  protected ExecutionProfileSnapshots buildExecutionProfileSnapshots() {
+    ExecutionProfileSnapshots snapshots = new ExecutionProfileSnapshots(this);
+    getEventBus().register(ConfigChangeEvent.class, snapshots::onConfigChanged);
+    return snapshots;
+  }
+
+  @NonNull
+  @Override
+  public ExecutionProfileSnapshots getExecutionProfileSnapshots() {
+    return executionProfileSnapshotsRef.get();
+  }
+
   @NonNull
   @Override
   public List<LifecycleListener> getLifecycleListeners() {
@@ -24,6 +24,7 @@ import com.datastax.oss.driver.internal.core.ProtocolVersionRegistry;
 import com.datastax.oss.driver.internal.core.channel.ChannelFactory;
 import com.datastax.oss.driver.internal.core.channel.WriteCoalescer;
 import com.datastax.oss.driver.internal.core.control.ControlConnection;
+import com.datastax.oss.driver.internal.core.cql.ExecutionProfileSnapshots;
 import com.datastax.oss.driver.internal.core.metadata.LoadBalancingPolicyWrapper;
 import com.datastax.oss.driver.internal.core.metadata.MetadataManager;
 import com.datastax.oss.driver.internal.core.metadata.TopologyMonitor;
@@ -198,6 +199,21 @@ public interface InternalDriverContext extends DriverContext {
   @NonNull
   RequestLogFormatter getRequestLogFormatter();
 
+  /**
+   * The pre-computed options of each execution profile, that CQL request handlers use instead of
+   * resolving options from the configuration every time.
+   *
+   * <p>This method has a default implementation, so that existing custom contexts keep compiling:
+   * it returns a new instance on each invocation, and therefore reads the snapshots from {@link
+   * #getConfig()} every time. The built-in {@link DefaultDriverContext} overrides it to return a
+   * single instance, that caches the snapshots and refreshes them when the configuration is
+   * reloaded.
+   */
+  @NonNull
+  default ExecutionProfileSnapshots getExecutionProfileSnapshots() {
+    return new ExecutionProfileSnapshots(this);
+  }
+
   /**
    * A metric registry for storing metrics.
    *
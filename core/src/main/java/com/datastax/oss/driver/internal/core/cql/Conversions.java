@@ -133,6 +133,36 @@ public class Conversions {
             ? consistencyLevelRegistry.nameToCode(
                 config.getString(DefaultDriverOption.REQUEST_SERIAL_CONSISTENCY))
             : serialConsistency.getProtocolCode();
+    return toMessage(statement, consistencyCode, pageSize, serialConsistencyCode, context);
+  }
+
+  /**
+   * Same as {@link #toMessage(Statement, DriverExecutionProfile, InternalDriverContext)}, but reads
+   * the profile's default values from a pre-computed snapshot.
+   */
+  public static Message toMessage(
+      Statement<?> statement, ExecutionProfileSnapshot profile, InternalDriverContext context) {
+    ConsistencyLevel consistency = statement.getConsistencyLevel();
+    int consistencyCode =
+        (consistency == null) ? profile.getConsistencyCode() : consistency.getProtocolCode();
+    int pageSize = statement.getPageSize();
+    if (pageSize <= 0) {
+      pageSize = profile.getPageSize();
+    }
+    ConsistencyLevel serialConsistency = statement.getSerialConsistencyLevel();
+    int serialConsistencyCode =
+        (serialConsistency == null)
+            ? profile.getSerialConsistencyCode()
+            : serialConsistency.getProtocolCode();
+    return toMessage(statement, consistencyCode, pageSize, serialConsistencyCode, context);
+  }
+
+  private static Message toMessage(
+      Statement<?> statement,
+      int consistencyCode,
+      int pageSize,
+      int serialConsistencyCode,
+      InternalDriverContext context) {
     long timestamp = statement.getQueryTimestamp();
     if (timestamp == Statement.NO_DEFAULT_TIMESTAMP) {
       timestamp = context.getTimestampGenerator().next();
@@ -541,6 +571,15 @@ public class Conversions {
     return context.getRetryPolicy(executionProfile.getName());
   }
 
+  public static boolean resolveIdempotence(Request request, ExecutionProfileSnapshot profile) {
+    Boolean requestIsIdempotent = request.isIdempotent();
+    return (requestIsIdempotent == null) ? profile.isDefaultIdempotence() : requestIsIdempotent;
+  }
+
+  public static Duration resolveRequestTimeout(Request request, ExecutionProfileSnapshot profile) {
+    return request.getTimeout() != null ? request.getTimeout() : profile.getRequestTimeout();
+  }
+
   public static SpeculativeExecutionPolicy resolveSpeculativeExecutionPolicy(
       Request request, InternalDriverContext context) {
     DriverExecutionProfile executionProfile = resolveExecutionProfile(request, context);
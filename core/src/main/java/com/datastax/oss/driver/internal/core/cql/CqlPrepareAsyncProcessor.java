@@ -15,6 +15,9 @@
  */
 package com.datastax.oss.driver.internal.core.cql;
 
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
 import com.datastax.oss.driver.api.core.cql.PrepareRequest;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.session.Request;
@@ -25,9 +28,14 @@ import com.datastax.oss.driver.internal.core.session.RequestProcessor;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.shaded.guava.common.cache.Cache;
 import com.datastax.oss.driver.shaded.guava.common.cache.CacheBuilder;
+import com.datastax.oss.driver.shaded.guava.common.cache.RemovalNotification;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
@@ -36,10 +44,51 @@ public class CqlPrepareAsyncProcessor
 
   protected final Cache<PrepareRequest, CompletableFuture<PreparedStatement>> cache;
 
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder cacheEvictions = new LongAdder();
+  private final AtomicInteger inFlightPrepares = new AtomicInteger();
+
+  /** Builds a new instance with the default cache settings (weak values, no bound). */
   public CqlPrepareAsyncProcessor() {
-    this(CacheBuilder.newBuilder().weakValues().build());
+    this.cache =
+        CacheBuilder.newBuilder()
+            .weakValues()
+            .<PrepareRequest, CompletableFuture<PreparedStatement>>removalListener(this::onRemoval)
+            .build();
   }
 
+  /**
+   * Builds a new instance with the cache settings from the {@code
+   * advanced.prepared-statements.prepared-cache} section of the configuration.
+   */
+  public CqlPrepareAsyncProcessor(@NonNull DriverContext context) {
+    DriverExecutionProfile config = context.getConfig().getDefaultProfile();
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+    if (config.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true)) {
+      builder.weakValues();
+    }
+    long maxSize = config.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, 0);
+    if (maxSize > 0) {
+      builder.maximumSize(maxSize);
+    }
+    if (config.isDefined(DefaultDriverOption.PREPARED_CACHE_EXPIRE_AFTER_ACCESS)) {
+      builder.expireAfterAccess(
+          config.getDuration(DefaultDriverOption.PREPARED_CACHE_EXPIRE_AFTER_ACCESS).toNanos(),
+          TimeUnit.NANOSECONDS);
+    }
+    this.cache =
+        builder
+            .<PrepareRequest, CompletableFuture<PreparedStatement>>removalListener(this::onRemoval)
+            .build();
+  }
+
+  /**
+   * Builds a new instance with a custom cache.
+   *
+   * <p>Note that {@link #getCacheEvictions()} will always return 0, unless the cache forwards its
+   * removal notifications to {@link #onRemoval(RemovalNotification)}.
+   */
   protected CqlPrepareAsyncProcessor(
       Cache<PrepareRequest, CompletableFuture<PreparedStatement>> cache) {
     this.cache = cache;
@@ -63,10 +112,13 @@ public class CqlPrepareAsyncProcessor
         CompletableFuture<PreparedStatement> mine = new CompletableFuture<>();
         result = cache.get(request, () -> mine);
         if (result == mine) {
+          cacheMisses.increment();
+          inFlightPrepares.incrementAndGet();
           new CqlPrepareHandler(request, session, context, sessionLogPrefix)
               .handle()
               .whenComplete(
                   (preparedStatement, error) -> {
+                    inFlightPrepares.decrementAndGet();
                     if (error != null) {
                       mine.completeExceptionally(error);
                       cache.invalidate(request); // Make sure failure isn't cached indefinitely
@@ -74,7 +126,11 @@ public class CqlPrepareAsyncProcessor
                       mine.complete(preparedStatement);
                     }
                   });
+        } else {
+          cacheHits.increment();
         }
+      } else {
+        cacheHits.increment();
       }
       return result;
     } catch (ExecutionException e) {
@@ -90,4 +146,38 @@ public class CqlPrepareAsyncProcessor
   public Cache<PrepareRequest, CompletableFuture<PreparedStatement>> getCache() {
     return cache;
   }
+
+  /**
+   * How many prepare requests were served from the cache since this processor was created
+   * (including requests that joined a prepare that was still in progress).
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /** How many prepare requests were sent to the server since this processor was created. */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * How many entries were evicted from the cache since this processor was created, because of its
+   * size, expiration or reference settings.
+   */
+  public long getCacheEvictions() {
+    return cacheEvictions.sum();
+  }
+
+  /** How many prepare requests are currently in progress. */
+  public int getInFlightPrepares() {
+    return inFlightPrepares.get();
+  }
+
+  protected void onRemoval(
+      RemovalNotification<PrepareRequest, CompletableFuture<PreparedStatement>> notification) {
+    // Explicit invalidations (failed prepares) are not evictions
+    if (notification.wasEvicted()) {
+      cacheEvictions.increment();
+    }
+  }
 }
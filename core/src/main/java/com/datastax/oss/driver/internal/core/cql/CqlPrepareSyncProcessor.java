@@ -64,6 +64,10 @@ public class CqlPrepareSyncProcessor
     return asyncProcessor.getCache();
   }
 
+  public CqlPrepareAsyncProcessor getAsyncProcessor() {
+    return asyncProcessor;
+  }
+
   @Override
   public PreparedStatement newFailure(RuntimeException error) {
     throw error;
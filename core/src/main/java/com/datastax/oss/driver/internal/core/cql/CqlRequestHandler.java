@@ -24,7 +24,9 @@ import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.connection.FrameTooLongException;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metrics.DefaultNodeMetric;
@@ -99,6 +101,7 @@ public class CqlRequestHandler implements Throttled {
   private final long startTimeNanos;
   private final String logPrefix;
   private final Statement<?> initialStatement;
+  private final ExecutionProfileSnapshot initialProfile;
   private final DefaultSession session;
   private final CqlIdentifier keyspace;
   private final InternalDriverContext context;
@@ -139,6 +142,14 @@ public class CqlRequestHandler implements Throttled {
     LOG.trace("[{}] Creating new handler for request {}", logPrefix, statement);
 
     this.initialStatement = statement;
+    this.initialProfile = context.getExecutionProfileSnapshots().resolve(statement);
+    if (statement instanceof BoundStatement) {
+      PreparedStatement preparedStatement = ((BoundStatement) statement).getPreparedStatement();
+      if (preparedStatement instanceof DefaultPreparedStatement) {
+        // Used to prioritize the most frequent statements when repreparing on a node that came up
+        ((DefaultPreparedStatement) preparedStatement).getRepreparePayload().recordExecution();
+      }
+    }
     this.session = session;
     this.keyspace = session.getKeyspace().orElse(null);
     this.context = context;
@@ -164,7 +175,7 @@ public class CqlRequestHandler implements Throttled {
     this.sessionMetricUpdater = session.getMetricUpdater();
 
     this.timer = context.getNettyOptions().getTimer();
-    Duration timeout = Conversions.resolveRequestTimeout(statement, context);
+    Duration timeout = Conversions.resolveRequestTimeout(statement, initialProfile);
     this.scheduledTimeout = scheduleTimeout(timeout);
 
     this.throttler = context.getRequestThrottler();
@@ -173,8 +184,7 @@ public class CqlRequestHandler implements Throttled {
 
   @Override
   public void onThrottleReady(boolean wasDelayed) {
-    DriverExecutionProfile executionProfile =
-        Conversions.resolveExecutionProfile(initialStatement, context);
+    DriverExecutionProfile executionProfile = initialProfile.getProfile();
     if (wasDelayed
         // avoid call to nanoTime() if metric is disabled:
         && sessionMetricUpdater.isEnabled(
@@ -271,9 +281,7 @@ public class CqlRequestHandler implements Throttled {
               retryCount,
               scheduleNextExecution,
               logPrefix);
-      DriverExecutionProfile executionProfile =
-          Conversions.resolveExecutionProfile(statement, context);
-      Message message = Conversions.toMessage(statement, executionProfile, context);
+      Message message = Conversions.toMessage(statement, nodeResponseCallback.profile, context);
       channel
           .write(message, statement.isTracing(), statement.getCustomPayload(), nodeResponseCallback)
           .addListener(nodeResponseCallback);
@@ -318,6 +326,15 @@ public class CqlRequestHandler implements Throttled {
           buildExecutionInfo(callback, resultMessage, responseFrame, schemaInAgreement);
       AsyncResultSet resultSet =
           Conversions.toResultSet(resultMessage, executionInfo, session, context);
+      int readAheadPages = callback.profile.getReadAheadPages();
+      if (readAheadPages > 0 && resultSet instanceof DefaultAsyncResultSet) {
+        ((DefaultAsyncResultSet) resultSet)
+            .enableReadAhead(
+                readAheadPages,
+                callback.profile.getReadAheadMaxBytes(),
+                // Only the first page of a query starts reading ahead on its own, see the method
+                callback.statement.getPagingState() == null);
+      }
       if (result.complete(resultSet)) {
         cancelScheduledTasks();
         throttler.signalSuccess(this);
@@ -330,12 +347,13 @@ public class CqlRequestHandler implements Throttled {
           completionTimeNanos = System.nanoTime();
           totalLatencyNanos = completionTimeNanos - startTimeNanos;
           long nodeLatencyNanos = completionTimeNanos - callback.nodeStartTimeNanos;
+          // Use the execution's prefix, like onNodeError does
           requestTracker.onNodeSuccess(
               callback.statement,
               nodeLatencyNanos,
               callback.executionProfile,
               callback.node,
-              logPrefix);
+              callback.logPrefix);
           requestTracker.onSuccess(
               callback.statement,
               totalLatencyNanos,
@@ -355,10 +373,25 @@ public class CqlRequestHandler implements Throttled {
               totalLatencyNanos,
               TimeUnit.NANOSECONDS);
         }
+        if (sessionMetricUpdater.isEnabled(
+                DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT,
+                callback.executionProfile.getName())
+            || sessionMetricUpdater.isEnabled(
+                DefaultSessionMetric.CQL_REQUESTS_PER_TABLE, callback.executionProfile.getName())) {
+          if (completionTimeNanos == NANOTIME_NOT_MEASURED_YET) {
+            completionTimeNanos = System.nanoTime();
+            totalLatencyNanos = completionTimeNanos - startTimeNanos;
+          }
+          sessionMetricUpdater.updateStatementTimers(
+              callback.statement,
+              callback.executionProfile.getName(),
+              totalLatencyNanos,
+              TimeUnit.NANOSECONDS);
+        }
       }
       // log the warnings if they have NOT been disabled
       if (!executionInfo.getWarnings().isEmpty()
-          && callback.executionProfile.getBoolean(DefaultDriverOption.REQUEST_LOG_WARNINGS)
+          && callback.profile.isLogWarnings()
           && LOG.isWarnEnabled()) {
         logServerWarnings(
             callback.statement, callback.executionProfile, executionInfo.getWarnings());
@@ -418,16 +451,13 @@ public class CqlRequestHandler implements Throttled {
 
   @Override
   public void onThrottleFailure(@NonNull RequestThrottlingException error) {
-    DriverExecutionProfile executionProfile =
-        Conversions.resolveExecutionProfile(initialStatement, context);
     sessionMetricUpdater.incrementCounter(
-        DefaultSessionMetric.THROTTLING_ERRORS, executionProfile.getName());
+        DefaultSessionMetric.THROTTLING_ERRORS, initialProfile.getName());
     setFinalError(initialStatement, error, null, -1);
   }
 
   private void setFinalError(Statement<?> statement, Throwable error, Node node, int execution) {
-    DriverExecutionProfile executionProfile =
-        Conversions.resolveExecutionProfile(statement, context);
+    DriverExecutionProfile executionProfile = resolveProfile(statement).getProfile();
     if (error instanceof DriverException) {
       ((DriverException) error)
           .setExecutionInfo(
@@ -460,6 +490,16 @@ public class CqlRequestHandler implements Throttled {
     }
   }
 
+  /**
+   * Returns the profile snapshot of the given statement. This is usually the initial statement, but
+   * a retry policy may have substituted another one.
+   */
+  private ExecutionProfileSnapshot resolveProfile(Statement<?> statement) {
+    return (statement == initialStatement)
+        ? initialProfile
+        : context.getExecutionProfileSnapshots().resolve(statement);
+  }
+
   /**
    * Handles the interaction with a single node in the query plan.
    *
@@ -470,6 +510,7 @@ public class CqlRequestHandler implements Throttled {
 
     private final long nodeStartTimeNanos = System.nanoTime();
     private final Statement<?> statement;
+    private final ExecutionProfileSnapshot profile;
     private final DriverExecutionProfile executionProfile;
     private final Node node;
     private final Queue<Node> queryPlan;
@@ -500,7 +541,8 @@ public class CqlRequestHandler implements Throttled {
       this.retryCount = retryCount;
       this.scheduleNextExecution = scheduleNextExecution;
       this.logPrefix = logPrefix + "|" + execution;
-      this.executionProfile = Conversions.resolveExecutionProfile(statement, context);
+      this.profile = resolveProfile(statement);
+      this.executionProfile = profile.getProfile();
     }
 
     // this gets invoked once the write completes.
@@ -539,12 +581,13 @@ public class CqlRequestHandler implements Throttled {
           cancel();
         } else {
           inFlightCallbacks.add(this);
-          if (scheduleNextExecution && Conversions.resolveIdempotence(statement, context)) {
+          if (scheduleNextExecution && Conversions.resolveIdempotence(statement, profile)) {
             int nextExecution = execution + 1;
             long nextDelay;
             try {
               nextDelay =
-                  Conversions.resolveSpeculativeExecutionPolicy(statement, context)
+                  profile
+                      .getSpeculativeExecutionPolicy()
                       .nextExecution(node, keyspace, statement, nextExecution);
             } catch (Throwable cause) {
               // This is a bug in the policy, but not fatal since we have at least one other
@@ -692,7 +735,7 @@ public class CqlRequestHandler implements Throttled {
                 true,
                 reprepareMessage,
                 repreparePayload.customPayload,
-                Conversions.resolveRequestTimeout(statement, context),
+                Conversions.resolveRequestTimeout(statement, profile),
                 throttler,
                 sessionMetricUpdater,
                 logPrefix);
@@ -762,7 +805,7 @@ public class CqlRequestHandler implements Throttled {
         trackNodeError(node, error, NANOTIME_NOT_MEASURED_YET);
         setFinalError(statement, error, node, execution);
       } else {
-        RetryPolicy retryPolicy = Conversions.resolveRetryPolicy(statement, context);
+        RetryPolicy retryPolicy = profile.getRetryPolicy();
         RetryVerdict verdict;
         if (error instanceof ReadTimeoutException) {
           ReadTimeoutException readTimeout = (ReadTimeoutException) error;
@@ -783,7 +826,7 @@ public class CqlRequestHandler implements Throttled {
         } else if (error instanceof WriteTimeoutException) {
           WriteTimeoutException writeTimeout = (WriteTimeoutException) error;
           verdict =
-              Conversions.resolveIdempotence(statement, context)
+              Conversions.resolveIdempotence(statement, profile)
                   ? retryPolicy.onWriteTimeoutVerdict(
                       statement,
                       writeTimeout.getConsistencyLevel(),
@@ -815,7 +858,7 @@ public class CqlRequestHandler implements Throttled {
               DefaultNodeMetric.IGNORES_ON_UNAVAILABLE);
         } else {
           verdict =
-              Conversions.resolveIdempotence(statement, context)
+              Conversions.resolveIdempotence(statement, profile)
                   ? retryPolicy.onErrorResponseVerdict(statement, error, retryCount)
                   : RetryVerdict.RETHROW;
           updateErrorMetrics(
@@ -894,12 +937,12 @@ public class CqlRequestHandler implements Throttled {
       }
       LOG.trace("[{}] Request failure, processing: {}", logPrefix, error);
       RetryVerdict verdict;
-      if (!Conversions.resolveIdempotence(statement, context)
+      if (!Conversions.resolveIdempotence(statement, profile)
           || error instanceof FrameTooLongException) {
         verdict = RetryVerdict.RETHROW;
       } else {
         try {
-          RetryPolicy retryPolicy = Conversions.resolveRetryPolicy(statement, context);
+          RetryPolicy retryPolicy = profile.getRetryPolicy();
           verdict = retryPolicy.onRequestAbortedVerdict(statement, error, retryCount);
         } catch (Throwable cause) {
           setFinalError(
@@ -24,12 +24,15 @@ import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.util.CountingIterator;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 import net.jcip.annotations.NotThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,12 +42,22 @@ public class DefaultAsyncResultSet implements AsyncResultSet {
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultAsyncResultSet.class);
 
+  // Marks a next page that was already returned by fetchNextPage()
+  private static final CompletionStage<AsyncResultSet> HANDED_OUT = new CompletableFuture<>();
+
   private final ColumnDefinitions definitions;
   private final ExecutionInfo executionInfo;
   private final CqlSession session;
   private final CountingIterator<Row> iterator;
   private final Iterable<Row> currentPage;
 
+  // Read-ahead settings (see advanced.request.read-ahead in reference.conf). The next page is
+  // stored once fetched ahead: a read-ahead callback and the client can race to fetch it.
+  private volatile int readAheadPages;
+  private volatile long readAheadMaxBytes;
+  private final AtomicReference<CompletionStage<AsyncResultSet>> nextPageRef =
+      new AtomicReference<>();
+
   public DefaultAsyncResultSet(
       ColumnDefinitions definitions,
       ExecutionInfo executionInfo,
@@ -96,6 +109,80 @@ public class DefaultAsyncResultSet implements AsyncResultSet {
   @NonNull
   @Override
   public CompletionStage<AsyncResultSet> fetchNextPage() throws IllegalStateException {
+    if (readAheadPages <= 0) {
+      return doFetchNextPage();
+    }
+    if (!hasMorePages()) {
+      throw new IllegalStateException(
+          "No next page. Use #hasMorePages before calling this method to avoid this error.");
+    }
+    // Take the page that was fetched ahead (if any), and drop our reference to it: otherwise all
+    // the pages of the result would stay reachable from the first one.
+    CompletionStage<AsyncResultSet> nextPage = nextPageRef.getAndSet(HANDED_OUT);
+    if (nextPage == null || nextPage == HANDED_OUT) {
+      nextPage = doFetchNextPage();
+    }
+    // The client moves to the next page: extend the window so that it stays the same size
+    int pages = readAheadPages;
+    long maxBytes = readAheadMaxBytes;
+    nextPage.thenAccept(next -> readAhead(next, pages, maxBytes));
+    return nextPage;
+  }
+
+  /**
+   * Enables read-ahead for this result set (this must be called before it is returned to the
+   * client).
+   *
+   * @param pages how many pages to keep fetched ahead of the page being consumed.
+   * @param maxBytes the maximum total size of those pages.
+   * @param startNow whether to start reading ahead immediately; otherwise this will happen at the
+   *     first call to {@link #fetchNextPage()}. This should only be true for the first page of a
+   *     query: pages that are themselves fetched ahead must not trigger more read-ahead on arrival,
+   *     or the whole result would get fetched regardless of the limits.
+   */
+  public void enableReadAhead(int pages, long maxBytes, boolean startNow) {
+    this.readAheadPages = pages;
+    this.readAheadMaxBytes = maxBytes;
+    if (startNow) {
+      readAhead(this, pages, maxBytes);
+    }
+  }
+
+  /**
+   * Makes sure that the {@code pages} pages after {@code resultSet} are fetched, or at least as
+   * many as fit in {@code maxBytes}.
+   */
+  private static void readAhead(AsyncResultSet resultSet, int pages, long maxBytes) {
+    if (pages <= 0 || maxBytes <= 0 || !(resultSet instanceof DefaultAsyncResultSet)) {
+      return;
+    }
+    DefaultAsyncResultSet current = (DefaultAsyncResultSet) resultSet;
+    if (!current.hasMorePages()) {
+      return;
+    }
+    CompletionStage<AsyncResultSet> nextPage = current.nextPageRef.get();
+    if (nextPage == null) {
+      CompletableFuture<AsyncResultSet> mine = new CompletableFuture<>();
+      if (current.nextPageRef.compareAndSet(null, mine)) {
+        CompletableFutures.completeFrom(current.doFetchNextPage(), mine);
+        nextPage = mine;
+      } else {
+        nextPage = current.nextPageRef.get();
+      }
+    }
+    if (nextPage == HANDED_OUT) {
+      // The client has already moved past this page, the window was extended from the next one
+      return;
+    }
+    nextPage.thenAccept(
+        next -> {
+          // -1 if unknown, count it as 0
+          long size = Math.max(next.getExecutionInfo().getResponseSizeInBytes(), 0);
+          readAhead(next, pages - 1, maxBytes - size);
+        });
+  }
+
+  private CompletionStage<AsyncResultSet> doFetchNextPage() {
     ByteBuffer nextState = executionInfo.getPagingState();
     if (nextState == null) {
       throw new IllegalStateException(
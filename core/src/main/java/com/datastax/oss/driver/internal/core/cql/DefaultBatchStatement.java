@@ -24,6 +24,7 @@ import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.internal.core.util.collection.AppendOnlyList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.Iterables;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -39,7 +40,7 @@ import net.jcip.annotations.Immutable;
 public class DefaultBatchStatement implements BatchStatement {
 
   private final BatchType batchType;
-  private final List<BatchableStatement<?>> statements;
+  private final AppendOnlyList<BatchableStatement<?>> statements;
   private final String executionProfileName;
   private final DriverExecutionProfile executionProfile;
   private final CqlIdentifier keyspace;
@@ -79,7 +80,8 @@ public class DefaultBatchStatement implements BatchStatement {
       Node node,
       int nowInSeconds) {
     this.batchType = batchType;
-    this.statements = ImmutableList.copyOf(statements);
+    // Not an ImmutableList, so that add() doesn't have to copy all the elements every time
+    this.statements = AppendOnlyList.copyOf(statements);
     this.executionProfileName = executionProfileName;
     this.executionProfile = executionProfile;
     this.keyspace = keyspace;
@@ -164,7 +166,7 @@ public class DefaultBatchStatement implements BatchStatement {
     } else {
       return new DefaultBatchStatement(
           batchType,
-          ImmutableList.<BatchableStatement<?>>builder().addAll(statements).add(statement).build(),
+          statements.append(statement),
           executionProfileName,
           executionProfile,
           keyspace,
@@ -192,12 +194,13 @@ public class DefaultBatchStatement implements BatchStatement {
       throw new IllegalStateException(
           "Batch statement cannot contain more than " + 0xFFFF + " statements.");
     } else {
+      AppendOnlyList<BatchableStatement<?>> newList = statements;
+      for (BatchableStatement<?> newStatement : newStatements) {
+        newList = newList.append(newStatement);
+      }
       return new DefaultBatchStatement(
           batchType,
-          ImmutableList.<BatchableStatement<?>>builder()
-              .addAll(statements)
-              .addAll(newStatements)
-              .build(),
+          newList,
           executionProfileName,
           executionProfile,
           keyspace,
@@ -641,7 +644,7 @@ public class DefaultBatchStatement implements BatchStatement {
   @Nullable
   @Override
   public Duration getTimeout() {
-    return null;
+    return timeout;
   }
 
   @NonNull
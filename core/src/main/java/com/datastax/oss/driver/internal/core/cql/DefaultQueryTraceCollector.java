@@ -0,0 +1,341 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.QueryTrace;
+import com.datastax.oss.driver.api.core.cql.QueryTraceCollector;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.util.Loggers;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.datastax.oss.driver.shaded.guava.common.collect.Iterables;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@ThreadSafe
+public class DefaultQueryTraceCollector implements QueryTraceCollector {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DefaultQueryTraceCollector.class);
+
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+  public static final int DEFAULT_BATCH_SIZE = 50;
+  public static final int DEFAULT_MAX_PENDING = 1000;
+
+  private static final String SESSIONS_QUERY =
+      "SELECT * FROM system_traces.sessions WHERE session_id IN ?";
+  private static final String EVENTS_QUERY =
+      "SELECT * FROM system_traces.events WHERE session_id IN ?";
+
+  private final String logPrefix;
+  private final CqlSession session;
+  private final DriverExecutionProfile config;
+  private final Consumer<QueryTrace> listener;
+  private final int maxAttempts;
+  private final int batchSize;
+  private final BlockingQueue<PendingTrace> pendingTraces;
+  // Only one batch is fetched at a time; if it takes longer than the interval, rounds are skipped
+  private final AtomicBoolean fetching = new AtomicBoolean();
+  private final LongAdder droppedTraces = new LongAdder();
+  private final ScheduledFuture<?> fetchFuture;
+  private volatile boolean closed;
+
+  public DefaultQueryTraceCollector(
+      @NonNull CqlSession session, @NonNull Consumer<QueryTrace> listener) {
+    this(
+        session,
+        (InternalDriverContext) session.getContext(),
+        session.getContext().getConfig().getDefaultProfile(),
+        listener);
+  }
+
+  @VisibleForTesting
+  DefaultQueryTraceCollector(
+      CqlSession session,
+      InternalDriverContext context,
+      DriverExecutionProfile config,
+      Consumer<QueryTrace> listener) {
+    this.logPrefix = context.getSessionName();
+    this.session = session;
+    this.config = QueryTraceFetcher.traceProfile(config);
+    this.listener = listener;
+    this.maxAttempts = config.getInt(DefaultDriverOption.REQUEST_TRACE_ATTEMPTS);
+    this.batchSize =
+        config.getInt(DefaultDriverOption.REQUEST_TRACE_COLLECTOR_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+    this.pendingTraces =
+        new ArrayBlockingQueue<>(
+            config.getInt(
+                DefaultDriverOption.REQUEST_TRACE_COLLECTOR_MAX_PENDING, DEFAULT_MAX_PENDING));
+    long intervalNanos =
+        config
+            .getDuration(DefaultDriverOption.REQUEST_TRACE_COLLECTOR_INTERVAL, DEFAULT_INTERVAL)
+            .toNanos();
+    this.fetchFuture =
+        context
+            .getNettyOptions()
+            .adminEventExecutorGroup()
+            .next()
+            .scheduleAtFixedRate(
+                this::fetchBatch, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public boolean collect(@NonNull ExecutionInfo executionInfo) {
+    UUID tracingId = executionInfo.getTracingId();
+    if (tracingId == null || closed) {
+      return false;
+    }
+    if (pendingTraces.offer(new PendingTrace(tracingId))) {
+      return true;
+    }
+    droppedTraces.increment();
+    return false;
+  }
+
+  @Override
+  public long getDroppedTraces() {
+    return droppedTraces.sum();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    if (fetchFuture != null) {
+      fetchFuture.cancel(false);
+    }
+    pendingTraces.clear();
+  }
+
+  @VisibleForTesting
+  void fetchBatch() {
+    if (closed || !fetching.compareAndSet(false, true)) {
+      return;
+    }
+    List<PendingTrace> batch = new ArrayList<>(batchSize);
+    pendingTraces.drainTo(batch, batchSize);
+    if (batch.isEmpty()) {
+      fetching.set(false);
+      return;
+    }
+    query(SESSIONS_QUERY, batch)
+        .whenComplete(
+            (sessionRows, error) -> {
+              boolean fetchingEvents = false;
+              try {
+                if (error != null) {
+                  onError(batch, error);
+                  return;
+                }
+                Map<UUID, Row> completeRows = new HashMap<>();
+                for (Row row : sessionRows) {
+                  if (QueryTraceFetcher.isComplete(row)) {
+                    completeRows.put(row.getUuid("session_id"), row);
+                  }
+                }
+                List<PendingTrace> complete = new ArrayList<>(completeRows.size());
+                for (PendingTrace trace : batch) {
+                  if (completeRows.containsKey(trace.tracingId)) {
+                    complete.add(trace);
+                  } else {
+                    // Cassandra writes traces asynchronously, try again in the next round
+                    retryLater(trace);
+                  }
+                }
+                if (!complete.isEmpty()) {
+                  fetchingEvents = true;
+                  fetchEvents(complete, completeRows);
+                }
+              } catch (Throwable t) {
+                onUnexpectedError(batch, t);
+              } finally {
+                // Otherwise fetchEvents will reset it
+                if (!fetchingEvents) {
+                  fetching.set(false);
+                }
+              }
+            });
+  }
+
+  private void fetchEvents(List<PendingTrace> complete, Map<UUID, Row> sessionRows) {
+    query(EVENTS_QUERY, complete)
+        .whenComplete(
+            (eventRows, error) -> {
+              try {
+                if (error != null) {
+                  onError(complete, error);
+                  return;
+                }
+                Map<UUID, List<Row>> eventRowsById = new HashMap<>();
+                for (Row row : eventRows) {
+                  eventRowsById
+                      .computeIfAbsent(row.getUuid("session_id"), id -> new ArrayList<>())
+                      .add(row);
+                }
+                for (PendingTrace trace : complete) {
+                  QueryTrace queryTrace;
+                  try {
+                    queryTrace =
+                        QueryTraceFetcher.buildTrace(
+                            trace.tracingId,
+                            sessionRows.get(trace.tracingId),
+                            eventRowsById.getOrDefault(trace.tracingId, Collections.emptyList()));
+                  } catch (Throwable t) {
+                    Loggers.warnWithException(
+                        LOG,
+                        "[{}] Unexpected error while decoding trace {}, dropping it",
+                        logPrefix,
+                        trace.tracingId,
+                        t);
+                    droppedTraces.increment();
+                    continue;
+                  }
+                  try {
+                    listener.accept(queryTrace);
+                  } catch (Throwable t) {
+                    Loggers.warnWithException(
+                        LOG, "[{}] Unexpected error while notifying trace listener", logPrefix, t);
+                  }
+                }
+              } catch (Throwable t) {
+                onUnexpectedError(complete, t);
+              } finally {
+                fetching.set(false);
+              }
+            });
+  }
+
+  private CompletionStage<List<Row>> query(String query, Collection<PendingTrace> traces) {
+    // De-duplicate in case the same execution info was collected twice
+    Set<UUID> tracingIds = new LinkedHashSet<>();
+    for (PendingTrace trace : traces) {
+      tracingIds.add(trace.tracingId);
+    }
+    CompletableFuture<List<Row>> result = new CompletableFuture<>();
+    query(query, new ArrayList<>(tracingIds), new ArrayList<>(), null, result);
+    return result;
+  }
+
+  private void query(
+      String query,
+      List<UUID> tracingIds,
+      List<Row> rows,
+      ByteBuffer pagingState,
+      CompletableFuture<List<Row>> result) {
+    // Any failure must complete the result, otherwise the batch would never complete, and no other
+    // batch would be fetched
+    CompletionStage<AsyncResultSet> stage;
+    try {
+      stage =
+          session.executeAsync(
+              SimpleStatement.builder(query)
+                  .addPositionalValue(tracingIds)
+                  .setPagingState(pagingState)
+                  .setExecutionProfile(config)
+                  .build());
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+      return;
+    }
+    stage.whenComplete(
+        (rs, error) -> {
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            try {
+              Iterables.addAll(rows, rs.currentPage());
+              ByteBuffer nextPagingState = rs.getExecutionInfo().getPagingState();
+              if (nextPagingState == null) {
+                result.complete(rows);
+              } else {
+                query(query, tracingIds, rows, nextPagingState, result);
+              }
+            } catch (Throwable t) {
+              result.completeExceptionally(t);
+            }
+          }
+        });
+  }
+
+  private void onError(List<PendingTrace> traces, Throwable error) {
+    Loggers.warnWithException(
+        LOG, "[{}] Error while fetching {} query traces", logPrefix, traces.size(), error);
+    for (PendingTrace trace : traces) {
+      retryLater(trace);
+    }
+  }
+
+  private void onUnexpectedError(List<PendingTrace> traces, Throwable error) {
+    // Most likely a row that can't be decoded: retrying would fail again
+    Loggers.warnWithException(
+        LOG,
+        "[{}] Unexpected error while processing {} query traces, dropping them",
+        logPrefix,
+        traces.size(),
+        error);
+    droppedTraces.add(traces.size());
+  }
+
+  private void retryLater(PendingTrace trace) {
+    trace.attempts += 1;
+    if (trace.attempts >= maxAttempts) {
+      LOG.debug(
+          "[{}] Trace {} still not complete after {} attempts, dropping it",
+          logPrefix,
+          trace.tracingId,
+          maxAttempts);
+      droppedTraces.increment();
+    } else if (closed || !pendingTraces.offer(trace)) {
+      droppedTraces.increment();
+    }
+  }
+
+  private static class PendingTrace {
+    private final UUID tracingId;
+    // Only accessed by the batch that is currently being fetched
+    private int attempts;
+
+    private PendingTrace(UUID tracingId) {
+      this.tracingId = tracingId;
+    }
+  }
+}
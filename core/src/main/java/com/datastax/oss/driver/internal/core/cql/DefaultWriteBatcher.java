@@ -0,0 +1,296 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.cql.WriteBatcher;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import net.jcip.annotations.ThreadSafe;
+
+@ThreadSafe
+public class DefaultWriteBatcher implements WriteBatcher {
+
+  private final Session session;
+  private final EventExecutor adminExecutor;
+  private final Duration window;
+  private final int maxStatements;
+
+  // The statements waiting to be sent, grouped by target (see groupKey)
+  private final ConcurrentMap<Object, Group> groups = new ConcurrentHashMap<>();
+  private final Set<CompletionStage<AsyncResultSet>> inFlight = ConcurrentHashMap.newKeySet();
+  private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+
+  // Statements are submitted under the read lock, and the batcher is closed under the write lock,
+  // so that no statement can be added to a group (or start executing) once closeAsync has flushed.
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private volatile boolean closed;
+
+  public DefaultWriteBatcher(@NonNull Session session) {
+    this(
+        session,
+        ((InternalDriverContext) session.getContext())
+            .getNettyOptions()
+            .adminEventExecutorGroup()
+            .next());
+  }
+
+  @VisibleForTesting
+  DefaultWriteBatcher(@NonNull Session session, @NonNull EventExecutor adminExecutor) {
+    this.session = session;
+    this.adminExecutor = adminExecutor;
+    DriverExecutionProfile config = session.getContext().getConfig().getDefaultProfile();
+    this.window = config.getDuration(DefaultDriverOption.WRITE_BATCHER_WINDOW);
+    this.maxStatements = config.getInt(DefaultDriverOption.WRITE_BATCHER_MAX_STATEMENTS);
+  }
+
+  @NonNull
+  @Override
+  public CompletionStage<AsyncResultSet> executeAsync(@NonNull BatchableStatement<?> statement) {
+    closeLock.readLock().lock();
+    try {
+      if (closed) {
+        return CompletableFutures.failedFuture(
+            new IllegalStateException("This write batcher was closed"));
+      }
+      Entry entry = new Entry(statement);
+      Object key = groupKey(statement);
+      if (key == null || maxStatements <= 1) {
+        send(Collections.singletonList(entry));
+      } else {
+        addToGroup(key, entry);
+      }
+      return entry.result;
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  private void addToGroup(Object key, Entry entry) {
+    Group[] full = new Group[1];
+    groups.compute(
+        key,
+        (k, group) -> {
+          if (group == null) {
+            group = new Group();
+            Group newGroup = group;
+            group.flushTimer =
+                adminExecutor.schedule(
+                    () -> flush(k, newGroup), window.toNanos(), TimeUnit.NANOSECONDS);
+          }
+          group.entries.add(entry);
+          if (group.entries.size() >= maxStatements) {
+            full[0] = group;
+            return null;
+          }
+          return group;
+        });
+    if (full[0] != null) {
+      full[0].flushTimer.cancel(false);
+      send(full[0].entries);
+    }
+  }
+
+  @Override
+  public void flush() {
+    for (Object key : groups.keySet()) {
+      Group group = groups.remove(key);
+      if (group != null) {
+        group.flushTimer.cancel(false);
+        send(group.entries);
+      }
+    }
+  }
+
+  private void flush(Object key, Group group) {
+    // If the group was already sent because it was full, or by a call to flush(), this is a no-op
+    if (groups.remove(key, group)) {
+      send(group.entries);
+    }
+  }
+
+  /**
+   * Statements can be batched together if they target the same replicas (or the same token or
+   * partition key if the replicas are unknown), and have the same request attributes, which are
+   * copied to the batch.
+   *
+   * @return the key, or null if the statement must be sent on its own: it has no routing
+   *     information, or it sets its own timestamp (a batch can only have one).
+   */
+  private Object groupKey(BatchableStatement<?> statement) {
+    Token token = statement.getRoutingToken();
+    ByteBuffer key = statement.getRoutingKey();
+    if ((token == null && key == null)
+        || statement.getQueryTimestamp() != Statement.NO_DEFAULT_TIMESTAMP) {
+      return null;
+    }
+    Object target = (token != null) ? token : key;
+    CqlIdentifier keyspace =
+        (statement.getKeyspace() != null)
+            ? statement.getKeyspace()
+            : (statement.getRoutingKeyspace() != null)
+                ? statement.getRoutingKeyspace()
+                : session.getKeyspace().orElse(null);
+    TokenMap tokenMap = session.getMetadata().getTokenMap().orElse(null);
+    if (keyspace != null && tokenMap != null) {
+      Set<Node> replicas =
+          (token != null)
+              ? tokenMap.getReplicas(keyspace, token)
+              : tokenMap.getReplicas(keyspace, key);
+      if (!replicas.isEmpty()) {
+        // Statements with the same replicas can go to the same coordinator, even if they are for
+        // different partitions
+        target = replicas;
+      }
+    }
+    return Arrays.asList(
+        target,
+        statement.getExecutionProfileName(),
+        statement.getExecutionProfile(),
+        statement.getKeyspace(),
+        statement.getConsistencyLevel(),
+        statement.getSerialConsistencyLevel(),
+        statement.getTimeout(),
+        statement.getNode());
+  }
+
+  private void send(List<Entry> entries) {
+    Statement<?> request;
+    if (entries.size() == 1) {
+      request = entries.get(0).statement;
+    } else {
+      BatchableStatement<?> first = entries.get(0).statement;
+      List<BatchableStatement<?>> statements = new ArrayList<>(entries.size());
+      // The batch is idempotent only if all statements are, and explicitly not idempotent if any
+      // statement is. Otherwise leave it unset, so that the profile's default applies.
+      Boolean idempotent = Boolean.TRUE;
+      for (Entry entry : entries) {
+        statements.add(entry.statement);
+        Boolean statementIdempotent = entry.statement.isIdempotent();
+        if (Boolean.FALSE.equals(statementIdempotent)) {
+          idempotent = Boolean.FALSE;
+        } else if (statementIdempotent == null && !Boolean.FALSE.equals(idempotent)) {
+          idempotent = null;
+        }
+      }
+      // The attributes are the same for all statements (see groupKey)
+      BatchStatementBuilder builder =
+          BatchStatement.builder(BatchType.UNLOGGED)
+              .addStatements(statements)
+              .setExecutionProfileName(first.getExecutionProfileName())
+              .setExecutionProfile(first.getExecutionProfile())
+              .setConsistencyLevel(first.getConsistencyLevel())
+              .setSerialConsistencyLevel(first.getSerialConsistencyLevel())
+              .setTimeout(first.getTimeout())
+              .setNode(first.getNode())
+              .setIdempotence(idempotent);
+      if (first.getKeyspace() != null) {
+        builder.setKeyspace(first.getKeyspace());
+      }
+      request = builder.build();
+    }
+    CompletionStage<AsyncResultSet> stage = session.execute(request, Statement.ASYNC);
+    inFlight.add(stage);
+    stage.whenComplete(
+        (resultSet, error) -> {
+          inFlight.remove(stage);
+          for (Entry entry : entries) {
+            if (error != null) {
+              entry.result.completeExceptionally(error);
+            } else {
+              entry.result.complete(resultSet);
+            }
+          }
+          if (closed && inFlight.isEmpty() && groups.isEmpty()) {
+            closeFuture.complete(null);
+          }
+        });
+  }
+
+  @NonNull
+  @Override
+  public CompletionStage<Void> closeFuture() {
+    return closeFuture;
+  }
+
+  @NonNull
+  @Override
+  public CompletionStage<Void> closeAsync() {
+    closeLock.writeLock().lock();
+    try {
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    flush();
+    if (inFlight.isEmpty()) {
+      closeFuture.complete(null);
+    }
+    return closeFuture;
+  }
+
+  @NonNull
+  @Override
+  public CompletionStage<Void> forceCloseAsync() {
+    return closeAsync();
+  }
+
+  private static class Entry {
+    private final BatchableStatement<?> statement;
+    private final CompletableFuture<AsyncResultSet> result = new CompletableFuture<>();
+
+    private Entry(BatchableStatement<?> statement) {
+      this.statement = statement;
+    }
+  }
+
+  private static class Group {
+    // Only accessed in ConcurrentMap.compute() while the group is in the map, then by the thread
+    // that removed it.
+    private final List<Entry> entries = new ArrayList<>();
+    private ScheduledFuture<?> flushTimer;
+  }
+}
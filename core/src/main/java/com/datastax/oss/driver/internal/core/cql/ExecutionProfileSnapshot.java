@@ -0,0 +1,138 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.retry.RetryPolicy;
+import com.datastax.oss.driver.api.core.specex.SpeculativeExecutionPolicy;
+import com.datastax.oss.driver.internal.core.ConsistencyLevelRegistry;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import net.jcip.annotations.Immutable;
+
+/**
+ * The options of an execution profile that are needed for every CQL request, read once and stored
+ * in plain fields.
+ *
+ * <p>Resolving an option from a {@link DriverExecutionProfile} involves a map lookup (and sometimes
+ * a conversion, e.g. the consistency level name to its protocol code); this is done once per
+ * profile instead of multiple times per request.
+ *
+ * @see ExecutionProfileSnapshots
+ */
+@Immutable
+public class ExecutionProfileSnapshot {
+
+  private final DriverExecutionProfile profile;
+  private final String name;
+  private final Duration requestTimeout;
+  private final int consistencyCode;
+  private final int serialConsistencyCode;
+  private final int pageSize;
+  private final boolean defaultIdempotence;
+  private final boolean logWarnings;
+  private final int readAheadPages;
+  private final long readAheadMaxBytes;
+  private final RetryPolicy retryPolicy;
+  private final SpeculativeExecutionPolicy speculativeExecutionPolicy;
+
+  public ExecutionProfileSnapshot(
+      @NonNull DriverExecutionProfile profile, @NonNull InternalDriverContext context) {
+    ConsistencyLevelRegistry consistencyLevelRegistry = context.getConsistencyLevelRegistry();
+    this.profile = profile;
+    this.name = profile.getName();
+    this.requestTimeout = profile.getDuration(DefaultDriverOption.REQUEST_TIMEOUT);
+    this.consistencyCode =
+        consistencyLevelRegistry.nameToCode(
+            profile.getString(DefaultDriverOption.REQUEST_CONSISTENCY));
+    this.serialConsistencyCode =
+        consistencyLevelRegistry.nameToCode(
+            profile.getString(DefaultDriverOption.REQUEST_SERIAL_CONSISTENCY));
+    this.pageSize = profile.getInt(DefaultDriverOption.REQUEST_PAGE_SIZE);
+    this.defaultIdempotence = profile.getBoolean(DefaultDriverOption.REQUEST_DEFAULT_IDEMPOTENCE);
+    this.logWarnings = profile.getBoolean(DefaultDriverOption.REQUEST_LOG_WARNINGS);
+    this.readAheadPages = profile.getInt(DefaultDriverOption.REQUEST_READ_AHEAD_PAGES, 0);
+    this.readAheadMaxBytes =
+        (readAheadPages > 0)
+            ? profile.getBytes(DefaultDriverOption.REQUEST_READ_AHEAD_MAX_BYTES)
+            : 0;
+    this.retryPolicy = context.getRetryPolicy(name);
+    this.speculativeExecutionPolicy = context.getSpeculativeExecutionPolicy(name);
+  }
+
+  /** The profile that this snapshot was built from. */
+  @NonNull
+  public DriverExecutionProfile getProfile() {
+    return profile;
+  }
+
+  @NonNull
+  public String getName() {
+    return name;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_TIMEOUT */
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_CONSISTENCY */
+  public int getConsistencyCode() {
+    return consistencyCode;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_SERIAL_CONSISTENCY */
+  public int getSerialConsistencyCode() {
+    return serialConsistencyCode;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_PAGE_SIZE */
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_DEFAULT_IDEMPOTENCE */
+  public boolean isDefaultIdempotence() {
+    return defaultIdempotence;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_LOG_WARNINGS */
+  public boolean isLogWarnings() {
+    return logWarnings;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_READ_AHEAD_PAGES */
+  public int getReadAheadPages() {
+    return readAheadPages;
+  }
+
+  /** @see DefaultDriverOption#REQUEST_READ_AHEAD_MAX_BYTES */
+  public long getReadAheadMaxBytes() {
+    return readAheadMaxBytes;
+  }
+
+  @NonNull
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  @NonNull
+  public SpeculativeExecutionPolicy getSpeculativeExecutionPolicy() {
+    return speculativeExecutionPolicy;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.internal.core.config.ConfigChangeEvent;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Caches an {@link ExecutionProfileSnapshot} for each profile defined in the configuration.
+ *
+ * <p>The cache is keyed by profile name, and discarded as a whole when the configuration is
+ * reloaded (see {@link #onConfigChanged(ConfigChangeEvent)}), so that the next requests use fresh
+ * values.
+ *
+ * <p>Requests that carry their own {@link DriverExecutionProfile} instance (as opposed to a profile
+ * name) are not cached, since those instances can be created on the fly by the client.
+ */
+@ThreadSafe
+public class ExecutionProfileSnapshots {
+
+  private final InternalDriverContext context;
+  private volatile ConcurrentMap<String, ExecutionProfileSnapshot> snapshots =
+      new ConcurrentHashMap<>();
+
+  public ExecutionProfileSnapshots(@NonNull InternalDriverContext context) {
+    this.context = context;
+  }
+
+  /** Returns the snapshot of the profile that applies to the given request. */
+  @NonNull
+  public ExecutionProfileSnapshot resolve(@NonNull Request request) {
+    DriverExecutionProfile profile = request.getExecutionProfile();
+    if (profile != null) {
+      return new ExecutionProfileSnapshot(profile, context);
+    }
+    String profileName = request.getExecutionProfileName();
+    if (profileName == null || profileName.isEmpty()) {
+      profileName = DriverExecutionProfile.DEFAULT_NAME;
+    }
+    ConcurrentMap<String, ExecutionProfileSnapshot> current = snapshots;
+    ExecutionProfileSnapshot snapshot = current.get(profileName);
+    if (snapshot == null) {
+      snapshot = current.computeIfAbsent(profileName, this::build);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Discards all snapshots. This must be invoked every time the configuration changes, the driver's
+   * context takes care of it.
+   */
+  public void onConfigChanged(@SuppressWarnings("unused") ConfigChangeEvent event) {
+    snapshots = new ConcurrentHashMap<>();
+  }
+
+  private ExecutionProfileSnapshot build(String profileName) {
+    DriverConfig config = context.getConfig();
+    DriverExecutionProfile profile =
+        DriverExecutionProfile.DEFAULT_NAME.equals(profileName)
+            ? config.getDefaultProfile()
+            : config.getProfile(profileName);
+    return new ExecutionProfileSnapshot(profile, context);
+  }
+}
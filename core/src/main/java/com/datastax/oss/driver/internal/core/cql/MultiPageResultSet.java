@@ -25,8 +25,14 @@ import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import net.jcip.annotations.NotThreadSafe;
 
 @NotThreadSafe
@@ -71,6 +77,19 @@ public class MultiPageResultSet implements ResultSet {
     return iterator;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The spliterator splits at page boundaries: each split covers the remaining rows of the
+   * current page, and the next page is fetched in the background while they are processed. This
+   * allows parallel streams to process multiple pages concurrently.
+   */
+  @NonNull
+  @Override
+  public Spliterator<Row> spliterator() {
+    return new RowSpliterator();
+  }
+
   @Override
   public boolean wasApplied() {
     return iterator.wasApplied();
@@ -79,6 +98,8 @@ public class MultiPageResultSet implements ResultSet {
   private class RowIterator extends CountingIterator<Row> {
     private AsyncResultSet currentPage;
     private Iterator<Row> currentRows;
+    // Set when a spliterator takes over: from then on, it handles the next pages
+    private boolean stopAtEndOfPage;
 
     private RowIterator(AsyncResultSet firstPage) {
       super(firstPage.remaining());
@@ -93,7 +114,7 @@ public class MultiPageResultSet implements ResultSet {
     }
 
     private void maybeMoveToNextPage() {
-      if (!currentRows.hasNext() && currentPage.hasMorePages()) {
+      if (!currentRows.hasNext() && currentPage.hasMorePages() && !stopAtEndOfPage) {
         BlockingOperation.checkNotDriverThread();
         AsyncResultSet nextPage =
             CompletableFutures.getUninterruptibly(currentPage.fetchNextPage());
@@ -115,4 +136,85 @@ public class MultiPageResultSet implements ResultSet {
       return currentPage.wasApplied();
     }
   }
+
+  private class RowSpliterator implements Spliterator<Row> {
+
+    private static final int CHARACTERISTICS =
+        Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+
+    private Iterator<Row> currentRows;
+    private int remaining;
+    // null if the current page is the last one
+    private CompletionStage<AsyncResultSet> nextPage;
+
+    private RowSpliterator() {
+      // Start with whatever is left in the iterator's current page (including a row it might
+      // already have computed), then take over the next pages.
+      iterator.stopAtEndOfPage = true;
+      this.currentRows = iterator;
+      this.remaining = iterator.remaining();
+      AsyncResultSet currentPage = iterator.currentPage;
+      this.nextPage = currentPage.hasMorePages() ? currentPage.fetchNextPage() : null;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Row> action) {
+      Objects.requireNonNull(action, "action cannot be null");
+      do {
+        if (currentRows.hasNext()) {
+          remaining -= 1;
+          action.accept(currentRows.next());
+          return true;
+        }
+      } while (moveToNextPage());
+      return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Row> action) {
+      Objects.requireNonNull(action, "action cannot be null");
+      do {
+        currentRows.forEachRemaining(action);
+        remaining = 0;
+      } while (moveToNextPage());
+    }
+
+    @Override
+    public Spliterator<Row> trySplit() {
+      if (!currentRows.hasNext() && !moveToNextPage()) {
+        return null;
+      }
+      // Hand out the rest of the current page. The next page is already being fetched, so the
+      // caller can process this one while it arrives.
+      Spliterator<Row> split = Spliterators.spliterator(currentRows, remaining, CHARACTERISTICS);
+      currentRows = Collections.emptyIterator();
+      remaining = 0;
+      return split;
+    }
+
+    @Override
+    public long estimateSize() {
+      return (nextPage == null) ? remaining : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+
+    private boolean moveToNextPage() {
+      if (nextPage == null) {
+        return false;
+      }
+      BlockingOperation.checkNotDriverThread();
+      AsyncResultSet page = CompletableFutures.getUninterruptibly(nextPage);
+      // Fetch ahead: the following page loads while this one is consumed
+      nextPage = page.hasMorePages() ? page.fetchNextPage() : null;
+      currentRows = page.currentPage().iterator();
+      remaining = page.remaining();
+      executionInfos.add(page.getExecutionInfo());
+      columnDefinitions = page.getColumnDefinitions();
+      return true;
+    }
+  }
 }
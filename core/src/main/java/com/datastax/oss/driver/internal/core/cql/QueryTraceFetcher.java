@@ -56,13 +56,7 @@ class QueryTraceFetcher {
     this.tracingId = tracingId;
     this.session = session;
 
-    String regularConsistency = config.getString(DefaultDriverOption.REQUEST_CONSISTENCY);
-    String traceConsistency = config.getString(DefaultDriverOption.REQUEST_TRACE_CONSISTENCY);
-    this.config =
-        traceConsistency.equals(regularConsistency)
-            ? config
-            : config.withString(DefaultDriverOption.REQUEST_CONSISTENCY, traceConsistency);
-
+    this.config = traceProfile(config);
     this.maxAttempts = config.getInt(DefaultDriverOption.REQUEST_TRACE_ATTEMPTS);
     this.intervalNanos = config.getDuration(DefaultDriverOption.REQUEST_TRACE_INTERVAL).toNanos();
     this.scheduler = context.getNettyOptions().adminEventExecutorGroup().next();
@@ -74,6 +68,20 @@ class QueryTraceFetcher {
     return resultFuture;
   }
 
+  /** Returns the profile to use for trace queries, based on the profile of the traced request. */
+  static DriverExecutionProfile traceProfile(DriverExecutionProfile config) {
+    String regularConsistency = config.getString(DefaultDriverOption.REQUEST_CONSISTENCY);
+    String traceConsistency = config.getString(DefaultDriverOption.REQUEST_TRACE_CONSISTENCY);
+    return traceConsistency.equals(regularConsistency)
+        ? config
+        : config.withString(DefaultDriverOption.REQUEST_CONSISTENCY, traceConsistency);
+  }
+
+  /** Whether Cassandra has finished writing the trace described by a session row. */
+  static boolean isComplete(Row sessionRow) {
+    return !sessionRow.isNull("duration") && !sessionRow.isNull("started_at");
+  }
+
   private void querySession(int remainingAttempts) {
     session
         .executeAsync(
@@ -87,7 +95,7 @@ class QueryTraceFetcher {
                 resultFuture.completeExceptionally(error);
               } else {
                 Row row = rs.one();
-                if (row == null || row.isNull("duration") || row.isNull("started_at")) {
+                if (row == null || !isComplete(row)) {
                   // Trace is incomplete => fail if last try, or schedule retry
                   if (remainingAttempts == 1) {
                     resultFuture.completeExceptionally(
@@ -124,7 +132,7 @@ class QueryTraceFetcher {
                 Iterables.addAll(events, rs.currentPage());
                 ByteBuffer nextPagingState = rs.getExecutionInfo().getPagingState();
                 if (nextPagingState == null) {
-                  resultFuture.complete(buildTrace(sessionRow, events));
+                  resultFuture.complete(buildTrace(tracingId, sessionRow, events));
                 } else {
                   queryEvents(sessionRow, events, nextPagingState);
                 }
@@ -132,7 +140,7 @@ class QueryTraceFetcher {
             });
   }
 
-  private QueryTrace buildTrace(Row sessionRow, Iterable<Row> eventRows) {
+  static QueryTrace buildTrace(UUID tracingId, Row sessionRow, Iterable<Row> eventRows) {
     ImmutableList.Builder<TraceEvent> eventsBuilder = ImmutableList.builder();
     for (Row eventRow : eventRows) {
       UUID eventId = eventRow.getUuid("event_id");
@@ -0,0 +1,123 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.TokenRangeScanSession;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.session.Request;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A request to scan a whole table, which is built internally to handle calls such as {@link
+ * TokenRangeScanSession#scanAsync(CqlIdentifier, CqlIdentifier)}.
+ *
+ * <p>The request itself is never sent to a node: it is executed as a set of token range queries by
+ * {@link TokenRangeScanner}, which carry their own attributes.
+ */
+@Immutable
+public class TokenRangeScanRequest implements Request {
+
+  private final CqlIdentifier keyspace;
+  private final CqlIdentifier table;
+
+  public TokenRangeScanRequest(@NonNull CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
+    this.keyspace = keyspace;
+    this.table = table;
+  }
+
+  /** The keyspace of the table to scan. */
+  @NonNull
+  public CqlIdentifier getTableKeyspace() {
+    return keyspace;
+  }
+
+  /** The table to scan. */
+  @NonNull
+  public CqlIdentifier getTable() {
+    return table;
+  }
+
+  @Nullable
+  @Override
+  public String getExecutionProfileName() {
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public DriverExecutionProfile getExecutionProfile() {
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public CqlIdentifier getKeyspace() {
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public CqlIdentifier getRoutingKeyspace() {
+    // A scan covers the whole ring, token-aware routing only applies to its individual queries.
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public ByteBuffer getRoutingKey() {
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public Token getRoutingToken() {
+    return null;
+  }
+
+  @NonNull
+  @Override
+  public Map<String, ByteBuffer> getCustomPayload() {
+    return Collections.emptyMap();
+  }
+
+  @NonNull
+  @Override
+  public Boolean isIdempotent() {
+    // A scan only reads
+    return true;
+  }
+
+  @Nullable
+  @Override
+  public Duration getTimeout() {
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public Node getNode() {
+    return null;
+  }
+}
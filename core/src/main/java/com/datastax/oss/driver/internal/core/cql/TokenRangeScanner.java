@@ -0,0 +1,445 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.NoNodeAvailableException;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PrepareRequest;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.NodeState;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Executes a full table scan as a set of token range queries, and merges their results into a
+ * single {@link AsyncResultSet}.
+ *
+ * <p>Each range of the ring is split according to {@link
+ * DefaultDriverOption#TOKEN_RANGE_SCAN_SPLITS_PER_RANGE}, and each split is assigned to the least
+ * loaded of its replicas that are not down, and sent to that node. The splits of a given replica
+ * are executed at most {@link DefaultDriverOption#TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE}
+ * at a time. If the replica is not available when a query is sent, the query is sent without a node
+ * instead; it still sets its routing token, so that token-aware load balancing picks another
+ * replica.
+ *
+ * <p>Pages are handed out to the client in the order they arrive, regardless of the split they come
+ * from. The next page of a split is only requested when the client fetches the current one, so that
+ * at most one page per running split is buffered in memory.
+ */
+@ThreadSafe
+public class TokenRangeScanner {
+
+  @NonNull
+  public static CompletionStage<AsyncResultSet> scan(
+      @NonNull Session session, @NonNull CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
+    TokenMap tokenMap = session.getMetadata().getTokenMap().orElse(null);
+    if (tokenMap == null) {
+      return CompletableFutures.failedFuture(
+          new IllegalStateException(
+              "Token metadata is not available, "
+                  + "check that advanced.metadata.token-map.enabled is true"));
+    }
+    TableMetadata tableMetadata =
+        session.getMetadata().getKeyspace(keyspace).flatMap(ks -> ks.getTable(table)).orElse(null);
+    if (tableMetadata == null) {
+      return CompletableFutures.failedFuture(
+          new IllegalArgumentException(
+              String.format("Unknown table %s.%s", keyspace.asCql(true), table.asCql(true))));
+    }
+    String partitionKey =
+        tableMetadata.getPartitionKey().stream()
+            .map(ColumnMetadata::getName)
+            .map(name -> name.asCql(true))
+            .collect(Collectors.joining(", "));
+    String openEndedQuery =
+        String.format(
+            "SELECT * FROM %s.%s WHERE token(%s) > ?",
+            keyspace.asCql(true), table.asCql(true), partitionKey);
+    String boundedQuery = String.format("%s AND token(%s) <= ?", openEndedQuery, partitionKey);
+
+    DriverExecutionProfile config = session.getContext().getConfig().getDefaultProfile();
+    int splitsPerRange = config.getInt(DefaultDriverOption.TOKEN_RANGE_SCAN_SPLITS_PER_RANGE);
+    int maxConcurrentSplitsPerNode =
+        config.getInt(DefaultDriverOption.TOKEN_RANGE_SCAN_MAX_CONCURRENT_SPLITS_PER_NODE);
+
+    CompletionStage<PreparedStatement> openEnded =
+        session.execute(new DefaultPrepareRequest(openEndedQuery), PrepareRequest.ASYNC);
+    CompletionStage<PreparedStatement> bounded =
+        session.execute(new DefaultPrepareRequest(boundedQuery), PrepareRequest.ASYNC);
+    return openEnded
+        .thenCombine(
+            bounded,
+            (openEndedStatement, boundedStatement) ->
+                new TokenRangeScanner(
+                    session,
+                    split(tokenMap, keyspace, splitsPerRange, openEndedStatement, boundedStatement),
+                    maxConcurrentSplitsPerNode))
+        .thenCompose(TokenRangeScanner::start);
+  }
+
+  /**
+   * Splits the ring, and groups the resulting statements by the replica that they were assigned to.
+   */
+  @VisibleForTesting
+  static Collection<Queue<Statement<?>>> split(
+      TokenMap tokenMap,
+      CqlIdentifier keyspace,
+      int splitsPerRange,
+      PreparedStatement openEndedStatement,
+      PreparedStatement boundedStatement) {
+    // Note: the key can be null if the replicas of a range are unknown, or all down. Those splits
+    // are not grouped with any node, and will be sent to whatever coordinator the load balancing
+    // policy picks.
+    Map<Node, Queue<Statement<?>>> splitsByNode = new LinkedHashMap<>();
+    for (TokenRange range : tokenMap.getTokenRanges()) {
+      Set<Node> replicas = tokenMap.getReplicas(keyspace, range);
+      for (TokenRange split : range.splitEvenly(splitsPerRange)) {
+        for (TokenRange unwrapped : split.unwrap()) {
+          if (unwrapped.isEmpty()) {
+            continue;
+          }
+          Token start = unwrapped.getStart();
+          Token end = unwrapped.getEnd();
+          // After unwrapping, the end can only be lower than or equal to the start if it is the
+          // minimum token, which stands for the end of the ring
+          BoundStatement statement =
+              (end.compareTo(start) <= 0)
+                  ? openEndedStatement.bind().setToken(0, start)
+                  : boundedStatement.bind().setToken(0, start).setToken(1, end);
+          Node node = leastLoaded(replicas, splitsByNode);
+          splitsByNode
+              .computeIfAbsent(node, n -> new ArrayDeque<>())
+              .add(statement.setRoutingToken(end).setNode(node));
+        }
+      }
+    }
+    return splitsByNode.values();
+  }
+
+  private static Node leastLoaded(Set<Node> replicas, Map<Node, Queue<Statement<?>>> splits) {
+    Node result = null;
+    int resultLoad = Integer.MAX_VALUE;
+    for (Node replica : replicas) {
+      if (isDown(replica)) {
+        continue;
+      }
+      Queue<Statement<?>> replicaSplits = splits.get(replica);
+      int load = (replicaSplits == null) ? 0 : replicaSplits.size();
+      if (load < resultLoad) {
+        result = replica;
+        resultLoad = load;
+      }
+    }
+    return result;
+  }
+
+  private static boolean isDown(Node node) {
+    NodeState state = node.getState();
+    return state == NodeState.DOWN || state == NodeState.FORCED_DOWN;
+  }
+
+  private final Session session;
+  private final int maxConcurrentSplitsPerNode;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  // The splits that haven't been started yet, grouped by the replica they were assigned to.
+  @GuardedBy("lock")
+  private final Collection<Queue<Statement<?>>> splitsByNode;
+
+  // The pages (or errors) that have arrived but haven't been handed out to the client yet.
+  @GuardedBy("lock")
+  private final Queue<Object> ready = new ArrayDeque<>();
+
+  // If the client requests a page and none is ready, it waits on this future.
+  @GuardedBy("lock")
+  private CompletableFuture<AsyncResultSet> pendingResult;
+
+  // The number of splits whose last page hasn't been handed out to the client yet.
+  @GuardedBy("lock")
+  private int unfinishedSplits;
+
+  @GuardedBy("lock")
+  private boolean failed;
+
+  @VisibleForTesting
+  TokenRangeScanner(
+      Session session,
+      Collection<Queue<Statement<?>>> splitsByNode,
+      int maxConcurrentSplitsPerNode) {
+    this.session = session;
+    this.splitsByNode = splitsByNode;
+    this.maxConcurrentSplitsPerNode = maxConcurrentSplitsPerNode;
+    for (Queue<Statement<?>> splits : splitsByNode) {
+      this.unfinishedSplits += splits.size();
+    }
+  }
+
+  @VisibleForTesting
+  CompletionStage<AsyncResultSet> start() {
+    List<Statement<?>> toStart = new ArrayList<>();
+    List<Queue<Statement<?>>> toStartNodeSplits = new ArrayList<>();
+    lock.lock();
+    try {
+      if (unfinishedSplits == 0) {
+        return CompletableFutures.failedFuture(
+            new IllegalStateException("The token map has no ranges to scan"));
+      }
+      for (Queue<Statement<?>> splits : splitsByNode) {
+        for (int i = 0; i < maxConcurrentSplitsPerNode && !splits.isEmpty(); i++) {
+          toStart.add(splits.poll());
+          toStartNodeSplits.add(splits);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    for (int i = 0; i < toStart.size(); i++) {
+      execute(toStart.get(i), toStartNodeSplits.get(i));
+    }
+    return nextPage();
+  }
+
+  private void execute(Statement<?> statement, Queue<Statement<?>> nodeSplits) {
+    Node node = statement.getNode();
+    Statement<?> toExecute = (node != null && isDown(node)) ? statement.setNode(null) : statement;
+    session
+        .execute(toExecute, Statement.ASYNC)
+        .whenComplete(
+            (page, error) -> {
+              if (!retryWithoutNode(error, toExecute, nodeSplits)) {
+                onPage(page, error, nodeSplits);
+              }
+            });
+  }
+
+  /**
+   * If a query failed because the node it was sent to is not available anymore (for example it went
+   * down since its split was assigned), sends it again without a node, so that the load balancing
+   * policy picks another replica.
+   *
+   * @return whether the query was retried.
+   */
+  private boolean retryWithoutNode(
+      Throwable error, Statement<?> statement, Queue<Statement<?>> nodeSplits) {
+    if (error instanceof NoNodeAvailableException && statement.getNode() != null) {
+      execute(statement.setNode(null), nodeSplits);
+      return true;
+    }
+    return false;
+  }
+
+  private void onPage(AsyncResultSet page, Throwable error, Queue<Statement<?>> nodeSplits) {
+    Object pageOrError = (error == null) ? new SplitPage(page, nodeSplits) : error;
+    CompletableFuture<AsyncResultSet> toComplete;
+    lock.lock();
+    try {
+      if (failed) {
+        // The scan has already failed, discard
+        return;
+      }
+      failed = (error != null);
+      if (pendingResult == null) {
+        ready.add(pageOrError);
+        return;
+      }
+      toComplete = pendingResult;
+      pendingResult = null;
+    } finally {
+      lock.unlock();
+    }
+    if (error != null) {
+      toComplete.completeExceptionally(error);
+    } else {
+      toComplete.complete(handOut((SplitPage) pageOrError));
+    }
+  }
+
+  private CompletionStage<AsyncResultSet> nextPage() {
+    Object pageOrError;
+    lock.lock();
+    try {
+      pageOrError = ready.poll();
+      if (pageOrError == null) {
+        // The client can only request a page once it has the previous one, so there can't be
+        // another pending request.
+        assert pendingResult == null;
+        pendingResult = new CompletableFuture<>();
+        return pendingResult;
+      }
+    } finally {
+      lock.unlock();
+    }
+    return (pageOrError instanceof Throwable)
+        ? CompletableFutures.failedFuture((Throwable) pageOrError)
+        : CompletableFuture.completedFuture(handOut((SplitPage) pageOrError));
+  }
+
+  /**
+   * Called when a page is about to be returned to the client: requests the next page of its split,
+   * or starts the next split of the same replica if it was the last one.
+   */
+  private AsyncResultSet handOut(SplitPage splitPage) {
+    AsyncResultSet page = splitPage.page;
+    boolean splitDone = !page.hasMorePages();
+    Statement<?> nextSplit = null;
+    boolean hasMorePages;
+    lock.lock();
+    try {
+      if (splitDone) {
+        unfinishedSplits -= 1;
+        // Don't start new splits if the scan has failed already
+        nextSplit = failed ? null : splitPage.nodeSplits.poll();
+      }
+      hasMorePages = unfinishedSplits > 0;
+    } finally {
+      lock.unlock();
+    }
+    if (!splitDone) {
+      page.fetchNextPage()
+          .whenComplete(
+              (next, error) -> {
+                if (error instanceof NoNodeAvailableException) {
+                  ExecutionInfo executionInfo = page.getExecutionInfo();
+                  Statement<?> nextPageStatement =
+                      ((Statement<?>) executionInfo.getRequest())
+                          .setPagingState(executionInfo.getPagingState());
+                  if (retryWithoutNode(error, nextPageStatement, splitPage.nodeSplits)) {
+                    return;
+                  }
+                }
+                onPage(next, error, splitPage.nodeSplits);
+              });
+    } else if (nextSplit != null) {
+      execute(nextSplit, splitPage.nodeSplits);
+    }
+    return new MergedPage(page, hasMorePages);
+  }
+
+  private static class SplitPage {
+    private final AsyncResultSet page;
+    private final Queue<Statement<?>> nodeSplits;
+
+    private SplitPage(AsyncResultSet page, Queue<Statement<?>> nodeSplits) {
+      this.page = page;
+      this.nodeSplits = nodeSplits;
+    }
+  }
+
+  /** A page of one of the splits, presented as a page of the whole scan. */
+  private class MergedPage implements AsyncResultSet {
+
+    private final AsyncResultSet delegate;
+    private final boolean hasMorePages;
+
+    // The result of fetchNextPage(), so that it can be called more than once
+    @GuardedBy("lock")
+    private CompletableFuture<AsyncResultSet> next;
+
+    private MergedPage(AsyncResultSet delegate, boolean hasMorePages) {
+      this.delegate = delegate;
+      this.hasMorePages = hasMorePages;
+    }
+
+    @NonNull
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+      return delegate.getColumnDefinitions();
+    }
+
+    @NonNull
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+      return delegate.getExecutionInfo();
+    }
+
+    @Override
+    public int remaining() {
+      return delegate.remaining();
+    }
+
+    @NonNull
+    @Override
+    public Iterable<Row> currentPage() {
+      return delegate.currentPage();
+    }
+
+    @Override
+    public boolean hasMorePages() {
+      return hasMorePages;
+    }
+
+    @NonNull
+    @Override
+    public CompletionStage<AsyncResultSet> fetchNextPage() throws IllegalStateException {
+      if (!hasMorePages) {
+        throw new IllegalStateException(
+            "No next page. Use #hasMorePages before calling this method to avoid this error.");
+      }
+      CompletableFuture<AsyncResultSet> result;
+      boolean first = false;
+      lock.lock();
+      try {
+        if (next == null) {
+          next = new CompletableFuture<>();
+          first = true;
+        }
+        result = next;
+      } finally {
+        lock.unlock();
+      }
+      if (first) {
+        CompletableFutures.completeFrom(nextPage(), result);
+      }
+      return result;
+    }
+
+    @Override
+    public boolean wasApplied() {
+      return delegate.wasApplied();
+    }
+  }
+}
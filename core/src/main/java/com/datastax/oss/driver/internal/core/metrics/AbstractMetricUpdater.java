@@ -19,6 +19,7 @@ import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
+import com.datastax.oss.driver.api.core.metrics.SessionMetric;
 import com.datastax.oss.driver.api.core.session.throttling.RequestThrottler;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.cql.CqlPrepareAsyncProcessor;
@@ -31,6 +32,7 @@ import com.datastax.oss.driver.shaded.guava.common.cache.Cache;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.netty.util.Timeout;
 import java.time.Duration;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -67,6 +69,39 @@ public abstract class AbstractMetricUpdater<MetricT> implements MetricUpdater<Me
     this.expireAfter = expireAfter;
   }
 
+  /**
+   * Removes {@link DefaultSessionMetric#CQL_REQUESTS_PER_STATEMENT} and {@link
+   * DefaultSessionMetric#CQL_REQUESTS_PER_TABLE} from the enabled metrics, and logs a warning if
+   * they were enabled in the configuration.
+   *
+   * <p>This is intended for session updaters that don't implement {@link
+   * SessionMetricUpdater#updateStatementTimers}: otherwise the metrics would silently stay empty,
+   * and request handlers would still measure latencies for them.
+   */
+  protected static Set<SessionMetric> withoutStatementTimers(
+      InternalDriverContext context, Set<SessionMetric> enabledMetrics, String implementation) {
+    if (!enabledMetrics.contains(DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT)
+        && !enabledMetrics.contains(DefaultSessionMetric.CQL_REQUESTS_PER_TABLE)) {
+      return enabledMetrics;
+    }
+    Set<SessionMetric> supported = new HashSet<>(enabledMetrics);
+    for (SessionMetric metric :
+        new SessionMetric[] {
+          DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT,
+          DefaultSessionMetric.CQL_REQUESTS_PER_TABLE
+        }) {
+      if (supported.remove(metric)) {
+        LOG.warn(
+            "[{}] Metric {} is enabled in the config, but it is not supported by {}. "
+                + "It will not be recorded",
+            context.getSessionName(),
+            metric.getPath(),
+            implementation);
+      }
+    }
+    return supported;
+  }
+
   @Override
   public boolean isEnabled(MetricT metric, String profileName) {
     return enabledMetrics.contains(metric);
@@ -130,6 +165,49 @@ public abstract class AbstractMetricUpdater<MetricT> implements MetricUpdater<Me
     return null;
   }
 
+  protected long preparedStatementCacheHits() {
+    CqlPrepareAsyncProcessor processor =
+        getPrepareProcessor(DefaultSessionMetric.CQL_PREPARED_CACHE_HITS);
+    return (processor == null) ? 0L : processor.getCacheHits();
+  }
+
+  protected long preparedStatementCacheMisses() {
+    CqlPrepareAsyncProcessor processor =
+        getPrepareProcessor(DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES);
+    return (processor == null) ? 0L : processor.getCacheMisses();
+  }
+
+  protected long preparedStatementCacheEvictions() {
+    CqlPrepareAsyncProcessor processor =
+        getPrepareProcessor(DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS);
+    return (processor == null) ? 0L : processor.getCacheEvictions();
+  }
+
+  protected int preparesInFlight() {
+    CqlPrepareAsyncProcessor processor =
+        getPrepareProcessor(DefaultSessionMetric.CQL_PREPARES_IN_FLIGHT);
+    return (processor == null) ? 0 : processor.getInFlightPrepares();
+  }
+
+  @Nullable
+  private CqlPrepareAsyncProcessor getPrepareProcessor(DefaultSessionMetric metric) {
+    // Same remark as getPreparedStatementCache(): the sync processor delegates to the async one
+    for (RequestProcessor<?, ?> processor : context.getRequestProcessorRegistry().getProcessors()) {
+      if (processor instanceof CqlPrepareAsyncProcessor) {
+        return (CqlPrepareAsyncProcessor) processor;
+      } else if (processor instanceof CqlPrepareSyncProcessor) {
+        return ((CqlPrepareSyncProcessor) processor).getAsyncProcessor();
+      }
+    }
+    LOG.warn(
+        "[{}] Metric {} is enabled in the config, "
+            + "but it looks like no CQL prepare processor is registered. "
+            + "The gauge will always return 0",
+        context.getSessionName(),
+        metric.getPath());
+    return null;
+  }
+
   protected int availableStreamIds(Node node) {
     ChannelPool pool = context.getPoolManager().getPools().get(node);
     return (pool == null) ? 0 : pool.getAvailableIds();
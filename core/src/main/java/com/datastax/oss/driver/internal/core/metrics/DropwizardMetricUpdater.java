@@ -22,8 +22,12 @@ import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.Timer;
+import com.datastax.dse.driver.api.core.metrics.DseNodeMetric;
+import com.datastax.dse.driver.api.core.metrics.DseSessionMetric;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.config.DriverOption;
+import com.datastax.oss.driver.api.core.metrics.DefaultNodeMetric;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Duration;
@@ -31,6 +35,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
@@ -47,6 +52,14 @@ public abstract class DropwizardMetricUpdater<MetricT> extends AbstractMetricUpd
 
   protected final ConcurrentMap<MetricT, Reservoir> reservoirs = new ConcurrentHashMap<>();
 
+  // A lock-free view of `metrics` for the hot path, indexed by the metric enums' ordinals.
+  private final OrdinalMetricTable<MetricT, Metric> handles =
+      new OrdinalMetricTable<>(
+          DefaultSessionMetric.class,
+          DseSessionMetric.class,
+          DefaultNodeMetric.class,
+          DseNodeMetric.class);
+
   protected DropwizardMetricUpdater(
       InternalDriverContext context, Set<MetricT> enabledMetrics, MetricRegistry registry) {
     super(context, enabledMetrics);
@@ -90,6 +103,7 @@ public abstract class DropwizardMetricUpdater<MetricT> extends AbstractMetricUpd
 
   @Override
   protected void clearMetrics() {
+    handles.clear();
     for (MetricT metric : metrics.keySet()) {
       MetricId id = getMetricId(metric);
       registry.remove(id.getName());
@@ -133,7 +147,7 @@ public abstract class DropwizardMetricUpdater<MetricT> extends AbstractMetricUpd
 
   protected Counter getOrCreateCounterFor(MetricT metric) {
     return (Counter)
-        metrics.computeIfAbsent(
+        getOrCreate(
             metric,
             m -> {
               MetricId id = getMetricId(m);
@@ -143,17 +157,17 @@ public abstract class DropwizardMetricUpdater<MetricT> extends AbstractMetricUpd
 
   protected Meter getOrCreateMeterFor(MetricT metric) {
     return (Meter)
-        metrics.computeIfAbsent(
+        getOrCreate(
             metric,
             m -> {
               MetricId id = getMetricId(m);
-              return registry.meter(id.getName());
+              return registry.meter(id.getName(), () -> newMeter(m));
             });
   }
 
   protected Histogram getOrCreateHistogramFor(MetricT metric) {
     return (Histogram)
-        metrics.computeIfAbsent(
+        getOrCreate(
             metric,
             m -> {
               MetricId id = getMetricId(m);
@@ -163,16 +177,45 @@ public abstract class DropwizardMetricUpdater<MetricT> extends AbstractMetricUpd
 
   protected Timer getOrCreateTimerFor(MetricT metric) {
     return (Timer)
-        metrics.computeIfAbsent(
+        getOrCreate(
             metric,
             m -> {
               MetricId id = getMetricId(m);
-              Reservoir reservoir = reservoirs.get(metric);
-              Timer timer = reservoir == null ? new Timer() : new Timer(reservoir);
+              Timer timer = newTimer(m, reservoirs.get(m));
               return registry.timer(id.getName(), () -> timer);
             });
   }
 
+  private Metric getOrCreate(MetricT metric, Function<MetricT, Metric> creator) {
+    Metric m = handles.get(metric);
+    if (m == null) {
+      m = metrics.computeIfAbsent(metric, creator);
+      handles.set(metric, m);
+    }
+    return m;
+  }
+
+  /** Creates the meter instance for the given metric, before it gets registered. */
+  protected Meter newMeter(@SuppressWarnings("unused") MetricT metric) {
+    return new Meter();
+  }
+
+  /**
+   * Creates the timer instance for the given metric, before it gets registered.
+   *
+   * @param reservoir the reservoir that was initialized for this metric, or {@code null} if the
+   *     timer was not initialized explicitly.
+   */
+  protected Timer newTimer(
+      @SuppressWarnings("unused") MetricT metric, @Nullable Reservoir reservoir) {
+    return reservoir == null ? new Timer() : new Timer(reservoir);
+  }
+
+  /** The number of recorders that HDR reservoirs spread their writes over. */
+  protected int getHdrReservoirStripes() {
+    return 1;
+  }
+
   protected HdrReservoir createHdrReservoir(
       MetricT metric,
       DriverExecutionProfile profile,
@@ -192,6 +235,7 @@ public abstract class DropwizardMetricUpdater<MetricT> extends AbstractMetricUpd
       significantDigits = 3;
     }
     Duration refreshInterval = profile.getDuration(intervalOption);
-    return new HdrReservoir(highestLatency, significantDigits, refreshInterval, id.getName());
+    return new HdrReservoir(
+        highestLatency, significantDigits, refreshInterval, getHdrReservoirStripes(), id.getName());
   }
 }
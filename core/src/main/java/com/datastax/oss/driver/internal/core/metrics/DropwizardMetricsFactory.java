@@ -72,7 +72,7 @@ public class DropwizardMetricsFactory implements MetricsFactory {
       if (possibleMetricRegistry instanceof MetricRegistry) {
         this.registry = (MetricRegistry) possibleMetricRegistry;
         DropwizardSessionMetricUpdater dropwizardSessionUpdater =
-            new DropwizardSessionMetricUpdater(this.context, enabledSessionMetrics, registry);
+            createSessionUpdater(this.context, enabledSessionMetrics, registry);
         this.sessionUpdater = dropwizardSessionUpdater;
         this.metrics = new DefaultMetrics(registry, dropwizardSessionUpdater);
       } else {
@@ -111,10 +111,23 @@ public class DropwizardMetricsFactory implements MetricsFactory {
     if (registry == null) {
       return NoopNodeMetricUpdater.INSTANCE;
     } else {
-      return new DropwizardNodeMetricUpdater(node, context, enabledNodeMetrics, registry);
+      return createNodeUpdater(node, context, enabledNodeMetrics, registry);
     }
   }
 
+  protected DropwizardSessionMetricUpdater createSessionUpdater(
+      InternalDriverContext context, Set<SessionMetric> enabledMetrics, MetricRegistry registry) {
+    return new DropwizardSessionMetricUpdater(context, enabledMetrics, registry);
+  }
+
+  protected DropwizardNodeMetricUpdater createNodeUpdater(
+      Node node,
+      InternalDriverContext context,
+      Set<NodeMetric> enabledMetrics,
+      MetricRegistry registry) {
+    return new DropwizardNodeMetricUpdater(node, context, enabledMetrics, registry);
+  }
+
   protected void processNodeStateEvent(NodeStateEvent event) {
     if (event.newState == NodeState.DOWN
         || event.newState == NodeState.FORCED_DOWN
@@ -16,20 +16,47 @@
 package com.datastax.oss.driver.internal.core.metrics;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.datastax.dse.driver.api.core.config.DseDriverOption;
 import com.datastax.dse.driver.api.core.metrics.DseSessionMetric;
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.config.DriverOption;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.api.core.metrics.SessionMetric;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.netty.util.Timeout;
+import java.nio.ByteBuffer;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
 public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<SessionMetric>
     implements SessionMetricUpdater {
 
+  // Keyed by prepared statement id
+  @Nullable private final TopKeysSketch<ByteBuffer, KeyedTimer> statementTimers;
+  // Keyed by "<keyspace>.<table>"
+  @Nullable private final TopKeysSketch<String, KeyedTimer> tableTimers;
+
+  private final Object keyedTimersLock = new Object();
+
+  @GuardedBy("keyedTimersLock")
+  private Timeout keyedTimersExpiration;
+
+  @GuardedBy("keyedTimersLock")
+  private boolean keyedTimersClosed;
+
   public DropwizardSessionMetricUpdater(
       InternalDriverContext context, Set<SessionMetric> enabledMetrics, MetricRegistry registry) {
     super(context, enabledMetrics, registry);
@@ -40,6 +67,17 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
     initializeGauge(DefaultSessionMetric.THROTTLING_QUEUE_SIZE, profile, this::throttlingQueueSize);
     initializeGauge(
         DefaultSessionMetric.CQL_PREPARED_CACHE_SIZE, profile, this::preparedStatementCacheSize);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, profile, this::preparedStatementCacheHits);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES,
+        profile,
+        this::preparedStatementCacheMisses);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS,
+        profile,
+        this::preparedStatementCacheEvictions);
+    initializeGauge(DefaultSessionMetric.CQL_PREPARES_IN_FLIGHT, profile, this::preparesInFlight);
 
     initializeCounter(DefaultSessionMetric.CQL_CLIENT_TIMEOUTS, profile);
     initializeCounter(DefaultSessionMetric.THROTTLING_ERRORS, profile);
@@ -69,6 +107,145 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
         DseDriverOption.METRICS_SESSION_GRAPH_REQUESTS_HIGHEST,
         DseDriverOption.METRICS_SESSION_GRAPH_REQUESTS_DIGITS,
         DseDriverOption.METRICS_SESSION_GRAPH_REQUESTS_INTERVAL);
+
+    this.statementTimers =
+        isEnabled(DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT, profile.getName())
+            ? this.<ByteBuffer>newKeyedTimers(
+                DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT,
+                profile,
+                DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_STATEMENT_MAX_TRACKED,
+                Bytes::toHexString)
+            : null;
+    this.tableTimers =
+        isEnabled(DefaultSessionMetric.CQL_REQUESTS_PER_TABLE, profile.getName())
+            ? this.<String>newKeyedTimers(
+                DefaultSessionMetric.CQL_REQUESTS_PER_TABLE,
+                profile,
+                DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_TABLE_MAX_TRACKED,
+                Function.identity())
+            : null;
+    if (statementTimers != null || tableTimers != null) {
+      scheduleKeyedTimersExpiration();
+    }
+  }
+
+  @Override
+  public void updateStatementTimers(
+      Statement<?> statement, @Nullable String profileName, long duration, TimeUnit unit) {
+    if (statement instanceof BoundStatement) {
+      PreparedStatement preparedStatement = ((BoundStatement) statement).getPreparedStatement();
+      if (statementTimers != null) {
+        statementTimers.offer(preparedStatement.getId()).timer.update(duration, unit);
+      }
+      if (tableTimers != null) {
+        String table = getTable(preparedStatement);
+        if (table != null) {
+          tableTimers.offer(table).timer.update(duration, unit);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void onSessionClosed() {
+    closeKeyedTimers();
+  }
+
+  @Override
+  protected void clearMetrics() {
+    closeKeyedTimers();
+    super.clearMetrics();
+  }
+
+  /** Stops the periodic expiration, and unregisters all the per-statement and per-table timers. */
+  private void closeKeyedTimers() {
+    synchronized (keyedTimersLock) {
+      keyedTimersClosed = true;
+      if (keyedTimersExpiration != null) {
+        keyedTimersExpiration.cancel();
+        keyedTimersExpiration = null;
+      }
+    }
+    if (statementTimers != null) {
+      statementTimers.clear();
+    }
+    if (tableTimers != null) {
+      tableTimers.clear();
+    }
+  }
+
+  private <KeyT> TopKeysSketch<KeyT, KeyedTimer> newKeyedTimers(
+      SessionMetric metric,
+      DriverExecutionProfile profile,
+      DriverOption maxTrackedOption,
+      Function<KeyT, String> keyToName) {
+    String baseName = getMetricId(metric).getName();
+    return new TopKeysSketch<>(
+        profile.getInt(maxTrackedOption),
+        key ->
+            registerKeyedTimer(
+                metric,
+                baseName + "." + keyToName.apply(key),
+                createHdrReservoir(
+                    metric,
+                    profile,
+                    DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_HIGHEST,
+                    DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_DIGITS,
+                    DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_INTERVAL)),
+        (key, keyedTimer) -> registry.remove(baseName + "." + keyToName.apply(key)),
+        // The sketch replaces keys while holding its lock, on the request path: instead of
+        // allocating a new HDR reservoir (which is a fairly large object), reuse the evicted one.
+        // A request that completes concurrently for the evicted key might be recorded for the new
+        // key, which is acceptable.
+        (key, evicted) -> {
+          evicted.reservoir.reset();
+          return registerKeyedTimer(
+              metric, baseName + "." + keyToName.apply(key), evicted.reservoir);
+        });
+  }
+
+  private KeyedTimer registerKeyedTimer(SessionMetric metric, String name, HdrReservoir reservoir) {
+    Timer timer = newTimer(metric, reservoir);
+    return new KeyedTimer(registry.timer(name, () -> timer), reservoir);
+  }
+
+  // Statements or tables that are not used anymore are evicted after the same delay as the metrics
+  // of a node that has gone down.
+  private void scheduleKeyedTimersExpiration() {
+    synchronized (keyedTimersLock) {
+      if (keyedTimersClosed) {
+        return;
+      }
+      keyedTimersExpiration =
+          context
+              .getNettyOptions()
+              .getTimer()
+              .newTimeout(
+                  t -> {
+                    if (statementTimers != null) {
+                      statementTimers.evictIdle();
+                    }
+                    if (tableTimers != null) {
+                      tableTimers.evictIdle();
+                    }
+                    scheduleKeyedTimersExpiration();
+                  },
+                  getExpireAfter().toNanos(),
+                  TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Nullable
+  private static String getTable(PreparedStatement preparedStatement) {
+    ColumnDefinitions definitions = preparedStatement.getVariableDefinitions();
+    if (definitions.size() == 0) {
+      definitions = preparedStatement.getResultSetDefinitions();
+    }
+    if (definitions.size() == 0) {
+      return null;
+    }
+    ColumnDefinition definition = definitions.get(0);
+    return definition.getKeyspace().asInternal() + '.' + definition.getTable().asInternal();
   }
 
   @Override
@@ -79,4 +256,14 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
     }
     return id;
   }
+
+  private static class KeyedTimer {
+    private final Timer timer;
+    private final HdrReservoir reservoir;
+
+    private KeyedTimer(Timer timer, HdrReservoir reservoir) {
+      this.timer = timer;
+      this.reservoir = reservoir;
+    }
+  }
 }
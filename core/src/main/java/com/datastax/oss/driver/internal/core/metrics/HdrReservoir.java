@@ -37,6 +37,12 @@ import org.slf4j.LoggerFactory;
  * the two histograms are switched (therefore statistics won't be available during the first
  * interval after initialization, since we don't have a cached histogram yet).
  *
+ * <p>Writes can optionally be spread over several recorders ("stripes"), selected by the id of the
+ * calling thread. This avoids contention on the recorder's internal counters when many threads
+ * update the same reservoir concurrently; the stripes are merged when a new snapshot is taken. Note
+ * that each stripe holds its own pair of histograms, so striping multiplies the memory footprint of
+ * the reservoir accordingly.
+ *
  * <p>Note that this class does not implement {@link #size()}.
  *
  * @see <a href="http://hdrhistogram.github.io/HdrHistogram/">HdrHistogram</a>
@@ -47,7 +53,8 @@ public class HdrReservoir implements Reservoir {
   private static final Logger LOG = LoggerFactory.getLogger(HdrReservoir.class);
 
   private final String logPrefix;
-  private final Recorder recorder;
+  private final Recorder[] recorders;
+  private final int stripeMask;
   private final long refreshIntervalNanos;
 
   // The lock only orchestrates `getSnapshot()` calls; `update()` is fed directly to the recorder,
@@ -58,6 +65,10 @@ public class HdrReservoir implements Reservoir {
   @GuardedBy("cacheLock")
   private Histogram cachedHistogram;
 
+  // Only used with multiple stripes: the last interval histogram of each stripe (recycled)
+  @GuardedBy("cacheLock")
+  private final Histogram[] stripeHistograms;
+
   @GuardedBy("cacheLock")
   private long cachedHistogramTimestampNanos;
 
@@ -69,6 +80,19 @@ public class HdrReservoir implements Reservoir {
       int numberOfSignificantValueDigits,
       Duration refreshInterval,
       String logPrefix) {
+    this(highestTrackableLatency, numberOfSignificantValueDigits, refreshInterval, 1, logPrefix);
+  }
+
+  /**
+   * @param stripes the number of recorders to spread writes over. It will be rounded up to the next
+   *     power of two.
+   */
+  public HdrReservoir(
+      Duration highestTrackableLatency,
+      int numberOfSignificantValueDigits,
+      Duration refreshInterval,
+      int stripes,
+      String logPrefix) {
     this.logPrefix = logPrefix;
     // The Reservoir interface is supposed to be agnostic to the unit. However, the Metrics library
     // heavily leans towards nanoseconds (for example, Timer feeds nanoseconds to update(); JmxTimer
@@ -76,8 +100,19 @@ public class HdrReservoir implements Reservoir {
     // In our case, microseconds are precise enough for request metrics, and we don't want to waste
     // space unnecessarily. So we simply use microseconds for our internal storage, and do the
     // conversion when needed.
-    this.recorder =
-        new Recorder(highestTrackableLatency.toNanos() / 1000, numberOfSignificantValueDigits);
+    long highestTrackableMicros = highestTrackableLatency.toNanos() / 1000;
+    int stripeCount = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    this.recorders = new Recorder[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      recorders[i] = new Recorder(highestTrackableMicros, numberOfSignificantValueDigits);
+    }
+    this.stripeMask = stripeCount - 1;
+    if (stripeCount > 1) {
+      this.stripeHistograms = new Histogram[stripeCount];
+      this.cachedHistogram = new Histogram(highestTrackableMicros, numberOfSignificantValueDigits);
+    } else {
+      this.stripeHistograms = null;
+    }
     this.refreshIntervalNanos = refreshInterval.toNanos();
     this.cachedHistogramTimestampNanos = System.nanoTime();
     this.cachedSnapshot = EMPTY_SNAPSHOT;
@@ -86,12 +121,33 @@ public class HdrReservoir implements Reservoir {
   @Override
   public void update(long value) {
     try {
+      Recorder recorder =
+          (stripeMask == 0)
+              ? recorders[0]
+              : recorders[(int) Thread.currentThread().getId() & stripeMask];
       recorder.recordValue(value / 1000);
     } catch (ArrayIndexOutOfBoundsException e) {
       LOG.warn("[{}] Recorded value ({}) is out of bounds, discarding", logPrefix, value);
     }
   }
 
+  /**
+   * Discards all the values recorded so far, so that the reservoir can be reused for another metric
+   * without allocating new histograms.
+   */
+  public void reset() {
+    cacheLock.writeLock().lock();
+    try {
+      for (Recorder recorder : recorders) {
+        recorder.reset();
+      }
+      cachedSnapshot = EMPTY_SNAPSHOT;
+      cachedHistogramTimestampNanos = System.nanoTime();
+    } finally {
+      cacheLock.writeLock().unlock();
+    }
+  }
+
   /**
    * <em>Not implemented</em>: this reservoir implementation is intended for use with a {@link
    * com.codahale.metrics.Histogram}, which doesn't use this method.
@@ -129,7 +185,15 @@ public class HdrReservoir implements Reservoir {
       // Might have raced with another writer => re-check the timestamp
       if (now - cachedHistogramTimestampNanos >= refreshIntervalNanos) {
         LOG.debug("Cached snapshot is too old, refreshing");
-        cachedHistogram = recorder.getIntervalHistogram(cachedHistogram);
+        if (stripeHistograms == null) {
+          cachedHistogram = recorders[0].getIntervalHistogram(cachedHistogram);
+        } else {
+          cachedHistogram.reset();
+          for (int i = 0; i < recorders.length; i++) {
+            stripeHistograms[i] = recorders[i].getIntervalHistogram(stripeHistograms[i]);
+            cachedHistogram.add(stripeHistograms[i]);
+          }
+        }
         cachedSnapshot = new HdrSnapshot(cachedHistogram);
         cachedHistogramTimestampNanos = now;
       }
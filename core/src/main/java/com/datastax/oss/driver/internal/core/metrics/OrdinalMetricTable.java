@@ -0,0 +1,78 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A lock-free table of per-metric objects, indexed by the ordinals of a fixed set of metric enums.
+ *
+ * <p>This is used by metric updaters on the hot path, to avoid hashing the metric on every update.
+ * Metrics that are not constants of one of the enum types passed at construction are not stored:
+ * {@link #get(Object)} always returns {@code null} for them, and callers are expected to fall back
+ * to a slower lookup.
+ */
+@ThreadSafe
+class OrdinalMetricTable<MetricT, ValueT> {
+
+  private final Class<?>[] enumTypes;
+  private final AtomicReferenceArray<ValueT>[] values;
+
+  @SafeVarargs
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  OrdinalMetricTable(Class<? extends Enum<?>>... enumTypes) {
+    this.enumTypes = enumTypes;
+    this.values = new AtomicReferenceArray[enumTypes.length];
+    for (int i = 0; i < enumTypes.length; i++) {
+      values[i] = new AtomicReferenceArray<>(enumTypes[i].getEnumConstants().length);
+    }
+  }
+
+  @Nullable
+  ValueT get(MetricT metric) {
+    int typeIndex = typeIndex(metric);
+    return (typeIndex < 0) ? null : values[typeIndex].get(((Enum<?>) metric).ordinal());
+  }
+
+  void set(MetricT metric, ValueT value) {
+    int typeIndex = typeIndex(metric);
+    if (typeIndex >= 0) {
+      values[typeIndex].set(((Enum<?>) metric).ordinal(), value);
+    }
+  }
+
+  void clear() {
+    for (AtomicReferenceArray<ValueT> array : values) {
+      for (int i = 0; i < array.length(); i++) {
+        array.set(i, null);
+      }
+    }
+  }
+
+  private int typeIndex(MetricT metric) {
+    if (metric instanceof Enum) {
+      Class<?> type = ((Enum<?>) metric).getDeclaringClass();
+      for (int i = 0; i < enumTypes.length; i++) {
+        if (enumTypes[i] == type) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+}
@@ -15,6 +15,32 @@
  */
 package com.datastax.oss.driver.internal.core.metrics;
 
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.api.core.metrics.SessionMetric;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.TimeUnit;
 
-public interface SessionMetricUpdater extends MetricUpdater<SessionMetric> {}
+public interface SessionMetricUpdater extends MetricUpdater<SessionMetric> {
+
+  /**
+   * Records the duration of a CQL request in the metrics that are broken down per statement or per
+   * table ({@link DefaultSessionMetric#CQL_REQUESTS_PER_STATEMENT} and {@link
+   * DefaultSessionMetric#CQL_REQUESTS_PER_TABLE}).
+   *
+   * <p>Callers should check that at least one of those metrics is enabled before invoking this
+   * method. The default implementation does nothing.
+   */
+  default void updateStatementTimers(
+      Statement<?> statement, @Nullable String profileName, long duration, TimeUnit unit) {
+    // nothing to do
+  }
+
+  /**
+   * Invoked when the session is closing, to release the resources that are not tied to a particular
+   * metric (for example background tasks). The default implementation does nothing.
+   */
+  default void onSessionClosed() {
+    // nothing to do
+  }
+}
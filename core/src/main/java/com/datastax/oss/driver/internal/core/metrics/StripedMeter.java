@@ -0,0 +1,80 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import com.codahale.metrics.Meter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A meter that only increments a {@link LongAdder} when marked; the exponentially-weighted rates
+ * are brought up to date lazily, when they are read.
+ *
+ * <p>The regular {@link Meter} reads the clock on every call to {@link #mark(long)}, in order to
+ * decide whether its moving averages must be ticked. With this implementation, that cost is paid by
+ * the reporter instead of the threads that record events. The rates are slightly less accurate (all
+ * the events since the last read are accounted to the current tick), which is irrelevant as long as
+ * the meter is read regularly.
+ */
+@ThreadSafe
+public class StripedMeter extends Meter {
+
+  private final LongAdder count = new LongAdder();
+  private final AtomicLong flushedCount = new AtomicLong();
+
+  @Override
+  public void mark(long n) {
+    count.add(n);
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public double getMeanRate() {
+    flush();
+    return super.getMeanRate();
+  }
+
+  @Override
+  public double getOneMinuteRate() {
+    flush();
+    return super.getOneMinuteRate();
+  }
+
+  @Override
+  public double getFiveMinuteRate() {
+    flush();
+    return super.getFiveMinuteRate();
+  }
+
+  @Override
+  public double getFifteenMinuteRate() {
+    flush();
+    return super.getFifteenMinuteRate();
+  }
+
+  private void flush() {
+    long total = count.sum();
+    long flushed = flushedCount.get();
+    if (total > flushed && flushedCount.compareAndSet(flushed, total)) {
+      super.mark(total - flushed);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metrics.NodeMetric;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Set;
+import net.jcip.annotations.ThreadSafe;
+
+@ThreadSafe
+public class StripedNodeMetricUpdater extends DropwizardNodeMetricUpdater {
+
+  // Node-level reservoirs are not striped: requests are already spread across nodes, and there can
+  // be many nodes, so multiplying the size of each histogram would not be reasonable.
+
+  public StripedNodeMetricUpdater(
+      Node node,
+      InternalDriverContext context,
+      Set<NodeMetric> enabledMetrics,
+      MetricRegistry registry) {
+    super(node, context, enabledMetrics, registry);
+  }
+
+  @Override
+  protected Meter newMeter(NodeMetric metric) {
+    return new StripedMeter();
+  }
+
+  @Override
+  protected Timer newTimer(NodeMetric metric, @Nullable Reservoir reservoir) {
+    return new StripedTimer(reservoir == null ? new ExponentiallyDecayingReservoir() : reservoir);
+  }
+}
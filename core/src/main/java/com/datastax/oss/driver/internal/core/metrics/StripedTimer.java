@@ -0,0 +1,110 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A timer that records durations directly into its reservoir, and counts events with a {@link
+ * StripedMeter}.
+ *
+ * <p>Combined with a striped {@link HdrReservoir}, updating this timer does not involve any shared,
+ * contended state: the rates and the histogram snapshot are only computed when the timer is read.
+ */
+@ThreadSafe
+public class StripedTimer extends Timer {
+
+  private final Reservoir reservoir;
+  private final StripedMeter meter = new StripedMeter();
+
+  public StripedTimer(Reservoir reservoir) {
+    super(reservoir);
+    this.reservoir = reservoir;
+  }
+
+  @Override
+  public void update(long duration, TimeUnit unit) {
+    if (duration >= 0) {
+      reservoir.update(unit.toNanos(duration));
+      meter.mark();
+    }
+  }
+
+  @Override
+  public void update(Duration duration) {
+    update(duration.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // The parent implementations of the time() variants below bypass update(long, TimeUnit)
+
+  @Override
+  public <T> T time(Callable<T> event) throws Exception {
+    try (Context ignored = time()) {
+      return event.call();
+    }
+  }
+
+  @Override
+  public <T> T timeSupplier(Supplier<T> event) {
+    try (Context ignored = time()) {
+      return event.get();
+    }
+  }
+
+  @Override
+  public void time(Runnable event) {
+    try (Context ignored = time()) {
+      event.run();
+    }
+  }
+
+  @Override
+  public long getCount() {
+    return meter.getCount();
+  }
+
+  @Override
+  public double getMeanRate() {
+    return meter.getMeanRate();
+  }
+
+  @Override
+  public double getOneMinuteRate() {
+    return meter.getOneMinuteRate();
+  }
+
+  @Override
+  public double getFiveMinuteRate() {
+    return meter.getFiveMinuteRate();
+  }
+
+  @Override
+  public double getFifteenMinuteRate() {
+    return meter.getFifteenMinuteRate();
+  }
+
+  @Override
+  public Snapshot getSnapshot() {
+    return reservoir.getSnapshot();
+  }
+}
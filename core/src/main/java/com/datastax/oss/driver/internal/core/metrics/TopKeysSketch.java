@@ -0,0 +1,172 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Associates a value to each of the most frequent keys of an unbounded stream, using a bounded
+ * amount of memory.
+ *
+ * <p>This is an implementation of the Space-Saving algorithm (Metwally, Agrawal and El Abbadi,
+ * 2005): at most {@code capacity} keys are tracked; when a new key is offered and the sketch is
+ * full, the key with the lowest count is evicted, and the new key inherits its count. Frequent keys
+ * therefore stay in the sketch, while rare keys rotate in the least-frequent slots.
+ *
+ * <p>In addition, {@link #evictIdle()} removes the keys that have not been offered since its last
+ * invocation; it is meant to be called periodically.
+ *
+ * <p>Offering a key that is already tracked is lock-free; inserting a new key is serialized. When a
+ * new key replaces an evicted one, its value can be derived from the evicted value (see {@link
+ * #TopKeysSketch(int, Function, BiConsumer, BiFunction)}), in order to avoid allocating expensive
+ * values while holding the lock.
+ */
+@ThreadSafe
+public class TopKeysSketch<KeyT, ValueT> {
+
+  private final int capacity;
+  private final Function<KeyT, ValueT> valueFactory;
+  private final BiConsumer<KeyT, ValueT> onEviction;
+  private final BiFunction<KeyT, ValueT, ValueT> recycler;
+  private final ConcurrentMap<KeyT, Entry<ValueT>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * @param capacity the maximum number of keys to track.
+   * @param valueFactory how to create the value associated to a key, when it enters the sketch.
+   * @param onEviction a callback invoked when a key leaves the sketch.
+   */
+  public TopKeysSketch(
+      int capacity, Function<KeyT, ValueT> valueFactory, BiConsumer<KeyT, ValueT> onEviction) {
+    this(capacity, valueFactory, onEviction, (key, evictedValue) -> valueFactory.apply(key));
+  }
+
+  /**
+   * @param capacity the maximum number of keys to track.
+   * @param valueFactory how to create the value associated to a key, when it enters the sketch
+   *     while there is room left.
+   * @param onEviction a callback invoked when a key leaves the sketch.
+   * @param recycler how to create the value associated to a key, when it enters the sketch in place
+   *     of an evicted key. It receives the evicted value, after {@code onEviction} has been invoked
+   *     for it.
+   */
+  public TopKeysSketch(
+      int capacity,
+      Function<KeyT, ValueT> valueFactory,
+      BiConsumer<KeyT, ValueT> onEviction,
+      BiFunction<KeyT, ValueT, ValueT> recycler) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be strictly positive, got " + capacity);
+    }
+    this.capacity = capacity;
+    this.valueFactory = valueFactory;
+    this.onEviction = onEviction;
+    this.recycler = recycler;
+  }
+
+  /**
+   * Records an occurrence of the given key, and returns the associated value.
+   *
+   * <p>Note that the value might get evicted concurrently.
+   */
+  public ValueT offer(KeyT key) {
+    Entry<ValueT> entry = entries.get(key);
+    if (entry == null) {
+      entry = insert(key);
+    }
+    entry.count.increment();
+    return entry.value;
+  }
+
+  /** Evicts all the keys that have not been offered since the previous call to this method. */
+  public synchronized void evictIdle() {
+    Iterator<Map.Entry<KeyT, Entry<ValueT>>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<KeyT, Entry<ValueT>> mapEntry = iterator.next();
+      Entry<ValueT> entry = mapEntry.getValue();
+      long count = entry.count.sum();
+      if (count == entry.countAtLastEviction) {
+        iterator.remove();
+        onEviction.accept(mapEntry.getKey(), entry.value);
+      } else {
+        entry.countAtLastEviction = count;
+      }
+    }
+  }
+
+  /** Evicts all the keys. */
+  public synchronized void clear() {
+    for (Map.Entry<KeyT, Entry<ValueT>> mapEntry : entries.entrySet()) {
+      onEviction.accept(mapEntry.getKey(), mapEntry.getValue().value);
+    }
+    entries.clear();
+  }
+
+  /** The number of keys currently tracked. */
+  public int size() {
+    return entries.size();
+  }
+
+  private synchronized Entry<ValueT> insert(KeyT key) {
+    // Might have raced with another thread
+    Entry<ValueT> entry = entries.get(key);
+    if (entry != null) {
+      return entry;
+    }
+    if (entries.size() >= capacity) {
+      KeyT minKey = null;
+      Entry<ValueT> minEntry = null;
+      long minCount = Long.MAX_VALUE;
+      for (Map.Entry<KeyT, Entry<ValueT>> mapEntry : entries.entrySet()) {
+        long count = mapEntry.getValue().count.sum();
+        if (count < minCount) {
+          minKey = mapEntry.getKey();
+          minEntry = mapEntry.getValue();
+          minCount = count;
+        }
+      }
+      assert minKey != null;
+      entries.remove(minKey);
+      onEviction.accept(minKey, minEntry.value);
+      entry = new Entry<>(recycler.apply(key, minEntry.value), minCount);
+    } else {
+      entry = new Entry<>(valueFactory.apply(key), 0);
+    }
+    entries.put(key, entry);
+    return entry;
+  }
+
+  private static class Entry<ValueT> {
+    private final ValueT value;
+    private final LongAdder count = new LongAdder();
+
+    // Only accessed while holding the sketch's lock
+    private long countAtLastEviction;
+
+    private Entry(ValueT value, long inheritedCount) {
+      this.value = value;
+      this.count.add(inheritedCount);
+      this.countAtLastEviction = inheritedCount;
+    }
+  }
+}
@@ -15,30 +15,80 @@
  */
 package com.datastax.oss.driver.internal.core.protocol;
 
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.context.DriverContext;
 import com.datastax.oss.protocol.internal.Compressor;
 import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
 import java.nio.ByteBuffer;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
 public abstract class ByteBufCompressor implements Compressor<ByteBuf> {
 
+  // Inputs made of multiple components (composite buffers) must be gathered into a single NIO
+  // buffer before they can be passed to the compression libraries. Do it in a per-thread scratch
+  // buffer, to avoid allocating a new buffer every time. Compression happens on the event loop,
+  // so this is effectively one buffer per event loop. Larger inputs fall back to an allocation.
+  private static final int MAX_SCRATCH_CAPACITY = 128 * 1024;
+  private static final FastThreadLocal<ByteBuffer> SCRATCH =
+      new FastThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+          return ByteBuffer.allocateDirect(MAX_SCRATCH_CAPACITY);
+        }
+      };
+
+  private final long compressionThreshold;
+
+  protected ByteBufCompressor() {
+    this(0);
+  }
+
+  /**
+   * @param compressionThreshold the size under which protocol v5 segments are not compressed (see
+   *     {@link #getCompressionThreshold(DriverContext)}).
+   */
+  protected ByteBufCompressor(long compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  /** Reads the compression threshold from the configuration, or 0 if it is not defined. */
+  protected static long getCompressionThreshold(DriverContext context) {
+    return context
+        .getConfig()
+        .getDefaultProfile()
+        .getBytes(DefaultDriverOption.PROTOCOL_COMPRESSION_THRESHOLD, 0);
+  }
+
   @Override
   public ByteBuf compress(ByteBuf uncompressed) {
-    return uncompressed.isDirect()
-        ? compressDirect(uncompressed, true)
-        : compressHeap(uncompressed, true);
+    return uncompressed.hasArray()
+        ? compressHeap(uncompressed, true)
+        : compressDirect(uncompressed, true);
   }
 
   @Override
   public ByteBuf compressWithoutLength(ByteBuf uncompressed) {
-    return uncompressed.isDirect()
-        ? compressDirect(uncompressed, false)
-        : compressHeap(uncompressed, false);
+    if (uncompressed.readableBytes() < compressionThreshold) {
+      // Not worth compressing. This method is only used for protocol v5 segments, and if the
+      // result is not smaller than the input, the segment codec discards it and sends the segment
+      // uncompressed. So return a view of the input (the codec releases it).
+      return uncompressed.retainedDuplicate();
+    }
+    return uncompressed.hasArray()
+        ? compressHeap(uncompressed, false)
+        : compressDirect(uncompressed, false);
   }
 
+  /**
+   * Compresses an input that is not backed by a single array: either a direct buffer, or a
+   * composite buffer. The input should be accessed with {@link #inputNioBuffer(ByteBuf)}, which
+   * returns a direct buffer in most cases.
+   */
   protected abstract ByteBuf compressDirect(ByteBuf input, boolean prependWithUncompressedLength);
 
+  /** Compresses an input that is backed by a single array. */
   protected abstract ByteBuf compressHeap(ByteBuf input, boolean prependWithUncompressedLength);
 
   @Override
@@ -50,9 +100,9 @@ public abstract class ByteBufCompressor implements Compressor<ByteBuf> {
 
   @Override
   public ByteBuf decompressWithoutLength(ByteBuf compressed, int uncompressedLength) {
-    return compressed.isDirect()
-        ? decompressDirect(compressed, uncompressedLength)
-        : decompressHeap(compressed, uncompressedLength);
+    return compressed.hasArray()
+        ? decompressHeap(compressed, uncompressedLength)
+        : decompressDirect(compressed, uncompressedLength);
   }
 
   protected abstract ByteBuf decompressDirect(ByteBuf input, int uncompressedLength);
@@ -64,9 +114,19 @@ public abstract class ByteBufCompressor implements Compressor<ByteBuf> {
     // reduce Object allocations.
     int index = buf.readerIndex();
     int len = buf.readableBytes();
-    return buf.nioBufferCount() == 1
-        ? buf.internalNioBuffer(index, len)
-        : buf.nioBuffer(index, len);
+    if (buf.nioBufferCount() == 1) {
+      return buf.internalNioBuffer(index, len);
+    } else if (len <= MAX_SCRATCH_CAPACITY) {
+      // The returned buffer is only valid until the next call on the same thread, which is fine
+      // since callers use it right away.
+      ByteBuffer scratch = SCRATCH.get();
+      scratch.clear().limit(len);
+      buf.getBytes(index, scratch);
+      scratch.flip();
+      return scratch;
+    } else {
+      return buf.nioBuffer(index, len);
+    }
   }
 
   protected static ByteBuffer outputNioBuffer(ByteBuf buf) {
@@ -18,6 +18,7 @@ package com.datastax.oss.driver.internal.core.protocol;
 import com.datastax.oss.protocol.internal.PrimitiveCodec;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.CharsetUtil;
 import java.net.InetAddress;
@@ -114,6 +115,9 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
   public ByteBuffer readBytes(ByteBuf source) {
     int length = readInt(source);
     if (length < 0) return null;
+    // This must copy: FrameCodec releases the frame buffer once the message is decoded, while the
+    // values outlive it (for example in the rows of a result set). A view of the slice would point
+    // to memory that has been returned to the pool.
     ByteBuf slice = source.readSlice(length);
     return ByteBuffer.wrap(readRawBytes(slice));
   }
@@ -150,7 +154,25 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
 
   @Override
   public void updateCrc(ByteBuf source, CRC32 crc) {
-    crc.update(source.internalNioBuffer(source.readerIndex(), source.readableBytes()));
+    int index = source.readerIndex();
+    int length = source.readableBytes();
+    if (source.hasArray()) {
+      // Feed the backing array directly, CRC32.update(byte[]) is intrinsified
+      crc.update(source.array(), source.arrayOffset() + index, length);
+    } else {
+      int nioBufferCount = source.nioBufferCount();
+      if (nioBufferCount == 1) {
+        crc.update(source.internalNioBuffer(index, length));
+      } else if (nioBufferCount > 1) {
+        // Composite buffer (for example a frame reassembled from multiple segments): process each
+        // component in turn, rather than merging them into a single NIO buffer first
+        for (ByteBuffer component : source.nioBuffers(index, length)) {
+          crc.update(component);
+        }
+      } else {
+        crc.update(ByteBufUtil.getBytes(source, index, length, false));
+      }
+    }
   }
 
   @Override
@@ -182,16 +204,17 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
 
   @Override
   public void writeString(String s, ByteBuf dest) {
-    byte[] bytes = s.getBytes(CharsetUtil.UTF_8);
-    writeUnsignedShort(bytes.length, dest);
-    dest.writeBytes(bytes);
+    // Encode directly into the destination, without an intermediary byte array
+    int length = ByteBufUtil.utf8Bytes(s);
+    writeUnsignedShort(length, dest);
+    ByteBufUtil.reserveAndWriteUtf8(dest, s, length);
   }
 
   @Override
   public void writeLongString(String s, ByteBuf dest) {
-    byte[] bytes = s.getBytes(CharsetUtil.UTF_8);
-    writeInt(bytes.length, dest);
-    dest.writeBytes(bytes);
+    int length = ByteBufUtil.utf8Bytes(s);
+    writeInt(length, dest);
+    ByteBufUtil.reserveAndWriteUtf8(dest, s, length);
   }
 
   @Override
@@ -199,8 +222,17 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
     if (bytes == null) {
       writeInt(-1, dest);
     } else {
-      writeInt(bytes.remaining(), dest);
-      dest.writeBytes(bytes.duplicate());
+      int length = bytes.remaining();
+      writeInt(length, dest);
+      if (bytes.hasArray()) {
+        // Most codecs produce heap buffers: copy straight from the backing array. This avoids
+        // allocating a duplicate for every bound value of every outgoing request.
+        dest.writeBytes(bytes.array(), bytes.arrayOffset() + bytes.position(), length);
+      } else {
+        // Don't change the position of the original buffer, it might be written concurrently
+        // (e.g. speculative executions)
+        dest.writeBytes(bytes.duplicate());
+      }
     }
   }
 
@@ -238,6 +270,8 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
 
   private static String readString(ByteBuf source, int length) {
     try {
+      // Netty decodes straight from the backing array (or a thread-local scratch array for direct
+      // buffers), so the only allocation is the resulting String.
       String str = source.toString(source.readerIndex(), length, CharsetUtil.UTF_8);
       source.readerIndex(source.readerIndex() + length);
       return str;
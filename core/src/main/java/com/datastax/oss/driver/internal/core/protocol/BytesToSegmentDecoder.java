@@ -32,6 +32,10 @@ import net.jcip.annotations.NotThreadSafe;
  * #getUnadjustedFrameLength} to handle two peculiarities: the length is encoded on 17 bits, and we
  * also want to check the header CRC before we use it. So we parse the whole segment header ahead of
  * time, and store it until we're ready to build the segment.
+ *
+ * <p>Segment payloads are extracted as retained slices of the cumulated input (see {@link
+ * #extractFrame}), they are never copied. {@link SegmentToFrameDecoder} reassembles multi-segment
+ * frames from those slices, so large frames are decoded without intermediary copies.
  */
 @NotThreadSafe
 public class BytesToSegmentDecoder extends LengthFieldBasedFrameDecoder {
@@ -28,7 +28,7 @@ import java.util.function.BooleanSupplier;
 
 /**
  * Handles GraalVM substitutions for compressors: LZ4 is only supported if we can find the native
- * library in the classpath, and Snappy is never supported.
+ * library in the classpath, and Snappy and zstd are never supported.
  *
  * <p>When a compressor is not supported, we delete its class, and modify {@link
  * BuiltInCompressors#newInstance(String, DriverContext)} to throw an error if the user attempts to
@@ -47,6 +47,9 @@ public class CompressorSubstitutions {
         case "snappy":
           throw new UnsupportedOperationException(
               "Snappy compression is not supported for native images");
+        case "zstd":
+          throw new UnsupportedOperationException(
+              "Zstd compression is not supported for native images");
         case "none":
           return Compressor.none();
         default:
@@ -69,6 +72,9 @@ public class CompressorSubstitutions {
         case "snappy":
           throw new UnsupportedOperationException(
               "Snappy compression is not supported for native images");
+        case "zstd":
+          throw new UnsupportedOperationException(
+              "Zstd compression is not supported for native images");
         case "none":
           return Compressor.none();
         default:
@@ -88,6 +94,10 @@ public class CompressorSubstitutions {
   @Delete
   public static final class DeleteSnappyCompressor {}
 
+  @TargetClass(value = ZstdCompressor.class)
+  @Delete
+  public static final class DeleteZstdCompressor {}
+
   public static class Lz4Present implements BooleanSupplier {
     @Override
     public boolean getAsBoolean() {
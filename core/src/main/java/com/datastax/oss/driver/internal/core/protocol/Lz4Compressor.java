@@ -36,11 +36,17 @@ public class Lz4Compressor extends ByteBufCompressor {
   private final LZ4FastDecompressor decompressor;
 
   public Lz4Compressor(DriverContext context) {
-    this(context.getSessionName());
+    this(context.getSessionName(), getCompressionThreshold(context));
   }
 
   @VisibleForTesting
   Lz4Compressor(String sessionName) {
+    this(sessionName, 0);
+  }
+
+  @VisibleForTesting
+  Lz4Compressor(String sessionName, long compressionThreshold) {
+    super(compressionThreshold);
     if (DependencyCheck.LZ4.isPresent()) {
       LZ4Factory lz4Factory = LZ4Factory.fastestInstance();
       LOG.info("[{}] Using {}", sessionName, lz4Factory.toString());
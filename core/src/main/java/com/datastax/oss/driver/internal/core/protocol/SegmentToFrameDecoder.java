@@ -24,7 +24,6 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
-import java.util.ArrayList;
 import java.util.List;
 import net.jcip.annotations.NotThreadSafe;
 import org.slf4j.Logger;
@@ -44,10 +43,11 @@ public class SegmentToFrameDecoder extends MessageToMessageDecoder<Segment<ByteB
   private final FrameCodec<ByteBuf> frameCodec;
   private final String logPrefix;
 
-  // Accumulated state when we are reading a sequence of slices
+  // Accumulated state when we are reading a sequence of slices. The slices are retained views of
+  // the segment payloads, they are assembled in place without copying.
   private int targetLength = UNKNOWN_LENGTH;
-  private final List<ByteBuf> accumulatedSlices = new ArrayList<>();
-  private int accumulatedLength;
+  private CompositeByteBuf accumulatedSlices;
+  private int accumulatedSlicesSize;
 
   public SegmentToFrameDecoder(@NonNull FrameCodec<ByteBuf> frameCodec, @NonNull String logPrefix) {
     this.logPrefix = logPrefix;
@@ -86,15 +86,23 @@ public class SegmentToFrameDecoder extends MessageToMessageDecoder<Segment<ByteB
   }
 
   private void decodeSlice(Segment<ByteBuf> segment, ByteBufAllocator allocator, List<Object> out) {
-    assert targetLength != UNKNOWN_LENGTH ^ (accumulatedSlices.isEmpty() && accumulatedLength == 0);
+    assert targetLength != UNKNOWN_LENGTH ^ accumulatedSlices == null;
     ByteBuf slice = segment.payload;
     if (targetLength == UNKNOWN_LENGTH) {
       // First slice, read ahead to find the target length
-      targetLength = FrameCodec.V3_ENCODED_HEADER_SIZE + frameCodec.decodeBodySize(slice);
+      try {
+        targetLength = FrameCodec.V3_ENCODED_HEADER_SIZE + frameCodec.decodeBodySize(slice);
+      } catch (RuntimeException e) {
+        slice.release();
+        throw e;
+      }
+      // Don't cap the number of components: past the cap, the composite buffer would consolidate
+      // them, in other words copy the whole frame into a new buffer.
+      accumulatedSlices = allocator.compositeBuffer(Integer.MAX_VALUE);
     }
-    accumulatedSlices.add(slice);
-    accumulatedLength += slice.readableBytes();
-    int accumulatedSlicesSize = accumulatedSlices.size();
+    accumulatedSlices.addComponent(true, slice);
+    accumulatedSlicesSize += 1;
+    int accumulatedLength = accumulatedSlices.readableBytes();
     LOG.trace(
         "[{}] Decoded slice {}, {}/{} bytes",
         logPrefix,
@@ -104,8 +112,8 @@ public class SegmentToFrameDecoder extends MessageToMessageDecoder<Segment<ByteB
     assert accumulatedLength <= targetLength;
     if (accumulatedLength == targetLength) {
       // We've received enough data to reassemble the whole message
-      CompositeByteBuf encodedFrame = allocator.compositeBuffer(accumulatedSlicesSize);
-      encodedFrame.addComponents(true, accumulatedSlices);
+      CompositeByteBuf encodedFrame = accumulatedSlices;
+      int slicesCount = accumulatedSlicesSize;
       Frame frame;
       try {
         frame = frameCodec.decode(encodedFrame);
@@ -113,15 +121,24 @@ public class SegmentToFrameDecoder extends MessageToMessageDecoder<Segment<ByteB
         encodedFrame.release();
         // Reset our state
         targetLength = UNKNOWN_LENGTH;
-        accumulatedSlices.clear();
-        accumulatedLength = 0;
+        accumulatedSlices = null;
+        accumulatedSlicesSize = 0;
       }
       LOG.trace(
-          "[{}] Decoded response frame {} from {} slices",
-          logPrefix,
-          frame.streamId,
-          accumulatedSlicesSize);
+          "[{}] Decoded response frame {} from {} slices", logPrefix, frame.streamId, slicesCount);
       out.add(frame);
     }
   }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+    // If the channel was closed in the middle of a sequence of slices, release what we're holding
+    if (accumulatedSlices != null) {
+      accumulatedSlices.release();
+      accumulatedSlices = null;
+      accumulatedSlicesSize = 0;
+      targetLength = UNKNOWN_LENGTH;
+    }
+    super.handlerRemoved(ctx);
+  }
 }
@@ -33,7 +33,8 @@ import org.xerial.snappy.Snappy;
 @ThreadSafe
 public class SnappyCompressor extends ByteBufCompressor {
 
-  public SnappyCompressor(@SuppressWarnings("unused") DriverContext context) {
+  public SnappyCompressor(DriverContext context) {
+    super(getCompressionThreshold(context));
     if (!DependencyCheck.SNAPPY.isPresent()) {
       throw new IllegalStateException(
           "Could not find the Snappy library on the classpath "
@@ -0,0 +1,295 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.internal.core.util.DependencyCheck;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdException;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @implNote Like {@link Lz4Compressor}, this compressor prepends the uncompressed length to the
+ *     compressed payload in {@link #compress(ByteBuf)}, and relies on the length provided by the
+ *     caller in {@link #decompressWithoutLength(ByteBuf, int)}.
+ */
+@ThreadSafe
+public class ZstdCompressor extends ByteBufCompressor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ZstdCompressor.class);
+
+  private static final int DEFAULT_LEVEL = 3;
+
+  private final int level;
+  private final ZstdDictCompress compressDictionary;
+  private final ZstdDictDecompress decompressDictionary;
+
+  public ZstdCompressor(DriverContext context) {
+    this(
+        context.getSessionName(),
+        context
+            .getConfig()
+            .getDefaultProfile()
+            .getInt(DefaultDriverOption.PROTOCOL_ZSTD_LEVEL, DEFAULT_LEVEL),
+        readDictionary(context.getConfig().getDefaultProfile()),
+        getCompressionThreshold(context));
+  }
+
+  @VisibleForTesting
+  ZstdCompressor(
+      String sessionName, int level, @Nullable byte[] dictionary, long compressionThreshold) {
+    super(compressionThreshold);
+    if (DependencyCheck.ZSTD.isPresent()) {
+      int maxLevel = Zstd.maxCompressionLevel();
+      if (level < 1 || level > maxLevel) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Invalid zstd compression level %d (from configuration option %s), "
+                    + "expected a value between 1 and %d",
+                level, DefaultDriverOption.PROTOCOL_ZSTD_LEVEL.getPath(), maxLevel));
+      }
+      LOG.info(
+          "[{}] Using zstd with level {} ({})",
+          sessionName,
+          level,
+          dictionary == null ? "no dictionary" : "dictionary of " + dictionary.length + " bytes");
+      this.level = level;
+      if (dictionary == null) {
+        this.compressDictionary = null;
+        this.decompressDictionary = null;
+      } else {
+        this.compressDictionary = new ZstdDictCompress(dictionary, level);
+        this.decompressDictionary = new ZstdDictDecompress(dictionary);
+      }
+    } else {
+      throw new IllegalStateException(
+          "Could not find the zstd library on the classpath "
+              + "(the driver declares it as an optional dependency, "
+              + "so you need to declare it explicitly)");
+    }
+  }
+
+  @Nullable
+  private static byte[] readDictionary(DriverExecutionProfile config) {
+    if (!config.isDefined(DefaultDriverOption.PROTOCOL_ZSTD_DICTIONARY)) {
+      return null;
+    }
+    String path = config.getString(DefaultDriverOption.PROTOCOL_ZSTD_DICTIONARY);
+    try {
+      return Files.readAllBytes(Paths.get(path));
+    } catch (IOException e) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Could not read zstd dictionary '%s' (from configuration option %s)",
+              path, DefaultDriverOption.PROTOCOL_ZSTD_DICTIONARY.getPath()),
+          e);
+    }
+  }
+
+  @Override
+  public String algorithm() {
+    return "zstd";
+  }
+
+  @Override
+  protected ByteBuf compressDirect(ByteBuf input, boolean prependWithUncompressedLength) {
+    int maxCompressedLength = (int) Zstd.compressBound(input.readableBytes());
+    // If the input is direct we will allocate a direct output buffer as well as this will allow us
+    // to use Zstd.compressDirectByteBuffer and so eliminate memory copies.
+    ByteBuf output =
+        input.alloc().directBuffer((prependWithUncompressedLength ? 4 : 0) + maxCompressedLength);
+    try {
+      ByteBuffer in = inputNioBuffer(input);
+      // Increase reader index.
+      input.readerIndex(input.writerIndex());
+
+      if (prependWithUncompressedLength) {
+        output.writeInt(in.remaining());
+      }
+
+      ByteBuffer out = outputNioBuffer(output);
+      long written =
+          (compressDictionary == null)
+              ? Zstd.compressDirectByteBuffer(
+                  out, out.position(), out.remaining(), in, in.position(), in.remaining(), level)
+              : Zstd.compressDirectByteBufferFastDict(
+                  out,
+                  out.position(),
+                  out.remaining(),
+                  in,
+                  in.position(),
+                  in.remaining(),
+                  compressDictionary);
+      checkResult(written);
+      // Set the writer index so the amount of written bytes is reflected
+      output.writerIndex(output.writerIndex() + (int) written);
+    } catch (Exception e) {
+      // release output buffer so we not leak and rethrow exception.
+      output.release();
+      throw e;
+    }
+    return output;
+  }
+
+  @Override
+  protected ByteBuf compressHeap(ByteBuf input, boolean prependWithUncompressedLength) {
+    int maxCompressedLength = (int) Zstd.compressBound(input.readableBytes());
+
+    // Not a direct buffer so use byte arrays...
+    int inOffset = input.arrayOffset() + input.readerIndex();
+    byte[] in = input.array();
+    int len = input.readableBytes();
+    // Increase reader index.
+    input.readerIndex(input.writerIndex());
+
+    // Allocate a heap buffer from the ByteBufAllocator as we may use a PooledByteBufAllocator and
+    // so can eliminate the overhead of allocate a new byte[].
+    ByteBuf output =
+        input.alloc().heapBuffer((prependWithUncompressedLength ? 4 : 0) + maxCompressedLength);
+    try {
+      if (prependWithUncompressedLength) {
+        output.writeInt(len);
+      }
+      // calculate the correct offset.
+      int offset = output.arrayOffset() + output.writerIndex();
+      byte[] out = output.array();
+      long written =
+          (compressDictionary == null)
+              ? Zstd.compressByteArray(out, offset, maxCompressedLength, in, inOffset, len, level)
+              : Zstd.compressFastDict(out, offset, in, inOffset, len, compressDictionary);
+      checkResult(written);
+
+      // Set the writer index so the amount of written bytes is reflected
+      output.writerIndex(output.writerIndex() + (int) written);
+    } catch (Exception e) {
+      // release output buffer so we not leak and rethrow exception.
+      output.release();
+      throw e;
+    }
+    return output;
+  }
+
+  @Override
+  protected int readUncompressedLength(ByteBuf compressed) {
+    return compressed.readInt();
+  }
+
+  @Override
+  protected ByteBuf decompressDirect(ByteBuf input, int uncompressedLength) {
+    // If the input is direct we will allocate a direct output buffer as well as this will allow us
+    // to use Zstd.decompressDirectByteBuffer and so eliminate memory copies.
+    ByteBuffer in = inputNioBuffer(input);
+    // Increase reader index.
+    input.readerIndex(input.writerIndex());
+    ByteBuf output = input.alloc().directBuffer(uncompressedLength);
+    try {
+      ByteBuffer out = outputNioBuffer(output);
+      long read =
+          (decompressDictionary == null)
+              ? Zstd.decompressDirectByteBuffer(
+                  out, out.position(), uncompressedLength, in, in.position(), in.remaining())
+              : Zstd.decompressDirectByteBufferFastDict(
+                  out,
+                  out.position(),
+                  uncompressedLength,
+                  in,
+                  in.position(),
+                  in.remaining(),
+                  decompressDictionary);
+      checkResult(read);
+      if (read != uncompressedLength) {
+        throw new IllegalArgumentException("Uncompressed lengths mismatch");
+      }
+
+      // Set the writer index so the amount of written bytes is reflected
+      output.writerIndex(output.writerIndex() + uncompressedLength);
+    } catch (Exception e) {
+      // release output buffer so we not leak and rethrow exception.
+      output.release();
+      throw e;
+    }
+    return output;
+  }
+
+  @Override
+  protected ByteBuf decompressHeap(ByteBuf input, int uncompressedLength) {
+    // Not a direct buffer so use byte arrays...
+    byte[] in = input.array();
+    int len = input.readableBytes();
+    int inOffset = input.arrayOffset() + input.readerIndex();
+    // Increase reader index.
+    input.readerIndex(input.writerIndex());
+
+    // Allocate a heap buffer from the ByteBufAllocator as we may use a PooledByteBufAllocator and
+    // so can eliminate the overhead of allocate a new byte[].
+    ByteBuf output = input.alloc().heapBuffer(uncompressedLength);
+    try {
+      int offset = output.arrayOffset() + output.writerIndex();
+      byte[] out = output.array();
+      long read =
+          (decompressDictionary == null)
+              ? Zstd.decompressByteArray(out, offset, uncompressedLength, in, inOffset, len)
+              : decompressByteArrayWithDictionary(
+                  out, offset, uncompressedLength, in, inOffset, len);
+      checkResult(read);
+      if (read != uncompressedLength) {
+        throw new IllegalArgumentException("Uncompressed lengths mismatch");
+      }
+
+      // Set the writer index so the amount of written bytes is reflected
+      output.writerIndex(output.writerIndex() + uncompressedLength);
+    } catch (Exception e) {
+      // release output buffer so we not leak and rethrow exception.
+      output.release();
+      throw e;
+    }
+    return output;
+  }
+
+  private long decompressByteArrayWithDictionary(
+      byte[] out, int offset, int uncompressedLength, byte[] in, int inOffset, int len) {
+    // Don't use Zstd.decompressFastDict: it doesn't take the destination size, and assumes that it
+    // can write up to the end of the array. For a pooled buffer, that array is shared with other
+    // buffers, so a corrupt frame could overwrite them.
+    try (ZstdDecompressCtx context = new ZstdDecompressCtx()) {
+      return context
+          .loadDict(decompressDictionary)
+          .decompressByteArray(out, offset, uncompressedLength, in, inOffset, len);
+    } catch (ZstdException e) {
+      throw new IllegalArgumentException("Zstd error: " + e.getMessage(), e);
+    }
+  }
+
+  private static void checkResult(long result) {
+    if (Zstd.isError(result)) {
+      throw new IllegalArgumentException("Zstd error: " + Zstd.getErrorName(result));
+    }
+  }
+}
@@ -19,6 +19,7 @@ import com.datastax.dse.driver.internal.core.cql.continuous.ContinuousCqlRequest
 import com.datastax.dse.driver.internal.core.cql.continuous.ContinuousCqlRequestSyncProcessor;
 import com.datastax.dse.driver.internal.core.cql.continuous.reactive.ContinuousCqlRequestReactiveProcessor;
 import com.datastax.dse.driver.internal.core.cql.reactive.CqlRequestReactiveProcessor;
+import com.datastax.dse.driver.internal.core.cql.reactive.TokenRangeScanReactiveProcessor;
 import com.datastax.dse.driver.internal.core.graph.GraphRequestAsyncProcessor;
 import com.datastax.dse.driver.internal.core.graph.GraphRequestSyncProcessor;
 import com.datastax.dse.driver.internal.core.graph.GraphSupportChecker;
@@ -28,6 +29,8 @@ import com.datastax.oss.driver.internal.core.cql.CqlPrepareAsyncProcessor;
 import com.datastax.oss.driver.internal.core.cql.CqlPrepareSyncProcessor;
 import com.datastax.oss.driver.internal.core.cql.CqlRequestAsyncProcessor;
 import com.datastax.oss.driver.internal.core.cql.CqlRequestSyncProcessor;
+import com.datastax.oss.driver.internal.core.cql.TokenRangeScanAsyncProcessor;
+import com.datastax.oss.driver.internal.core.cql.TokenRangeScanSyncProcessor;
 import com.datastax.oss.driver.internal.core.util.DependencyCheck;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,7 +43,7 @@ public class BuiltInRequestProcessors {
 
   public static List<RequestProcessor<?, ?>> createDefaultProcessors(DefaultDriverContext context) {
     List<RequestProcessor<?, ?>> processors = new ArrayList<>();
-    addBasicProcessors(processors);
+    addBasicProcessors(context, processors);
     if (DependencyCheck.TINKERPOP.isPresent()) {
       addGraphProcessors(context, processors);
     } else {
@@ -58,7 +61,24 @@ public class BuiltInRequestProcessors {
     return processors;
   }
 
+  public static void addBasicProcessors(
+      DefaultDriverContext context, List<RequestProcessor<?, ?>> processors) {
+    addBasicProcessors(new CqlPrepareAsyncProcessor(context), processors);
+  }
+
+  /**
+   * @deprecated this uses the previous defaults for the prepared statement cache (weak values, no
+   *     size or expiration bounds), and ignores the {@code
+   *     advanced.prepared-statements.prepared-cache} configuration. Use {@link
+   *     #addBasicProcessors(DefaultDriverContext, List)} instead.
+   */
+  @Deprecated
   public static void addBasicProcessors(List<RequestProcessor<?, ?>> processors) {
+    addBasicProcessors(new CqlPrepareAsyncProcessor(), processors);
+  }
+
+  private static void addBasicProcessors(
+      CqlPrepareAsyncProcessor cqlPrepareAsyncProcessor, List<RequestProcessor<?, ?>> processors) {
     // regular requests (sync and async)
     CqlRequestAsyncProcessor cqlRequestAsyncProcessor = new CqlRequestAsyncProcessor();
     CqlRequestSyncProcessor cqlRequestSyncProcessor =
@@ -67,7 +87,6 @@ public class BuiltInRequestProcessors {
     processors.add(cqlRequestSyncProcessor);
 
     // prepare requests (sync and async)
-    CqlPrepareAsyncProcessor cqlPrepareAsyncProcessor = new CqlPrepareAsyncProcessor();
     CqlPrepareSyncProcessor cqlPrepareSyncProcessor =
         new CqlPrepareSyncProcessor(cqlPrepareAsyncProcessor);
     processors.add(cqlPrepareAsyncProcessor);
@@ -80,6 +99,13 @@ public class BuiltInRequestProcessors {
         new ContinuousCqlRequestSyncProcessor(continuousCqlRequestAsyncProcessor);
     processors.add(continuousCqlRequestAsyncProcessor);
     processors.add(continuousCqlRequestSyncProcessor);
+
+    // token range scans (sync and async)
+    TokenRangeScanAsyncProcessor tokenRangeScanAsyncProcessor = new TokenRangeScanAsyncProcessor();
+    TokenRangeScanSyncProcessor tokenRangeScanSyncProcessor =
+        new TokenRangeScanSyncProcessor(tokenRangeScanAsyncProcessor);
+    processors.add(tokenRangeScanAsyncProcessor);
+    processors.add(tokenRangeScanSyncProcessor);
   }
 
   public static void addGraphProcessors(
@@ -97,8 +123,11 @@ public class BuiltInRequestProcessors {
         new CqlRequestReactiveProcessor(new CqlRequestAsyncProcessor());
     ContinuousCqlRequestReactiveProcessor continuousCqlRequestReactiveProcessor =
         new ContinuousCqlRequestReactiveProcessor(new ContinuousCqlRequestAsyncProcessor());
+    TokenRangeScanReactiveProcessor tokenRangeScanReactiveProcessor =
+        new TokenRangeScanReactiveProcessor(new TokenRangeScanAsyncProcessor());
     processors.add(cqlRequestReactiveProcessor);
     processors.add(continuousCqlRequestReactiveProcessor);
+    processors.add(tokenRangeScanReactiveProcessor);
   }
 
   public static void addGraphReactiveProcessors(
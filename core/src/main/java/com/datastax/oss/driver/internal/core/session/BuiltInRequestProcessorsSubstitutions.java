@@ -33,7 +33,7 @@ public class BuiltInRequestProcessorsSubstitutions {
     public static List<RequestProcessor<?, ?>> createDefaultProcessors(
         DefaultDriverContext context) {
       List<RequestProcessor<?, ?>> processors = new ArrayList<>();
-      BuiltInRequestProcessors.addBasicProcessors(processors);
+      BuiltInRequestProcessors.addBasicProcessors(context, processors);
       return processors;
     }
   }
@@ -45,7 +45,7 @@ public class BuiltInRequestProcessorsSubstitutions {
     public static List<RequestProcessor<?, ?>> createDefaultProcessors(
         DefaultDriverContext context) {
       List<RequestProcessor<?, ?>> processors = new ArrayList<>();
-      BuiltInRequestProcessors.addBasicProcessors(processors);
+      BuiltInRequestProcessors.addBasicProcessors(context, processors);
       BuiltInRequestProcessors.addReactiveProcessors(processors);
       return processors;
     }
@@ -58,7 +58,7 @@ public class BuiltInRequestProcessorsSubstitutions {
     public static List<RequestProcessor<?, ?>> createDefaultProcessors(
         DefaultDriverContext context) {
       List<RequestProcessor<?, ?>> processors = new ArrayList<>();
-      BuiltInRequestProcessors.addBasicProcessors(processors);
+      BuiltInRequestProcessors.addBasicProcessors(context, processors);
       BuiltInRequestProcessors.addGraphProcessors(context, processors);
       return processors;
     }
@@ -584,6 +584,7 @@ public class DefaultSession implements CqlSession {
       for (CompletionStage<Void> stage : childrenCloseStages) {
         warnIfFailed(stage);
       }
+      metricUpdater.onSessionClosed();
       context
           .getNettyOptions()
           .onClose()
@@ -35,10 +35,12 @@ import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.internal.core.util.concurrent.ReplayingEventFilter;
 import com.datastax.oss.driver.internal.core.util.concurrent.RunOrSchedule;
 import com.datastax.oss.driver.internal.core.util.concurrent.UncaughtExceptions;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
 import com.datastax.oss.driver.shaded.guava.common.collect.MapMaker;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -51,6 +53,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +69,9 @@ public class PoolManager implements AsyncAutoCloseable {
 
   private static final Logger LOG = LoggerFactory.getLogger(PoolManager.class);
 
+  // How often the execution counts of prepared statements are halved (see RepreparePayload).
+  @VisibleForTesting static final long EXECUTIONS_HALF_LIFE_MINUTES = 5;
+
   // This is read concurrently, but only updated from adminExecutor
   private volatile CqlIdentifier keyspace;
 
@@ -98,6 +104,15 @@ public class PoolManager implements AsyncAutoCloseable {
     if (config.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true)) {
       LOG.debug("[{}] Prepared statements cache configured to use weak values", logPrefix);
       this.repreparePayloads = new MapMaker().weakValues().makeMap();
+    } else if (config.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, 0) > 0
+        || config.isDefined(DefaultDriverOption.PREPARED_CACHE_EXPIRE_AFTER_ACCESS)) {
+      // Each prepared statement references its payload, so with weak values a payload stays
+      // around as long as its statement is reachable, either from the (strong) cache or from the
+      // client. Strong values would retain the payloads of evicted statements forever.
+      LOG.debug(
+          "[{}] Prepared statements cache configured to use strong values with eviction",
+          logPrefix);
+      this.repreparePayloads = new MapMaker().weakValues().makeMap();
     } else {
       LOG.debug("[{}] Prepared statements cache configured to use strong values", logPrefix);
       this.repreparePayloads = new MapMaker().makeMap();
@@ -183,6 +198,7 @@ public class PoolManager implements AsyncAutoCloseable {
     // If we receive events while a pool is initializing, the last one is stored here
     private final Map<Node, DistanceEvent> pendingDistanceEvents = new WeakHashMap<>();
     private final Map<Node, NodeStateEvent> pendingStateEvents = new WeakHashMap<>();
+    private ScheduledFuture<?> executionsDecay;
 
     private SingleThreaded(InternalDriverContext context) {
       this.context = context;
@@ -214,6 +230,13 @@ public class PoolManager implements AsyncAutoCloseable {
 
       PoolManager.this.keyspace = keyspace;
 
+      executionsDecay =
+          adminExecutor.scheduleAtFixedRate(
+              this::decayExecutions,
+              EXECUTIONS_HALF_LIFE_MINUTES,
+              EXECUTIONS_HALF_LIFE_MINUTES,
+              TimeUnit.MINUTES);
+
       // Make sure we don't miss any event while the pools are initializing
       distanceEventFilter.start();
       stateEventFilter.start();
@@ -341,6 +364,77 @@ public class PoolManager implements AsyncAutoCloseable {
           && node.getDistance() != NodeDistance.IGNORED) {
         LOG.debug("[{}] {} was forced back UP, initializing pool", logPrefix, node);
         createOrReconnectPool(node);
+      } else if (oldState == NodeState.DOWN && newState == NodeState.UP) {
+        ChannelPool pool = pools.get(node);
+        if (pool != null
+            && config.getBoolean(DefaultDriverOption.REPREPARE_ENABLED)
+            && !repreparePayloads.isEmpty()) {
+          reprepareOnReconnect(pool);
+        }
+      }
+    }
+
+    /**
+     * The pool of a node that was DOWN has reconnected. The node might have restarted and lost its
+     * prepared statements, so reprepare them before it gets requests again: until then, the pool is
+     * withdrawn from {@link #pools} (so query plans skip it) and treated as pending.
+     */
+    private void reprepareOnReconnect(ChannelPool pool) {
+      assert adminExecutor.inEventLoop();
+      Node node = pool.getNode();
+      LOG.debug(
+          "[{}] {} came back UP, repreparing statements before sending it requests",
+          logPrefix,
+          node);
+      CqlIdentifier keyspaceBefore = keyspace;
+      pools.remove(node);
+      pending.put(node, CompletableFuture.completedFuture(pool));
+      new ReprepareOnUp(
+              logPrefix + "|" + node.getEndPoint(),
+              pool,
+              adminExecutor,
+              repreparePayloads,
+              context,
+              () -> RunOrSchedule.on(adminExecutor, () -> onPoolReprepared(pool, keyspaceBefore)))
+          .start();
+    }
+
+    private void onPoolReprepared(ChannelPool pool, CqlIdentifier keyspaceBefore) {
+      assert adminExecutor.inEventLoop();
+      Node node = pool.getNode();
+      if (closeWasCalled) {
+        LOG.debug(
+            "[{}] Session closed while repreparing statements on {}, closing its pool",
+            logPrefix,
+            node);
+        pending.remove(node);
+        pool.forceCloseAsync();
+      } else if (Objects.equals(keyspace, keyspaceBefore)) {
+        onPoolReady(pool);
+      } else {
+        // The keyspace changed while the pool was withdrawn, switch it now.
+        pool.setKeyspace(keyspace)
+            .handleAsync(
+                (result, error) -> {
+                  if (error != null) {
+                    Loggers.warnWithException(
+                        LOG, "Error while switching keyspace to " + keyspace, error);
+                  }
+                  onPoolReady(pool);
+                  return null;
+                },
+                adminExecutor);
+      }
+    }
+
+    /**
+     * Halves the execution counts, so that the order in which {@link ReprepareOnUp} reprepares
+     * statements favors the ones that were used recently.
+     */
+    private void decayExecutions() {
+      assert adminExecutor.inEventLoop();
+      for (RepreparePayload payload : repreparePayloads.values()) {
+        payload.decayExecutions();
       }
     }
 
@@ -474,11 +568,15 @@ public class PoolManager implements AsyncAutoCloseable {
       context.getEventBus().unregister(distanceListenerKey, DistanceEvent.class);
       context.getEventBus().unregister(stateListenerKey, NodeStateEvent.class);
       context.getEventBus().unregister(topologyListenerKey, TopologyEvent.class);
+      cancelExecutionsDecay();
 
-      List<CompletionStage<Void>> closePoolStages = new ArrayList<>(pools.size());
+      List<CompletionStage<Void>> closePoolStages = new ArrayList<>(pools.size() + pending.size());
       for (ChannelPool pool : pools.values()) {
         closePoolStages.add(pool.closeAsync());
       }
+      for (ChannelPool pool : withdrawnPools()) {
+        closePoolStages.add(pool.closeAsync());
+      }
       CompletableFutures.whenAllDone(
           closePoolStages, () -> onAllPoolsClosed(closePoolStages), adminExecutor);
     }
@@ -498,16 +596,47 @@ public class PoolManager implements AsyncAutoCloseable {
         for (ChannelPool pool : pools.values()) {
           pool.forceCloseAsync();
         }
+        for (ChannelPool pool : withdrawnPools()) {
+          pool.forceCloseAsync();
+        }
       } else {
+        cancelExecutionsDecay();
         List<CompletionStage<Void>> closePoolStages = new ArrayList<>(pools.size());
         for (ChannelPool pool : pools.values()) {
           closePoolStages.add(pool.forceCloseAsync());
         }
+        for (ChannelPool pool : withdrawnPools()) {
+          closePoolStages.add(pool.forceCloseAsync());
+        }
         CompletableFutures.whenAllDone(
             closePoolStages, () -> onAllPoolsClosed(closePoolStages), adminExecutor);
       }
     }
 
+    /**
+     * The pending pools that are already initialized, typically because they were withdrawn from
+     * {@link #pools} while repreparing statements. They must be closed with the others; pools that
+     * are still initializing are closed by {@link #onPoolInitialized} when they complete.
+     */
+    private List<ChannelPool> withdrawnPools() {
+      List<ChannelPool> result = new ArrayList<>();
+      for (CompletionStage<ChannelPool> poolStage : pending.values()) {
+        CompletableFuture<ChannelPool> poolFuture = poolStage.toCompletableFuture();
+        if (poolFuture.isDone()) {
+          // Note: pool init always succeeds
+          result.add(CompletableFutures.getCompleted(poolFuture));
+        }
+      }
+      return result;
+    }
+
+    private void cancelExecutionsDecay() {
+      if (executionsDecay != null) {
+        executionsDecay.cancel(false);
+        executionsDecay = null;
+      }
+    }
+
     private void onAllPoolsClosed(List<CompletionStage<Void>> closePoolStages) {
       assert adminExecutor.inEventLoop();
       Throwable firstError = null;
@@ -38,8 +38,10 @@ import io.netty.util.concurrent.EventExecutor;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -52,6 +54,9 @@ import org.slf4j.LoggerFactory;
  * Ensures that a newly added or restarted node knows all the prepared statements created from this
  * driver instance.
  *
+ * <p>Statements are reprepared in decreasing order of execution count (see {@link
+ * RepreparePayload#getExecutions()}), so that the most used ones are available first.
+ *
  * <p>See the comments in {@code reference.conf} for more explanations about this process. If any
  * prepare request fail, we ignore the error because it will be retried on the fly (see {@link
  * CqlRequestHandler}).
@@ -169,7 +174,7 @@ class ReprepareOnUp {
 
   private void gatherPayloadsToReprepare() {
     assert adminExecutor.inEventLoop();
-    toReprepare = new ArrayDeque<>();
+    List<Candidate> candidates = new ArrayList<>();
     for (RepreparePayload payload : repreparePayloads.values()) {
       if (serverKnownIds.contains(payload.id)) {
         LOG.trace(
@@ -177,18 +182,26 @@ class ReprepareOnUp {
             logPrefix,
             Bytes.toHexString(payload.id));
       } else {
-        if (maxStatements > 0 && toReprepare.size() == maxStatements) {
-          LOG.debug(
-              "[{}] Limiting number of statements to reprepare to {} as configured, "
-                  + "but there are more",
-              logPrefix,
-              maxStatements);
-          break;
-        } else {
-          toReprepare.add(payload);
-        }
+        candidates.add(new Candidate(payload));
       }
     }
+    // Most executed statements first (the counts decay over time, see PoolManager): they are the
+    // most likely to be hit by the first requests sent to the node, and they are the ones we keep
+    // if the number of statements is limited.
+    // The sort is stable, so statements that were never executed keep the order of the map.
+    candidates.sort((c1, c2) -> Long.compare(c2.executions, c1.executions));
+    if (maxStatements > 0 && candidates.size() > maxStatements) {
+      LOG.debug(
+          "[{}] Limiting number of statements to reprepare to {} as configured, "
+              + "but there are more",
+          logPrefix,
+          maxStatements);
+      candidates = candidates.subList(0, maxStatements);
+    }
+    toReprepare = new ArrayDeque<>(candidates.size());
+    for (Candidate candidate : candidates) {
+      toReprepare.add(candidate.payload);
+    }
     if (toReprepare.isEmpty()) {
       LOG.debug(
           "[{}] No statements to reprepare that are not known by the server already, done",
@@ -236,6 +249,20 @@ class ReprepareOnUp {
     }
   }
 
+  /**
+   * A payload with a snapshot of its execution count (the live count can change while we sort,
+   * which would break the comparator's contract).
+   */
+  private static class Candidate {
+    private final RepreparePayload payload;
+    private final long executions;
+
+    private Candidate(RepreparePayload payload) {
+      this.payload = payload;
+      this.executions = payload.getExecutions();
+    }
+  }
+
   @VisibleForTesting
   protected CompletionStage<AdminResult> queryAsync(
       Message message, Map<String, ByteBuffer> customPayload, String debugString) {
@@ -20,7 +20,8 @@ import com.datastax.oss.driver.internal.core.cql.DefaultPreparedStatement;
 import com.datastax.oss.protocol.internal.request.Prepare;
 import java.nio.ByteBuffer;
 import java.util.Map;
-import net.jcip.annotations.Immutable;
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
 
 /**
  * The information that's necessary to reprepare an already prepared statement, in case we hit a
@@ -28,8 +29,13 @@ import net.jcip.annotations.Immutable;
  *
  * <p>Make sure the object that's returned to the client (e.g. {@link DefaultPreparedStatement} for
  * CQL statements) keeps a reference to this.
+ *
+ * <p>This object also counts how many times the statement was executed, so that the most used
+ * statements can be reprepared first when a node comes back up (see {@link ReprepareOnUp}). The
+ * count is periodically halved by {@link PoolManager}, so that it reflects recent activity rather
+ * than the whole lifetime of the session.
  */
-@Immutable
+@ThreadSafe
 public class RepreparePayload {
   public final ByteBuffer id;
   public final String query;
@@ -39,6 +45,8 @@ public class RepreparePayload {
 
   public final Map<String, ByteBuffer> customPayload;
 
+  private final LongAdder executions = new LongAdder();
+
   public RepreparePayload(
       ByteBuffer id, String query, CqlIdentifier keyspace, Map<String, ByteBuffer> customPayload) {
     this.id = id;
@@ -50,4 +58,25 @@ public class RepreparePayload {
   public Prepare toMessage() {
     return new Prepare(query, keyspace == null ? null : keyspace.asInternal());
   }
+
+  /** Records an execution of the statement (this is called once per request, not per retry). */
+  public void recordExecution() {
+    executions.increment();
+  }
+
+  /** The number of executions recorded so far, minus what was removed by previous decays. */
+  public long getExecutions() {
+    return executions.sum();
+  }
+
+  /**
+   * Halves the execution count (rounding down). Executions recorded concurrently are not lost, they
+   * will simply be halved by the next decay.
+   */
+  public void decayExecutions() {
+    long current = executions.sum();
+    if (current > 0) {
+      executions.add(-((current + 1) / 2));
+    }
+  }
 }
@@ -112,39 +112,8 @@ public class DefaultSslEngineFactory implements SslEngineFactory {
         || config.isDefined(DefaultDriverOption.SSL_TRUSTSTORE_PATH)) {
       SSLContext context = SSLContext.getInstance("SSL");
 
-      // initialize truststore if configured.
-      TrustManagerFactory tmf = null;
-      if (config.isDefined(DefaultDriverOption.SSL_TRUSTSTORE_PATH)) {
-        try (InputStream tsf =
-            Files.newInputStream(
-                Paths.get(config.getString(DefaultDriverOption.SSL_TRUSTSTORE_PATH)))) {
-          KeyStore ts = KeyStore.getInstance("JKS");
-          char[] password =
-              config.isDefined(DefaultDriverOption.SSL_TRUSTSTORE_PASSWORD)
-                  ? config.getString(DefaultDriverOption.SSL_TRUSTSTORE_PASSWORD).toCharArray()
-                  : null;
-          ts.load(tsf, password);
-          tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-          tmf.init(ts);
-        }
-      }
-
-      // initialize keystore if configured.
-      KeyManagerFactory kmf = null;
-      if (config.isDefined(DefaultDriverOption.SSL_KEYSTORE_PATH)) {
-        try (InputStream ksf =
-            Files.newInputStream(
-                Paths.get(config.getString(DefaultDriverOption.SSL_KEYSTORE_PATH)))) {
-          KeyStore ks = KeyStore.getInstance("JKS");
-          char[] password =
-              config.isDefined(DefaultDriverOption.SSL_KEYSTORE_PASSWORD)
-                  ? config.getString(DefaultDriverOption.SSL_KEYSTORE_PASSWORD).toCharArray()
-                  : null;
-          ks.load(ksf, password);
-          kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
-          kmf.init(ks, password);
-        }
-      }
+      TrustManagerFactory tmf = buildTrustManagerFactory(config);
+      KeyManagerFactory kmf = buildKeyManagerFactory(config);
 
       context.init(
           kmf != null ? kmf.getKeyManagers() : null,
@@ -157,6 +126,48 @@ public class DefaultSslEngineFactory implements SslEngineFactory {
     }
   }
 
+  /** @return the trust manager factory, or null if no truststore is configured. */
+  static TrustManagerFactory buildTrustManagerFactory(DriverExecutionProfile config)
+      throws Exception {
+    if (!config.isDefined(DefaultDriverOption.SSL_TRUSTSTORE_PATH)) {
+      return null;
+    }
+    try (InputStream tsf =
+        Files.newInputStream(
+            Paths.get(config.getString(DefaultDriverOption.SSL_TRUSTSTORE_PATH)))) {
+      KeyStore ts = KeyStore.getInstance("JKS");
+      char[] password =
+          config.isDefined(DefaultDriverOption.SSL_TRUSTSTORE_PASSWORD)
+              ? config.getString(DefaultDriverOption.SSL_TRUSTSTORE_PASSWORD).toCharArray()
+              : null;
+      ts.load(tsf, password);
+      TrustManagerFactory tmf =
+          TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+      tmf.init(ts);
+      return tmf;
+    }
+  }
+
+  /** @return the key manager factory, or null if no keystore is configured. */
+  static KeyManagerFactory buildKeyManagerFactory(DriverExecutionProfile config) throws Exception {
+    if (!config.isDefined(DefaultDriverOption.SSL_KEYSTORE_PATH)) {
+      return null;
+    }
+    try (InputStream ksf =
+        Files.newInputStream(Paths.get(config.getString(DefaultDriverOption.SSL_KEYSTORE_PATH)))) {
+      KeyStore ks = KeyStore.getInstance("JKS");
+      char[] password =
+          config.isDefined(DefaultDriverOption.SSL_KEYSTORE_PASSWORD)
+              ? config.getString(DefaultDriverOption.SSL_KEYSTORE_PASSWORD).toCharArray()
+              : null;
+      ks.load(ksf, password);
+      KeyManagerFactory kmf =
+          KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+      kmf.init(ks, password);
+      return kmf;
+    }
+  }
+
   @Override
   public void close() throws Exception {
     // nothing to do
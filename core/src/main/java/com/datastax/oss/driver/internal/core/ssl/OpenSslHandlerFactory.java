@@ -0,0 +1,115 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.ssl;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.metadata.EndPoint;
+import io.netty.channel.Channel;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.util.ReferenceCountUtil;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * SSL handler factory that uses Netty's native OpenSSL bindings instead of the JDK.
+ *
+ * <p>It is used instead of {@link JdkSslHandlerFactory} when {@link DefaultSslEngineFactory} is
+ * configured with {@code advanced.ssl-engine-factory.provider = OPENSSL}, and netty-tcnative is
+ * present on the classpath. It reads the same options as {@link DefaultSslEngineFactory}.
+ *
+ * <p>A single {@link SslContext} is shared by all the connections of the session (pools and control
+ * connection), and each handler is created with the peer's host and port. This allows the OpenSSL
+ * client session cache to resume TLS sessions when reconnecting to a node, instead of performing a
+ * full handshake for every channel.
+ */
+@ThreadSafe
+public class OpenSslHandlerFactory implements SslHandlerFactory {
+
+  /** Whether this factory can be used, i.e. whether netty-tcnative is present and loadable. */
+  public static boolean isAvailable() {
+    return OpenSsl.isAvailable();
+  }
+
+  /** The reason why this factory can't be used, or null if it is {@linkplain #isAvailable()}. */
+  public static Throwable unavailabilityCause() {
+    return OpenSsl.unavailabilityCause();
+  }
+
+  private final SslContext sslContext;
+  private final boolean requireHostnameValidation;
+
+  public OpenSslHandlerFactory(DriverContext driverContext) {
+    DriverExecutionProfile config = driverContext.getConfig().getDefaultProfile();
+    try {
+      SslContextBuilder builder =
+          SslContextBuilder.forClient()
+              .sslProvider(SslProvider.OPENSSL)
+              .trustManager(DefaultSslEngineFactory.buildTrustManagerFactory(config))
+              .keyManager(DefaultSslEngineFactory.buildKeyManagerFactory(config));
+      if (config.isDefined(DefaultDriverOption.SSL_CIPHER_SUITES)) {
+        builder.ciphers(config.getStringList(DefaultDriverOption.SSL_CIPHER_SUITES));
+      }
+      if (config.isDefined(DefaultDriverOption.SSL_SESSION_CACHE_SIZE)) {
+        builder.sessionCacheSize(config.getLong(DefaultDriverOption.SSL_SESSION_CACHE_SIZE));
+      }
+      if (config.isDefined(DefaultDriverOption.SSL_SESSION_TIMEOUT)) {
+        builder.sessionTimeout(
+            config.getDuration(DefaultDriverOption.SSL_SESSION_TIMEOUT).getSeconds());
+      }
+      this.sslContext = builder.build();
+    } catch (Exception e) {
+      throw new IllegalStateException("Cannot initialize SSL Context", e);
+    }
+    this.requireHostnameValidation =
+        config.getBoolean(DefaultDriverOption.SSL_HOSTNAME_VALIDATION, true);
+  }
+
+  @Override
+  public SslHandler newSslHandler(Channel channel, EndPoint remoteEndpoint) {
+    SslHandler handler;
+    SocketAddress remoteAddress = remoteEndpoint.resolve();
+    if (remoteAddress instanceof InetSocketAddress) {
+      InetSocketAddress socketAddress = (InetSocketAddress) remoteAddress;
+      // The peer's host and port are the key of the client session cache
+      handler =
+          sslContext.newHandler(
+              channel.alloc(), socketAddress.getHostName(), socketAddress.getPort());
+    } else {
+      handler = sslContext.newHandler(channel.alloc());
+    }
+    if (requireHostnameValidation) {
+      SSLEngine engine = handler.engine();
+      SSLParameters parameters = engine.getSSLParameters();
+      parameters.setEndpointIdentificationAlgorithm("HTTPS");
+      engine.setSSLParameters(parameters);
+    }
+    return handler;
+  }
+
+  @Override
+  public void close() throws Exception {
+    ReferenceCountUtil.release(sslContext);
+  }
+}
@@ -71,7 +71,14 @@ abstract class MonotonicTimestampGenerator implements TimestampGenerator {
    * warning will be logged according to the rules defined in the configuration.
    */
   protected long computeNext(long last) {
-    long currentTick = clock.currentTimeMicros();
+    return computeNext(last, currentTick());
+  }
+
+  /**
+   * Same as {@link #computeNext(long)}, for subclasses that also need the clock tick: it must have
+   * been obtained from {@link #currentTick()}.
+   */
+  protected long computeNext(long last, long currentTick) {
     if (last >= currentTick) {
       maybeLog(currentTick, last);
       return last + 1;
@@ -79,6 +86,11 @@ abstract class MonotonicTimestampGenerator implements TimestampGenerator {
     return currentTick;
   }
 
+  /** The current tick of the clock, in microseconds. */
+  protected long currentTick() {
+    return clock.currentTimeMicros();
+  }
+
   @Override
   public void close() throws Exception {
     // nothing to do
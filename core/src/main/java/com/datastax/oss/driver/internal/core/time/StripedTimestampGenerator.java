@@ -0,0 +1,160 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.time;
+
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A timestamp generator that guarantees unique timestamps across all client threads, without making
+ * them compete for a single shared counter; it also logs warnings when timestamps drift in the
+ * future.
+ *
+ * <p>Each thread reserves a block of consecutive microseconds from a shared counter, and then
+ * generates timestamps from that block without any synchronization. A new block is reserved when
+ * the current one is exhausted, or when the clock has moved past it. Blocks start at one
+ * microsecond, and double every time the thread reserves a new one, up to {@value
+ * #DEFAULT_BLOCK_SIZE}: busy threads only update the shared counter once every {@value
+ * #DEFAULT_BLOCK_SIZE} timestamps, instead of every time like {@link AtomicTimestampGenerator},
+ * while threads that only generate a few timestamps (for example short-lived threads) do not
+ * reserve microseconds that they will never use.
+ *
+ * <p>Reservations never run more than {@value #MAX_LEAD_MICROS} microseconds ahead of the clock:
+ * past that point, which is only reached with a lot of concurrent threads, each timestamp is taken
+ * individually from the shared counter, like {@link AtomicTimestampGenerator} does.
+ *
+ * <p>Timestamps are strictly increasing within each thread. Across threads, they are unique but
+ * only roughly ordered: a thread may return a timestamp that is lower than the one returned just
+ * before by another thread, by up to {@value #MAX_LEAD_MICROS} microseconds. If your application
+ * needs a strict ordering between writes issued concurrently from different threads, use {@link
+ * AtomicTimestampGenerator} instead.
+ *
+ * <p>To activate this generator, modify the {@code advanced.timestamp-generator} section in the
+ * driver configuration, for example:
+ *
+ * <pre>
+ * datastax-java-driver {
+ *   advanced.timestamp-generator {
+ *     class = StripedTimestampGenerator
+ *     drift-warning {
+ *       threshold = 1 second
+ *       interval = 10 seconds
+ *     }
+ *     force-java-clock = false
+ *   }
+ * }
+ * </pre>
+ *
+ * See {@code reference.conf} (in the manual or core driver JAR) for more details.
+ */
+@ThreadSafe
+public class StripedTimestampGenerator extends MonotonicTimestampGenerator {
+
+  @VisibleForTesting static final int DEFAULT_BLOCK_SIZE = 64;
+  @VisibleForTesting static final long MAX_LEAD_MICROS = 1000;
+
+  private final int blockSize;
+  // The first microsecond that has not been reserved by any thread yet
+  private final AtomicLong reservedRef = new AtomicLong(0);
+  // Set to null when the generator is closed
+  private volatile ThreadLocal<Block> blockRef = ThreadLocal.withInitial(Block::new);
+
+  public StripedTimestampGenerator(DriverContext context) {
+    super(context);
+    this.blockSize = DEFAULT_BLOCK_SIZE;
+  }
+
+  @VisibleForTesting
+  StripedTimestampGenerator(Clock clock, DriverContext context) {
+    this(clock, context, DEFAULT_BLOCK_SIZE);
+  }
+
+  @VisibleForTesting
+  StripedTimestampGenerator(Clock clock, DriverContext context, int blockSize) {
+    super(clock, context);
+    this.blockSize = blockSize;
+  }
+
+  @Override
+  public long next() {
+    long currentTick = currentTick();
+    ThreadLocal<Block> blockRef = this.blockRef;
+    if (blockRef == null) {
+      // Closed, but a few late requests can still come in
+      return nextShared(currentTick);
+    }
+    Block block = blockRef.get();
+    long next = computeNext(block.last, currentTick);
+    if (next >= block.limit) {
+      next = reserve(next, currentTick, block);
+    }
+    block.last = next;
+    return next;
+  }
+
+  /**
+   * Reserves a new block that starts at {@code from} at the earliest, records its limit in {@code
+   * block}, and returns its start.
+   */
+  private long reserve(long from, long currentTick, Block block) {
+    while (true) {
+      long reserved = reservedRef.get();
+      long start = Math.max(from, reserved);
+      // Past the maximum lead, fall back to reserving a single microsecond
+      int size = (start + block.size - currentTick <= MAX_LEAD_MICROS) ? block.size : 1;
+      if (reservedRef.compareAndSet(reserved, start + size)) {
+        block.limit = start + size;
+        if (size == block.size) {
+          block.size = Math.min(size * 2, blockSize);
+        }
+        return start;
+      }
+    }
+  }
+
+  /** Generates a timestamp directly from the shared counter. */
+  private long nextShared(long currentTick) {
+    while (true) {
+      long reserved = reservedRef.get();
+      long next = computeNext(reserved - 1, currentTick);
+      if (reservedRef.compareAndSet(reserved, next + 1)) {
+        return next;
+      }
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    ThreadLocal<Block> blockRef = this.blockRef;
+    if (blockRef != null) {
+      this.blockRef = null;
+      // The entries of other threads become unreachable (ThreadLocal keys are weak references), and
+      // will be expunged by the JDK; the entry of the calling thread can be removed right away.
+      blockRef.remove();
+    }
+    super.close();
+  }
+
+  // Only accessed by its owning thread
+  private static class Block {
+    private long last;
+    private long limit;
+    // The size of the next block to reserve
+    private int size = 1;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.tracker;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestSpan;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+import net.jcip.annotations.Immutable;
+
+@Immutable
+public class DefaultRequestSpan implements RequestSpan {
+
+  private final Request request;
+  private final String logPrefix;
+  private final String executionProfileName;
+  private final long endTimeMillis;
+  private final long latencyNanos;
+  private final Node node;
+  private final Throwable error;
+  private final List<Attempt> attempts;
+
+  public DefaultRequestSpan(
+      @NonNull Request request,
+      @NonNull String logPrefix,
+      @NonNull String executionProfileName,
+      long endTimeMillis,
+      long latencyNanos,
+      @Nullable Node node,
+      @Nullable Throwable error,
+      @NonNull List<Attempt> attempts) {
+    this.request = request;
+    this.logPrefix = logPrefix;
+    this.executionProfileName = executionProfileName;
+    this.endTimeMillis = endTimeMillis;
+    this.latencyNanos = latencyNanos;
+    this.node = node;
+    this.error = error;
+    this.attempts = attempts;
+  }
+
+  @NonNull
+  @Override
+  public Request getRequest() {
+    return request;
+  }
+
+  @NonNull
+  @Override
+  public String getLogPrefix() {
+    return logPrefix;
+  }
+
+  @NonNull
+  @Override
+  public String getExecutionProfileName() {
+    return executionProfileName;
+  }
+
+  @Override
+  public long getEndTimeMillis() {
+    return endTimeMillis;
+  }
+
+  @Override
+  public long getLatencyNanos() {
+    return latencyNanos;
+  }
+
+  @Nullable
+  @Override
+  public Node getNode() {
+    return node;
+  }
+
+  @Nullable
+  @Override
+  public Throwable getError() {
+    return error;
+  }
+
+  @NonNull
+  @Override
+  public List<Attempt> getAttempts() {
+    return attempts;
+  }
+
+  @Immutable
+  public static class DefaultAttempt implements Attempt {
+
+    private final Node node;
+    private final int execution;
+    private final long latencyNanos;
+    private final Throwable error;
+
+    public DefaultAttempt(
+        @NonNull Node node, int execution, long latencyNanos, @Nullable Throwable error) {
+      this.node = node;
+      this.execution = execution;
+      this.latencyNanos = latencyNanos;
+      this.error = error;
+    }
+
+    @NonNull
+    @Override
+    public Node getNode() {
+      return node;
+    }
+
+    @Override
+    public int getExecution() {
+      return execution;
+    }
+
+    @Override
+    public long getLatencyNanos() {
+      return latencyNanos;
+    }
+
+    @Nullable
+    @Override
+    public Throwable getError() {
+      return error;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.tracker;
+
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.tracker.RequestSpan;
+import com.datastax.oss.driver.api.core.tracker.RequestSpanExporter;
+import com.datastax.oss.driver.internal.core.util.NanoTime;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The default span exporter: logs each span at INFO level.
+ *
+ * <p>This is mostly useful to try out span tracking; production deployments will typically plug in
+ * an exporter for their tracing system.
+ */
+@ThreadSafe
+public class LoggingRequestSpanExporter implements RequestSpanExporter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LoggingRequestSpanExporter.class);
+
+  private final String logPrefix;
+  private final RequestLogFormatter formatter;
+
+  public LoggingRequestSpanExporter(DriverContext context) {
+    this.logPrefix = context.getSessionName();
+    this.formatter = new RequestLogFormatter(context);
+  }
+
+  @Override
+  public void export(@NonNull List<RequestSpan> spans, long droppedSpans) {
+    if (!LOG.isInfoEnabled()) {
+      return;
+    }
+    if (droppedSpans > 0) {
+      LOG.info(
+          "[{}] {} request spans were dropped because the buffer was full "
+              + "(consider increasing advanced.request-tracker.spans.buffer-size)",
+          logPrefix,
+          droppedSpans);
+    }
+    for (RequestSpan span : spans) {
+      StringBuilder builder = formatter.logBuilder(span.getLogPrefix(), span.getNode());
+      if (span.getError() == null) {
+        formatter.appendSuccessDescription(builder);
+      } else {
+        formatter.appendErrorDescription(builder);
+      }
+      formatter.appendLatency(span.getLatencyNanos(), builder);
+      builder.append("[attempts: ");
+      List<RequestSpan.Attempt> attempts = span.getAttempts();
+      for (int i = 0; i < attempts.size(); i++) {
+        RequestSpan.Attempt attempt = attempts.get(i);
+        if (i > 0) {
+          builder.append(", ");
+        }
+        builder
+            .append(attempt.getNode())
+            .append(" execution ")
+            .append(attempt.getExecution())
+            .append(attempt.isSpeculative() ? " (speculative)" : "")
+            .append(' ')
+            .append(NanoTime.format(attempt.getLatencyNanos()));
+        if (attempt.getError() != null) {
+          builder.append(' ').append(attempt.getError());
+        }
+      }
+      builder.append("] ");
+      formatter.appendRequest(
+          span.getRequest(),
+          RequestLogger.DEFAULT_REQUEST_LOGGER_MAX_QUERY_LENGTH,
+          false,
+          0,
+          0,
+          builder);
+      if (span.getError() != null) {
+        builder.append(" [").append(span.getError()).append(']');
+      }
+      LOG.info(builder.toString());
+    }
+  }
+
+  @Override
+  public void close() {
+    // nothing to do
+  }
+}
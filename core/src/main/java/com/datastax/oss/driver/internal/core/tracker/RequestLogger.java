@@ -22,8 +22,15 @@ import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.session.Request;
 import com.datastax.oss.driver.api.core.session.SessionBuilder;
 import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.datastax.oss.driver.shaded.guava.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +62,11 @@ import org.slf4j.LoggerFactory;
  *
  * See {@code reference.conf} (in the manual or core driver JAR) for more details.
  *
+ * <p>If {@code logs.async.enabled} is set, log lines are not formatted on the thread that completes
+ * the request (often a driver I/O thread); instead, log records are put in a bounded queue, and
+ * formatted and written by a dedicated background thread. When the queue is full, new records are
+ * dropped; a warning reports them, and {@link #getDroppedRecords()} returns their total count.
+ *
  * <p>Note that if a tracker is specified programmatically with {@link
  * SessionBuilder#withRequestTracker(RequestTracker)}, the configuration is ignored.
  */
@@ -67,15 +79,63 @@ public class RequestLogger implements RequestTracker {
   public static final boolean DEFAULT_REQUEST_LOGGER_SHOW_VALUES = true;
   public static final int DEFAULT_REQUEST_LOGGER_MAX_VALUES = 50;
   public static final int DEFAULT_REQUEST_LOGGER_MAX_VALUE_LENGTH = 50;
+  public static final int DEFAULT_REQUEST_LOGGER_ASYNC_QUEUE_SIZE = 1024;
 
   private final RequestLogFormatter formatter;
+  // null if records are logged synchronously
+  @Nullable private final ThreadPoolExecutor asyncExecutor;
+  private final LongAdder droppedRecords = new LongAdder();
+  private final LongAdder unreportedDroppedRecords = new LongAdder();
 
   public RequestLogger(DriverContext context) {
-    this(new RequestLogFormatter(context));
+    this(new RequestLogFormatter(context), buildAsyncExecutor(context));
   }
 
   protected RequestLogger(RequestLogFormatter formatter) {
+    this(formatter, null);
+  }
+
+  @VisibleForTesting
+  RequestLogger(RequestLogFormatter formatter, @Nullable ThreadPoolExecutor asyncExecutor) {
     this.formatter = formatter;
+    this.asyncExecutor = asyncExecutor;
+    if (asyncExecutor != null) {
+      asyncExecutor.setRejectedExecutionHandler(
+          (record, executor) -> {
+            droppedRecords.increment();
+            unreportedDroppedRecords.increment();
+          });
+    }
+  }
+
+  @Nullable
+  private static ThreadPoolExecutor buildAsyncExecutor(DriverContext context) {
+    DriverExecutionProfile config = context.getConfig().getDefaultProfile();
+    if (!config.getBoolean(DefaultDriverOption.REQUEST_LOGGER_ASYNC_ENABLED, false)) {
+      return null;
+    }
+    int queueSize =
+        config.getInt(
+            DefaultDriverOption.REQUEST_LOGGER_ASYNC_QUEUE_SIZE,
+            DEFAULT_REQUEST_LOGGER_ASYNC_QUEUE_SIZE);
+    return new ThreadPoolExecutor(
+        1,
+        1,
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize),
+        new ThreadFactoryBuilder()
+            .setNameFormat(context.getSessionName() + "-request-logger")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * The total number of log records that were dropped because the asynchronous queue was full. This
+   * is always 0 if asynchronous logging is disabled.
+   */
+  public long getDroppedRecords() {
+    return droppedRecords.sum();
   }
 
   @Override
@@ -118,16 +178,18 @@ public class RequestLogger implements RequestTracker {
             DefaultDriverOption.REQUEST_LOGGER_MAX_VALUE_LENGTH,
             DEFAULT_REQUEST_LOGGER_MAX_VALUE_LENGTH);
 
-    logSuccess(
-        request,
-        latencyNanos,
-        isSlow,
-        node,
-        maxQueryLength,
-        showValues,
-        maxValues,
-        maxValueLength,
-        logPrefix);
+    dispatch(
+        () ->
+            logSuccess(
+                request,
+                latencyNanos,
+                isSlow,
+                node,
+                maxQueryLength,
+                showValues,
+                maxValues,
+                maxValueLength,
+                logPrefix));
   }
 
   @Override
@@ -161,17 +223,19 @@ public class RequestLogger implements RequestTracker {
     boolean showStackTraces =
         executionProfile.getBoolean(DefaultDriverOption.REQUEST_LOGGER_STACK_TRACES, false);
 
-    logError(
-        request,
-        error,
-        latencyNanos,
-        node,
-        maxQueryLength,
-        showValues,
-        maxValues,
-        maxValueLength,
-        showStackTraces,
-        logPrefix);
+    dispatch(
+        () ->
+            logError(
+                request,
+                error,
+                latencyNanos,
+                node,
+                maxQueryLength,
+                showValues,
+                maxValues,
+                maxValueLength,
+                showStackTraces,
+                logPrefix));
   }
 
   @Override
@@ -197,7 +261,32 @@ public class RequestLogger implements RequestTracker {
 
   @Override
   public void close() throws Exception {
-    // nothing to do
+    if (asyncExecutor != null) {
+      // Records that are already queued still get logged, but new ones are dropped
+      asyncExecutor.shutdown();
+    }
+  }
+
+  private void dispatch(Runnable record) {
+    if (asyncExecutor == null) {
+      record.run();
+    } else {
+      asyncExecutor.execute(
+          () -> {
+            long dropped = unreportedDroppedRecords.sumThenReset();
+            if (dropped > 0) {
+              LOG.warn(
+                  "{} request log records were dropped because the queue was full "
+                      + "(see advanced.request-tracker.logs.async.queue-size)",
+                  dropped);
+            }
+            try {
+              record.run();
+            } catch (Throwable t) {
+              LOG.warn("Unexpected error while logging request", t);
+            }
+          });
+    }
   }
 
   protected void logSuccess(
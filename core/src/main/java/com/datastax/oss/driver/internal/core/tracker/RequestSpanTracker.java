@@ -0,0 +1,320 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.tracker;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.api.core.session.SessionBuilder;
+import com.datastax.oss.driver.api.core.tracker.RequestSpan;
+import com.datastax.oss.driver.api.core.tracker.RequestSpanExporter;
+import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.tracker.DefaultRequestSpan.DefaultAttempt;
+import com.datastax.oss.driver.internal.core.util.Loggers;
+import com.datastax.oss.driver.internal.core.util.Reflection;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A request tracker that records a sample of the requests executed through the session as
+ * structured {@linkplain RequestSpan spans}, and periodically hands them to a {@link
+ * RequestSpanExporter}.
+ *
+ * <p>To activate this tracker, modify the {@code advanced.request-tracker} section in the driver
+ * configuration, for example:
+ *
+ * <pre>
+ * datastax-java-driver {
+ *   advanced.request-tracker {
+ *     class = RequestSpanTracker
+ *     spans {
+ *       sample-rate = 0.01
+ *       slow-threshold = 500 milliseconds
+ *       buffer-size = 1024
+ *       export-interval = 1 second
+ *       exporter.class = LoggingRequestSpanExporter
+ *     }
+ *   }
+ * }
+ * </pre>
+ *
+ * See {@code reference.conf} (in the manual or core driver JAR) for more details.
+ *
+ * <p>Requests are sampled in two ways:
+ *
+ * <ul>
+ *   <li>head-based: a fixed fraction of the requests, picked when they start, are recorded with all
+ *       their attempts;
+ *   <li>tail-based: requests that turn out to be slow, or that fail, are recorded as well. For slow
+ *       requests to include their attempts, all in-flight requests must be tracked, so this is only
+ *       enabled if a slow threshold is configured. Failed requests that were not tracked are
+ *       recorded without their attempts.
+ * </ul>
+ *
+ * Request threads only do bookkeeping: spans are pushed to a lock-free ring buffer, and all the
+ * formatting and I/O happens in the exporter, on a driver admin thread.
+ *
+ * <p>Note that if a tracker is specified programmatically with {@link
+ * SessionBuilder#withRequestTracker(RequestTracker)}, the configuration is ignored.
+ */
+@ThreadSafe
+public class RequestSpanTracker implements RequestTracker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RequestSpanTracker.class);
+
+  public static final double DEFAULT_SAMPLE_RATE = 0.01;
+  public static final int DEFAULT_BUFFER_SIZE = 1024;
+  public static final Duration DEFAULT_EXPORT_INTERVAL = Duration.ofSeconds(1);
+
+  // Node-level callbacks that arrive after the request has completed (for example a speculative
+  // execution that fails after another one has succeeded) leave stale entries behind.
+  private static final long STALE_PENDING_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private static final int SAMPLE_SPACE = 1 << 24;
+
+  private final InternalDriverContext context;
+  private final String logPrefix;
+  private final RequestSpanExporter exporter;
+  private final int sampleThreshold;
+  private final long slowThresholdNanos;
+  private final Duration exportInterval;
+  private final SpanRingBuffer buffer;
+  private final ConcurrentMap<String, PendingRequest> pending = new ConcurrentHashMap<>();
+
+  private volatile ScheduledFuture<?> exportFuture;
+
+  public RequestSpanTracker(DriverContext context) {
+    this((InternalDriverContext) context, context.getConfig().getDefaultProfile());
+  }
+
+  private RequestSpanTracker(InternalDriverContext context, DriverExecutionProfile config) {
+    this(
+        context,
+        Reflection.buildFromConfig(
+                context,
+                DefaultDriverOption.REQUEST_TRACKER_SPANS_EXPORTER_CLASS,
+                RequestSpanExporter.class,
+                "com.datastax.oss.driver.internal.core.tracker")
+            .orElseGet(() -> new LoggingRequestSpanExporter(context)),
+        config.getDouble(
+            DefaultDriverOption.REQUEST_TRACKER_SPANS_SAMPLE_RATE, DEFAULT_SAMPLE_RATE),
+        config.isDefined(DefaultDriverOption.REQUEST_TRACKER_SPANS_SLOW_THRESHOLD)
+            ? config.getDuration(DefaultDriverOption.REQUEST_TRACKER_SPANS_SLOW_THRESHOLD)
+            : null,
+        config.getInt(DefaultDriverOption.REQUEST_TRACKER_SPANS_BUFFER_SIZE, DEFAULT_BUFFER_SIZE),
+        config.getDuration(
+            DefaultDriverOption.REQUEST_TRACKER_SPANS_EXPORT_INTERVAL, DEFAULT_EXPORT_INTERVAL));
+  }
+
+  @VisibleForTesting
+  RequestSpanTracker(
+      InternalDriverContext context,
+      RequestSpanExporter exporter,
+      double sampleRate,
+      @Nullable Duration slowThreshold,
+      int bufferSize,
+      Duration exportInterval) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid sample rate %s (from configuration option %s), "
+                  + "expected a value between 0 and 1",
+              sampleRate, DefaultDriverOption.REQUEST_TRACKER_SPANS_SAMPLE_RATE.getPath()));
+    }
+    this.context = context;
+    this.logPrefix = context.getSessionName();
+    this.exporter = exporter;
+    this.sampleThreshold = (int) (sampleRate * SAMPLE_SPACE);
+    this.slowThresholdNanos = (slowThreshold == null) ? -1 : slowThreshold.toNanos();
+    this.exportInterval = exportInterval;
+    this.buffer = new SpanRingBuffer(bufferSize);
+  }
+
+  @Override
+  public void onSessionReady(@NonNull Session session) {
+    EventExecutor adminExecutor = context.getNettyOptions().adminEventExecutorGroup().next();
+    long intervalNanos = exportInterval.toNanos();
+    exportFuture =
+        adminExecutor.scheduleAtFixedRate(
+            this::export, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onNodeSuccess(
+      @NonNull Request request,
+      long latencyNanos,
+      @NonNull DriverExecutionProfile executionProfile,
+      @NonNull Node node,
+      @NonNull String logPrefix) {
+    recordAttempt(logPrefix, node, latencyNanos, null);
+  }
+
+  @Override
+  public void onNodeError(
+      @NonNull Request request,
+      @NonNull Throwable error,
+      long latencyNanos,
+      @NonNull DriverExecutionProfile executionProfile,
+      @NonNull Node node,
+      @NonNull String logPrefix) {
+    recordAttempt(logPrefix, node, latencyNanos, error);
+  }
+
+  @Override
+  public void onSuccess(
+      @NonNull Request request,
+      long latencyNanos,
+      @NonNull DriverExecutionProfile executionProfile,
+      @NonNull Node node,
+      @NonNull String logPrefix) {
+    recordRequest(request, latencyNanos, executionProfile, node, null, logPrefix);
+  }
+
+  @Override
+  public void onError(
+      @NonNull Request request,
+      @NonNull Throwable error,
+      long latencyNanos,
+      @NonNull DriverExecutionProfile executionProfile,
+      @Nullable Node node,
+      @NonNull String logPrefix) {
+    recordRequest(request, latencyNanos, executionProfile, node, error, logPrefix);
+  }
+
+  private void recordAttempt(
+      String attemptLogPrefix, Node node, long latencyNanos, Throwable error) {
+    // Request handlers use "<session>|<request>" as the request's prefix, and append "|<execution>"
+    // for the prefix of each execution.
+    String requestKey = attemptLogPrefix;
+    int execution = -1;
+    int separator = attemptLogPrefix.lastIndexOf('|');
+    if (separator > 0 && attemptLogPrefix.lastIndexOf('|', separator - 1) > 0) {
+      requestKey = attemptLogPrefix.substring(0, separator);
+      execution = parseExecution(attemptLogPrefix, separator + 1);
+    }
+    if (!isHeadSampled(requestKey) && slowThresholdNanos < 0) {
+      return;
+    }
+    pending
+        .computeIfAbsent(requestKey, k -> new PendingRequest())
+        .add(new DefaultAttempt(node, execution, latencyNanos, error));
+  }
+
+  private void recordRequest(
+      Request request,
+      long latencyNanos,
+      DriverExecutionProfile executionProfile,
+      Node node,
+      Throwable error,
+      String requestLogPrefix) {
+    PendingRequest pendingRequest = pending.remove(requestLogPrefix);
+    boolean sampled =
+        isHeadSampled(requestLogPrefix)
+            || error != null
+            || (slowThresholdNanos >= 0 && latencyNanos > slowThresholdNanos);
+    if (sampled) {
+      buffer.add(
+          new DefaultRequestSpan(
+              request,
+              requestLogPrefix,
+              executionProfile.getName(),
+              System.currentTimeMillis(),
+              latencyNanos,
+              node,
+              error,
+              (pendingRequest == null) ? Collections.emptyList() : pendingRequest.attempts()));
+    }
+  }
+
+  private boolean isHeadSampled(String requestKey) {
+    // Derived from the request's identity, so that all its callbacks reach the same decision. The
+    // multiplication spreads the hash codes, which are otherwise often sequential.
+    int hash = requestKey.hashCode() * 0x9E3779B9;
+    return (hash >>> 8) < sampleThreshold;
+  }
+
+  private static int parseExecution(String logPrefix, int start) {
+    int execution = 0;
+    for (int i = start; i < logPrefix.length(); i++) {
+      char c = logPrefix.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      execution = execution * 10 + (c - '0');
+    }
+    return (start == logPrefix.length()) ? -1 : execution;
+  }
+
+  @VisibleForTesting
+  void export() {
+    try {
+      List<RequestSpan> spans = new ArrayList<>();
+      long dropped = buffer.drainTo(spans);
+      if (!spans.isEmpty() || dropped > 0) {
+        exporter.export(spans, dropped);
+      }
+      long now = System.nanoTime();
+      pending.values().removeIf(p -> now - p.createdNanos > STALE_PENDING_NANOS);
+    } catch (Throwable t) {
+      Loggers.warnWithException(LOG, "[{}] Error while exporting request spans", logPrefix, t);
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    ScheduledFuture<?> future = exportFuture;
+    if (future != null) {
+      future.cancel(false);
+    }
+    // Flush the remaining spans
+    export();
+    exporter.close();
+  }
+
+  @ThreadSafe
+  private static class PendingRequest {
+    private final long createdNanos = System.nanoTime();
+
+    @GuardedBy("this")
+    private final List<RequestSpan.Attempt> attempts = new ArrayList<>(2);
+
+    synchronized void add(RequestSpan.Attempt attempt) {
+      attempts.add(attempt);
+    }
+
+    synchronized List<RequestSpan.Attempt> attempts() {
+      return Collections.unmodifiableList(new ArrayList<>(attempts));
+    }
+  }
+}
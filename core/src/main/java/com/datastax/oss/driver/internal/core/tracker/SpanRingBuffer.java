@@ -0,0 +1,72 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.tracker;
+
+import com.datastax.oss.driver.api.core.tracker.RequestSpan;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A bounded, lock-free buffer of spans, written by request threads and drained periodically by a
+ * single consumer.
+ *
+ * <p>Producers claim slots in a round-robin fashion with a single atomic increment. If the consumer
+ * falls behind, new spans overwrite the oldest ones, which are counted as dropped: recording a span
+ * never blocks, and never allocates beyond the span itself.
+ */
+@ThreadSafe
+class SpanRingBuffer {
+
+  private final AtomicReferenceArray<RequestSpan> slots;
+  private final int mask;
+  private final AtomicLong writeIndex = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+
+  SpanRingBuffer(int minCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(minCapacity, 1) - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(Math.max(capacity, 1));
+    this.mask = slots.length() - 1;
+  }
+
+  int capacity() {
+    return slots.length();
+  }
+
+  void add(RequestSpan span) {
+    int index = (int) (writeIndex.getAndIncrement() & mask);
+    if (slots.getAndSet(index, span) != null) {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Moves all buffered spans to the given list.
+   *
+   * @return the number of spans dropped since the last invocation.
+   */
+  long drainTo(List<RequestSpan> target) {
+    for (int i = 0; i < slots.length(); i++) {
+      RequestSpan span = slots.getAndSet(i, null);
+      if (span != null) {
+        target.add(span);
+      }
+    }
+    return dropped.sumThenReset();
+  }
+}
@@ -30,17 +30,43 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
 public class StringCodec implements TypeCodec<String> {
 
+  private static final int DEDUPLICATION_CACHE_SIZE = 1024;
+
   private final DataType cqlType;
   private final FastThreadLocal<CharsetEncoder> charsetEncoder;
   private final FastThreadLocal<CharsetDecoder> charsetDecoder;
+  private final boolean isUtf8;
+  private final boolean isAscii;
+  private final int deduplicationMaxLength;
+  // A lossy, direct-mapped cache: a slot is simply overwritten on collision. Strings are immutable
+  // so concurrent readers always see a consistent value.
+  private final AtomicReferenceArray<String> deduplicationCache;
 
   public StringCodec(@NonNull DataType cqlType, @NonNull Charset charset) {
+    this(cqlType, charset, 0);
+  }
+
+  /**
+   * @param deduplicationMaxLength if strictly positive, decoded ASCII values up to that length (in
+   *     bytes) are looked up in a small cache, and the same {@link String} instance is returned for
+   *     repeated values. This is intended for columns with a low cardinality (status codes, country
+   *     codes, etc.), in order to reduce the memory footprint of large result sets.
+   */
+  public StringCodec(
+      @NonNull DataType cqlType, @NonNull Charset charset, int deduplicationMaxLength) {
     this.cqlType = cqlType;
+    this.isUtf8 = charset.equals(StandardCharsets.UTF_8);
+    this.isAscii = charset.equals(StandardCharsets.US_ASCII);
+    this.deduplicationMaxLength = deduplicationMaxLength;
+    this.deduplicationCache =
+        (deduplicationMaxLength > 0) ? new AtomicReferenceArray<>(DEDUPLICATION_CACHE_SIZE) : null;
     charsetEncoder =
         new FastThreadLocal<CharsetEncoder>() {
           @Override
@@ -91,6 +117,13 @@ public class StringCodec implements TypeCodec<String> {
     if (value == null) {
       return null;
     }
+    if (isUtf8 || isAscii) {
+      byte[] bytes = encodeFast(value);
+      if (bytes != null) {
+        return ByteBuffer.wrap(bytes);
+      }
+      // else the input is invalid, use the encoder to get the appropriate error
+    }
     try {
       return charsetEncoder.get().encode(CharBuffer.wrap(value));
     } catch (CharacterCodingException e) {
@@ -106,6 +139,12 @@ public class StringCodec implements TypeCodec<String> {
     } else if (bytes.remaining() == 0) {
       return "";
     } else {
+      if (isUtf8 || isAscii) {
+        String value = decodeAsciiFast(bytes);
+        if (value != null) {
+          return value;
+        }
+      }
       try {
         return charsetDecoder.get().decode(bytes.duplicate()).toString();
       } catch (CharacterCodingException e) {
@@ -114,6 +153,131 @@ public class StringCodec implements TypeCodec<String> {
     }
   }
 
+  /**
+   * Encodes the value in a single pass over its characters, computing the exact size first.
+   *
+   * @return null if the value can't be encoded with the codec's charset (unpaired surrogate in
+   *     UTF-8, non-ASCII character in ASCII).
+   */
+  @Nullable
+  private byte[] encodeFast(String value) {
+    int length = value.length();
+    int size = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        size += 1;
+      } else if (isAscii) {
+        return null;
+      } else if (c < 0x800) {
+        size += 2;
+      } else if (Character.isHighSurrogate(c)) {
+        if (i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+          size += 4;
+          i += 1;
+        } else {
+          return null;
+        }
+      } else if (Character.isLowSurrogate(c)) {
+        return null;
+      } else {
+        size += 3;
+      }
+    }
+    byte[] bytes = new byte[size];
+    if (size == length) {
+      // Pure ASCII
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) value.charAt(i);
+      }
+      return bytes;
+    }
+    int position = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        bytes[position++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[position++] = (byte) (0xC0 | (c >> 6));
+        bytes[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else {
+        bytes[position++] = (byte) (0xE0 | (c >> 12));
+        bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[position++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Decodes the value without a {@link CharsetDecoder} if it only contains ASCII characters (which
+   * are encoded identically in ASCII and UTF-8).
+   *
+   * @return null if the value contains non-ASCII bytes.
+   */
+  @Nullable
+  private String decodeAsciiFast(ByteBuffer bytes) {
+    int size = bytes.remaining();
+    int start = bytes.position();
+    if (deduplicationCache == null || size > deduplicationMaxLength) {
+      // Not cached: only check the bytes, there is no need to hash them
+      for (int i = start; i < start + size; i++) {
+        if (bytes.get(i) < 0) {
+          return null;
+        }
+      }
+      return toAsciiString(bytes, start, size);
+    }
+    int hash = 1;
+    for (int i = start; i < start + size; i++) {
+      byte b = bytes.get(i);
+      if (b < 0) {
+        return null;
+      }
+      hash = 31 * hash + b;
+    }
+    int slot = (hash ^ (hash >>> 16)) & (DEDUPLICATION_CACHE_SIZE - 1);
+    String cached = deduplicationCache.get(slot);
+    if (cached != null && asciiEquals(cached, bytes, start, size)) {
+      return cached;
+    }
+    String value = toAsciiString(bytes, start, size);
+    deduplicationCache.set(slot, value);
+    return value;
+  }
+
+  private static String toAsciiString(ByteBuffer bytes, int start, int size) {
+    if (bytes.hasArray()) {
+      // ISO-8859-1 maps bytes to chars one-to-one, which is the cheapest way to build the string
+      return new String(
+          bytes.array(), bytes.arrayOffset() + start, size, StandardCharsets.ISO_8859_1);
+    } else {
+      byte[] array = new byte[size];
+      for (int i = 0; i < size; i++) {
+        array[i] = bytes.get(start + i);
+      }
+      return new String(array, StandardCharsets.ISO_8859_1);
+    }
+  }
+
+  private static boolean asciiEquals(String s, ByteBuffer bytes, int start, int size) {
+    if (s.length() != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (s.charAt(i) != bytes.get(start + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @NonNull
   @Override
   public String format(@Nullable String value) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.util.collection;
+
+import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An immutable list that can be extended by one element in amortized constant time.
+ *
+ * <p>{@link #append(Object)} returns a new list, and leaves this one unchanged. Lists derived from
+ * one another by {@code append} share the same storage, and each instance only sees a prefix of it.
+ * If {@code append} is called on the instance with the longest prefix, the new element is written
+ * in place; otherwise (another instance has appended already), the prefix is copied first. This
+ * makes repeated appends on the latest instance, which is the common case when building a
+ * collection incrementally, as cheap as adding to an {@code ArrayList}.
+ *
+ * <p>To avoid retaining elements that were appended by other instances:
+ *
+ * <ul>
+ *   <li>an instance created by {@link #copyOf(Collection)} never shares its storage: the first
+ *       append always copies. This covers "template" lists that are kept around and appended to
+ *       repeatedly.
+ *   <li>each instance references the array as it was when the instance was created. When it grows,
+ *       later instances use the new array, so an instance never holds more than about twice its own
+ *       size.
+ * </ul>
+ *
+ * <p>Null elements are not allowed.
+ */
+@ThreadSafe
+public class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+
+  private static final int DEFAULT_CAPACITY = 8;
+
+  @NonNull
+  public static <E> AppendOnlyList<E> copyOf(@NonNull Collection<? extends E> elements) {
+    if (elements instanceof AppendOnlyList) {
+      @SuppressWarnings("unchecked")
+      AppendOnlyList<E> result = (AppendOnlyList<E>) elements;
+      return result;
+    }
+    Object[] array = elements.toArray();
+    for (Object element : array) {
+      Objects.requireNonNull(element, "Null elements are not allowed");
+    }
+    return new AppendOnlyList<>(null, array, array.length);
+  }
+
+  // The number of slots that were claimed in the shared array, or null if this instance doesn't
+  // share its array (appending always copies).
+  private final AtomicInteger sharedLength;
+  // Only the first `size` elements are visible to this instance. They are never modified once
+  // written, and the array is published through a final field.
+  private final Object[] elements;
+  private final int size;
+
+  private AppendOnlyList(AtomicInteger sharedLength, Object[] elements, int size) {
+    this.sharedLength = sharedLength;
+    this.elements = elements;
+    this.size = size;
+  }
+
+  /** Returns a new list that contains the elements of this one, plus the given element. */
+  @NonNull
+  public AppendOnlyList<E> append(@NonNull E element) {
+    Objects.requireNonNull(element, "Null elements are not allowed");
+    // Only one instance can win the right to write at a given index, and it's the only one that
+    // has that size in the shared storage, so its array is the latest one. Instances with a bigger
+    // size can only be created after that write is complete, so there are never concurrent writes.
+    if (sharedLength != null && sharedLength.compareAndSet(size, size + 1)) {
+      Object[] array = elements;
+      if (size >= array.length) {
+        array = Arrays.copyOf(array, Math.max(DEFAULT_CAPACITY, size * 2));
+      }
+      array[size] = element;
+      return new AppendOnlyList<>(sharedLength, array, size + 1);
+    } else {
+      Object[] copy = new Object[Math.max(DEFAULT_CAPACITY, size * 2)];
+      System.arraycopy(elements, 0, copy, 0, size);
+      copy[size] = element;
+      return new AppendOnlyList<>(new AtomicInteger(size + 1), copy, size + 1);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return (E) elements[index];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
@@ -17,6 +17,7 @@ package com.datastax.dse.driver.internal.core.cql.continuous;
 
 import static com.datastax.dse.driver.api.core.DseProtocolVersion.DSE_V1;
 import static com.datastax.dse.driver.api.core.DseProtocolVersion.DSE_V2;
+import static com.datastax.dse.driver.api.core.config.DseDriverOption.CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES;
 import static com.datastax.dse.protocol.internal.DseProtocolConstants.RevisionType.CANCEL_CONTINUOUS_PAGING;
 import static com.datastax.dse.protocol.internal.DseProtocolConstants.RevisionType.MORE_CONTINUOUS_PAGES;
 import static com.datastax.oss.driver.Assertions.assertThat;
@@ -54,9 +55,11 @@ import com.datastax.oss.driver.internal.core.cql.PoolBehavior;
 import com.datastax.oss.driver.internal.core.cql.RequestHandlerTestHarness;
 import com.datastax.oss.driver.internal.core.util.concurrent.CapturingTimer.CapturedTimeout;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.protocol.internal.Frame;
 import com.datastax.oss.protocol.internal.Message;
 import com.datastax.oss.protocol.internal.ProtocolConstants;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -66,7 +69,8 @@ import org.mockito.Mockito;
 
 public class ContinuousCqlRequestHandlerTest extends ContinuousCqlRequestHandlerTestBase {
 
-  private static final Pattern LOG_PREFIX_PER_REQUEST = Pattern.compile("test\\|\\d*\\|\\d");
+  // Continuous requests pass the execution's prefix to all tracker callbacks
+  private static final Pattern LOG_PREFIX_PER_EXECUTION = Pattern.compile("test\\|\\d*\\|\\d");
 
   @Test
   @UseDataProvider(value = "allDseProtocolVersions", location = DseTestDataProviders.class)
@@ -449,6 +453,80 @@ public class ContinuousCqlRequestHandlerTest extends ContinuousCqlRequestHandler
     }
   }
 
+  @Test
+  public void should_request_more_pages_early_if_client_finds_queue_empty() {
+    RequestHandlerTestHarness.Builder builder =
+        continuousHarnessBuilder().withProtocolVersion(DSE_V2);
+    PoolBehavior node1Behavior = builder.customBehavior(node1);
+    try (RequestHandlerTestHarness harness = builder.build()) {
+
+      CompletionStage<ContinuousAsyncResultSet> page1Future =
+          new ContinuousCqlRequestHandler(
+                  UNDEFINED_IDEMPOTENCE_STATEMENT,
+                  harness.getSession(),
+                  harness.getContext(),
+                  "test")
+              .handle();
+
+      // simulate the arrival of the first page only: 3 more pages are still in flight
+      node1Behavior.setResponseSuccess(defaultFrameOf(DseTestFixtures.tenDseRows(1, false)));
+
+      // the client asks for the next page before it arrives: it is consuming faster than the
+      // server produces, so one more page should be requested even though the queue is not half
+      // empty according to the in-flight count (4 - 3 = 1 < 4 / 2)
+      ContinuousAsyncResultSet page1 = CompletableFutures.getCompleted(page1Future);
+      page1.fetchNextPage();
+
+      verify(node1Behavior.getChannel())
+          .write(argThat(this::isBackpressureRequest), anyBoolean(), anyMap(), any());
+    }
+  }
+
+  @Test
+  public void should_hold_back_backpressure_request_if_max_enqueued_bytes_reached() {
+    RequestHandlerTestHarness.Builder builder =
+        continuousHarnessBuilder().withProtocolVersion(DSE_V2);
+    PoolBehavior node1Behavior = builder.customBehavior(node1);
+    try (RequestHandlerTestHarness harness = builder.build()) {
+      // pages of 1000 bytes, but only 2000 bytes allowed in the queue: the queue capacity shrinks
+      // from 4 pages to 2
+      DriverExecutionProfile config = harness.getContext().getConfig().getDefaultProfile();
+      when(config.isDefined(CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES)).thenReturn(true);
+      when(config.getBytes(CONTINUOUS_PAGING_MAX_ENQUEUED_BYTES)).thenReturn(2000L);
+
+      CompletionStage<ContinuousAsyncResultSet> page1Future =
+          new ContinuousCqlRequestHandler(
+                  UNDEFINED_IDEMPOTENCE_STATEMENT,
+                  harness.getSession(),
+                  harness.getContext(),
+                  "test")
+              .handle();
+
+      // simulate the arrival of 4 pages, the first one will complete page1 future above,
+      // the following 3 will be enqueued
+      for (int i = 1; i <= 4; i++) {
+        node1Behavior.setResponseSuccess(sizedFrameOf(DseTestFixtures.tenDseRows(i, false), 1000));
+      }
+
+      // simulate the retrieval of page 2: with 4 pages of capacity, the queue would be half
+      // empty (2/4) and more pages would be requested, but with 2 pages it is still full
+      ContinuousAsyncResultSet page1 = CompletableFutures.getCompleted(page1Future);
+      ContinuousAsyncResultSet page2 = CompletableFutures.getCompleted(page1.fetchNextPage());
+      verify(node1Behavior.getChannel(), never())
+          .write(argThat(this::isBackpressureRequest), anyBoolean(), anyMap(), any());
+
+      // once page 3 is retrieved, there is room for exactly one page
+      CompletableFutures.getCompleted(page2.fetchNextPage());
+      verify(node1Behavior.getChannel())
+          .write(
+              argThat(
+                  message -> isBackpressureRequest(message) && ((Revise) message).nextPages == 1),
+              anyBoolean(),
+              anyMap(),
+              any());
+    }
+  }
+
   @Test
   @UseDataProvider(value = "allDseProtocolVersions", location = DseTestDataProviders.class)
   public void should_invoke_request_tracker(DseProtocolVersion version) {
@@ -496,26 +574,40 @@ public class ContinuousCqlRequestHandlerTest extends ContinuousCqlRequestHandler
                         anyLong(),
                         any(DriverExecutionProfile.class),
                         eq(node1),
-                        matches(LOG_PREFIX_PER_REQUEST));
+                        matches(LOG_PREFIX_PER_EXECUTION));
                 verify(requestTracker)
                     .onNodeSuccess(
                         eq(UNDEFINED_IDEMPOTENCE_STATEMENT),
                         anyLong(),
                         any(DriverExecutionProfile.class),
                         eq(node2),
-                        matches(LOG_PREFIX_PER_REQUEST));
+                        matches(LOG_PREFIX_PER_EXECUTION));
                 verify(requestTracker)
                     .onSuccess(
                         eq(UNDEFINED_IDEMPOTENCE_STATEMENT),
                         anyLong(),
                         any(DriverExecutionProfile.class),
                         eq(node2),
-                        matches(LOG_PREFIX_PER_REQUEST));
+                        matches(LOG_PREFIX_PER_EXECUTION));
                 verifyNoMoreInteractions(requestTracker);
               });
     }
   }
 
+  private static Frame sizedFrameOf(Message responseMessage, int size) {
+    return new Frame(
+        DefaultProtocolVersion.V4.getCode(),
+        false,
+        0,
+        false,
+        null,
+        size,
+        -1,
+        Frame.NO_PAYLOAD,
+        Collections.emptyList(),
+        responseMessage);
+  }
+
   private boolean isBackpressureRequest(Message argument) {
     return argument instanceof Revise && ((Revise) argument).revisionType == MORE_CONTINUOUS_PAGES;
   }
@@ -90,6 +90,8 @@ import org.mockito.MockitoAnnotations;
 public class GraphRequestHandlerTest {
 
   private static final Pattern LOG_PREFIX_PER_REQUEST = Pattern.compile("test-graph\\|\\d+");
+  private static final Pattern LOG_PREFIX_PER_EXECUTION =
+      Pattern.compile("test-graph\\|\\d+\\|\\d+");
 
   @Mock DefaultNode node;
 
@@ -526,7 +528,7 @@ public class GraphRequestHandlerTest {
             anyLong(),
             any(DriverExecutionProfile.class),
             eq(node),
-            matches(LOG_PREFIX_PER_REQUEST));
+            matches(LOG_PREFIX_PER_EXECUTION));
     verifyNoMoreInteractions(requestTracker);
 
     verify(nodeMetricUpdater1)
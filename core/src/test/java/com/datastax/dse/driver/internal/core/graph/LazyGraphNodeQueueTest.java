@@ -0,0 +1,102 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.dse.driver.internal.core.graph;
+
+import static com.datastax.dse.driver.internal.core.graph.GraphProtocol.GRAPH_BINARY_1_0;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.datastax.dse.driver.api.core.DseProtocolVersion;
+import com.datastax.dse.driver.api.core.graph.GraphNode;
+import com.datastax.dse.driver.internal.core.graph.binary.GraphBinaryModule;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.internal.core.context.DefaultDriverContext;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Queue;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class LazyGraphNodeQueueTest {
+
+  @Mock private DefaultDriverContext context;
+
+  private GraphBinaryModule graphBinaryModule;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    when(context.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT);
+    when(context.getProtocolVersion()).thenReturn(DseProtocolVersion.DSE_V2);
+    graphBinaryModule = GraphTestUtils.createGraphBinaryModule(context);
+  }
+
+  @Test
+  public void should_decode_rows_only_when_polled() throws IOException {
+    // given
+    Queue<List<ByteBuffer>> rows =
+        GraphTestUtils.tenGraphRows(GRAPH_BINARY_1_0, graphBinaryModule, 1, true).getData();
+    LazyGraphNodeQueue queue = new LazyGraphNodeQueue(rows, GRAPH_BINARY_1_0, graphBinaryModule);
+
+    // when
+    GraphNode first = queue.poll();
+
+    // then
+    assertThat(rows).hasSize(9);
+    assertThat(queue).hasSize(9);
+    assertVertex(first, "vertex0");
+    for (int i = 1; i < 10; i++) {
+      assertVertex(queue.poll(), "vertex" + i);
+    }
+    assertThat(queue.poll()).isNull();
+    assertThat(queue).isEmpty();
+  }
+
+  @Test
+  public void should_not_consume_rows_when_peeked_or_iterated() throws IOException {
+    // given
+    Queue<List<ByteBuffer>> rows =
+        GraphTestUtils.tenGraphRows(GRAPH_BINARY_1_0, graphBinaryModule, 1, true).getData();
+    LazyGraphNodeQueue queue = new LazyGraphNodeQueue(rows, GRAPH_BINARY_1_0, graphBinaryModule);
+
+    // when
+    GraphNode peeked = queue.peek();
+
+    // then
+    assertThat(queue.peek()).isSameAs(peeked);
+    assertThat(queue).hasSize(10);
+    int i = 0;
+    for (GraphNode node : queue) {
+      assertVertex(node, "vertex" + i++);
+    }
+    assertThat(i).isEqualTo(10);
+    assertThat(queue.poll()).isSameAs(peeked);
+    assertThat(queue).hasSize(9);
+  }
+
+  private static void assertVertex(GraphNode node, String expectedId) {
+    Object traverser = node.as(Object.class);
+    assertThat(traverser).isInstanceOf(Traverser.class);
+    Object value = ((Traverser<?>) traverser).get();
+    assertThat(value).isInstanceOf(Vertex.class);
+    assertThat(((Vertex) value).id()).isEqualTo(expectedId);
+  }
+}
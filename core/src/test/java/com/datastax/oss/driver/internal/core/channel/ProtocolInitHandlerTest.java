@@ -34,6 +34,7 @@ import com.datastax.oss.driver.api.core.auth.AuthenticationException;
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverConfig;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.connection.ConnectionInitException;
 import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.internal.core.DefaultProtocolVersionRegistry;
 import com.datastax.oss.driver.internal.core.ProtocolVersionRegistry;
@@ -41,6 +42,7 @@ import com.datastax.oss.driver.internal.core.TestResponses;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.TestNodeFactory;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.protocol.internal.Frame;
 import com.datastax.oss.protocol.internal.ProtocolConstants;
 import com.datastax.oss.protocol.internal.request.AuthResponse;
@@ -53,6 +55,7 @@ import com.datastax.oss.protocol.internal.response.AuthSuccess;
 import com.datastax.oss.protocol.internal.response.Authenticate;
 import com.datastax.oss.protocol.internal.response.Error;
 import com.datastax.oss.protocol.internal.response.Ready;
+import com.datastax.oss.protocol.internal.response.Supported;
 import com.datastax.oss.protocol.internal.response.result.SetKeyspace;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import io.netty.channel.ChannelFuture;
@@ -195,6 +198,45 @@ public class ProtocolInitHandlerTest extends ChannelHandlerTestBase {
     assertThat(connectFuture).isSuccess();
   }
 
+  @Test
+  public void should_fail_if_node_does_not_support_configured_compression() {
+    when(internalDriverContext.getStartupOptions())
+        .thenReturn(ImmutableMap.of(Startup.COMPRESSION_KEY, "zstd"));
+    channel
+        .pipeline()
+        .addLast(
+            ChannelFactory.INIT_HANDLER_NAME,
+            new ProtocolInitHandler(
+                internalDriverContext,
+                DefaultProtocolVersion.V4,
+                null,
+                END_POINT,
+                DriverChannelOptions.DEFAULT,
+                heartbeatHandler,
+                true));
+
+    ChannelFuture connectFuture = channel.connect(new InetSocketAddress("localhost", 9042));
+
+    Frame requestFrame = readOutboundFrame();
+    assertThat(requestFrame.message).isInstanceOf(Options.class);
+
+    // Simulate a SUPPORTED response that doesn't list the configured algorithm
+    writeInboundFrame(
+        requestFrame,
+        new Supported(ImmutableMap.of(Startup.COMPRESSION_KEY, ImmutableList.of("lz4", "snappy"))));
+
+    // It should fail without sending STARTUP
+    assertThat(connectFuture)
+        .isFailed(
+            e ->
+                assertThat(e)
+                    .isInstanceOf(ConnectionInitException.class)
+                    .hasMessageContaining(
+                        "does not support the configured protocol compression 'zstd' "
+                            + "(supported algorithms: [lz4, snappy])"));
+    assertThat(channel.outboundMessages()).isEmpty();
+  }
+
   @Test
   public void should_add_heartbeat_handler_to_pipeline_on_success() {
     ProtocolInitHandler protocolInitHandler =
@@ -21,14 +21,19 @@ import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.ssl.SslEngineFactory;
 import com.datastax.oss.driver.internal.core.protocol.Lz4Compressor;
 import com.datastax.oss.driver.internal.core.protocol.SnappyCompressor;
+import com.datastax.oss.driver.internal.core.ssl.DefaultSslEngineFactory;
+import com.datastax.oss.driver.internal.core.ssl.JdkSslHandlerFactory;
+import com.datastax.oss.driver.internal.core.ssl.SslHandlerFactory;
 import com.datastax.oss.protocol.internal.Compressor;
 import com.datastax.oss.protocol.internal.NoopCompressor;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import io.netty.buffer.ByteBuf;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -77,4 +82,109 @@ public class DefaultDriverContextTest {
 
     doCreateCompressorTest(Optional.of(name), NoopCompressor.class);
   }
+
+  @Test
+  public void should_create_openssl_handler_factory_without_jdk_context_if_requested() {
+    // given
+    SslHandlerFactory openSslHandlerFactory = mock(SslHandlerFactory.class);
+    SslTestContext context = new SslTestContext(sslProfile("OPENSSL"), true, openSslHandlerFactory);
+
+    // when
+    Optional<SslHandlerFactory> sslHandlerFactory = context.getSslHandlerFactory();
+
+    // then
+    assertThat(sslHandlerFactory).contains(openSslHandlerFactory);
+    assertThat(context.engineFactoryBuilds).hasValue(0);
+  }
+
+  @Test
+  public void should_fall_back_to_jdk_if_openssl_requested_but_not_available() {
+    // given
+    SslTestContext context =
+        new SslTestContext(sslProfile("OPENSSL"), false, mock(SslHandlerFactory.class));
+
+    // when
+    Optional<SslHandlerFactory> sslHandlerFactory = context.getSslHandlerFactory();
+
+    // then
+    assertThat(sslHandlerFactory).containsInstanceOf(JdkSslHandlerFactory.class);
+    assertThat(context.engineFactoryBuilds).hasValue(1);
+    assertThat(context.getSslEngineFactory()).containsInstanceOf(DefaultSslEngineFactory.class);
+  }
+
+  @Test
+  public void should_fall_back_to_jdk_if_netty_tcnative_is_missing() {
+    // given
+    // netty-tcnative is not a test dependency, so the real availability check fails
+    DefaultDriverContext context =
+        new DefaultDriverContext(
+            MockedDriverContextFactory.configLoader(sslProfile("OPENSSL")),
+            MockedDriverContextFactory.programmaticArguments());
+
+    // when
+    Optional<SslHandlerFactory> sslHandlerFactory = context.getSslHandlerFactory();
+
+    // then
+    assertThat(sslHandlerFactory).containsInstanceOf(JdkSslHandlerFactory.class);
+  }
+
+  @Test
+  @DataProvider({"JDK", "jdk"})
+  public void should_create_jdk_handler_factory_if_provider_is_jdk(String provider) {
+    // given
+    SslTestContext context =
+        new SslTestContext(sslProfile(provider), true, mock(SslHandlerFactory.class));
+
+    // when
+    Optional<SslHandlerFactory> sslHandlerFactory = context.getSslHandlerFactory();
+
+    // then
+    assertThat(sslHandlerFactory).containsInstanceOf(JdkSslHandlerFactory.class);
+    assertThat(context.engineFactoryBuilds).hasValue(1);
+  }
+
+  private static DriverExecutionProfile sslProfile(String provider) {
+    DriverExecutionProfile profile = mock(DriverExecutionProfile.class);
+    when(profile.isDefined(DefaultDriverOption.SSL_ENGINE_FACTORY_CLASS)).thenReturn(true);
+    when(profile.getString(DefaultDriverOption.SSL_ENGINE_FACTORY_CLASS))
+        .thenReturn("DefaultSslEngineFactory");
+    when(profile.getString(DefaultDriverOption.SSL_PROVIDER, "JDK")).thenReturn(provider);
+    when(profile.getBoolean(DefaultDriverOption.SSL_HOSTNAME_VALIDATION, true)).thenReturn(true);
+    return profile;
+  }
+
+  private static class SslTestContext extends DefaultDriverContext {
+
+    private final boolean openSslAvailable;
+    private final SslHandlerFactory openSslHandlerFactory;
+    private final AtomicInteger engineFactoryBuilds = new AtomicInteger();
+
+    private SslTestContext(
+        DriverExecutionProfile profile,
+        boolean openSslAvailable,
+        SslHandlerFactory openSslHandlerFactory) {
+      super(
+          MockedDriverContextFactory.configLoader(profile),
+          MockedDriverContextFactory.programmaticArguments());
+      this.openSslAvailable = openSslAvailable;
+      this.openSslHandlerFactory = openSslHandlerFactory;
+    }
+
+    @Override
+    protected Optional<SslEngineFactory> buildSslEngineFactory(
+        SslEngineFactory factoryFromBuilder) {
+      engineFactoryBuilds.incrementAndGet();
+      return super.buildSslEngineFactory(factoryFromBuilder);
+    }
+
+    @Override
+    boolean isOpenSslAvailable() {
+      return openSslAvailable;
+    }
+
+    @Override
+    SslHandlerFactory buildOpenSslHandlerFactory() {
+      return openSslHandlerFactory;
+    }
+  }
 }
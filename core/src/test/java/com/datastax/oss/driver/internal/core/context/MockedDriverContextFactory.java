@@ -55,20 +55,26 @@ public class MockedDriverContextFactory {
               return blankProfile;
             });
 
+    return new DefaultDriverContext(configLoader(profile), programmaticArguments());
+  }
+
+  /** Builds a config loader that returns the given profile as the default profile. */
+  public static DriverConfigLoader configLoader(DriverExecutionProfile profile) {
     /* Setup machinery to connect the input DriverExecutionProfile to the config loader */
     final DriverConfig driverConfig = mock(DriverConfig.class);
     final DriverConfigLoader configLoader = mock(DriverConfigLoader.class);
     when(configLoader.getInitialConfig()).thenReturn(driverConfig);
     when(driverConfig.getDefaultProfile()).thenReturn(profile);
+    return configLoader;
+  }
 
-    ProgrammaticArguments args =
-        ProgrammaticArguments.builder()
-            .withNodeStateListener(mock(NodeStateListener.class))
-            .withSchemaChangeListener(mock(SchemaChangeListener.class))
-            .withRequestTracker(mock(RequestTracker.class))
-            .withLocalDatacenters(Maps.newHashMap())
-            .withNodeDistanceEvaluators(Maps.newHashMap())
-            .build();
-    return new DefaultDriverContext(configLoader, args);
+  public static ProgrammaticArguments programmaticArguments() {
+    return ProgrammaticArguments.builder()
+        .withNodeStateListener(mock(NodeStateListener.class))
+        .withSchemaChangeListener(mock(SchemaChangeListener.class))
+        .withRequestTracker(mock(RequestTracker.class))
+        .withLocalDatacenters(Maps.newHashMap())
+        .withNodeDistanceEvaluators(Maps.newHashMap())
+        .build();
   }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.PrepareRequest;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.session.DefaultSession;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CqlPrepareAsyncProcessorTest {
+
+  @Mock private InternalDriverContext context;
+  @Mock private DriverConfig config;
+  @Mock private DriverExecutionProfile defaultProfile;
+  @Mock private DefaultSession session;
+  @Mock private PreparedStatement preparedStatement;
+
+  @Before
+  public void setup() {
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(defaultProfile);
+    when(defaultProfile.getBoolean(
+            eq(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES), anyBoolean()))
+        .thenReturn(false);
+    when(defaultProfile.getLong(eq(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE), anyLong()))
+        .thenReturn(2L);
+    when(defaultProfile.isDefined(DefaultDriverOption.PREPARED_CACHE_EXPIRE_AFTER_ACCESS))
+        .thenReturn(false);
+  }
+
+  @Test
+  public void should_count_hit_when_statement_already_in_cache() {
+    // given
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+    PrepareRequest request = new DefaultPrepareRequest("SELECT * FROM foo");
+    processor.getCache().put(request, CompletableFuture.completedFuture(preparedStatement));
+
+    // when
+    CompletionStage<PreparedStatement> result =
+        processor.process(request, session, context, "test");
+
+    // then
+    assertThat(result.toCompletableFuture().join()).isSameAs(preparedStatement);
+    assertThat(processor.getCacheHits()).isEqualTo(1);
+    assertThat(processor.getCacheMisses()).isZero();
+    assertThat(processor.getInFlightPrepares()).isZero();
+  }
+
+  @Test
+  public void should_count_evictions_when_max_size_is_exceeded() {
+    // given
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      processor
+          .getCache()
+          .put(
+              new DefaultPrepareRequest("SELECT * FROM foo" + i),
+              CompletableFuture.completedFuture(preparedStatement));
+    }
+
+    // then
+    assertThat(processor.getCache().size()).isEqualTo(2);
+    assertThat(processor.getCacheEvictions()).isEqualTo(3);
+  }
+
+  @Test
+  public void should_not_count_explicit_invalidations_as_evictions() {
+    // given
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+    PrepareRequest request = new DefaultPrepareRequest("SELECT * FROM foo");
+    processor.getCache().put(request, CompletableFuture.completedFuture(preparedStatement));
+
+    // when
+    processor.getCache().invalidate(request);
+
+    // then
+    assertThat(processor.getCache().size()).isZero();
+    assertThat(processor.getCacheEvictions()).isZero();
+  }
+}
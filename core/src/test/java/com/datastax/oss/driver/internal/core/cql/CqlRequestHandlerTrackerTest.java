@@ -90,6 +90,57 @@ public class CqlRequestHandlerTrackerTest extends CqlRequestHandlerTestBase {
     }
   }
 
+  @Test
+  public void should_pass_execution_log_prefix_to_node_level_callbacks() {
+    try (RequestHandlerTestHarness harness =
+        RequestHandlerTestHarness.builder()
+            .withDefaultIdempotence(true)
+            .withResponse(
+                node1,
+                defaultFrameOf(
+                    new Error(ProtocolConstants.ErrorCode.IS_BOOTSTRAPPING, "mock message")))
+            .withResponse(node2, defaultFrameOf(singleRow()))
+            .build()) {
+
+      RequestTracker requestTracker = mock(RequestTracker.class);
+      when(harness.getContext().getRequestTracker()).thenReturn(requestTracker);
+
+      CqlRequestHandler handler =
+          new CqlRequestHandler(
+              UNDEFINED_IDEMPOTENCE_STATEMENT, harness.getSession(), harness.getContext(), "test");
+      String requestLogPrefix = "test|" + handler.hashCode();
+      CompletionStage<AsyncResultSet> resultSetFuture = handler.handle();
+
+      assertThatStage(resultSetFuture)
+          .isSuccess(
+              resultSet -> {
+                // The retry on node2 is part of the initial execution
+                verify(requestTracker)
+                    .onNodeError(
+                        eq(UNDEFINED_IDEMPOTENCE_STATEMENT),
+                        any(BootstrappingException.class),
+                        anyLong(),
+                        any(DriverExecutionProfile.class),
+                        eq(node1),
+                        eq(requestLogPrefix + "|0"));
+                verify(requestTracker)
+                    .onNodeSuccess(
+                        eq(UNDEFINED_IDEMPOTENCE_STATEMENT),
+                        anyLong(),
+                        any(DriverExecutionProfile.class),
+                        eq(node2),
+                        eq(requestLogPrefix + "|0"));
+                verify(requestTracker)
+                    .onSuccess(
+                        eq(UNDEFINED_IDEMPOTENCE_STATEMENT),
+                        anyLong(),
+                        any(DriverExecutionProfile.class),
+                        eq(node2),
+                        eq(requestLogPrefix));
+              });
+    }
+  }
+
   @Test
   public void should_not_invoke_noop_request_tracker() {
     try (RequestHandlerTestHarness harness =
@@ -19,6 +19,8 @@ import static com.datastax.oss.driver.Assertions.assertThat;
 import static com.datastax.oss.driver.Assertions.assertThatStage;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +39,7 @@ import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -190,4 +193,88 @@ public class DefaultAsyncResultSetTest {
     // Then
     resultSet.wasApplied();
   }
+
+  @Test
+  public void should_read_ahead_pages_when_enabled() {
+    // Given
+    List<DefaultAsyncResultSet> pages = mockPages(5, 10);
+
+    // When
+    pages.get(0).enableReadAhead(2, 1024, true);
+
+    // Then
+    verify(session, times(2)).executeAsync(any(Statement.class));
+
+    // When
+    CompletionStage<AsyncResultSet> nextPageFuture = pages.get(0).fetchNextPage();
+
+    // Then
+    // page 1 was already fetched, the window moves forward by one page
+    assertThatStage(nextPageFuture).isSuccess(page -> assertThat(page).isSameAs(pages.get(1)));
+    verify(session, times(3)).executeAsync(any(Statement.class));
+  }
+
+  @Test
+  public void should_stop_reading_ahead_when_max_bytes_reached() {
+    // Given
+    List<DefaultAsyncResultSet> pages = mockPages(5, 100);
+
+    // When
+    pages.get(0).enableReadAhead(4, 150, true);
+
+    // Then
+    // page 1 leaves 50 bytes, so page 2 is fetched, but not page 3
+    verify(session, times(2)).executeAsync(any(Statement.class));
+  }
+
+  @Test
+  public void should_not_start_reading_ahead_until_first_fetch_if_not_requested() {
+    // Given
+    List<DefaultAsyncResultSet> pages = mockPages(5, 10);
+
+    // When
+    pages.get(0).enableReadAhead(2, 1024, false);
+
+    // Then
+    verify(session, never()).executeAsync(any(Statement.class));
+
+    // When
+    pages.get(0).fetchNextPage();
+
+    // Then
+    verify(session, times(3)).executeAsync(any(Statement.class));
+  }
+
+  /**
+   * Builds a chain of pages, where fetching the next page of page i returns page i+1 (the last one
+   * has no more pages).
+   */
+  @SuppressWarnings("unchecked")
+  private List<DefaultAsyncResultSet> mockPages(int count, int sizeInBytes) {
+    List<Statement<?>> statements = new ArrayList<>();
+    List<ExecutionInfo> executionInfos = new ArrayList<>();
+    List<DefaultAsyncResultSet> pages = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Statement<?> pageStatement = mock(Statement.class);
+      ExecutionInfo pageExecutionInfo = mock(ExecutionInfo.class);
+      when(pageExecutionInfo.getRequest()).thenAnswer(invocation -> pageStatement);
+      when(pageExecutionInfo.getResponseSizeInBytes()).thenReturn(sizeInBytes);
+      if (i < count - 1) {
+        when(pageExecutionInfo.getPagingState()).thenReturn(ByteBuffer.allocate(i + 1));
+      }
+      statements.add(pageStatement);
+      executionInfos.add(pageExecutionInfo);
+      pages.add(
+          new DefaultAsyncResultSet(
+              columnDefinitions, pageExecutionInfo, new ArrayDeque<>(), session, context));
+    }
+    for (int i = 0; i < count - 1; i++) {
+      ByteBuffer pagingState = executionInfos.get(i).getPagingState();
+      when(((Statement) statements.get(i)).copy(pagingState)).thenReturn(statements.get(i + 1));
+      AsyncResultSet nextPage = pages.get(i + 1);
+      when(session.executeAsync(statements.get(i + 1)))
+          .thenAnswer(invocation -> CompletableFuture.completedFuture(nextPage));
+    }
+    return pages;
+  }
 }
@@ -0,0 +1,407 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.QueryTrace;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.context.NettyOptions;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultQueryTraceCollectorTest {
+
+  private static final UUID TRACING_ID1 = UUID.randomUUID();
+  private static final UUID TRACING_ID2 = UUID.randomUUID();
+
+  @Mock private CqlSession session;
+  @Mock private InternalDriverContext context;
+  @Mock private DriverExecutionProfile config;
+  @Mock private NettyOptions nettyOptions;
+  @Mock private EventExecutorGroup adminEventExecutorGroup;
+  @Mock private EventExecutor eventExecutor;
+  @Mock private InetAddress address;
+
+  @Captor private ArgumentCaptor<SimpleStatement> statementCaptor;
+
+  private final List<QueryTrace> traces = new ArrayList<>();
+
+  @Before
+  public void setup() {
+    when(context.getSessionName()).thenReturn("s0");
+    when(context.getNettyOptions()).thenReturn(nettyOptions);
+    when(nettyOptions.adminEventExecutorGroup()).thenReturn(adminEventExecutorGroup);
+    when(adminEventExecutorGroup.next()).thenReturn(eventExecutor);
+
+    when(config.getInt(DefaultDriverOption.REQUEST_TRACE_ATTEMPTS)).thenReturn(2);
+    when(config.getInt(
+            DefaultDriverOption.REQUEST_TRACE_COLLECTOR_BATCH_SIZE,
+            DefaultQueryTraceCollector.DEFAULT_BATCH_SIZE))
+        .thenReturn(10);
+    when(config.getInt(
+            DefaultDriverOption.REQUEST_TRACE_COLLECTOR_MAX_PENDING,
+            DefaultQueryTraceCollector.DEFAULT_MAX_PENDING))
+        .thenReturn(2);
+    // Doesn't really matter since the tests trigger the fetches manually
+    when(config.getDuration(
+            DefaultDriverOption.REQUEST_TRACE_COLLECTOR_INTERVAL,
+            DefaultQueryTraceCollector.DEFAULT_INTERVAL))
+        .thenReturn(Duration.ofSeconds(1));
+    when(config.getString(DefaultDriverOption.REQUEST_CONSISTENCY))
+        .thenReturn(DefaultConsistencyLevel.ONE.name());
+    when(config.getString(DefaultDriverOption.REQUEST_TRACE_CONSISTENCY))
+        .thenReturn(DefaultConsistencyLevel.ONE.name());
+  }
+
+  @Test
+  public void should_fetch_traces_in_bulk() {
+    // Given
+    CompletionStage<AsyncResultSet> sessionRows =
+        rows(sessionRow(TRACING_ID1, 42), sessionRow(TRACING_ID2, 43));
+    CompletionStage<AsyncResultSet> eventRows =
+        rows(eventRow(TRACING_ID1, 0), eventRow(TRACING_ID2, 1), eventRow(TRACING_ID2, 2));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenAnswer(invocation -> sessionRows)
+        .thenAnswer(invocation -> eventRows);
+    DefaultQueryTraceCollector collector = newCollector();
+
+    // When
+    assertThat(collector.collect(executionInfo(TRACING_ID1))).isTrue();
+    assertThat(collector.collect(executionInfo(TRACING_ID2))).isTrue();
+    collector.fetchBatch();
+
+    // Then
+    verify(session, times(2)).executeAsync(statementCaptor.capture());
+    List<SimpleStatement> statements = statementCaptor.getAllValues();
+    assertQuery(statements.get(0), "sessions", TRACING_ID1, TRACING_ID2);
+    assertQuery(statements.get(1), "events", TRACING_ID1, TRACING_ID2);
+
+    assertThat(traces).hasSize(2);
+    assertThat(traces.get(0).getTracingId()).isEqualTo(TRACING_ID1);
+    assertThat(traces.get(0).getDurationMicros()).isEqualTo(42);
+    assertThat(traces.get(0).getEvents()).hasSize(1);
+    assertThat(traces.get(1).getTracingId()).isEqualTo(TRACING_ID2);
+    assertThat(traces.get(1).getDurationMicros()).isEqualTo(43);
+    assertThat(traces.get(1).getEvents()).hasSize(2);
+  }
+
+  @Test
+  public void should_retry_incomplete_traces_in_next_round() {
+    // Given
+    CompletionStage<AsyncResultSet> sessionRows1 =
+        rows(sessionRow(TRACING_ID1, 42), sessionRow(TRACING_ID2, null));
+    CompletionStage<AsyncResultSet> eventRows1 = rows(eventRow(TRACING_ID1, 0));
+    CompletionStage<AsyncResultSet> sessionRows2 = rows(sessionRow(TRACING_ID2, 43));
+    CompletionStage<AsyncResultSet> eventRows2 = rows(eventRow(TRACING_ID2, 0));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenAnswer(invocation -> sessionRows1)
+        .thenAnswer(invocation -> eventRows1)
+        .thenAnswer(invocation -> sessionRows2)
+        .thenAnswer(invocation -> eventRows2);
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+    collector.collect(executionInfo(TRACING_ID2));
+
+    // When
+    collector.fetchBatch();
+    collector.fetchBatch();
+
+    // Then
+    verify(session, times(4)).executeAsync(statementCaptor.capture());
+    List<SimpleStatement> statements = statementCaptor.getAllValues();
+    assertQuery(statements.get(0), "sessions", TRACING_ID1, TRACING_ID2);
+    assertQuery(statements.get(1), "events", TRACING_ID1);
+    assertQuery(statements.get(2), "sessions", TRACING_ID2);
+    assertQuery(statements.get(3), "events", TRACING_ID2);
+
+    assertThat(traces)
+        .extracting(QueryTrace::getTracingId)
+        .containsExactly(TRACING_ID1, TRACING_ID2);
+    assertThat(collector.getDroppedTraces()).isZero();
+  }
+
+  @Test
+  public void should_drop_traces_still_incomplete_after_max_attempts() {
+    // Given
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenAnswer(invocation -> rows(sessionRow(TRACING_ID1, null)));
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+
+    // When
+    collector.fetchBatch();
+    collector.fetchBatch();
+    collector.fetchBatch();
+
+    // Then
+    // 2 attempts, the last round has nothing to fetch
+    verify(session, times(2)).executeAsync(any(SimpleStatement.class));
+    assertThat(traces).isEmpty();
+    assertThat(collector.getDroppedTraces()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_retry_traces_in_next_round_if_query_fails() {
+    // Given
+    CompletionStage<AsyncResultSet> sessionRows = rows(sessionRow(TRACING_ID1, 42));
+    CompletionStage<AsyncResultSet> eventRows = rows(eventRow(TRACING_ID1, 0));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenReturn(CompletableFutures.failedFuture(new RuntimeException("mock error")))
+        .thenAnswer(invocation -> sessionRows)
+        .thenAnswer(invocation -> eventRows);
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+
+    // When
+    collector.fetchBatch();
+    collector.fetchBatch();
+
+    // Then
+    verify(session, times(3)).executeAsync(any(SimpleStatement.class));
+    assertThat(traces).extracting(QueryTrace::getTracingId).containsExactly(TRACING_ID1);
+  }
+
+  @Test
+  public void should_drop_batch_and_keep_fetching_if_session_row_fails_to_decode() {
+    // Given
+    Row malformedRow = mock(Row.class);
+    when(malformedRow.getUuid("session_id"))
+        .thenThrow(new IllegalArgumentException("mock decoding error"));
+    CompletionStage<AsyncResultSet> sessionRows = rows(sessionRow(TRACING_ID2, 43));
+    CompletionStage<AsyncResultSet> eventRows = rows(eventRow(TRACING_ID2, 0));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenAnswer(invocation -> rows(malformedRow))
+        .thenAnswer(invocation -> sessionRows)
+        .thenAnswer(invocation -> eventRows);
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+
+    // When
+    collector.fetchBatch();
+
+    // Then
+    assertThat(traces).isEmpty();
+    assertThat(collector.getDroppedTraces()).isEqualTo(1);
+
+    // When
+    collector.collect(executionInfo(TRACING_ID2));
+    collector.fetchBatch();
+
+    // Then
+    // the failure did not prevent the next round
+    verify(session, times(3)).executeAsync(any(SimpleStatement.class));
+    assertThat(traces).extracting(QueryTrace::getTracingId).containsExactly(TRACING_ID2);
+  }
+
+  @Test
+  public void should_keep_fetching_if_page_fails_to_decode() {
+    // Given
+    AsyncResultSet malformedPage = mock(AsyncResultSet.class);
+    when(malformedPage.currentPage())
+        .thenThrow(new IllegalArgumentException("mock decoding error"));
+    CompletionStage<AsyncResultSet> sessionRows = rows(sessionRow(TRACING_ID1, 42));
+    CompletionStage<AsyncResultSet> eventRows = rows(eventRow(TRACING_ID1, 0));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenReturn(CompletableFuture.completedFuture(malformedPage))
+        .thenAnswer(invocation -> sessionRows)
+        .thenAnswer(invocation -> eventRows);
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+
+    // When
+    collector.fetchBatch();
+    collector.fetchBatch();
+
+    // Then
+    // the failed round is retried like a query error
+    verify(session, times(3)).executeAsync(any(SimpleStatement.class));
+    assertThat(traces).extracting(QueryTrace::getTracingId).containsExactly(TRACING_ID1);
+  }
+
+  @Test
+  public void should_keep_fetching_if_query_throws() {
+    // Given
+    CompletionStage<AsyncResultSet> sessionRows = rows(sessionRow(TRACING_ID1, 42));
+    CompletionStage<AsyncResultSet> eventRows = rows(eventRow(TRACING_ID1, 0));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenThrow(new IllegalStateException("mock error"))
+        .thenAnswer(invocation -> sessionRows)
+        .thenAnswer(invocation -> eventRows);
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+
+    // When
+    collector.fetchBatch();
+    collector.fetchBatch();
+
+    // Then
+    verify(session, times(3)).executeAsync(any(SimpleStatement.class));
+    assertThat(traces).extracting(QueryTrace::getTracingId).containsExactly(TRACING_ID1);
+  }
+
+  @Test
+  public void should_drop_trace_if_event_row_fails_to_decode() {
+    // Given
+    Row malformedEventRow = mock(Row.class);
+    when(malformedEventRow.getUuid("session_id")).thenReturn(TRACING_ID1);
+    when(malformedEventRow.getUuid("event_id"))
+        .thenThrow(new IllegalArgumentException("mock decoding error"));
+    CompletionStage<AsyncResultSet> sessionRows =
+        rows(sessionRow(TRACING_ID1, 42), sessionRow(TRACING_ID2, 43));
+    CompletionStage<AsyncResultSet> eventRows = rows(malformedEventRow, eventRow(TRACING_ID2, 0));
+    when(session.executeAsync(any(SimpleStatement.class)))
+        .thenAnswer(invocation -> sessionRows)
+        .thenAnswer(invocation -> eventRows);
+    DefaultQueryTraceCollector collector = newCollector();
+    collector.collect(executionInfo(TRACING_ID1));
+    collector.collect(executionInfo(TRACING_ID2));
+
+    // When
+    collector.fetchBatch();
+
+    // Then
+    assertThat(traces).extracting(QueryTrace::getTracingId).containsExactly(TRACING_ID2);
+    assertThat(collector.getDroppedTraces()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_drop_traces_if_too_many_pending() {
+    // Given
+    DefaultQueryTraceCollector collector = newCollector();
+
+    // When
+    boolean collected1 = collector.collect(executionInfo(TRACING_ID1));
+    boolean collected2 = collector.collect(executionInfo(TRACING_ID2));
+    boolean collected3 = collector.collect(executionInfo(UUID.randomUUID()));
+
+    // Then
+    assertThat(collected1).isTrue();
+    assertThat(collected2).isTrue();
+    assertThat(collected3).isFalse();
+    assertThat(collector.getDroppedTraces()).isEqualTo(1);
+    verifyNoMoreInteractions(session);
+  }
+
+  @Test
+  public void should_ignore_requests_without_tracing() {
+    // Given
+    DefaultQueryTraceCollector collector = newCollector();
+
+    // When
+    boolean collected = collector.collect(executionInfo(null));
+    collector.fetchBatch();
+
+    // Then
+    assertThat(collected).isFalse();
+    assertThat(collector.getDroppedTraces()).isZero();
+    verifyNoMoreInteractions(session);
+  }
+
+  private DefaultQueryTraceCollector newCollector() {
+    return new DefaultQueryTraceCollector(session, context, config, traces::add);
+  }
+
+  private ExecutionInfo executionInfo(UUID tracingId) {
+    ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+    when(executionInfo.getTracingId()).thenReturn(tracingId);
+    return executionInfo;
+  }
+
+  private CompletionStage<AsyncResultSet> rows(Row... rows) {
+    AsyncResultSet rs = mock(AsyncResultSet.class);
+    when(rs.currentPage()).thenReturn(ImmutableList.copyOf(rows));
+
+    ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+    when(executionInfo.getPagingState()).thenReturn(null);
+    when(rs.getExecutionInfo()).thenReturn(executionInfo);
+
+    return CompletableFuture.completedFuture(rs);
+  }
+
+  private Row sessionRow(UUID tracingId, Integer duration) {
+    Row row = mock(Row.class);
+    when(row.getUuid("session_id")).thenReturn(tracingId);
+    if (duration == null) {
+      when(row.isNull("duration")).thenReturn(true);
+      return row;
+    }
+    ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+    when(row.getColumnDefinitions()).thenReturn(definitions);
+    when(row.getString("request")).thenReturn("mock request");
+    when(row.getInt("duration")).thenReturn(duration);
+    when(row.getInetAddress("coordinator")).thenReturn(address);
+    when(row.getMap("parameters", String.class, String.class)).thenReturn(ImmutableMap.of());
+    when(row.isNull("started_at")).thenReturn(false);
+    when(row.getInstant("started_at")).thenReturn(Instant.EPOCH);
+    return row;
+  }
+
+  private Row eventRow(UUID tracingId, int i) {
+    Row row = mock(Row.class);
+    ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+    when(row.getColumnDefinitions()).thenReturn(definitions);
+    when(row.getUuid("session_id")).thenReturn(tracingId);
+    when(row.getString("activity")).thenReturn("mock activity " + i);
+    when(row.getUuid("event_id")).thenReturn(Uuids.startOf(i));
+    when(row.getInetAddress("source")).thenReturn(address);
+    when(row.getInt("source_elapsed")).thenReturn(i);
+    when(row.getString("thread")).thenReturn("mock thread " + i);
+    return row;
+  }
+
+  private void assertQuery(SimpleStatement statement, String table, UUID... tracingIds) {
+    assertThat(statement.getQuery())
+        .isEqualTo("SELECT * FROM system_traces." + table + " WHERE session_id IN ?");
+    assertThat(statement.getPositionalValues()).containsExactly(ImmutableList.copyOf(tracingIds));
+    assertThat(statement.getExecutionProfile()).isEqualTo(config);
+  }
+}
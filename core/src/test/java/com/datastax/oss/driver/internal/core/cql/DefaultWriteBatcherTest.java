@@ -0,0 +1,315 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static com.datastax.oss.driver.Assertions.assertThatStage;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class DefaultWriteBatcherTest {
+
+  private static final ByteBuffer KEY1 = Bytes.fromHexString("0x01");
+  private static final ByteBuffer KEY2 = Bytes.fromHexString("0x02");
+
+  @Mock private Session session;
+  @Mock private DriverContext context;
+  @Mock private DriverConfig config;
+  @Mock private DriverExecutionProfile defaultProfile;
+  @Mock private Metadata metadata;
+  @Mock private EventExecutor adminExecutor;
+  @Captor private ArgumentCaptor<Statement<?>> statementCaptor;
+
+  private final List<Runnable> timers = new ArrayList<>();
+  private final CompletableFuture<AsyncResultSet> sessionResult = new CompletableFuture<>();
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    when(session.getContext()).thenReturn(context);
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(defaultProfile);
+    when(defaultProfile.getDuration(DefaultDriverOption.WRITE_BATCHER_WINDOW))
+        .thenReturn(Duration.ofMillis(2));
+    when(defaultProfile.getInt(DefaultDriverOption.WRITE_BATCHER_MAX_STATEMENTS)).thenReturn(3);
+    when(session.getMetadata()).thenReturn(metadata);
+    when(metadata.getTokenMap()).thenReturn(Optional.empty());
+    when(session.getKeyspace()).thenReturn(Optional.empty());
+    when(session.execute(any(Statement.class), eq(Statement.ASYNC))).thenReturn(sessionResult);
+    when(adminExecutor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+        .thenAnswer(
+            invocation -> {
+              timers.add(invocation.getArgument(0));
+              return mock(ScheduledFuture.class);
+            });
+  }
+
+  @Test
+  public void should_send_batch_when_group_is_full() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement1 = mockStatement(KEY1);
+    BoundStatement statement2 = mockStatement(KEY1);
+    BoundStatement statement3 = mockStatement(KEY1);
+    BoundStatement otherPartition = mockStatement(KEY2);
+
+    // when
+    CompletionStage<AsyncResultSet> future1 = batcher.executeAsync(statement1);
+    CompletionStage<AsyncResultSet> future2 = batcher.executeAsync(statement2);
+    batcher.executeAsync(otherPartition);
+
+    // then
+    verify(session, never()).execute(any(Statement.class), eq(Statement.ASYNC));
+
+    // when
+    CompletionStage<AsyncResultSet> future3 = batcher.executeAsync(statement3);
+
+    // then
+    verify(session).execute(statementCaptor.capture(), eq(Statement.ASYNC));
+    assertThat(statementCaptor.getValue()).isInstanceOf(BatchStatement.class);
+    BatchStatement batch = (BatchStatement) statementCaptor.getValue();
+    assertThat(batch.getBatchType()).isEqualTo(BatchType.UNLOGGED);
+    assertThat(Lists.newArrayList(batch)).containsExactly(statement1, statement2, statement3);
+
+    // when
+    AsyncResultSet resultSet = mock(AsyncResultSet.class);
+    sessionResult.complete(resultSet);
+
+    // then
+    assertThatStage(future1).isSuccess(rs -> assertThat(rs).isSameAs(resultSet));
+    assertThatStage(future2).isSuccess(rs -> assertThat(rs).isSameAs(resultSet));
+    assertThatStage(future3).isSuccess(rs -> assertThat(rs).isSameAs(resultSet));
+  }
+
+  @Test
+  public void should_send_group_when_window_elapses() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement = mockStatement(KEY1);
+    CompletionStage<AsyncResultSet> future = batcher.executeAsync(statement);
+    assertThat(timers).hasSize(1);
+
+    // when
+    timers.get(0).run();
+
+    // then
+    // a single statement is sent on its own
+    verify(session).execute(statement, Statement.ASYNC);
+    RuntimeException error = new RuntimeException("mock error");
+    sessionResult.completeExceptionally(error);
+    assertThatStage(future).isFailed(e -> assertThat(e).isSameAs(error));
+  }
+
+  @Test
+  public void should_send_statement_without_routing_information_immediately() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement = mockStatement(null);
+
+    // when
+    batcher.executeAsync(statement);
+
+    // then
+    verify(session).execute(statement, Statement.ASYNC);
+    assertThat(timers).isEmpty();
+  }
+
+  @Test
+  public void should_send_pending_statements_and_reject_new_ones_when_closed() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement = mockStatement(KEY1);
+    batcher.executeAsync(statement);
+
+    // when
+    CompletionStage<Void> closeFuture = batcher.closeAsync();
+
+    // then
+    verify(session).execute(statement, Statement.ASYNC);
+    assertThatStage(closeFuture).isNotDone();
+    assertThatStage(batcher.executeAsync(mockStatement(KEY1)))
+        .isFailed(e -> assertThat(e).isInstanceOf(IllegalStateException.class));
+
+    // when
+    sessionResult.complete(mock(AsyncResultSet.class));
+
+    // then
+    assertThatStage(closeFuture).isSuccess();
+  }
+
+  @Test
+  public void should_not_group_statements_with_different_attributes() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement1 = mockStatement(KEY1);
+    BoundStatement statement2 = mockStatement(KEY1);
+    when(statement2.getTimeout()).thenReturn(Duration.ofSeconds(1));
+    BoundStatement statement3 = mockStatement(KEY1);
+    when(statement3.getSerialConsistencyLevel()).thenReturn(DefaultConsistencyLevel.LOCAL_SERIAL);
+
+    // when
+    batcher.executeAsync(statement1);
+    batcher.executeAsync(statement2);
+    batcher.executeAsync(statement3);
+
+    // then
+    assertThat(timers).hasSize(3);
+    verify(session, never()).execute(any(Statement.class), eq(Statement.ASYNC));
+  }
+
+  @Test
+  public void should_copy_statement_attributes_to_batch() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    Duration timeout = Duration.ofSeconds(1);
+    CqlIdentifier keyspace = CqlIdentifier.fromCql("ks");
+    Node node = mock(Node.class);
+    List<BoundStatement> statements = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      BoundStatement statement = mockStatement(KEY1);
+      when(statement.getConsistencyLevel()).thenReturn(DefaultConsistencyLevel.QUORUM);
+      when(statement.getSerialConsistencyLevel()).thenReturn(DefaultConsistencyLevel.LOCAL_SERIAL);
+      when(statement.getTimeout()).thenReturn(timeout);
+      when(statement.getKeyspace()).thenReturn(keyspace);
+      when(statement.getNode()).thenReturn(node);
+      statements.add(statement);
+    }
+
+    // when
+    for (BoundStatement statement : statements) {
+      batcher.executeAsync(statement);
+    }
+
+    // then
+    verify(session).execute(statementCaptor.capture(), eq(Statement.ASYNC));
+    BatchStatement batch = (BatchStatement) statementCaptor.getValue();
+    assertThat(batch.getConsistencyLevel()).isEqualTo(DefaultConsistencyLevel.QUORUM);
+    assertThat(batch.getSerialConsistencyLevel()).isEqualTo(DefaultConsistencyLevel.LOCAL_SERIAL);
+    assertThat(batch.getTimeout()).isEqualTo(timeout);
+    assertThat(batch.getKeyspace()).isEqualTo(keyspace);
+    assertThat(batch.getNode()).isSameAs(node);
+  }
+
+  @Test
+  public void should_send_statement_with_timestamp_immediately() {
+    // given
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement = mockStatement(KEY1);
+    when(statement.getQueryTimestamp()).thenReturn(1234L);
+
+    // when
+    batcher.executeAsync(statement);
+
+    // then
+    verify(session).execute(statement, Statement.ASYNC);
+    assertThat(timers).isEmpty();
+  }
+
+  @Test
+  public void should_group_statements_with_same_replicas() {
+    // given
+    CqlIdentifier keyspace = CqlIdentifier.fromCql("ks");
+    when(session.getKeyspace()).thenReturn(Optional.of(keyspace));
+    TokenMap tokenMap = mock(TokenMap.class);
+    when(metadata.getTokenMap()).thenReturn(Optional.of(tokenMap));
+    Node node1 = mock(Node.class);
+    Node node2 = mock(Node.class);
+    // Different partitions, same replicas (in a different iteration order)
+    when(tokenMap.getReplicas(keyspace, KEY1)).thenReturn(ImmutableSet.of(node1, node2));
+    when(tokenMap.getReplicas(keyspace, KEY2)).thenReturn(ImmutableSet.of(node2, node1));
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    BoundStatement statement1 = mockStatement(KEY1);
+    BoundStatement statement2 = mockStatement(KEY2);
+
+    // when
+    batcher.executeAsync(statement1);
+    batcher.executeAsync(statement2);
+    assertThat(timers).hasSize(1);
+    timers.get(0).run();
+
+    // then
+    verify(session).execute(statementCaptor.capture(), eq(Statement.ASYNC));
+    BatchStatement batch = (BatchStatement) statementCaptor.getValue();
+    assertThat(Lists.newArrayList(batch)).containsExactly(statement1, statement2);
+  }
+
+  @Test
+  public void should_derive_batch_idempotence_from_statements() {
+    assertThat(batchIdempotence(true, true, true)).isTrue();
+    assertThat(batchIdempotence(true, null, true)).isNull();
+    assertThat(batchIdempotence(true, false, null)).isFalse();
+    assertThat(batchIdempotence(null, true, false)).isFalse();
+  }
+
+  private Boolean batchIdempotence(Boolean... idempotences) {
+    DefaultWriteBatcher batcher = new DefaultWriteBatcher(session, adminExecutor);
+    for (Boolean idempotence : idempotences) {
+      BoundStatement statement = mockStatement(KEY1);
+      when(statement.isIdempotent()).thenReturn(idempotence);
+      batcher.executeAsync(statement);
+    }
+    verify(session, atLeastOnce()).execute(statementCaptor.capture(), eq(Statement.ASYNC));
+    return statementCaptor.getValue().isIdempotent();
+  }
+
+  private static BoundStatement mockStatement(ByteBuffer routingKey) {
+    BoundStatement statement = mock(BoundStatement.class);
+    when(statement.getRoutingKey()).thenReturn(routingKey);
+    when(statement.getQueryTimestamp()).thenReturn(Statement.NO_DEFAULT_TIMESTAMP);
+    return statement;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.internal.core.DefaultConsistencyLevelRegistry;
+import com.datastax.oss.driver.internal.core.config.ConfigChangeEvent;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ExecutionProfileSnapshotsTest {
+
+  @Mock private InternalDriverContext context;
+  @Mock private DriverConfig config;
+  @Mock private DriverExecutionProfile defaultProfile;
+  @Mock private DriverExecutionProfile olapProfile;
+
+  private ExecutionProfileSnapshots snapshots;
+
+  @Before
+  public void setup() {
+    when(context.getConfig()).thenReturn(config);
+    when(context.getConsistencyLevelRegistry()).thenReturn(new DefaultConsistencyLevelRegistry());
+    mockProfile(defaultProfile, DriverExecutionProfile.DEFAULT_NAME, 5000);
+    mockProfile(olapProfile, "olap", 100);
+    when(config.getDefaultProfile()).thenReturn(defaultProfile);
+    when(config.getProfile("olap")).thenReturn(olapProfile);
+
+    snapshots = new ExecutionProfileSnapshots(context);
+  }
+
+  @Test
+  public void should_resolve_default_profile_when_statement_has_no_profile() {
+    // when
+    ExecutionProfileSnapshot snapshot =
+        snapshots.resolve(SimpleStatement.newInstance("irrelevant"));
+
+    // then
+    assertThat(snapshot.getProfile()).isSameAs(defaultProfile);
+    assertThat(snapshot.getPageSize()).isEqualTo(5000);
+    assertThat(snapshot.getConsistencyCode())
+        .isEqualTo(DefaultConsistencyLevel.LOCAL_ONE.getProtocolCode());
+    assertThat(snapshot.getSerialConsistencyCode())
+        .isEqualTo(DefaultConsistencyLevel.SERIAL.getProtocolCode());
+    assertThat(snapshot.getRequestTimeout()).isEqualTo(Duration.ofSeconds(2));
+  }
+
+  @Test
+  public void should_cache_snapshot_by_profile_name() {
+    // given
+    SimpleStatement statement =
+        SimpleStatement.builder("irrelevant").setExecutionProfileName("olap").build();
+
+    // when
+    ExecutionProfileSnapshot snapshot1 = snapshots.resolve(statement);
+    ExecutionProfileSnapshot snapshot2 = snapshots.resolve(statement);
+
+    // then
+    assertThat(snapshot1.getProfile()).isSameAs(olapProfile);
+    assertThat(snapshot1.getPageSize()).isEqualTo(100);
+    assertThat(snapshot2).isSameAs(snapshot1);
+  }
+
+  @Test
+  public void should_discard_snapshots_when_config_changes() {
+    // given
+    SimpleStatement statement = SimpleStatement.newInstance("irrelevant");
+    ExecutionProfileSnapshot snapshot1 = snapshots.resolve(statement);
+    when(defaultProfile.getInt(DefaultDriverOption.REQUEST_PAGE_SIZE)).thenReturn(10);
+
+    // when
+    snapshots.onConfigChanged(ConfigChangeEvent.INSTANCE);
+    ExecutionProfileSnapshot snapshot2 = snapshots.resolve(statement);
+
+    // then
+    assertThat(snapshot2).isNotSameAs(snapshot1);
+    assertThat(snapshot2.getPageSize()).isEqualTo(10);
+  }
+
+  @Test
+  public void should_not_cache_snapshot_of_explicit_profile() {
+    // given
+    SimpleStatement statement =
+        SimpleStatement.builder("irrelevant").setExecutionProfile(olapProfile).build();
+
+    // when
+    ExecutionProfileSnapshot snapshot1 = snapshots.resolve(statement);
+    ExecutionProfileSnapshot snapshot2 = snapshots.resolve(statement);
+
+    // then
+    assertThat(snapshot1.getProfile()).isSameAs(olapProfile);
+    assertThat(snapshot2).isNotSameAs(snapshot1);
+  }
+
+  @Test
+  public void should_read_current_config_in_default_context_implementation() {
+    // given
+    when(context.getExecutionProfileSnapshots()).thenCallRealMethod();
+    SimpleStatement statement = SimpleStatement.newInstance("irrelevant");
+    ExecutionProfileSnapshot snapshot1 = context.getExecutionProfileSnapshots().resolve(statement);
+
+    // when
+    when(defaultProfile.getInt(DefaultDriverOption.REQUEST_PAGE_SIZE)).thenReturn(10);
+    ExecutionProfileSnapshot snapshot2 = context.getExecutionProfileSnapshots().resolve(statement);
+
+    // then
+    assertThat(snapshot1.getProfile()).isSameAs(defaultProfile);
+    assertThat(snapshot1.getPageSize()).isEqualTo(5000);
+    assertThat(snapshot2.getPageSize()).isEqualTo(10);
+  }
+
+  private void mockProfile(DriverExecutionProfile profile, String name, int pageSize) {
+    when(profile.getName()).thenReturn(name);
+    when(profile.getDuration(DefaultDriverOption.REQUEST_TIMEOUT))
+        .thenReturn(Duration.ofSeconds(2));
+    when(profile.getString(DefaultDriverOption.REQUEST_CONSISTENCY))
+        .thenReturn(DefaultConsistencyLevel.LOCAL_ONE.name());
+    when(profile.getString(DefaultDriverOption.REQUEST_SERIAL_CONSISTENCY))
+        .thenReturn(DefaultConsistencyLevel.SERIAL.name());
+    when(profile.getInt(DefaultDriverOption.REQUEST_PAGE_SIZE)).thenReturn(pageSize);
+  }
+}
@@ -20,7 +20,12 @@ import static com.datastax.oss.driver.Assertions.assertThat;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import org.junit.Test;
 
 public class ResultSetsTest extends ResultSetTestBase {
@@ -94,4 +99,89 @@ public class ResultSetsTest extends ResultSetTestBase {
     assertNextRow(iterator, 7);
     assertNextRow(iterator, 8);
   }
+
+  @Test
+  public void should_split_multi_page_result_set_at_page_boundaries() {
+    // Given
+    AsyncResultSet page1 = mockPage(true, 0, 1, 2);
+    AsyncResultSet page2 = mockPage(true, 3, 4, 5);
+    AsyncResultSet page3 = mockPage(false, 6, 7, 8);
+
+    complete(page1.fetchNextPage(), page2);
+    complete(page2.fetchNextPage(), page3);
+
+    ResultSet resultSet = ResultSets.newInstance(page1);
+
+    // When
+    Spliterator<Row> spliterator = resultSet.spliterator();
+
+    // Then
+    assertThat(spliterator.estimateSize()).isEqualTo(Long.MAX_VALUE);
+
+    Spliterator<Row> split1 = spliterator.trySplit();
+    assertThat(split1.estimateSize()).isEqualTo(3);
+    assertThat(values(split1)).containsExactly(0, 1, 2);
+
+    Spliterator<Row> split2 = spliterator.trySplit();
+    assertThat(resultSet.getExecutionInfos())
+        .containsExactly(page1.getExecutionInfo(), page2.getExecutionInfo());
+    assertThat(values(split2)).containsExactly(3, 4, 5);
+
+    Spliterator<Row> split3 = spliterator.trySplit();
+    // The last page was reached, so the size is exact
+    assertThat(spliterator.estimateSize()).isEqualTo(0);
+    assertThat(values(split3)).containsExactly(6, 7, 8);
+
+    assertThat(spliterator.trySplit()).isNull();
+    assertThat(spliterator.tryAdvance(row -> {})).isFalse();
+  }
+
+  @Test
+  public void should_advance_multi_page_result_set_spliterator_across_pages() {
+    // Given
+    AsyncResultSet page1 = mockPage(true, 0, 1, 2);
+    AsyncResultSet page2 = mockPage(false, 3, 4, 5);
+
+    complete(page1.fetchNextPage(), page2);
+
+    ResultSet resultSet = ResultSets.newInstance(page1);
+    // Consume part of the first page before creating the spliterator
+    assertNextRow(resultSet.iterator(), 0);
+
+    // When
+    Spliterator<Row> spliterator = resultSet.spliterator();
+
+    // Then
+    assertThat(values(spliterator)).containsExactly(1, 2, 3, 4, 5);
+    assertThat(resultSet.getExecutionInfos())
+        .containsExactly(page1.getExecutionInfo(), page2.getExecutionInfo());
+  }
+
+  @Test
+  public void should_stream_multi_page_result_set_in_parallel() {
+    // Given
+    AsyncResultSet page1 = mockPage(true, 0, 1, 2);
+    AsyncResultSet page2 = mockPage(true, 3, 4, 5);
+    AsyncResultSet page3 = mockPage(false, 6, 7, 8);
+
+    complete(page1.fetchNextPage(), page2);
+    complete(page2.fetchNextPage(), page3);
+
+    ResultSet resultSet = ResultSets.newInstance(page1);
+
+    // When
+    List<Integer> values =
+        StreamSupport.stream(resultSet.spliterator(), true)
+            .map(row -> row.getInt(0))
+            .collect(Collectors.toList());
+
+    // Then
+    assertThat(values).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+  }
+
+  private static List<Integer> values(Spliterator<Row> spliterator) {
+    List<Integer> values = new ArrayList<>();
+    spliterator.forEachRemaining(row -> values.add(row.getInt(0)));
+    return values;
+  }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static com.datastax.oss.driver.Assertions.assertThatStage;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.NoNodeAvailableException;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.NodeState;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenRange;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class TokenRangeScannerTest {
+
+  private static final CqlIdentifier KEYSPACE = CqlIdentifier.fromInternal("ks");
+
+  @Mock private Session session;
+
+  private final Map<Statement<?>, CompletableFuture<AsyncResultSet>> results = new HashMap<>();
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    when(session.execute(any(Statement.class), eq(Statement.ASYNC)))
+        .thenAnswer(
+            invocation ->
+                results.computeIfAbsent(invocation.getArgument(0), s -> new CompletableFuture<>()));
+  }
+
+  @Test
+  public void should_bound_concurrent_splits_per_node() {
+    // given
+    Statement<?> node1Split1 = mock(Statement.class);
+    Statement<?> node1Split2 = mock(Statement.class);
+    Statement<?> node2Split1 = mock(Statement.class);
+    TokenRangeScanner scanner =
+        new TokenRangeScanner(
+            session, splits(queue(node1Split1, node1Split2), queue(node2Split1)), 1);
+
+    // when
+    CompletionStage<AsyncResultSet> firstPageFuture = scanner.start();
+
+    // then
+    verify(session).execute(node1Split1, Statement.ASYNC);
+    verify(session).execute(node2Split1, Statement.ASYNC);
+    verify(session, never()).execute(node1Split2, Statement.ASYNC);
+    assertThatStage(firstPageFuture).isNotDone();
+
+    // when
+    results.get(node1Split1).complete(lastPage());
+
+    // then
+    assertThatStage(firstPageFuture)
+        .isSuccess(firstPage -> assertThat(firstPage.hasMorePages()).isTrue());
+    // the first split of node1 is done, so its second split can start
+    verify(session).execute(node1Split2, Statement.ASYNC);
+  }
+
+  @Test
+  public void should_fetch_next_page_of_split_only_when_page_is_handed_out() {
+    // given
+    Statement<?> split1 = mock(Statement.class);
+    Statement<?> split2 = mock(Statement.class);
+    TokenRangeScanner scanner = new TokenRangeScanner(session, splits(queue(split1, split2)), 2);
+    CompletionStage<AsyncResultSet> firstPageFuture = scanner.start();
+    CompletableFuture<AsyncResultSet> split1Page2Future = new CompletableFuture<>();
+    AsyncResultSet split1Page1 = intermediatePage(split1Page2Future);
+    AsyncResultSet split2Page1 = lastPage();
+
+    // when
+    results.get(split1).complete(split1Page1);
+    results.get(split2).complete(split2Page1);
+
+    // then
+    // split1's first page was handed out to complete the first page, split2's is buffered
+    verify(split1Page1).fetchNextPage();
+    assertThatStage(firstPageFuture).isSuccess();
+    AsyncResultSet firstPage = CompletableFutures.getCompleted(firstPageFuture);
+    assertThat(firstPage.hasMorePages()).isTrue();
+
+    // when
+    CompletionStage<AsyncResultSet> secondPageFuture = firstPage.fetchNextPage();
+
+    // then
+    assertThatStage(secondPageFuture)
+        .isSuccess(secondPage -> assertThat(secondPage.hasMorePages()).isTrue());
+    AsyncResultSet secondPage = CompletableFutures.getCompleted(secondPageFuture);
+
+    // when
+    CompletionStage<AsyncResultSet> thirdPageFuture = secondPage.fetchNextPage();
+    assertThatStage(thirdPageFuture).isNotDone();
+    split1Page2Future.complete(lastPage());
+
+    // then
+    // both splits are done
+    assertThatStage(thirdPageFuture)
+        .isSuccess(thirdPage -> assertThat(thirdPage.hasMorePages()).isFalse());
+  }
+
+  @Test
+  public void should_fail_scan_if_split_fails() {
+    // given
+    Statement<?> split1 = mock(Statement.class);
+    Statement<?> split2 = mock(Statement.class);
+    Statement<?> split3 = mock(Statement.class);
+    TokenRangeScanner scanner =
+        new TokenRangeScanner(session, splits(queue(split1, split2, split3)), 2);
+    CompletionStage<AsyncResultSet> firstPageFuture = scanner.start();
+    RuntimeException error = new RuntimeException("mock error");
+
+    // when
+    results.get(split1).completeExceptionally(error);
+    results.get(split2).complete(lastPage());
+
+    // then
+    assertThatStage(firstPageFuture).isFailed(e -> assertThat(e).isSameAs(error));
+    verify(session, never()).execute(split3, Statement.ASYNC);
+  }
+
+  @Test
+  public void should_return_same_future_if_next_page_fetched_twice() {
+    // given
+    Statement<?> split1 = mock(Statement.class);
+    Statement<?> split2 = mock(Statement.class);
+    TokenRangeScanner scanner = new TokenRangeScanner(session, splits(queue(split1, split2)), 2);
+    CompletionStage<AsyncResultSet> firstPageFuture = scanner.start();
+    results.get(split1).complete(lastPage());
+    AsyncResultSet firstPage = CompletableFutures.getCompleted(firstPageFuture);
+
+    // when
+    CompletionStage<AsyncResultSet> secondPageFuture1 = firstPage.fetchNextPage();
+    CompletionStage<AsyncResultSet> secondPageFuture2 = firstPage.fetchNextPage();
+
+    // then
+    assertThat(secondPageFuture1).isSameAs(secondPageFuture2);
+    assertThatStage(secondPageFuture1).isNotDone();
+    results.get(split2).complete(lastPage());
+    assertThatStage(secondPageFuture1)
+        .isSuccess(secondPage -> assertThat(secondPage.hasMorePages()).isFalse());
+  }
+
+  @Test
+  public void should_send_split_without_node_if_node_is_down() {
+    // given
+    Node node = mock(Node.class);
+    when(node.getState()).thenReturn(NodeState.DOWN);
+    Statement<?> split = mock(Statement.class);
+    Statement<?> unpinnedSplit = mock(Statement.class);
+    when(split.getNode()).thenReturn(node);
+    when(split.setNode(null)).thenAnswer(invocation -> unpinnedSplit);
+    TokenRangeScanner scanner = new TokenRangeScanner(session, splits(queue(split)), 1);
+
+    // when
+    scanner.start();
+
+    // then
+    verify(session, never()).execute(split, Statement.ASYNC);
+    verify(session).execute(unpinnedSplit, Statement.ASYNC);
+  }
+
+  @Test
+  public void should_retry_split_without_node_if_node_is_not_available() {
+    // given
+    Node node = mock(Node.class);
+    when(node.getState()).thenReturn(NodeState.UP);
+    Statement<?> split = mock(Statement.class);
+    Statement<?> unpinnedSplit = mock(Statement.class);
+    when(split.getNode()).thenReturn(node);
+    when(split.setNode(null)).thenAnswer(invocation -> unpinnedSplit);
+    TokenRangeScanner scanner = new TokenRangeScanner(session, splits(queue(split)), 1);
+    CompletionStage<AsyncResultSet> firstPageFuture = scanner.start();
+
+    // when
+    results.get(split).completeExceptionally(new NoNodeAvailableException());
+
+    // then
+    verify(session).execute(unpinnedSplit, Statement.ASYNC);
+    assertThatStage(firstPageFuture).isNotDone();
+    results.get(unpinnedSplit).complete(lastPage());
+    assertThatStage(firstPageFuture).isSuccess();
+  }
+
+  @Test
+  public void should_assign_splits_to_least_loaded_replica_that_is_not_down() {
+    // given
+    Node node1 = mockNode(NodeState.UP);
+    Node node2 = mockNode(NodeState.UP);
+    Node node3 = mockNode(NodeState.DOWN);
+    TokenRange range1 = new Murmur3TokenRange(new Murmur3Token(0), new Murmur3Token(100));
+    TokenRange range2 = new Murmur3TokenRange(new Murmur3Token(100), new Murmur3Token(200));
+    TokenMap tokenMap = mock(TokenMap.class);
+    when(tokenMap.getTokenRanges()).thenReturn(ImmutableSet.of(range1, range2));
+    when(tokenMap.getReplicas(KEYSPACE, range1)).thenReturn(ImmutableSet.of(node1, node2));
+    when(tokenMap.getReplicas(KEYSPACE, range2)).thenReturn(ImmutableSet.of(node3, node2));
+    PreparedStatement openEnded = mockPreparedStatement();
+    PreparedStatement bounded = mockPreparedStatement();
+
+    // when
+    List<Queue<Statement<?>>> splits =
+        new ArrayList<>(TokenRangeScanner.split(tokenMap, KEYSPACE, 2, openEnded, bounded));
+
+    // then
+    // range1 is split in two, one split for each replica. Then node2 is the only replica of
+    // range2 that is up, so it gets both its splits.
+    assertThat(splits).hasSize(2);
+    assertThat(splits.get(0)).hasSize(1);
+    assertThat(splits.get(1)).hasSize(3);
+    for (Statement<?> statement : splits.get(0)) {
+      verify(statement).setNode(node1);
+    }
+    for (Statement<?> statement : splits.get(1)) {
+      verify(statement).setNode(node2);
+    }
+    verify(openEnded, never()).bind();
+  }
+
+  private static Node mockNode(NodeState state) {
+    Node node = mock(Node.class);
+    when(node.getState()).thenReturn(state);
+    return node;
+  }
+
+  private static PreparedStatement mockPreparedStatement() {
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    when(preparedStatement.bind()).thenAnswer(i -> mock(BoundStatement.class, RETURNS_SELF));
+    return preparedStatement;
+  }
+
+  private static Queue<Statement<?>> queue(Statement<?>... statements) {
+    return new ArrayDeque<>(Arrays.asList(statements));
+  }
+
+  @SafeVarargs
+  private static Collection<Queue<Statement<?>>> splits(Queue<Statement<?>>... queues) {
+    return Arrays.asList(queues);
+  }
+
+  private static AsyncResultSet lastPage() {
+    AsyncResultSet page = mock(AsyncResultSet.class);
+    when(page.hasMorePages()).thenReturn(false);
+    return page;
+  }
+
+  private static AsyncResultSet intermediatePage(CompletionStage<AsyncResultSet> nextPage) {
+    AsyncResultSet page = mock(AsyncResultSet.class);
+    when(page.hasMorePages()).thenReturn(true);
+    when(page.fetchNextPage()).thenReturn(nextPage);
+    return page;
+  }
+}
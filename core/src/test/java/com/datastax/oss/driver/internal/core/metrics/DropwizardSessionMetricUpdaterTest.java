@@ -0,0 +1,155 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
+import com.datastax.oss.driver.api.core.metrics.SessionMetric;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.context.NettyOptions;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DropwizardSessionMetricUpdaterTest {
+
+  private MetricRegistry registry;
+  private Timeout expirationTimeout;
+  private DropwizardSessionMetricUpdater updater;
+
+  @Before
+  public void setup() {
+    InternalDriverContext context = mock(InternalDriverContext.class);
+    DriverConfig config = mock(DriverConfig.class);
+    DriverExecutionProfile profile = mock(DriverExecutionProfile.class);
+    when(context.getSessionName()).thenReturn("s0");
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(profile);
+    when(profile.getName()).thenReturn("default");
+    when(profile.getDuration(DefaultDriverOption.METRICS_NODE_EXPIRE_AFTER))
+        .thenReturn(Duration.ofHours(1));
+    when(profile.getInt(DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_PER_STATEMENT_MAX_TRACKED))
+        .thenReturn(2);
+    when(profile.getDuration(DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_HIGHEST))
+        .thenReturn(Duration.ofSeconds(3));
+    when(profile.getInt(DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_DIGITS)).thenReturn(3);
+    when(profile.getDuration(DefaultDriverOption.METRICS_SESSION_CQL_REQUESTS_INTERVAL))
+        .thenReturn(Duration.ofMinutes(5));
+
+    MetricIdGenerator idGenerator = mock(MetricIdGenerator.class);
+    when(idGenerator.sessionMetricId(any()))
+        .thenAnswer(
+            invocation -> {
+              SessionMetric metric = invocation.getArgument(0);
+              return new DefaultMetricId("s0." + metric.getPath(), ImmutableMap.of());
+            });
+    when(context.getMetricIdGenerator()).thenReturn(idGenerator);
+
+    NettyOptions nettyOptions = mock(NettyOptions.class);
+    Timer timer = mock(Timer.class);
+    expirationTimeout = mock(Timeout.class);
+    when(context.getNettyOptions()).thenReturn(nettyOptions);
+    when(nettyOptions.getTimer()).thenReturn(timer);
+    when(timer.newTimeout(any(), anyLong(), any())).thenReturn(expirationTimeout);
+
+    registry = new MetricRegistry();
+    updater =
+        new DropwizardSessionMetricUpdater(
+            context,
+            Collections.singleton(DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT),
+            registry);
+  }
+
+  @Test
+  public void should_register_timer_per_statement() {
+    updater.updateStatementTimers(statement(0x01), null, 10, TimeUnit.MILLISECONDS);
+    updater.updateStatementTimers(statement(0x02), null, 10, TimeUnit.MILLISECONDS);
+
+    assertThat(registry.getTimers().keySet())
+        .containsOnly("s0.cql-requests-per-statement.0x01", "s0.cql-requests-per-statement.0x02");
+  }
+
+  @Test
+  public void should_start_new_timer_from_scratch_when_evicted_timer_is_recycled() {
+    // given
+    updater.updateStatementTimers(statement(0x01), null, 10, TimeUnit.MILLISECONDS);
+    updater.updateStatementTimers(statement(0x01), null, 10, TimeUnit.MILLISECONDS);
+    updater.updateStatementTimers(statement(0x02), null, 10, TimeUnit.MILLISECONDS);
+
+    // when
+    updater.updateStatementTimers(statement(0x03), null, 10, TimeUnit.MILLISECONDS);
+
+    // then
+    assertThat(registry.getTimers().keySet())
+        .containsOnly("s0.cql-requests-per-statement.0x01", "s0.cql-requests-per-statement.0x03");
+    assertThat(registry.getTimers().get("s0.cql-requests-per-statement.0x03").getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void should_unregister_keyed_timers_and_cancel_expiration_when_session_closed() {
+    // given
+    updater.updateStatementTimers(statement(0x01), null, 10, TimeUnit.MILLISECONDS);
+    assertThat(registry.getTimers()).isNotEmpty();
+
+    // when
+    updater.onSessionClosed();
+
+    // then
+    assertThat(registry.getTimers()).isEmpty();
+    verify(expirationTimeout).cancel();
+  }
+
+  @Test
+  public void should_unregister_keyed_timers_and_cancel_expiration_when_metrics_cleared() {
+    // given
+    updater.updateStatementTimers(statement(0x01), null, 10, TimeUnit.MILLISECONDS);
+    assertThat(registry.getTimers()).isNotEmpty();
+
+    // when
+    updater.clearMetrics();
+
+    // then
+    assertThat(registry.getTimers()).isEmpty();
+    verify(expirationTimeout).cancel();
+  }
+
+  private static BoundStatement statement(int id) {
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    when(preparedStatement.getId()).thenReturn(ByteBuffer.wrap(new byte[] {(byte) id}));
+    BoundStatement statement = mock(BoundStatement.class);
+    when(statement.getPreparedStatement()).thenReturn(preparedStatement);
+    return statement;
+  }
+}
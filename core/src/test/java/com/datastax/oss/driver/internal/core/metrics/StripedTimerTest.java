@@ -0,0 +1,91 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.Snapshot;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class StripedTimerTest {
+
+  @Test
+  public void should_merge_updates_from_all_stripes() throws InterruptedException {
+    // given
+    HdrReservoir reservoir = new HdrReservoir(Duration.ofSeconds(1), 3, Duration.ZERO, 4, "test");
+    StripedTimer timer = new StripedTimer(reservoir);
+
+    // when
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int j = 1; j <= 1000; j++) {
+                  timer.update(j, TimeUnit.MICROSECONDS);
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertThat(timer.getCount()).isEqualTo(8000);
+    Snapshot snapshot = timer.getSnapshot();
+    assertThat(snapshot.size()).isEqualTo(8000);
+    assertThat(snapshot.getMin()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1));
+    assertThat(snapshot.getMax()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1000));
+  }
+
+  @Test
+  public void should_ignore_negative_durations() {
+    // given
+    StripedTimer timer =
+        new StripedTimer(new HdrReservoir(Duration.ofSeconds(1), 3, Duration.ZERO, "test"));
+
+    // when
+    timer.update(-1, TimeUnit.MILLISECONDS);
+    timer.update(Duration.ofMillis(5));
+
+    // then
+    assertThat(timer.getCount()).isEqualTo(1);
+    assertThat(timer.getSnapshot().size()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_count_marks_and_compute_rates_lazily() {
+    // given
+    StripedMeter meter = new StripedMeter();
+
+    // when
+    meter.mark();
+    meter.mark(9);
+
+    // then
+    assertThat(meter.getCount()).isEqualTo(10);
+    assertThat(meter.getMeanRate()).isGreaterThan(0);
+    // reading the rates again does not count the same events twice
+    meter.getMeanRate();
+    assertThat(meter.getCount()).isEqualTo(10);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TopKeysSketchTest {
+
+  private List<String> evicted;
+  private TopKeysSketch<String, String> sketch;
+
+  @Before
+  public void setup() {
+    evicted = new ArrayList<>();
+    sketch = new TopKeysSketch<>(2, key -> "value-" + key, (key, value) -> evicted.add(key));
+  }
+
+  @Test
+  public void should_create_value_when_key_is_first_offered() {
+    assertThat(sketch.offer("a")).isEqualTo("value-a");
+    assertThat(sketch.offer("a")).isEqualTo("value-a");
+    assertThat(sketch.size()).isEqualTo(1);
+    assertThat(evicted).isEmpty();
+  }
+
+  @Test
+  public void should_evict_least_frequent_key_when_full() {
+    // given
+    sketch.offer("a");
+    sketch.offer("a");
+    sketch.offer("b");
+
+    // when
+    sketch.offer("c");
+
+    // then
+    assertThat(evicted).containsExactly("b");
+    assertThat(sketch.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_keep_frequent_key_when_rare_keys_rotate() {
+    // given
+    for (int i = 0; i < 10; i++) {
+      sketch.offer("frequent");
+    }
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      sketch.offer("rare" + i);
+    }
+
+    // then
+    assertThat(evicted).containsExactly("rare0", "rare1", "rare2", "rare3");
+    assertThat(evicted).doesNotContain("frequent");
+  }
+
+  @Test
+  public void should_evict_idle_keys() {
+    // given
+    sketch.offer("a");
+    sketch.offer("b");
+    sketch.evictIdle();
+    assertThat(evicted).isEmpty();
+
+    // when
+    sketch.offer("a");
+    sketch.evictIdle();
+
+    // then
+    assertThat(evicted).containsExactly("b");
+    assertThat(sketch.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_evict_all_keys_when_cleared() {
+    sketch.offer("a");
+    sketch.offer("b");
+
+    sketch.clear();
+
+    assertThat(evicted).containsExactlyInAnyOrder("a", "b");
+    assertThat(sketch.size()).isZero();
+  }
+
+  @Test
+  public void should_recycle_evicted_value_when_replacing_key() {
+    // given
+    List<String> recycled = new ArrayList<>();
+    TopKeysSketch<String, String> recyclingSketch =
+        new TopKeysSketch<>(
+            1,
+            key -> "value-" + key,
+            (key, value) -> evicted.add(key),
+            (key, evictedValue) -> {
+              recycled.add(evictedValue);
+              return "recycled-" + key;
+            });
+    recyclingSketch.offer("a");
+
+    // when
+    String value = recyclingSketch.offer("b");
+
+    // then
+    assertThat(value).isEqualTo("recycled-b");
+    assertThat(evicted).containsExactly("a");
+    assertThat(recycled).containsExactly("value-a");
+  }
+}
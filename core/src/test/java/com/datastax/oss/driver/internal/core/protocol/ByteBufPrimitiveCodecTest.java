@@ -22,9 +22,11 @@ import com.datastax.oss.driver.internal.core.util.ByteBufs;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 import org.junit.Test;
 
 /**
@@ -323,6 +325,40 @@ public class ByteBufPrimitiveCodecTest {
                 "cafebabe");
   }
 
+  @Test
+  public void should_write_non_ascii_string() {
+    ByteBuf dest = allocate(5);
+    codec.writeString("\u00e9\u20ac", dest);
+    assertThat(dest)
+        .containsExactly(
+            "0x0005" // size as an unsigned short
+                + "c3a9e282ac" // UTF-8 contents
+            );
+  }
+
+  @Test
+  public void should_write_bytes_from_heap_slice_without_consuming_them() {
+    ByteBuffer bytes = Bytes.fromHexString("0x00cafebabe00");
+    bytes.position(1);
+    ByteBuffer slice = bytes.slice();
+    slice.limit(4);
+    ByteBuf dest = allocate(8);
+    codec.writeBytes(slice, dest);
+    assertThat(dest).containsExactly("0x00000004" + "cafebabe");
+    assertThat(slice.remaining()).isEqualTo(4);
+  }
+
+  @Test
+  public void should_write_bytes_from_direct_buffer_without_consuming_them() {
+    ByteBuffer bytes = ByteBuffer.allocateDirect(4);
+    bytes.put(Bytes.fromHexString("0xcafebabe"));
+    bytes.flip();
+    ByteBuf dest = allocate(8);
+    codec.writeBytes(bytes, dest);
+    assertThat(dest).containsExactly("0x00000004" + "cafebabe");
+    assertThat(bytes.remaining()).isEqualTo(4);
+  }
+
   @Test
   public void should_write_short_bytes() {
     ByteBuf dest = allocate(6);
@@ -341,6 +377,35 @@ public class ByteBufPrimitiveCodecTest {
     assertThat(dest).containsExactly("0xFFFFFFFF");
   }
 
+  @Test
+  public void should_compute_same_crc_for_heap_direct_and_composite_buffers() {
+    // given
+    byte[] bytes = Bytes.getArray(Bytes.fromHexString("0xcafebabedeadbeef"));
+    CRC32 expected = new CRC32();
+    expected.update(bytes, 2, 6);
+
+    ByteBuf heap = Unpooled.wrappedBuffer(bytes);
+    heap.skipBytes(2);
+    ByteBuf direct = Unpooled.directBuffer(8).writeBytes(bytes);
+    direct.skipBytes(2);
+    ByteBuf composite =
+        Unpooled.compositeBuffer()
+            .addComponent(true, Unpooled.directBuffer(4).writeBytes(bytes, 0, 4))
+            .addComponent(true, Unpooled.wrappedBuffer(bytes, 4, 4));
+    composite.skipBytes(2);
+
+    for (ByteBuf source : new ByteBuf[] {heap, direct, composite}) {
+      // when
+      CRC32 actual = new CRC32();
+      codec.updateCrc(source, actual);
+
+      // then
+      assertThat(actual.getValue()).isEqualTo(expected.getValue());
+      assertThat(source.readerIndex()).isEqualTo(2);
+      source.release();
+    }
+  }
+
   private static ByteBuf allocate(int length) {
     return ByteBufAllocator.DEFAULT.buffer(length);
   }
@@ -0,0 +1,96 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.oss.driver.shaded.guava.common.base.Strings;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class Lz4CompressorTest {
+
+  private static final byte[] PAYLOAD =
+      Strings.repeat("abcdefgh", 128).getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void should_compress_and_decompress_composite_buffers() {
+    // given
+    Lz4Compressor compressor = new Lz4Compressor("test");
+    CompositeByteBuf input = ByteBufAllocator.DEFAULT.compositeBuffer();
+    input.addComponent(
+        true, ByteBufAllocator.DEFAULT.heapBuffer().writeBytes(PAYLOAD, 0, PAYLOAD.length / 2));
+    input.addComponent(
+        true,
+        ByteBufAllocator.DEFAULT
+            .directBuffer()
+            .writeBytes(PAYLOAD, PAYLOAD.length / 2, PAYLOAD.length / 2));
+
+    // when
+    ByteBuf compressed = compressor.compressWithoutLength(input);
+    CompositeByteBuf compressedComposite = ByteBufAllocator.DEFAULT.compositeBuffer();
+    int half = compressed.readableBytes() / 2;
+    compressedComposite.addComponent(true, compressed.readRetainedSlice(half));
+    compressedComposite.addComponent(
+        true, compressed.readRetainedSlice(compressed.readableBytes()));
+    ByteBuf decompressed = compressor.decompressWithoutLength(compressedComposite, PAYLOAD.length);
+
+    // then
+    assertThat(ByteBufUtil.getBytes(decompressed)).isEqualTo(PAYLOAD);
+    input.release();
+    compressed.release();
+    compressedComposite.release();
+    decompressed.release();
+  }
+
+  @Test
+  public void should_not_compress_segment_below_threshold() {
+    // given
+    Lz4Compressor compressor = new Lz4Compressor("test", PAYLOAD.length + 1);
+    ByteBuf input = ByteBufAllocator.DEFAULT.buffer().writeBytes(PAYLOAD);
+
+    // when
+    ByteBuf compressed = compressor.compressWithoutLength(input);
+
+    // then
+    // the result is a view of the input, the segment codec will send the input uncompressed
+    assertThat(compressed.readableBytes()).isEqualTo(PAYLOAD.length);
+    assertThat(input.refCnt()).isEqualTo(2);
+    compressed.release();
+    assertThat(input.refCnt()).isEqualTo(1);
+    input.release();
+  }
+
+  @Test
+  public void should_compress_frame_below_threshold() {
+    // given
+    Lz4Compressor compressor = new Lz4Compressor("test", PAYLOAD.length + 1);
+    ByteBuf input = ByteBufAllocator.DEFAULT.buffer().writeBytes(PAYLOAD);
+
+    // when
+    ByteBuf compressed = compressor.compress(input);
+
+    // then
+    // the threshold only applies to protocol v5 segments
+    assertThat(compressed.readableBytes()).isLessThan(PAYLOAD.length);
+    input.release();
+    compressed.release();
+  }
+}
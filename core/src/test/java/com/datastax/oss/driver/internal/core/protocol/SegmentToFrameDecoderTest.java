@@ -82,6 +82,27 @@ public class SegmentToFrameDecoderTest {
     assertThat(frame.message).isInstanceOf(AuthResponse.class);
   }
 
+  @Test
+  public void should_release_accumulated_slices_if_removed_before_end_of_frame() {
+    // given
+    ByteBuf encodedFrame =
+        encodeFrame(new AuthResponse(Bytes.fromHexString("0x" + Strings.repeat("aa", 1011))));
+    ByteBuf payload1 = encodedFrame.readRetainedSlice(100);
+    ByteBuf payload2 = encodedFrame.readRetainedSlice(100);
+    channel.writeInbound(new Segment<>(payload1, false));
+    channel.writeInbound(new Segment<>(payload2, false));
+    // (the slices share the reference count of the original buffer)
+    assertThat(encodedFrame.refCnt()).isEqualTo(3);
+
+    // when
+    channel.pipeline().removeFirst();
+
+    // then
+    assertThat((Object) channel.readInbound()).isNull();
+    assertThat(encodedFrame.refCnt()).isEqualTo(1);
+    encodedFrame.release();
+  }
+
   private static ByteBuf encodeFrame(Message message) {
     Frame frame =
         Frame.forResponse(
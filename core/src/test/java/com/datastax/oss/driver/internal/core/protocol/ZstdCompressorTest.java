@@ -0,0 +1,138 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.datastax.oss.driver.shaded.guava.common.base.Strings;
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ZstdCompressorTest {
+
+  private static final byte[] PAYLOAD =
+      Strings.repeat("{\"id\":42,\"name\":\"foo\",\"tags\":[\"bar\",\"baz\"]}", 100)
+          .getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void should_compress_and_decompress_heap_buffers() {
+    should_compress_and_decompress(new ZstdCompressor("test", 3, null, 0), false);
+  }
+
+  @Test
+  public void should_compress_and_decompress_direct_buffers() {
+    should_compress_and_decompress(new ZstdCompressor("test", 3, null, 0), true);
+  }
+
+  @Test
+  public void should_compress_and_decompress_with_dictionary() {
+    byte[] dictionary = "{\"id\":,\"name\":\"\",\"tags\":[]}".getBytes(StandardCharsets.UTF_8);
+    ZstdCompressor compressor = new ZstdCompressor("test", 3, dictionary, 0);
+    should_compress_and_decompress(compressor, false);
+    should_compress_and_decompress(compressor, true);
+  }
+
+  @Test
+  public void should_not_write_past_declared_length_if_frame_is_larger() {
+    // given
+    byte[] dictionary = "{\"id\":,\"name\":\"\",\"tags\":[]}".getBytes(StandardCharsets.UTF_8);
+    ZstdCompressor compressor = new ZstdCompressor("test", 3, dictionary, 0);
+    // Every heap buffer has trailing space past its capacity, like a slice of a pooled arena chunk
+    int guardLength = PAYLOAD.length;
+    List<byte[]> arrays = new ArrayList<>();
+    ByteBufAllocator allocator =
+        new AbstractByteBufAllocator(false) {
+          @Override
+          protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            byte[] array = new byte[initialCapacity + guardLength];
+            arrays.add(array);
+            return new UnpooledHeapByteBuf(this, array, array.length) {}.slice(0, initialCapacity)
+                .clear();
+          }
+
+          @Override
+          protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public boolean isDirectBufferPooled() {
+            return false;
+          }
+        };
+    ByteBuf input = allocator.heapBuffer(PAYLOAD.length).writeBytes(PAYLOAD);
+    ByteBuf compressed = compressor.compressWithoutLength(input);
+    int declaredLength = PAYLOAD.length / 2;
+
+    // when
+    Throwable error =
+        catchThrowable(() -> compressor.decompressWithoutLength(compressed, declaredLength));
+
+    // then
+    assertThat(error).isInstanceOf(IllegalArgumentException.class);
+    byte[] outputArray = arrays.get(arrays.size() - 1);
+    for (int i = declaredLength; i < outputArray.length; i++) {
+      assertThat(outputArray[i]).as("byte at index %d", i).isEqualTo((byte) 0);
+    }
+    input.release();
+    compressed.release();
+  }
+
+  @Test
+  public void should_fail_if_invalid_level() {
+    assertThatThrownBy(() -> new ZstdCompressor("test", 0, null, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid zstd compression level 0");
+  }
+
+  private void should_compress_and_decompress(ZstdCompressor compressor, boolean direct) {
+    // with prepended length (protocol v4 and below)
+    ByteBuf input = newBuffer(direct);
+    ByteBuf compressed = compressor.compress(input);
+    assertThat(compressed.readableBytes()).isLessThan(PAYLOAD.length);
+    ByteBuf decompressed = compressor.decompress(compressed);
+    assertThat(ByteBufUtil.getBytes(decompressed)).isEqualTo(PAYLOAD);
+    input.release();
+    compressed.release();
+    decompressed.release();
+
+    // without length (protocol v5 segments)
+    input = newBuffer(direct);
+    compressed = compressor.compressWithoutLength(input);
+    decompressed = compressor.decompressWithoutLength(compressed, PAYLOAD.length);
+    assertThat(ByteBufUtil.getBytes(decompressed)).isEqualTo(PAYLOAD);
+    input.release();
+    compressed.release();
+    decompressed.release();
+  }
+
+  private static ByteBuf newBuffer(boolean direct) {
+    ByteBuf buffer =
+        direct
+            ? ByteBufAllocator.DEFAULT.directBuffer(PAYLOAD.length)
+            : ByteBufAllocator.DEFAULT.heapBuffer(PAYLOAD.length);
+    return buffer.writeBytes(PAYLOAD);
+  }
+}
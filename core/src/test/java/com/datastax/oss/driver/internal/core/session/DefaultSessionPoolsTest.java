@@ -41,8 +41,10 @@ import com.datastax.oss.driver.api.core.metadata.NodeStateListener;
 import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListener;
 import com.datastax.oss.driver.api.core.retry.RetryPolicy;
 import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.api.core.session.throttling.RequestThrottler;
 import com.datastax.oss.driver.api.core.specex.SpeculativeExecutionPolicy;
 import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
 import com.datastax.oss.driver.internal.core.context.EventBus;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.context.NettyOptions;
@@ -56,20 +58,26 @@ import com.datastax.oss.driver.internal.core.metadata.NodeStateEvent;
 import com.datastax.oss.driver.internal.core.metadata.TestNodeFactory;
 import com.datastax.oss.driver.internal.core.metadata.TopologyMonitor;
 import com.datastax.oss.driver.internal.core.metrics.MetricsFactory;
+import com.datastax.oss.driver.internal.core.metrics.NoopSessionMetricUpdater;
 import com.datastax.oss.driver.internal.core.pool.ChannelPool;
 import com.datastax.oss.driver.internal.core.pool.ChannelPoolFactory;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.protocol.internal.util.Bytes;
 import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.util.concurrent.DefaultPromise;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -140,6 +148,7 @@ public class DefaultSessionPoolsTest {
     when(context.getConfigLoader()).thenReturn(configLoader);
 
     when(context.getMetricsFactory()).thenReturn(metricsFactory);
+    when(metricsFactory.getSessionUpdater()).thenReturn(NoopSessionMetricUpdater.INSTANCE);
 
     // Runtime behavior:
     when(context.getSessionName()).thenReturn("test");
@@ -819,6 +828,88 @@ public class DefaultSessionPoolsTest {
     verify(pool2, VERIFY_TIMEOUT).forceCloseAsync();
   }
 
+  @Test
+  public void should_reprepare_before_using_pool_again_if_node_comes_back_up() {
+    enableReprepare();
+
+    ChannelPool pool1 = mockPool(node1);
+    ChannelPool pool2 = mockPool(node2);
+    ChannelPool pool3 = mockPool(node3);
+    MockChannelPoolFactoryHelper factoryHelper =
+        MockChannelPoolFactoryHelper.builder(channelPoolFactory)
+            .success(node1, KEYSPACE, NodeDistance.LOCAL, pool1)
+            .success(node2, KEYSPACE, NodeDistance.LOCAL, pool2)
+            .success(node3, KEYSPACE, NodeDistance.LOCAL, pool3)
+            .build();
+
+    CompletionStage<CqlSession> initFuture = newSession();
+
+    factoryHelper.waitForCall(node1, KEYSPACE, NodeDistance.LOCAL);
+    factoryHelper.waitForCall(node2, KEYSPACE, NodeDistance.LOCAL);
+    factoryHelper.waitForCall(node3, KEYSPACE, NodeDistance.LOCAL);
+    assertThatStage(initFuture).isSuccess();
+    DefaultSession session =
+        (DefaultSession) CompletableFutures.getCompleted(initFuture.toCompletableFuture());
+    assertThat(session.getPools()).containsValues(pool1, pool2, pool3);
+    addRepreparePayload(session);
+
+    // Capture the active pools at the time the statement gets reprepared on node2
+    AtomicReference<Map<Node, ChannelPool>> poolsDuringReprepare = new AtomicReference<>();
+    when(pool2.next())
+        .then(
+            i -> {
+              poolsDuringReprepare.set(new HashMap<>(session.getPools()));
+              // No channel available: the reprepare fails, but the process completes
+              return null;
+            });
+
+    eventBus.fire(NodeStateEvent.changed(NodeState.DOWN, NodeState.UP, node2));
+
+    verify(pool2, VERIFY_TIMEOUT).next();
+    assertThat(poolsDuringReprepare.get()).containsValues(pool1, pool3).doesNotContainKey(node2);
+    await().untilAsserted(() -> assertThat(session.getPools()).containsEntry(node2, pool2));
+  }
+
+  @Test
+  public void should_close_pool_if_closing_while_repreparing_after_node_comes_back_up() {
+    enableReprepare();
+    // Reprepare requests will never get a green light, so the process stays in progress
+    RequestThrottler throttler = mock(RequestThrottler.class);
+    when(context.getRequestThrottler()).thenReturn(throttler);
+
+    ChannelPool pool1 = mockPool(node1);
+    ChannelPool pool2 = mockPool(node2);
+    when(pool2.next()).thenReturn(mock(DriverChannel.class));
+    ChannelPool pool3 = mockPool(node3);
+    MockChannelPoolFactoryHelper factoryHelper =
+        MockChannelPoolFactoryHelper.builder(channelPoolFactory)
+            .success(node1, KEYSPACE, NodeDistance.LOCAL, pool1)
+            .success(node2, KEYSPACE, NodeDistance.LOCAL, pool2)
+            .success(node3, KEYSPACE, NodeDistance.LOCAL, pool3)
+            .build();
+
+    CompletionStage<CqlSession> initFuture = newSession();
+
+    factoryHelper.waitForCall(node1, KEYSPACE, NodeDistance.LOCAL);
+    factoryHelper.waitForCall(node2, KEYSPACE, NodeDistance.LOCAL);
+    factoryHelper.waitForCall(node3, KEYSPACE, NodeDistance.LOCAL);
+    assertThatStage(initFuture).isSuccess();
+    DefaultSession session =
+        (DefaultSession) CompletableFutures.getCompleted(initFuture.toCompletableFuture());
+    addRepreparePayload(session);
+
+    eventBus.fire(NodeStateEvent.changed(NodeState.DOWN, NodeState.UP, node2));
+    verify(throttler, VERIFY_TIMEOUT).register(any());
+    assertThat(session.getPools()).containsValues(pool1, pool3).doesNotContainKey(node2);
+
+    CompletionStage<Void> closeFuture = session.closeAsync();
+    assertThatStage(closeFuture).isSuccess();
+
+    verify(pool1, VERIFY_TIMEOUT).closeAsync();
+    verify(pool2, VERIFY_TIMEOUT).closeAsync();
+    verify(pool3, VERIFY_TIMEOUT).closeAsync();
+  }
+
   @Test
   public void should_set_keyspace_on_all_pools() {
     ChannelPool pool1 = mockPool(node1);
@@ -890,6 +981,23 @@ public class DefaultSessionPoolsTest {
     verify(pool2, VERIFY_TIMEOUT).setKeyspace(newKeyspace);
   }
 
+  private void enableReprepare() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.REPREPARE_ENABLED)).thenReturn(true);
+    when(defaultProfile.getBoolean(DefaultDriverOption.REPREPARE_CHECK_SYSTEM_TABLE))
+        .thenReturn(false);
+    when(defaultProfile.getInt(DefaultDriverOption.REPREPARE_MAX_STATEMENTS)).thenReturn(0);
+    when(defaultProfile.getInt(DefaultDriverOption.REPREPARE_MAX_PARALLELISM)).thenReturn(1);
+    when(defaultProfile.getDuration(DefaultDriverOption.REPREPARE_TIMEOUT))
+        .thenReturn(Duration.ofMillis(500));
+  }
+
+  private void addRepreparePayload(DefaultSession session) {
+    ByteBuffer id = Bytes.fromHexString("0xcafebabe");
+    session
+        .getRepreparePayloads()
+        .put(id, new RepreparePayload(id, "SELECT * FROM foo", null, Collections.emptyMap()));
+  }
+
   private ChannelPool mockPool(Node node) {
     ChannelPool pool = mock(ChannelPool.class);
     when(pool.getNode()).thenReturn(node);
@@ -65,4 +65,23 @@ public class PoolManagerTest {
     assertThat(new PoolManager(context).getRepreparePayloads())
         .isInstanceOf(ConcurrentHashMap.class);
   }
+
+  @Test
+  public void should_use_weak_values_if_config_is_false_but_cache_has_max_size() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true))
+        .thenReturn(false);
+    when(defaultProfile.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, 0)).thenReturn(100L);
+    assertThat(new PoolManager(context).getRepreparePayloads())
+        .isNotInstanceOf(ConcurrentHashMap.class);
+  }
+
+  @Test
+  public void should_use_weak_values_if_config_is_false_but_cache_expires() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true))
+        .thenReturn(false);
+    when(defaultProfile.isDefined(DefaultDriverOption.PREPARED_CACHE_EXPIRE_AFTER_ACCESS))
+        .thenReturn(true);
+    assertThat(new PoolManager(context).getRepreparePayloads())
+        .isNotInstanceOf(ConcurrentHashMap.class);
+  }
 }
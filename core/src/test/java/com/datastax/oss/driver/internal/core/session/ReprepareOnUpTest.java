@@ -335,6 +335,97 @@ public class ReprepareOnUpTest {
     assertThatStage(done).isSuccess(v -> assertThat(reprepareOnUp.queries).isEmpty());
   }
 
+  @Test
+  public void should_reprepare_most_executed_statements_first() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.REPREPARE_CHECK_SYSTEM_TABLE))
+        .thenReturn(false);
+    Map<ByteBuffer, RepreparePayload> payloads = getMockPayloads('a', 'b', 'c', 'd');
+    recordExecutions(payloads, 'b', 5);
+    recordExecutions(payloads, 'd', 10);
+
+    MockReprepareOnUp reprepareOnUp =
+        new MockReprepareOnUp(
+            "test", pool, ImmediateEventExecutor.INSTANCE, payloads, context, whenPrepared);
+
+    reprepareOnUp.start();
+
+    for (char c : new char[] {'d', 'b', 'a', 'c'}) {
+      MockAdminQuery adminQuery = reprepareOnUp.queries.poll();
+      assertThat(adminQuery).isNotNull();
+      assertThat(adminQuery.request).isInstanceOf(Prepare.class);
+      assertThat(((Prepare) adminQuery.request).cqlQuery).isEqualTo("mock query " + c);
+      adminQuery.resultFuture.complete(null);
+    }
+
+    assertThatStage(done).isSuccess(v -> assertThat(reprepareOnUp.queries).isEmpty());
+  }
+
+  @Test
+  public void should_keep_most_executed_statements_when_limiting_number_to_reprepare() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.REPREPARE_CHECK_SYSTEM_TABLE))
+        .thenReturn(false);
+    when(defaultProfile.getInt(DefaultDriverOption.REPREPARE_MAX_STATEMENTS)).thenReturn(2);
+    Map<ByteBuffer, RepreparePayload> payloads = getMockPayloads('a', 'b', 'c', 'd', 'e', 'f');
+    recordExecutions(payloads, 'c', 3);
+    recordExecutions(payloads, 'f', 1);
+
+    MockReprepareOnUp reprepareOnUp =
+        new MockReprepareOnUp(
+            "test", pool, ImmediateEventExecutor.INSTANCE, payloads, context, whenPrepared);
+
+    reprepareOnUp.start();
+
+    for (char c : new char[] {'c', 'f'}) {
+      MockAdminQuery adminQuery = reprepareOnUp.queries.poll();
+      assertThat(adminQuery).isNotNull();
+      assertThat(adminQuery.request).isInstanceOf(Prepare.class);
+      assertThat(((Prepare) adminQuery.request).cqlQuery).isEqualTo("mock query " + c);
+      adminQuery.resultFuture.complete(null);
+    }
+
+    assertThatStage(done).isSuccess(v -> assertThat(reprepareOnUp.queries).isEmpty());
+  }
+
+  @Test
+  public void should_favor_recent_executions_when_counts_have_decayed() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.REPREPARE_CHECK_SYSTEM_TABLE))
+        .thenReturn(false);
+    Map<ByteBuffer, RepreparePayload> payloads = getMockPayloads('a', 'b', 'c', 'd');
+    // b was hot a while ago, d is hot now
+    recordExecutions(payloads, 'b', 10);
+    for (RepreparePayload payload : payloads.values()) {
+      payload.decayExecutions();
+      payload.decayExecutions();
+      payload.decayExecutions();
+    }
+    recordExecutions(payloads, 'd', 3);
+    assertThat(payloads.get(Bytes.fromHexString("0x0b")).getExecutions()).isEqualTo(1);
+
+    MockReprepareOnUp reprepareOnUp =
+        new MockReprepareOnUp(
+            "test", pool, ImmediateEventExecutor.INSTANCE, payloads, context, whenPrepared);
+
+    reprepareOnUp.start();
+
+    for (char c : new char[] {'d', 'b', 'a', 'c'}) {
+      MockAdminQuery adminQuery = reprepareOnUp.queries.poll();
+      assertThat(adminQuery).isNotNull();
+      assertThat(adminQuery.request).isInstanceOf(Prepare.class);
+      assertThat(((Prepare) adminQuery.request).cqlQuery).isEqualTo("mock query " + c);
+      adminQuery.resultFuture.complete(null);
+    }
+
+    assertThatStage(done).isSuccess(v -> assertThat(reprepareOnUp.queries).isEmpty());
+  }
+
+  private void recordExecutions(
+      Map<ByteBuffer, RepreparePayload> payloads, char value, int executions) {
+    RepreparePayload payload = payloads.get(Bytes.fromHexString("0x0" + value));
+    for (int i = 0; i < executions; i++) {
+      payload.recordExecution();
+    }
+  }
+
   private Map<ByteBuffer, RepreparePayload> getMockPayloads(char... values) {
     ImmutableMap.Builder<ByteBuffer, RepreparePayload> builder = ImmutableMap.builder();
     for (char value : values) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.time;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static com.datastax.oss.driver.Assertions.fail;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.Test;
+
+public class StripedTimestampGeneratorTest extends MonotonicTimestampGeneratorTestBase {
+  @Override
+  protected MonotonicTimestampGenerator newInstance(Clock clock) {
+    return new StripedTimestampGenerator(clock, context);
+  }
+
+  @Test
+  public void should_generate_unique_timestamps_across_all_threads() throws Exception {
+    // Clock that advances by one microsecond every time it is read
+    AtomicLong ticks = new AtomicLong();
+    Clock clock = ticks::incrementAndGet;
+
+    MonotonicTimestampGenerator generator = new StripedTimestampGenerator(clock, context);
+
+    final int longLivedThreadsCount = 8;
+    final int timestampsPerLongLivedThread = 10_000;
+    final int shortLivedThreadsCount = 2_000;
+    final int timestampsPerShortLivedThread = 2;
+
+    final Set<Long> allTimestamps = ConcurrentHashMap.newKeySet();
+    final AtomicLong maxLead = new AtomicLong();
+    final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    Function<Integer, Runnable> task =
+        timestampsPerThread ->
+            () -> {
+              List<Long> threadTimestamps = new ArrayList<>(timestampsPerThread);
+              for (int j = 0; j < timestampsPerThread; j++) {
+                long timestamp = generator.next();
+                maxLead.accumulateAndGet(timestamp - ticks.get(), Math::max);
+                threadTimestamps.add(timestamp);
+              }
+              allTimestamps.addAll(threadTimestamps);
+              try {
+                // Strictly increasing within each thread
+                assertThat(threadTimestamps).isSorted().doesNotHaveDuplicates();
+              } catch (Throwable t) {
+                errors.add(t);
+              }
+            };
+
+    ExecutorService executor = Executors.newFixedThreadPool(longLivedThreadsCount + 1);
+    for (int i = 0; i < longLivedThreadsCount; i++) {
+      executor.submit(task.apply(timestampsPerLongLivedThread));
+    }
+    // Meanwhile, start threads that only generate a few timestamps each
+    executor.submit(
+        () -> {
+          for (int i = 0; i < shortLivedThreadsCount; i++) {
+            Thread thread = new Thread(task.apply(timestampsPerShortLivedThread));
+            thread.start();
+            thread.join();
+          }
+          return null;
+        });
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      fail("Expected executor to shut down cleanly");
+    }
+
+    assertThat(errors).isEmpty();
+    assertThat(allTimestamps)
+        .hasSize(
+            longLivedThreadsCount * timestampsPerLongLivedThread
+                + shortLivedThreadsCount * timestampsPerShortLivedThread);
+    // The clock advances at least as fast as timestamps are generated, so the generator never has
+    // to drift: the only lead comes from reservations, and it is bounded.
+    assertThat(maxLead.get()).isLessThanOrEqualTo(StripedTimestampGenerator.MAX_LEAD_MICROS);
+  }
+
+  @Test
+  public void should_fall_back_to_shared_counter_once_closed() throws Exception {
+    when(clock.currentTimeMicros()).thenReturn(1L, 1L, 1L, 1L);
+
+    MonotonicTimestampGenerator generator = new StripedTimestampGenerator(clock, context, 8);
+
+    assertThat(generator.next()).isEqualTo(1);
+    assertThat(generator.next()).isEqualTo(2);
+    generator.close();
+    // Still unique after the thread-local blocks were discarded
+    assertThat(generator.next()).isEqualTo(4);
+    assertThat(generator.next()).isEqualTo(5);
+  }
+
+  @Test
+  public void should_reserve_new_block_when_clock_moves_past_current_one() {
+    when(clock.currentTimeMicros()).thenReturn(1L, 1L, 100L, 100L);
+
+    MonotonicTimestampGenerator generator = new StripedTimestampGenerator(clock, context, 8);
+
+    assertThat(generator.next()).isEqualTo(1);
+    assertThat(generator.next()).isEqualTo(2);
+    assertThat(generator.next()).isEqualTo(100);
+    assertThat(generator.next()).isEqualTo(101);
+  }
+}
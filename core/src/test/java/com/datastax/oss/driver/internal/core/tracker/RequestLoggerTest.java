@@ -0,0 +1,145 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.tracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestLoggerTest {
+
+  @Mock private RequestLogFormatter formatter;
+  @Mock private DriverExecutionProfile profile;
+  @Mock private Request request;
+  @Mock private Node node;
+
+  private final List<String> loggingThreads = new CopyOnWriteArrayList<>();
+
+  @Before
+  public void setup() {
+    when(profile.getBoolean(DefaultDriverOption.REQUEST_LOGGER_SUCCESS_ENABLED, false))
+        .thenReturn(true);
+    when(profile.getDuration(
+            DefaultDriverOption.REQUEST_LOGGER_SLOW_THRESHOLD, Duration.ofSeconds(1)))
+        .thenReturn(Duration.ofSeconds(1));
+  }
+
+  @Test
+  public void should_log_on_calling_thread_if_synchronous() {
+    // given
+    RequestLogger logger = newLogger(null, null, null);
+
+    // when
+    logger.onSuccess(request, 0, profile, node, "s0|1");
+
+    // then
+    assertThat(loggingThreads).containsExactly(Thread.currentThread().getName());
+  }
+
+  @Test
+  public void should_log_on_background_thread_if_asynchronous() throws Exception {
+    // given
+    ThreadPoolExecutor executor = newExecutor(16);
+    RequestLogger logger = newLogger(executor, null, null);
+
+    // when
+    logger.onSuccess(request, 0, profile, node, "s0|1");
+    logger.close();
+
+    // then
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(loggingThreads).containsExactly("s0-request-logger");
+    assertThat(logger.getDroppedRecords()).isZero();
+  }
+
+  @Test
+  public void should_drop_records_if_queue_is_full() throws Exception {
+    // given
+    ThreadPoolExecutor executor = newExecutor(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    RequestLogger logger = newLogger(executor, started, release);
+
+    // when
+    // the first record blocks the background thread, the second one fills the queue
+    logger.onSuccess(request, 0, profile, node, "s0|1");
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    logger.onSuccess(request, 0, profile, node, "s0|2");
+    logger.onSuccess(request, 0, profile, node, "s0|3");
+    logger.onSuccess(request, 0, profile, node, "s0|4");
+    release.countDown();
+    logger.close();
+
+    // then
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(loggingThreads).hasSize(2);
+    assertThat(logger.getDroppedRecords()).isEqualTo(2);
+  }
+
+  private ThreadPoolExecutor newExecutor(int queueSize) {
+    return new ThreadPoolExecutor(
+        1,
+        1,
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize),
+        runnable -> new Thread(runnable, "s0-request-logger"));
+  }
+
+  private RequestLogger newLogger(
+      ThreadPoolExecutor executor, CountDownLatch started, CountDownLatch release) {
+    return new RequestLogger(formatter, executor) {
+      @Override
+      protected void logSuccess(
+          Request request,
+          long latencyNanos,
+          boolean isSlow,
+          Node node,
+          int maxQueryLength,
+          boolean showValues,
+          int maxValues,
+          int maxValueLength,
+          String logPrefix) {
+        loggingThreads.add(Thread.currentThread().getName());
+        if (started != null) {
+          started.countDown();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.tracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.servererrors.OverloadedException;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestSpan;
+import com.datastax.oss.driver.api.core.tracker.RequestSpanExporter;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestSpanTrackerTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+  @Mock private InternalDriverContext context;
+  @Mock private RequestSpanExporter exporter;
+  @Mock private Request request;
+  @Mock private DriverExecutionProfile profile;
+  @Mock private Node node1;
+  @Mock private Node node2;
+  @Captor private ArgumentCaptor<List<RequestSpan>> spansCaptor;
+
+  @Before
+  public void setup() {
+    when(context.getSessionName()).thenReturn("s0");
+  }
+
+  @Test
+  public void should_record_sampled_request_with_its_attempts() {
+    // given
+    when(profile.getName()).thenReturn("default");
+    RequestSpanTracker tracker = newTracker(1.0, null, 16);
+    OverloadedException error = new OverloadedException(node1);
+
+    // when
+    tracker.onNodeError(request, error, SLOW, profile, node1, "s0|1|0");
+    tracker.onNodeSuccess(request, FAST, profile, node2, "s0|1|1");
+    tracker.onSuccess(request, SLOW, profile, node2, "s0|1");
+    tracker.export();
+
+    // then
+    verify(exporter).export(spansCaptor.capture(), eq(0L));
+    assertThat(spansCaptor.getValue()).hasSize(1);
+    RequestSpan span = spansCaptor.getValue().get(0);
+    assertThat(span.getRequest()).isSameAs(request);
+    assertThat(span.getLogPrefix()).isEqualTo("s0|1");
+    assertThat(span.getExecutionProfileName()).isEqualTo("default");
+    assertThat(span.getNode()).isSameAs(node2);
+    assertThat(span.getError()).isNull();
+    assertThat(span.getLatencyNanos()).isEqualTo(SLOW);
+    assertThat(span.getAttempts()).hasSize(2);
+    RequestSpan.Attempt attempt1 = span.getAttempts().get(0);
+    assertThat(attempt1.getNode()).isSameAs(node1);
+    assertThat(attempt1.getExecution()).isEqualTo(0);
+    assertThat(attempt1.isSpeculative()).isFalse();
+    assertThat(attempt1.getError()).isSameAs(error);
+    RequestSpan.Attempt attempt2 = span.getAttempts().get(1);
+    assertThat(attempt2.getNode()).isSameAs(node2);
+    assertThat(attempt2.getExecution()).isEqualTo(1);
+    assertThat(attempt2.isSpeculative()).isTrue();
+    assertThat(attempt2.getLatencyNanos()).isEqualTo(FAST);
+  }
+
+  @Test
+  public void should_not_record_unsampled_request() {
+    // given
+    RequestSpanTracker tracker = newTracker(0.0, null, 16);
+
+    // when
+    tracker.onNodeSuccess(request, FAST, profile, node1, "s0|1|0");
+    tracker.onSuccess(request, SLOW, profile, node1, "s0|1");
+    tracker.export();
+
+    // then
+    verify(exporter, never()).export(anyList(), anyLong());
+  }
+
+  @Test
+  public void should_record_slow_and_failed_requests_even_if_not_sampled() {
+    // given
+    when(profile.getName()).thenReturn("default");
+    RequestSpanTracker tracker = newTracker(0.0, Duration.ofMillis(100), 16);
+    OverloadedException error = new OverloadedException(node1);
+
+    // when
+    tracker.onNodeSuccess(request, FAST, profile, node1, "s0|1|0");
+    tracker.onSuccess(request, FAST, profile, node1, "s0|1");
+    tracker.onNodeSuccess(request, SLOW, profile, node1, "s0|2|0");
+    tracker.onSuccess(request, SLOW, profile, node1, "s0|2");
+    tracker.onNodeError(request, error, FAST, profile, node1, "s0|3|0");
+    tracker.onError(request, error, FAST, profile, node1, "s0|3");
+    tracker.export();
+
+    // then
+    verify(exporter).export(spansCaptor.capture(), eq(0L));
+    assertThat(spansCaptor.getValue())
+        .extracting(RequestSpan::getLogPrefix)
+        .containsExactlyInAnyOrder("s0|2", "s0|3");
+    for (RequestSpan span : spansCaptor.getValue()) {
+      assertThat(span.getAttempts()).hasSize(1);
+    }
+  }
+
+  @Test
+  public void should_drop_oldest_spans_if_buffer_full() {
+    // given
+    when(profile.getName()).thenReturn("default");
+    RequestSpanTracker tracker = newTracker(1.0, null, 2);
+
+    // when
+    tracker.onSuccess(request, FAST, profile, node1, "s0|1");
+    tracker.onSuccess(request, FAST, profile, node1, "s0|2");
+    tracker.onSuccess(request, FAST, profile, node1, "s0|3");
+    tracker.export();
+
+    // then
+    verify(exporter).export(spansCaptor.capture(), eq(1L));
+    assertThat(spansCaptor.getValue())
+        .extracting(RequestSpan::getLogPrefix)
+        .containsExactlyInAnyOrder("s0|2", "s0|3");
+  }
+
+  private RequestSpanTracker newTracker(double sampleRate, Duration slowThreshold, int bufferSize) {
+    return new RequestSpanTracker(
+        context, exporter, sampleRate, slowThreshold, bufferSize, Duration.ofSeconds(1));
+  }
+}
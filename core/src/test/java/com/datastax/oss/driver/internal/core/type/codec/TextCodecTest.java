@@ -17,8 +17,15 @@ package com.datastax.oss.driver.internal.core.type.codec;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.ExtraTypeCodecs;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
 import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.junit.Test;
 
 public class TextCodecTest extends CodecTestBase<String> {
@@ -34,6 +41,16 @@ public class TextCodecTest extends CodecTestBase<String> {
     assertThat(encode(null)).isNull();
   }
 
+  @Test
+  public void should_encode_non_ascii() {
+    assertThat(encode("\u00e9\u20ac\ud83d\ude00")).isEqualTo("0xc3a9e282acf09f9880");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_fail_to_encode_unpaired_surrogate() {
+    encode("a\ud83db");
+  }
+
   @Test
   public void should_decode() {
     assertThat(decode("0x68656c6c6f")).isEqualTo("hello");
@@ -41,6 +58,55 @@ public class TextCodecTest extends CodecTestBase<String> {
     assertThat(decode(null)).isNull();
   }
 
+  @Test
+  public void should_decode_non_ascii() {
+    assertThat(decode("0xc3a9e282acf09f9880")).isEqualTo("\u00e9\u20ac\ud83d\ude00");
+  }
+
+  @Test
+  public void should_decode_slice() {
+    ByteBuffer bytes = Bytes.fromHexString("0x0068656c6c6f00");
+    bytes.position(1);
+    ByteBuffer slice = bytes.slice();
+    slice.limit(5);
+    assertThat(codec.decode(slice, ProtocolVersion.DEFAULT)).isEqualTo("hello");
+    assertThat(slice.remaining()).isEqualTo(5);
+  }
+
+  @Test
+  public void should_decode_direct_buffer() {
+    ByteBuffer bytes = ByteBuffer.allocateDirect(5);
+    bytes.put(Bytes.fromHexString("0x68656c6c6f"));
+    bytes.flip();
+    assertThat(codec.decode(bytes, ProtocolVersion.DEFAULT)).isEqualTo("hello");
+    assertThat(bytes.remaining()).isEqualTo(5);
+  }
+
+  @Test
+  public void should_reuse_instances_of_short_values_if_deduplicating() {
+    TypeCodec<String> deduplicatingCodec = ExtraTypeCodecs.deduplicatingText(3);
+    String fr1 = deduplicatingCodec.decode(Bytes.fromHexString("0x4652"), ProtocolVersion.DEFAULT);
+    String fr2 = deduplicatingCodec.decode(Bytes.fromHexString("0x4652"), ProtocolVersion.DEFAULT);
+    String long1 =
+        deduplicatingCodec.decode(Bytes.fromHexString("0x68656c6c6f"), ProtocolVersion.DEFAULT);
+    String long2 =
+        deduplicatingCodec.decode(Bytes.fromHexString("0x68656c6c6f"), ProtocolVersion.DEFAULT);
+
+    assertThat(fr1).isEqualTo("FR").isSameAs(fr2);
+    assertThat(long1).isEqualTo("hello").isNotSameAs(long2);
+  }
+
+  @Test
+  public void should_not_reuse_instances_if_not_deduplicating() {
+    TypeCodec<String> plainCodec = new StringCodec(DataTypes.TEXT, StandardCharsets.UTF_8);
+    String fr1 = plainCodec.decode(Bytes.fromHexString("0x4652"), ProtocolVersion.DEFAULT);
+    String fr2 = plainCodec.decode(Bytes.fromHexString("0x4652"), ProtocolVersion.DEFAULT);
+    String nonAscii = plainCodec.decode(Bytes.fromHexString("0x46c3a9"), ProtocolVersion.DEFAULT);
+
+    assertThat(fr1).isEqualTo("FR").isEqualTo(fr2).isNotSameAs(fr2);
+    assertThat(nonAscii).isEqualTo("F\u00e9");
+  }
+
   @Test
   public void should_format() {
     assertThat(format("hello")).isEqualTo("'hello'");
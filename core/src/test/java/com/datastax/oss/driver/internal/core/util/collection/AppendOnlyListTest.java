@@ -0,0 +1,136 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.util.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.util.concurrent.Uninterruptibles;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AppendOnlyListTest {
+
+  @Test
+  public void should_append_elements() {
+    // given
+    AppendOnlyList<Integer> list = AppendOnlyList.copyOf(ImmutableList.of(1, 2));
+
+    // when
+    for (int i = 3; i <= 100; i++) {
+      list = list.append(i);
+    }
+
+    // then
+    assertThat(list).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(list.get(i)).isEqualTo(i + 1);
+    }
+  }
+
+  @Test
+  public void should_not_modify_original_list_when_appending() {
+    // given
+    AppendOnlyList<String> empty = AppendOnlyList.copyOf(Collections.emptyList());
+    AppendOnlyList<String> a = empty.append("a");
+
+    // when
+    AppendOnlyList<String> ab = a.append("b");
+    // a has already been appended to, so this must not overwrite "b"
+    AppendOnlyList<String> ac = a.append("c");
+
+    // then
+    assertThat(empty).isEmpty();
+    assertThat(a).containsExactly("a");
+    assertThat(ab).containsExactly("a", "b");
+    assertThat(ac).containsExactly("a", "c");
+    assertThat(ab.append("d")).containsExactly("a", "b", "d");
+    assertThat(ac.append("e")).containsExactly("a", "c", "e");
+  }
+
+  @Test
+  public void should_not_copy_another_append_only_list() {
+    AppendOnlyList<String> list = AppendOnlyList.copyOf(ImmutableList.of("a"));
+    assertThat(AppendOnlyList.copyOf(list)).isSameAs(list);
+  }
+
+  @Test
+  public void should_not_retain_elements_appended_to_base_list() {
+    // given
+    AppendOnlyList<Object> base = AppendOnlyList.copyOf(Collections.emptyList());
+    List<WeakReference<Object>> appended = new ArrayList<>();
+    AppendOnlyList<Object> derived = base;
+    for (int i = 0; i < 100; i++) {
+      Object element = new Object();
+      appended.add(new WeakReference<>(element));
+      derived = derived.append(element);
+    }
+
+    // when
+    derived = null;
+
+    // then
+    awaitCollected(appended);
+    assertThat(base).isEmpty();
+  }
+
+  @Test
+  public void should_retain_at_most_twice_own_size_of_elements_appended_by_derived_lists() {
+    // given
+    AppendOnlyList<Object> list = AppendOnlyList.copyOf(Collections.emptyList());
+    for (int i = 0; i < 50; i++) {
+      list = list.append(new Object());
+    }
+    AppendOnlyList<Object> intermediate = list;
+    List<WeakReference<Object>> appended = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Object element = new Object();
+      appended.add(new WeakReference<>(element));
+      list = list.append(element);
+    }
+
+    // when
+    list = null;
+
+    // then
+    // The intermediate list's array can hold at most 100 elements
+    awaitCollected(appended.subList(50, appended.size()));
+    assertThat(intermediate).hasSize(50);
+  }
+
+  private static void awaitCollected(List<WeakReference<Object>> references) {
+    for (int attempt = 0; attempt < 50; attempt++) {
+      System.gc();
+      if (references.stream().allMatch(reference -> reference.get() == null)) {
+        return;
+      }
+      Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    }
+    fail("Appended elements are still reachable");
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void should_not_expose_elements_appended_by_other_lists() {
+    AppendOnlyList<String> a = AppendOnlyList.copyOf(ImmutableList.of("a"));
+    a.append("b");
+    a.get(1);
+  }
+}
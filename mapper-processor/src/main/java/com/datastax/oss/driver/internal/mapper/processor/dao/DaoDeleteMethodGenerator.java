@@ -99,8 +99,8 @@ public class DaoDeleteMethodGenerator extends DaoMethodGenerator {
       return Optional.empty();
     }
 
-    // Validate the arguments: either an entity instance, or the PK components (in the latter case,
-    // the entity class has to be provided via the annotation).
+    // Validate the arguments: either an entity instance (or an Iterable of entities), or the PK
+    // components (in the latter case, the entity class has to be provided via the annotation).
     // In either case, a Function<BoundStatementBuilder, BoundStatementBuilder> can be added in last
     // position.
     List<? extends VariableElement> parameters = methodElement.getParameters();
@@ -126,6 +126,11 @@ public class DaoDeleteMethodGenerator extends DaoMethodGenerator {
     String customIfClause = annotation.customIfClause();
     VariableElement firstParameter = parameters.get(0);
     entityElement = EntityUtils.asEntityElement(firstParameter, typeParameters);
+    boolean isBulk = false;
+    if (entityElement == null) {
+      entityElement = asIterableOfEntityElement(firstParameter);
+      isBulk = (entityElement != null);
+    }
     hasEntityParameter = (entityElement != null);
 
     // the number of primary key parameters provided, if -1 this implies a custom
@@ -206,7 +211,9 @@ public class DaoDeleteMethodGenerator extends DaoMethodGenerator {
 
     // Validate the return type:
     DaoReturnType returnType =
-        parseAndValidateReturnType(getSupportedReturnTypes(), Delete.class.getSimpleName());
+        isBulk
+            ? parseAndValidateBulkReturnType(Delete.class.getSimpleName())
+            : parseAndValidateReturnType(getSupportedReturnTypes(), Delete.class.getSimpleName());
     if (returnType == null) {
       return Optional.empty();
     }
@@ -229,6 +236,8 @@ public class DaoDeleteMethodGenerator extends DaoMethodGenerator {
     populateBuilderWithStatementAttributes(createStatementBlock, methodElement);
     populateBuilderWithFunction(createStatementBlock, boundStatementFunction);
 
+    String entityParameterName =
+        isBulk ? getBulkElementName() : firstParameter.getSimpleName().toString();
     int nextParameterIndex = 0;
     if (hasEntityParameter) {
       warnIfCqlNamePresent(Collections.singletonList(firstParameter));
@@ -237,7 +246,7 @@ public class DaoDeleteMethodGenerator extends DaoMethodGenerator {
         GeneratedCodePatterns.setValue(
             property.getCqlName(),
             property.getType(),
-            CodeBlock.of("$L.$L()", firstParameter.getSimpleName(), property.getGetterName()),
+            CodeBlock.of("$L.$L()", entityParameterName, property.getGetterName()),
             "boundStatementBuilder",
             createStatementBlock,
             enclosingClass);
@@ -283,7 +292,18 @@ public class DaoDeleteMethodGenerator extends DaoMethodGenerator {
         .add("\n")
         .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-    return crudMethod(createStatementBlock, returnType, helperFieldName);
+    if (isBulk) {
+      boolean batchable = !annotation.ifExists() && customIfClause.isEmpty();
+      return bulkMethod(
+          createStatementBlock,
+          returnType,
+          entityElement,
+          firstParameter,
+          entityParameterName,
+          batchable,
+          statementName);
+    }
+    return crudMethod(createStatementBlock, returnType, helperFieldName, statementName);
   }
 
   private void generatePrepareRequest(
@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.driver.internal.mapper.processor.dao;
 
+import static com.datastax.oss.driver.api.mapper.MapperBuilder.DEFERRED_STATEMENT_PREPARATION_SETTING;
 import static com.datastax.oss.driver.api.mapper.MapperBuilder.SCHEMA_VALIDATION_ENABLED_SETTING;
 
 import com.datastax.dse.driver.internal.mapper.reactive.ReactiveDaoBase;
@@ -26,6 +27,7 @@ import com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy;
 import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.internal.mapper.DaoBase;
+import com.datastax.oss.driver.internal.mapper.DeferredPreparedStatement;
 import com.datastax.oss.driver.internal.mapper.processor.GeneratedNames;
 import com.datastax.oss.driver.internal.mapper.processor.MethodGenerator;
 import com.datastax.oss.driver.internal.mapper.processor.ProcessorContext;
@@ -441,6 +443,9 @@ public class DaoImplementationGenerator extends SingleFileCodeGenerator
     // the entity helpers and prepared statements below.
     CodeBlock.Builder newDaoStatement = CodeBlock.builder();
     newDaoStatement.add("new $1T(context$>$>", implementationName);
+    // Variant for deferred preparation: the statements are wrapped instead of awaited
+    CodeBlock.Builder newDeferredDaoStatement = CodeBlock.builder();
+    newDeferredDaoStatement.add("new $1T(context$>$>", implementationName);
 
     initAsyncBuilder.addComment("Initialize all entity helpers");
     // For each entity helper that was requested by a method generator:
@@ -453,6 +458,7 @@ public class DaoImplementationGenerator extends SingleFileCodeGenerator
       generateValidationCheck(initAsyncBuilder, fieldName);
       // - add it as a parameter to the constructor call
       newDaoStatement.add(",\n$L", fieldName);
+      newDeferredDaoStatement.add(",\n$L", fieldName);
     }
 
     initAsyncBuilder.addStatement(
@@ -483,6 +489,8 @@ public class DaoImplementationGenerator extends SingleFileCodeGenerator
       //   are complete)
       newDaoStatement.add(
           ",\n$T.getCompleted($L)", CompletableFutures.class, preparedStatement.fieldName);
+      newDeferredDaoStatement.add(
+          ",\nnew $T($L)", DeferredPreparedStatement.class, preparedStatement.fieldName);
     }
 
     initAsyncBuilder.addComment("Initialize all method invokers");
@@ -498,9 +506,24 @@ public class DaoImplementationGenerator extends SingleFileCodeGenerator
 
       // - add it as a parameter to the constructor call
       newDaoStatement.add(",\n$L", queryProvider.fieldName);
+      newDeferredDaoStatement.add(",\n$L", queryProvider.fieldName);
     }
 
     newDaoStatement.add(")");
+    newDeferredDaoStatement.add(")");
+
+    if (!preparedStatements.isEmpty()) {
+      initAsyncBuilder
+          .addComment("Build the DAO right away if the statements are prepared in the background")
+          .beginControlFlow(
+              "if ($T.TRUE.equals(context.getCustomState().get($S)))",
+              Boolean.class,
+              DEFERRED_STATEMENT_PREPARATION_SETTING)
+          .addCode("$[return $T.completedFuture(($T) ", CompletableFuture.class, interfaceElement)
+          .addCode(newDeferredDaoStatement.build())
+          .addCode(")$<$<;$]\n")
+          .endControlFlow();
+    }
 
     initAsyncBuilder
         .addComment("Build the DAO when all statements are prepared")
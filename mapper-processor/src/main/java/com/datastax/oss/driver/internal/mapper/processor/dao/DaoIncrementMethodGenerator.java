@@ -221,7 +221,7 @@ public class DaoIncrementMethodGenerator extends DaoMethodGenerator {
         .add("\n")
         .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-    return crudMethod(updateStatementBlock, returnType, helperFieldName);
+    return crudMethod(updateStatementBlock, returnType, helperFieldName, statementName);
   }
 
   private void generatePrepareRequest(
@@ -94,7 +94,7 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
   public Optional<MethodSpec> generate() {
 
     // Validate the parameters:
-    // - the first one must be the entity.
+    // - the first one must be the entity, or an Iterable of entities.
     // - the others are completely free-form (they'll be used as additional bind variables)
     // A Function<BoundStatementBuilder, BoundStatementBuilder> can be added in last position.
     List<? extends VariableElement> parameters = methodElement.getParameters();
@@ -106,6 +106,11 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
         parameters.isEmpty()
             ? null
             : EntityUtils.asEntityElement(parameters.get(0), typeParameters);
+    boolean isBulk = false;
+    if (entityElement == null && !parameters.isEmpty()) {
+      entityElement = asIterableOfEntityElement(parameters.get(0));
+      isBulk = (entityElement != null);
+    }
     if (entityElement == null) {
       context
           .getMessager()
@@ -118,7 +123,9 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
 
     // Validate the return type:
     DaoReturnType returnType =
-        parseAndValidateReturnType(getSupportedReturnTypes(), Insert.class.getSimpleName());
+        isBulk
+            ? parseAndValidateBulkReturnType(Insert.class.getSimpleName())
+            : parseAndValidateReturnType(getSupportedReturnTypes(), Insert.class.getSimpleName());
     if (returnType == null) {
       return Optional.empty();
     }
@@ -152,7 +159,8 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
     populateBuilderWithFunction(createStatementBlock, boundStatementFunction);
 
     warnIfCqlNamePresent(parameters.subList(0, 1));
-    String entityParameterName = parameters.get(0).getSimpleName().toString();
+    String entityParameterName =
+        isBulk ? getBulkElementName() : parameters.get(0).getSimpleName().toString();
 
     NullSavingStrategy nullSavingStrategy =
         nullSavingStrategyValidation.getNullSavingStrategy(
@@ -180,7 +188,18 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
         .add("\n")
         .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-    return crudMethod(createStatementBlock, returnType, helperFieldName);
+    if (isBulk) {
+      boolean batchable = !methodElement.getAnnotation(Insert.class).ifNotExists();
+      return bulkMethod(
+          createStatementBlock,
+          returnType,
+          entityElement,
+          parameters.get(0),
+          entityParameterName,
+          batchable,
+          statementName);
+    }
+    return crudMethod(createStatementBlock, returnType, helperFieldName, statementName);
   }
 
   private void generatePrepareRequest(
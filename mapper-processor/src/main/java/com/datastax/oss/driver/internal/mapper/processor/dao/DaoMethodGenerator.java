@@ -16,11 +16,15 @@
 package com.datastax.oss.driver.internal.mapper.processor.dao;
 
 import static com.datastax.oss.driver.internal.mapper.processor.dao.DefaultDaoReturnTypeKind.CUSTOM;
+import static com.datastax.oss.driver.internal.mapper.processor.dao.DefaultDaoReturnTypeKind.FUTURE_OF_VOID;
+import static com.datastax.oss.driver.internal.mapper.processor.dao.DefaultDaoReturnTypeKind.VOID;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.mapper.annotations.CqlName;
 import com.datastax.oss.driver.api.mapper.annotations.Delete;
+import com.datastax.oss.driver.api.mapper.annotations.Entity;
 import com.datastax.oss.driver.api.mapper.annotations.Increment;
 import com.datastax.oss.driver.api.mapper.annotations.StatementAttributes;
 import com.datastax.oss.driver.api.mapper.result.MapperResultProducer;
@@ -29,10 +33,12 @@ import com.datastax.oss.driver.internal.core.util.Reflection;
 import com.datastax.oss.driver.internal.mapper.processor.MethodGenerator;
 import com.datastax.oss.driver.internal.mapper.processor.ProcessorContext;
 import com.datastax.oss.driver.internal.mapper.processor.util.generation.GeneratedCodePatterns;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +55,7 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 
 public abstract class DaoMethodGenerator implements MethodGenerator {
 
@@ -252,8 +259,25 @@ public abstract class DaoMethodGenerator implements MethodGenerator {
    */
   protected Optional<MethodSpec> crudMethod(
       CodeBlock.Builder createStatementBlock, DaoReturnType returnType, String helperFieldName) {
+    return crudMethod(createStatementBlock, returnType, helperFieldName, null);
+  }
+
+  /**
+   * Same as {@link #crudMethod(CodeBlock.Builder, DaoReturnType, String)}, but also makes
+   * asynchronous methods chain on the preparation of the given statement if it is still in
+   * progress, instead of blocking on it.
+   *
+   * @param statementName the name of the field that holds the prepared statement used by {@code
+   *     createStatementBlock}, or {@code null} if it does not use one.
+   */
+  protected Optional<MethodSpec> crudMethod(
+      CodeBlock.Builder createStatementBlock,
+      DaoReturnType returnType,
+      String helperFieldName,
+      @Nullable String statementName) {
 
     MethodSpec.Builder method = GeneratedCodePatterns.override(methodElement, typeParameters);
+    addDeferredPreparationCheck(method, statementName);
     if (returnType.getKind() == CUSTOM) {
       method.addStatement(
           "$T producer = context.getResultProducer($L)",
@@ -271,6 +295,172 @@ public abstract class DaoMethodGenerator implements MethodGenerator {
     return Optional.of(method.build());
   }
 
+  /**
+   * If the method returns a future, generates a check that defers its execution until the given
+   * statement is prepared (this only happens if the mapper was built with deferred preparation):
+   *
+   * <pre>
+   * if (isPreparing(findByIdStatement)) {
+   *   return afterPreparation(findByIdStatement, () -&gt; findByIdAsync(id));
+   * }
+   * </pre>
+   */
+  private void addDeferredPreparationCheck(
+      MethodSpec.Builder method, @Nullable String statementName) {
+    TypeMirror returnTypeMirror = methodElement.getReturnType();
+    if (statementName == null
+        || returnTypeMirror.getKind() != TypeKind.DECLARED
+        || !context.getClassUtils().isFuture((DeclaredType) returnTypeMirror)) {
+      return;
+    }
+    String arguments =
+        methodElement.getParameters().stream()
+            .map(p -> p.getSimpleName().toString())
+            .collect(Collectors.joining(", "));
+    method
+        .beginControlFlow("if (isPreparing($L))", statementName)
+        .addStatement(
+            "return afterPreparation($L, () -> $L($L))",
+            statementName,
+            methodElement.getSimpleName(),
+            arguments)
+        .endControlFlow();
+  }
+
+  /**
+   * If the type of this parameter is an {@link Iterable} (or a subtype, such as {@link List}) of an
+   * {@link Entity}-annotated class, return that class's element, otherwise {@code null}.
+   */
+  @Nullable
+  protected TypeElement asIterableOfEntityElement(VariableElement parameter) {
+    TypeMirror mirror = parameter.asType();
+    if (mirror.getKind() != TypeKind.DECLARED
+        || ((DeclaredType) mirror).getTypeArguments().size() != 1) {
+      return null;
+    }
+    Types typeUtils = context.getTypeUtils();
+    TypeMirror iterableType =
+        typeUtils.erasure(
+            context.getElementUtils().getTypeElement(Iterable.class.getName()).asType());
+    if (!typeUtils.isAssignable(typeUtils.erasure(mirror), iterableType)) {
+      return null;
+    }
+    return EntityUtils.typeArgumentAsEntityElement(mirror, typeParameters);
+  }
+
+  /**
+   * Validates the return type of a method that operates on an {@link Iterable} of entities: it can
+   * only be {@code void}, or a future of {@code Void}.
+   */
+  @Nullable
+  protected DaoReturnType parseAndValidateBulkReturnType(@NonNull String annotationName) {
+    DaoReturnType returnType =
+        context
+            .getCodeGeneratorFactory()
+            .getDaoReturnTypeParser()
+            .parse(methodElement.getReturnType(), typeParameters);
+    if (returnType.getKind() != VOID && returnType.getKind() != FUTURE_OF_VOID) {
+      context
+          .getMessager()
+          .error(
+              methodElement,
+              "Invalid return type: %s methods that take an Iterable of entities "
+                  + "must return one of [VOID, FUTURE_OF_VOID]",
+              annotationName);
+      return null;
+    }
+    return returnType;
+  }
+
+  /**
+   * Picks the name of the loop variable that holds the current entity in a method that operates on
+   * an {@link Iterable} of entities (it must not clash with the method's parameters).
+   */
+  protected String getBulkElementName() {
+    Set<String> parameterNames =
+        methodElement.getParameters().stream()
+            .map(p -> p.getSimpleName().toString())
+            .collect(Collectors.toSet());
+    String name = "element";
+    for (int i = 1; parameterNames.contains(name); i++) {
+      name = "element" + i;
+    }
+    return name;
+  }
+
+  /**
+   * Common pattern for CRUD methods that operate on an {@link Iterable} of entities: a statement is
+   * built for each element, and they are all executed at once by the runtime (see {@code
+   * DaoBase.executeBulkAsync}).
+   *
+   * @param createStatementBlock the code that creates the statement for the current element (named
+   *     {@code elementName}). It must store it into a variable named "boundStatement".
+   * @param batchable whether the statements can be grouped into batches; this must be false for
+   *     conditional queries.
+   */
+  protected Optional<MethodSpec> bulkMethod(
+      CodeBlock.Builder createStatementBlock,
+      DaoReturnType returnType,
+      TypeElement entityElement,
+      VariableElement iterableParameter,
+      String elementName,
+      boolean batchable) {
+    return bulkMethod(
+        createStatementBlock,
+        returnType,
+        entityElement,
+        iterableParameter,
+        elementName,
+        batchable,
+        null);
+  }
+
+  /**
+   * Same as {@link #bulkMethod(CodeBlock.Builder, DaoReturnType, TypeElement, VariableElement,
+   * String, boolean)}, but also makes asynchronous methods chain on the preparation of the given
+   * statement if it is still in progress, instead of blocking on it.
+   *
+   * @param statementName the name of the field that holds the prepared statement used by {@code
+   *     createStatementBlock}, or {@code null} if it does not use one.
+   */
+  protected Optional<MethodSpec> bulkMethod(
+      CodeBlock.Builder createStatementBlock,
+      DaoReturnType returnType,
+      TypeElement entityElement,
+      VariableElement iterableParameter,
+      String elementName,
+      boolean batchable,
+      @Nullable String statementName) {
+
+    MethodSpec.Builder method = GeneratedCodePatterns.override(methodElement, typeParameters);
+    addDeferredPreparationCheck(method, statementName);
+    CodeBlock.Builder executeBlock =
+        CodeBlock.builder()
+            .addStatement(
+                "$T<$T> boundStatements = new $T<>()",
+                List.class,
+                BoundStatement.class,
+                ArrayList.class)
+            .beginControlFlow(
+                "for ($T $L : $L)",
+                ClassName.get(entityElement),
+                elementName,
+                iterableParameter.getSimpleName())
+            .add(createStatementBlock.build())
+            .addStatement("boundStatements.add(boundStatement)")
+            .endControlFlow();
+    if (returnType.getKind() == FUTURE_OF_VOID) {
+      executeBlock.addStatement("return executeBulkAsync(boundStatements, $L)", batchable);
+    } else {
+      executeBlock.addStatement("executeBulk(boundStatements, $L)", batchable);
+    }
+    method.addCode(
+        returnType
+            .getKind()
+            .wrapWithErrorHandling(executeBlock.build(), methodElement, typeParameters));
+    return Optional.of(method.build());
+  }
+
   /**
    * Reads the "entityClass" parameter from method annotations that define it (such as {@link
    * Delete} or {@link Increment}), and finds the corresponding entity class element if it exists.
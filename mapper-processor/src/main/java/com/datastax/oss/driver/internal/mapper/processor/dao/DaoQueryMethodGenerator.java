@@ -129,7 +129,7 @@ public class DaoQueryMethodGenerator extends DaoMethodGenerator {
           .add("\n")
           .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-      return crudMethod(createStatementBlock, returnType, helperFieldName);
+      return crudMethod(createStatementBlock, returnType, helperFieldName, statementName);
     } else {
       return Optional.empty();
     }
@@ -206,7 +206,7 @@ public class DaoSelectMethodGenerator extends DaoMethodGenerator {
         .add("\n")
         .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-    return crudMethod(createStatementBlock, returnType, helperFieldName);
+    return crudMethod(createStatementBlock, returnType, helperFieldName, statementName);
   }
 
   private void generateSelectRequest(
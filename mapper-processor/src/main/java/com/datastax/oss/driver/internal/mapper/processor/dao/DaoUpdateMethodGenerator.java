@@ -90,7 +90,7 @@ public class DaoUpdateMethodGenerator extends DaoMethodGenerator {
   public Optional<MethodSpec> generate() {
 
     // Validate the parameters:
-    // - the first one must be the entity.
+    // - the first one must be the entity, or an Iterable of entities.
     // - the others are completely free-form (they'll be used as additional bind variables)
     // A Function<BoundStatementBuilder, BoundStatementBuilder> can be added in last position.
     List<? extends VariableElement> parameters = methodElement.getParameters();
@@ -102,6 +102,11 @@ public class DaoUpdateMethodGenerator extends DaoMethodGenerator {
         parameters.isEmpty()
             ? null
             : EntityUtils.asEntityElement(parameters.get(0), typeParameters);
+    boolean isBulk = false;
+    if (entityElement == null && !parameters.isEmpty()) {
+      entityElement = asIterableOfEntityElement(parameters.get(0));
+      isBulk = (entityElement != null);
+    }
     if (entityElement == null) {
       context
           .getMessager()
@@ -116,7 +121,9 @@ public class DaoUpdateMethodGenerator extends DaoMethodGenerator {
 
     // Validate the return type:
     DaoReturnType returnType =
-        parseAndValidateReturnType(getSupportedReturnTypes(), Update.class.getSimpleName());
+        isBulk
+            ? parseAndValidateBulkReturnType(Update.class.getSimpleName())
+            : parseAndValidateReturnType(getSupportedReturnTypes(), Update.class.getSimpleName());
     if (returnType == null) {
       return Optional.empty();
     }
@@ -139,7 +146,8 @@ public class DaoUpdateMethodGenerator extends DaoMethodGenerator {
     populateBuilderWithStatementAttributes(createStatementBlock, methodElement);
     populateBuilderWithFunction(createStatementBlock, boundStatementFunction);
 
-    String entityParameterName = parameters.get(0).getSimpleName().toString();
+    String entityParameterName =
+        isBulk ? getBulkElementName() : parameters.get(0).getSimpleName().toString();
 
     Update annotation = methodElement.getAnnotation(Update.class);
     String customWhereClause = annotation.customWhereClause();
@@ -192,7 +200,18 @@ public class DaoUpdateMethodGenerator extends DaoMethodGenerator {
         .add("\n")
         .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-    return crudMethod(createStatementBlock, returnType, helperFieldName);
+    if (isBulk) {
+      boolean batchable = !annotation.ifExists() && annotation.customIfClause().isEmpty();
+      return bulkMethod(
+          createStatementBlock,
+          returnType,
+          entityElement,
+          parameters.get(0),
+          entityParameterName,
+          batchable,
+          statementName);
+    }
+    return crudMethod(createStatementBlock, returnType, helperFieldName, statementName);
   }
 
   private void generatePrepareRequest(
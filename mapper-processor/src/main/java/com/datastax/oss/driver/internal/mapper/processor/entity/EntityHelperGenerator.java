@@ -44,6 +44,12 @@ import javax.lang.model.element.TypeElement;
 public class EntityHelperGenerator extends SingleFileCodeGenerator
     implements BindableHandlingSharedCode {
 
+  /**
+   * The name of the field that holds the CQL names of all the entity's properties, in the order of
+   * {@link EntityDefinition#getAllValues()}.
+   */
+  static final String COLUMN_NAMES_FIELD = "columnNames";
+
   private final TypeElement classElement;
   private final ClassName helperName;
   private final NameIndex nameIndex = new NameIndex();
@@ -168,6 +174,23 @@ public class EntityHelperGenerator extends SingleFileCodeGenerator
 
     constructorContents.addCode("\n.build()$];\n");
 
+    // retain all column names, to resolve their indices when reading rows.
+    classContents.addField(
+        FieldSpec.builder(
+                ParameterizedTypeName.get(List.class, String.class),
+                COLUMN_NAMES_FIELD,
+                Modifier.PRIVATE,
+                Modifier.FINAL)
+            .build());
+
+    constructorContents.addCode(
+        "$[this.$L = $T.<$T>builder()", COLUMN_NAMES_FIELD, ImmutableList.class, String.class);
+    for (PropertyDefinition propertyDefinition : entityDefinition.getAllValues()) {
+      constructorContents.addCode("\n.add($1L)", propertyDefinition.getCqlName());
+    }
+
+    constructorContents.addCode("\n.build()$];\n");
+
     genericTypeConstantGenerator.generate(classContents);
 
     for (Map.Entry<ClassName, String> entry : childHelpers.entrySet()) {
@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.driver.internal.mapper.processor.entity;
 
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.data.GettableByName;
 import com.datastax.oss.driver.api.core.data.UdtValue;
 import com.datastax.oss.driver.internal.mapper.processor.MethodGenerator;
@@ -58,8 +59,45 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
             .addParameter(ParameterSpec.builder(TypeName.BOOLEAN, "lenient").build())
             .returns(entityDefinition.getClassName());
 
+    // Fast path for rows: read the columns by index, using a plan that is computed once per set of
+    // column definitions (see EntityHelperBase.getColumnIndices):
+    //     if (source instanceof Row) {
+    //       Row row = (Row) source;
+    //       int[] columnIndices =
+    //           getColumnIndices(row.getColumnDefinitions(), columnNames, lenient);
+    //       if (columnIndices != null) {
+    //         int propertyValue1 = columnIndices[0] >= 0 ? row.getInt(columnIndices[0]) : 0;
+    //         ...
+    //         return ...;
+    //       }
+    //     }
+    // If a column is missing and we're not lenient, getColumnIndices returns null; we fall back to
+    // the regular path, which will throw the appropriate error.
+    getBuilder
+        .beginControlFlow("if (source instanceof $T)", Row.class)
+        .addStatement("$1T row = ($1T) source", Row.class)
+        .addStatement(
+            "int[] columnIndices = getColumnIndices(row.getColumnDefinitions(), $L, lenient)",
+            EntityHelperGenerator.COLUMN_NAMES_FIELD)
+        .beginControlFlow("if (columnIndices != null)");
+    addPropertyReads(getBuilder, true);
+    getBuilder.endControlFlow().endControlFlow();
+
+    addPropertyReads(getBuilder, false);
+    return Optional.of(getBuilder.build());
+  }
+
+  /**
+   * Generates the code to read all the properties from the source, and return the entity.
+   *
+   * @param byIndex if true, the source is a local variable {@code row} of type {@link Row}, and
+   *     {@code columnIndices} contains the index of each property; otherwise, read by name from
+   *     {@code source}.
+   */
+  private void addPropertyReads(MethodSpec.Builder getBuilder, boolean byIndex) {
     TypeName returnType = entityDefinition.getClassName();
     String resultName = "returnValue";
+    String sourceName = byIndex ? "row" : "source";
     boolean mutable = entityDefinition.isMutable();
     if (mutable) {
       // Create an instance now, we'll call the setters as we go through the properties
@@ -70,9 +108,21 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
     // the entity is immutable, we'll call the all-arg constructor at the end).
     List<String> propertyValueNames = new ArrayList<>();
 
-    for (PropertyDefinition property : entityDefinition.getAllValues()) {
+    List<PropertyDefinition> properties = entityDefinition.getAllValues();
+    for (int i = 0; i < properties.size(); i++) {
+      PropertyDefinition property = properties.get(i);
       PropertyType type = property.getType();
-      CodeBlock cqlName = property.getCqlName();
+      // The argument to pass to the getters: either the column index or the CQL name
+      CodeBlock column;
+      // The condition to check before reading the property
+      CodeBlock isPresent;
+      if (byIndex) {
+        column = CodeBlock.of("columnIndices[$L]", i);
+        isPresent = CodeBlock.of("$L >= 0", column);
+      } else {
+        column = property.getCqlName();
+        isPresent = CodeBlock.of("!lenient || hasProperty(source, $L)", column);
+      }
       String setterName = property.getSetterName();
       String propertyValueName = enclosingClass.getNameIndex().uniqueField("propertyValue");
       propertyValueNames.add(propertyValueName);
@@ -85,23 +135,25 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
           //     int propertyValue1 = source.getInt("length");
           if (mutable) {
             getBuilder
-                .beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName)
+                .beginControlFlow("if ($L)", isPresent)
                 .addStatement(
-                    "$T $L = source.get$L($L)",
+                    "$T $L = $L.get$L($L)",
                     typeName,
                     propertyValueName,
+                    sourceName,
                     primitiveAccessor,
-                    cqlName)
+                    column)
                 .addStatement("$L.$L($L)", resultName, setterName, propertyValueName)
                 .endControlFlow();
           } else {
             getBuilder.addStatement(
-                "$T $L = !lenient || hasProperty(source, $L) ? source.get$L($L) : $L",
+                "$T $L = $L ? $L.get$L($L) : $L",
                 typeName,
                 propertyValueName,
-                cqlName,
+                isPresent,
+                sourceName,
                 primitiveAccessor,
-                cqlName,
+                column,
                 typeName.equals(TypeName.BOOLEAN) ? false : 0);
           }
         } else if (typeName instanceof ClassName) {
@@ -109,22 +161,24 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
           //     UUID propertyValue1 = source.get("id", UUID.class);
           if (mutable) {
             getBuilder
-                .beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName)
+                .beginControlFlow("if ($L)", isPresent)
                 .addStatement(
-                    "$T $L = source.get($L, $T.class)",
+                    "$T $L = $L.get($L, $T.class)",
                     typeName,
                     propertyValueName,
-                    cqlName,
+                    sourceName,
+                    column,
                     typeName)
                 .addStatement("$L.$L($L)", resultName, setterName, propertyValueName)
                 .endControlFlow();
           } else {
             getBuilder.addStatement(
-                "$T $L = !lenient || hasProperty(source, $L) ? source.get($L, $T.class) : null",
+                "$T $L = $L ? $L.get($L, $T.class) : null",
                 typeName,
                 propertyValueName,
-                cqlName,
-                cqlName,
+                isPresent,
+                sourceName,
+                column,
                 typeName);
           }
         } else {
@@ -137,22 +191,24 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
           // advantage in calling them instead of the generic get().
           if (mutable) {
             getBuilder
-                .beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName)
+                .beginControlFlow("if ($L)", isPresent)
                 .addStatement(
-                    "$T $L = source.get($L, $L)",
+                    "$T $L = $L.get($L, $L)",
                     typeName,
                     propertyValueName,
-                    cqlName,
+                    sourceName,
+                    column,
                     enclosingClass.addGenericTypeConstant(typeName))
                 .addStatement("$L.$L($L)", resultName, setterName, propertyValueName)
                 .endControlFlow();
           } else {
             getBuilder.addStatement(
-                "$T $L = !lenient || hasProperty(source, $L) ? source.get($L, $L) : null",
+                "$T $L = $L ? $L.get($L, $L) : null",
                 typeName,
                 propertyValueName,
-                cqlName,
-                cqlName,
+                isPresent,
+                sourceName,
+                column,
                 enclosingClass.addGenericTypeConstant(typeName));
           }
         }
@@ -164,14 +220,14 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
         //     propertyValue1 = udtValue1 == null ? null : dimensionsHelper.get(udtValue1);
         String udtValueName = enclosingClass.getNameIndex().uniqueField("udtValue");
         if (mutable) {
-          getBuilder.beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName);
+          getBuilder.beginControlFlow("if ($L)", isPresent);
           getBuilder.addStatement("$T $L", entityClass, propertyValueName);
         } else {
           getBuilder.addStatement("$T $L = null", entityClass, propertyValueName);
-          getBuilder.beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName);
+          getBuilder.beginControlFlow("if ($L)", isPresent);
         }
         getBuilder.addStatement(
-            "$T $L = source.getUdtValue($L)", UdtValue.class, udtValueName, cqlName);
+            "$T $L = $L.getUdtValue($L)", UdtValue.class, udtValueName, sourceName, column);
 
         // Get underlying udt object and set it on return type
         String childHelper = enclosingClass.addEntityHelperField(entityClass);
@@ -198,20 +254,21 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
         //       into nested collections if necessary
         //     }
         if (mutable) {
-          getBuilder.beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName);
+          getBuilder.beginControlFlow("if ($L)", isPresent);
           getBuilder.addStatement("$T $L", type.asTypeName(), propertyValueName);
         } else {
           getBuilder.addStatement("$T $L = null", type.asTypeName(), propertyValueName);
-          getBuilder.beginControlFlow("if (!lenient || hasProperty(source, $L))", cqlName);
+          getBuilder.beginControlFlow("if ($L)", isPresent);
         }
 
         String rawCollectionName = enclosingClass.getNameIndex().uniqueField("rawCollection");
         TypeName rawCollectionType = type.asRawTypeName();
         getBuilder.addStatement(
-            "$T $L = source.get($L, $L)",
+            "$T $L = $L.get($L, $L)",
             rawCollectionType,
             rawCollectionName,
-            cqlName,
+            sourceName,
+            column,
             enclosingClass.addGenericTypeConstant(rawCollectionType));
 
         getBuilder
@@ -230,16 +287,15 @@ public class EntityHelperGetMethodGenerator implements MethodGenerator {
 
     if (mutable) {
       // We've already created an instance and filled the properties as we went
-      getBuilder.addStatement("return returnValue");
+      getBuilder.addStatement("return $L", resultName);
     } else {
       // Assume an all-arg constructor exists, and call it with all the temporary variables
       getBuilder.addCode("$[return new $T(", returnType);
       for (int i = 0; i < propertyValueNames.size(); i++) {
         getBuilder.addCode((i == 0 ? "\n$L" : ",\n$L"), propertyValueNames.get(i));
       }
-      getBuilder.addCode(")$];");
+      getBuilder.addCode(")$];\n");
     }
-    return Optional.of(getBuilder.build());
   }
 
   /**
@@ -0,0 +1,149 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+public class BulkRequestExecutorTest {
+
+  @Test
+  public void should_group_statements_by_partition() {
+    // given
+    BoundStatement a1 = mockStatement(1);
+    BoundStatement b1 = mockStatement(2);
+    BoundStatement a2 = mockStatement(1);
+    BoundStatement a3 = mockStatement(1);
+    BoundStatement unrouted = mockStatement(null);
+
+    // when
+    List<Statement<?>> requests =
+        BulkRequestExecutor.groupByPartition(ImmutableList.of(a1, b1, a2, unrouted, a3), 2);
+
+    // then
+    assertThat(requests).hasSize(4);
+    // a1 and a2 form a full batch as soon as a2 is seen
+    assertBatch(requests.get(0), a1, a2);
+    assertThat(requests.get(1)).isSameAs(unrouted);
+    // single statements are not wrapped into a batch
+    assertThat(requests.get(2)).isSameAs(b1);
+    assertThat(requests.get(3)).isSameAs(a3);
+  }
+
+  @Test
+  public void should_limit_requests_in_flight() {
+    // given
+    CqlSession session = mock(CqlSession.class);
+    List<CompletableFuture<AsyncResultSet>> responses = new ArrayList<>();
+    when(session.executeAsync(any(Statement.class)))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<AsyncResultSet> response = new CompletableFuture<>();
+              responses.add(response);
+              return response;
+            });
+    List<BoundStatement> statements = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      statements.add(mockStatement(i));
+    }
+
+    // when
+    CompletableFuture<Void> result = BulkRequestExecutor.execute(session, statements, true, 2, 10);
+
+    // then
+    assertThat(responses).hasSize(2);
+    responses.get(0).complete(null);
+    assertThat(responses).hasSize(3);
+    responses.get(1).complete(null);
+    responses.get(2).complete(null);
+    assertThat(responses).hasSize(5);
+    assertThat(result).isNotDone();
+    responses.get(3).complete(null);
+    responses.get(4).complete(null);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  public void should_stop_sending_after_failure() {
+    // given
+    CqlSession session = mock(CqlSession.class);
+    CompletableFuture<AsyncResultSet> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("mock error"));
+    when(session.executeAsync(any(Statement.class))).thenReturn(failed);
+    BoundStatement statement1 = mockStatement(1);
+    BoundStatement statement2 = mockStatement(2);
+
+    // when
+    CompletableFuture<Void> result =
+        BulkRequestExecutor.execute(session, ImmutableList.of(statement1, statement2), true, 1, 10);
+
+    // then
+    assertThat(result).isCompletedExceptionally();
+    verify(session, times(1)).executeAsync(statement1);
+    verify(session, never()).executeAsync(statement2);
+  }
+
+  @Test
+  public void should_not_overflow_stack_if_responses_are_already_complete() {
+    // given
+    CqlSession session = mock(CqlSession.class, withSettings().stubOnly());
+    when(session.executeAsync(any(Statement.class)))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    BoundStatement statement = mockStatement(null);
+    List<BoundStatement> statements = Collections.nCopies(100_000, statement);
+
+    // when
+    CompletableFuture<Void> result = BulkRequestExecutor.execute(session, statements, false, 2, 10);
+
+    // then
+    assertThat(result).isCompleted();
+  }
+
+  private static BoundStatement mockStatement(Integer routingKey) {
+    BoundStatement statement = mock(BoundStatement.class);
+    when(statement.getRoutingKey())
+        .thenReturn(
+            routingKey == null ? null : ByteBuffer.wrap(new byte[] {routingKey.byteValue()}));
+    return statement;
+  }
+
+  private static void assertBatch(Statement<?> request, BoundStatement... children) {
+    assertThat(request).isInstanceOf(BatchStatement.class);
+    BatchStatement batch = (BatchStatement) request;
+    assertThat(batch.getBatchType()).isEqualTo(BatchType.UNLOGGED);
+    assertThat(batch).containsExactly(children);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.servererrors.SyntaxError;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DeferredPreparedStatementTest {
+
+  @Test
+  public void should_delegate_to_prepared_statement_once_available() {
+    // given
+    PreparedStatement delegate = mock(PreparedStatement.class);
+    BoundStatement boundStatement = mock(BoundStatement.class);
+    when(delegate.bind(1)).thenReturn(boundStatement);
+    when(delegate.getQuery()).thenReturn("SELECT * FROM foo WHERE k = ?");
+    CompletableFuture<PreparedStatement> future = new CompletableFuture<>();
+    DeferredPreparedStatement deferred = new DeferredPreparedStatement(future);
+
+    // when
+    future.complete(delegate);
+
+    // then
+    assertThat(deferred.bind(1)).isSameAs(boundStatement);
+    assertThat(deferred.getQuery()).isEqualTo("SELECT * FROM foo WHERE k = ?");
+    verify(delegate, times(1)).bind(1);
+  }
+
+  @Test
+  public void should_rethrow_preparation_error_on_each_use() {
+    // given
+    CompletableFuture<PreparedStatement> future = new CompletableFuture<>();
+    DeferredPreparedStatement deferred = new DeferredPreparedStatement(future);
+
+    // when
+    future.completeExceptionally(new SyntaxError(mock(Node.class), "mock error"));
+
+    // then
+    assertThatThrownBy(deferred::boundStatementBuilder)
+        .isInstanceOf(SyntaxError.class)
+        .hasMessage("mock error");
+    assertThatThrownBy(deferred::getId).isInstanceOf(SyntaxError.class);
+  }
+
+  @Test
+  public void should_chain_async_execution_on_pending_preparation() {
+    // given
+    PreparedStatement delegate = mock(PreparedStatement.class);
+    when(delegate.getQuery()).thenReturn("SELECT * FROM foo WHERE k = ?");
+    CompletableFuture<PreparedStatement> future = new CompletableFuture<>();
+    DeferredPreparedStatement deferred = new DeferredPreparedStatement(future);
+    AtomicInteger invocations = new AtomicInteger();
+
+    // when
+    assertThat(DaoBase.isPreparing(deferred)).isTrue();
+    CompletionStage<String> result =
+        DaoBase.afterPreparation(
+            deferred,
+            () -> {
+              invocations.incrementAndGet();
+              // This would throw if the statement was not prepared yet, since we're not allowed to
+              // block on a driver thread
+              return CompletableFuture.completedFuture(deferred.getQuery());
+            });
+
+    // then
+    assertThat(invocations).hasValue(0);
+    future.complete(delegate);
+    assertThat(DaoBase.isPreparing(deferred)).isFalse();
+    assertThat(invocations).hasValue(1);
+    assertThat(result.toCompletableFuture()).isCompletedWithValue("SELECT * FROM foo WHERE k = ?");
+  }
+
+  @Test
+  public void should_invoke_async_execution_when_preparation_fails() {
+    // given
+    CompletableFuture<PreparedStatement> future = new CompletableFuture<>();
+    DeferredPreparedStatement deferred = new DeferredPreparedStatement(future);
+    CompletionStage<String> result =
+        DaoBase.afterPreparation(
+            deferred,
+            () -> {
+              try {
+                return CompletableFuture.completedFuture(deferred.getQuery());
+              } catch (Throwable t) {
+                return CompletableFutures.failedFuture(t);
+              }
+            });
+
+    // when
+    future.completeExceptionally(new SyntaxError(mock(Node.class), "mock error"));
+
+    // then
+    assertThat(result.toCompletableFuture()).isCompletedExceptionally();
+    assertThatThrownBy(() -> result.toCompletableFuture().join())
+        .hasCauseInstanceOf(SyntaxError.class);
+  }
+
+  @Test
+  public void should_not_report_regular_statement_as_preparing() {
+    assertThat(DaoBase.isPreparing(mock(PreparedStatement.class))).isFalse();
+  }
+}
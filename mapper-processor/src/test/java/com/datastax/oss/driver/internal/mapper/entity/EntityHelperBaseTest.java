@@ -17,10 +17,14 @@ package com.datastax.oss.driver.internal.mapper.entity;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
@@ -72,6 +76,45 @@ public class EntityHelperBaseTest {
         .hasMessageContaining("There is no cql column for entity column: c1");
   }
 
+  @Test
+  public void should_resolve_and_cache_column_indices() {
+    // given
+    @SuppressWarnings("unchecked")
+    EntityHelperBase<Object> helper = mock(EntityHelperBase.class, CALLS_REAL_METHODS);
+    List<String> columnNames = ImmutableList.of("c1", "c2", "c3");
+    ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+    when(definitions.firstIndexOf("c1")).thenReturn(1);
+    when(definitions.firstIndexOf("c2")).thenReturn(0);
+    when(definitions.firstIndexOf("c3")).thenReturn(-1);
+
+    // when
+    int[] indices1 = helper.getColumnIndices(definitions, columnNames, true);
+    int[] indices2 = helper.getColumnIndices(definitions, columnNames, true);
+
+    // then
+    assertThat(indices1).containsExactly(1, 0, -1);
+    assertThat(indices2).isSameAs(indices1);
+    verify(definitions, times(1)).firstIndexOf("c1");
+  }
+
+  @Test
+  public void should_not_return_column_indices_if_not_lenient_and_column_missing() {
+    // given
+    @SuppressWarnings("unchecked")
+    EntityHelperBase<Object> helper = mock(EntityHelperBase.class, CALLS_REAL_METHODS);
+    List<String> columnNames = ImmutableList.of("c1", "c2");
+    ColumnDefinitions complete = mock(ColumnDefinitions.class);
+    when(complete.firstIndexOf("c1")).thenReturn(0);
+    when(complete.firstIndexOf("c2")).thenReturn(1);
+    ColumnDefinitions incomplete = mock(ColumnDefinitions.class);
+    when(incomplete.firstIndexOf("c1")).thenReturn(0);
+    when(incomplete.firstIndexOf("c2")).thenReturn(-1);
+
+    // when, then
+    assertThat(helper.getColumnIndices(complete, columnNames, false)).containsExactly(0, 1);
+    assertThat(helper.getColumnIndices(incomplete, columnNames, false)).isNull();
+  }
+
   @DataProvider
   public static Object[][] typesProvider() {
     ColumnMetadata columnMetadataText = mock(ColumnMetadata.class);
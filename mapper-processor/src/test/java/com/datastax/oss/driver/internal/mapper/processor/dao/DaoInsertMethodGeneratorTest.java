@@ -17,8 +17,10 @@ package com.datastax.oss.driver.internal.mapper.processor.dao;
 
 import com.datastax.oss.driver.api.mapper.annotations.Insert;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -66,6 +68,18 @@ public class DaoInsertMethodGeneratorTest extends DaoMethodGeneratorTest {
             .returns(TypeName.INT)
             .build(),
       },
+      {
+        "Invalid return type: Insert methods that take an Iterable of entities "
+            + "must return one of [VOID, FUTURE_OF_VOID]",
+        MethodSpec.methodBuilder("insert")
+            .addAnnotation(Insert.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .addParameter(
+                ParameterizedTypeName.get(ClassName.get(Iterable.class), ENTITY_CLASS_NAME),
+                "entities")
+            .returns(TypeName.BOOLEAN)
+            .build(),
+      },
     };
   }
 
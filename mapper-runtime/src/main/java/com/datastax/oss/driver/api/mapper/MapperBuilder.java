@@ -20,6 +20,7 @@ import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
 import com.datastax.oss.driver.api.mapper.annotations.DaoFactory;
+import com.datastax.oss.driver.api.mapper.annotations.Insert;
 import com.datastax.oss.driver.api.mapper.annotations.Mapper;
 import com.datastax.oss.driver.api.mapper.annotations.NamingStrategy;
 import com.datastax.oss.driver.api.mapper.annotations.QueryProvider;
@@ -39,6 +40,11 @@ public abstract class MapperBuilder<MapperT> {
 
   public static final String SCHEMA_VALIDATION_ENABLED_SETTING =
       "datastax.mapper.schemaValidationEnabled";
+  public static final String DEFERRED_STATEMENT_PREPARATION_SETTING =
+      "datastax.mapper.deferredStatementPreparation";
+  public static final String BULK_MAX_CONCURRENT_REQUESTS_SETTING =
+      "datastax.mapper.bulkMaxConcurrentRequests";
+  public static final String BULK_MAX_BATCH_SIZE_SETTING = "datastax.mapper.bulkMaxBatchSize";
   protected final CqlSession session;
   protected CqlIdentifier defaultKeyspaceId;
   protected Map<Object, Object> customState;
@@ -50,6 +56,9 @@ public abstract class MapperBuilder<MapperT> {
     this.customState = new HashMap<>();
     // schema validation is enabled by default
     customState.put(SCHEMA_VALIDATION_ENABLED_SETTING, true);
+    customState.put(DEFERRED_STATEMENT_PREPARATION_SETTING, false);
+    customState.put(BULK_MAX_CONCURRENT_REQUESTS_SETTING, 32);
+    customState.put(BULK_MAX_BATCH_SIZE_SETTING, 20);
   }
 
   /**
@@ -171,6 +180,56 @@ public abstract class MapperBuilder<MapperT> {
     return this;
   }
 
+  /**
+   * Whether DAO factory methods should return without waiting for the DAO's statements to be
+   * prepared.
+   *
+   * <p>By default, a DAO factory method prepares all the statements of the DAO in parallel, and
+   * returns (or completes its future) once they are all ready. This fails fast if a query is
+   * invalid, but it means that startup time includes at least one round trip per DAO.
+   *
+   * <p>If this is enabled, the factory method returns immediately while the statements are prepared
+   * in the background. Asynchronous DAO methods (that return a {@code CompletionStage} or {@code
+   * CompletableFuture}) that are invoked before their statement is ready execute once it is,
+   * without blocking the calling thread. Other DAO methods wait for their statement the first time
+   * they're invoked. In both cases, preparation errors are reported at that point (every subsequent
+   * invocation of the method will fail with the same error).
+   *
+   * <p>Deferred preparation is disabled by default.
+   *
+   * @see DaoFactory
+   */
+  @NonNull
+  public MapperBuilder<MapperT> withDeferredStatementPreparation(boolean deferPreparation) {
+    customState.put(DEFERRED_STATEMENT_PREPARATION_SETTING, deferPreparation);
+    return this;
+  }
+
+  /**
+   * How to execute DAO methods that operate on multiple entities at once (for example an {@link
+   * Insert} method that takes an {@code Iterable} of entities).
+   *
+   * <p>The statements generated for each entity are grouped by partition into {@code UNLOGGED}
+   * batches of at most {@code maxBatchSize} statements (a value of 1 disables batching altogether).
+   * The resulting requests are then executed concurrently, with at most {@code
+   * maxConcurrentRequests} in flight at any given time.
+   *
+   * <p>The defaults are 32 concurrent requests and batches of 20 statements.
+   */
+  @NonNull
+  public MapperBuilder<MapperT> withBulkExecutionLimits(
+      int maxConcurrentRequests, int maxBatchSize) {
+    if (maxConcurrentRequests < 1) {
+      throw new IllegalArgumentException("maxConcurrentRequests must be strictly positive");
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be strictly positive");
+    }
+    customState.put(BULK_MAX_CONCURRENT_REQUESTS_SETTING, maxConcurrentRequests);
+    customState.put(BULK_MAX_BATCH_SIZE_SETTING, maxBatchSize);
+    return this;
+  }
+
   /**
    * Stores custom state that will be propagated to {@link MapperContext#getCustomState()}.
    *
@@ -22,6 +22,7 @@ import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.session.Session;
 import com.datastax.oss.driver.api.core.session.SessionBuilder;
+import com.datastax.oss.driver.api.mapper.MapperBuilder;
 import com.datastax.oss.driver.api.mapper.result.MapperResultProducer;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -50,6 +51,11 @@ import java.util.function.UnaryOperator;
  * The method can operate either on an entity instance, or on a primary key (partition key +
  * clustering columns).
  *
+ * <p>When operating on entity instances, the first parameter can also be an {@link Iterable} of
+ * entities. In that case, the method must return {@code void} or a future of {@code Void}; the
+ * statements are grouped by partition into unlogged batches and executed concurrently (see {@link
+ * MapperBuilder#withBulkExecutionLimits(int, int)}).
+ *
  * <p>In the latter case, the parameters must match the types of the primary key columns, in the
  * exact order (which is defined by the integer values of the {@link PartitionKey} and {@link
  * ClusteringColumn} annotations in the entity class). The parameter names don't necessarily need to
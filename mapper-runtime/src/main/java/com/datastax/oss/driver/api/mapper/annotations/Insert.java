@@ -21,6 +21,7 @@ import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.session.Session;
 import com.datastax.oss.driver.api.core.session.SessionBuilder;
+import com.datastax.oss.driver.api.mapper.MapperBuilder;
 import com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy;
 import com.datastax.oss.driver.api.mapper.result.MapperResultProducer;
 import java.lang.annotation.ElementType;
@@ -50,6 +51,11 @@ import java.util.function.UnaryOperator;
  *
  * The first parameter must be the entity to insert.
  *
+ * <p>This parameter can also be an {@link Iterable} of entities. In that case, the method must
+ * return {@code void} or a future of {@code Void}; the statements are grouped by partition into
+ * unlogged batches and executed concurrently (see {@link MapperBuilder#withBulkExecutionLimits(int,
+ * int)}).
+ *
  * <p>If the query has a {@linkplain #ttl() TTL} and/or {@linkplain #timestamp() timestamp} with
  * placeholders, the method must have corresponding additional parameters (same name, and a
  * compatible Java type):
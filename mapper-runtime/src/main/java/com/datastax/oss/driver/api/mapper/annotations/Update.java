@@ -22,6 +22,7 @@ import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.session.Session;
 import com.datastax.oss.driver.api.core.session.SessionBuilder;
+import com.datastax.oss.driver.api.mapper.MapperBuilder;
 import com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy;
 import com.datastax.oss.driver.api.mapper.result.MapperResultProducer;
 import java.lang.annotation.ElementType;
@@ -52,6 +53,11 @@ import java.util.function.UnaryOperator;
  * <p>The first parameter must be an entity instance. All of its non-PK properties will be
  * interpreted as values to update.
  *
+ * <p>This parameter can also be an {@link Iterable} of entities. In that case, the method must
+ * return {@code void} or a future of {@code Void}; the statements are grouped by partition into
+ * unlogged batches and executed concurrently (see {@link MapperBuilder#withBulkExecutionLimits(int,
+ * int)}).
+ *
  * <ul>
  *   <li>If {@link #customWhereClause()} is empty, the mapper defaults to an update by primary key
  *       (partition key + clustering columns). The WHERE clause is generated automatically, and
@@ -0,0 +1,178 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Executes the statements produced by a DAO method that operates on multiple entities.
+ *
+ * <p>Statements that target the same partition are grouped into {@code UNLOGGED} batches (a
+ * multi-partition batch would put more load on the coordinator than individual requests). The
+ * resulting requests are executed concurrently, with a bounded number in flight: each request that
+ * completes triggers the next one.
+ *
+ * <p>The returned future completes when all requests have succeeded, or as soon as one fails (in
+ * that case, the requests that haven't been sent yet are abandoned).
+ */
+@ThreadSafe
+class BulkRequestExecutor {
+
+  static CompletableFuture<Void> execute(
+      CqlSession session,
+      List<BoundStatement> statements,
+      boolean batchable,
+      int maxConcurrentRequests,
+      int maxBatchSize) {
+    if (statements.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    List<Statement<?>> requests =
+        (batchable && maxBatchSize > 1)
+            ? groupByPartition(statements, maxBatchSize)
+            : new ArrayList<Statement<?>>(statements);
+    return new BulkRequestExecutor(session, requests).start(maxConcurrentRequests);
+  }
+
+  static List<Statement<?>> groupByPartition(List<BoundStatement> statements, int maxBatchSize) {
+    List<Statement<?>> requests = new ArrayList<>();
+    Map<ByteBuffer, List<BoundStatement>> groups = new LinkedHashMap<>();
+    for (BoundStatement statement : statements) {
+      ByteBuffer routingKey = statement.getRoutingKey();
+      if (routingKey == null) {
+        // Can't tell which partition it belongs to, send it on its own
+        requests.add(statement);
+      } else {
+        List<BoundStatement> group = groups.computeIfAbsent(routingKey, k -> new ArrayList<>());
+        group.add(statement);
+        if (group.size() == maxBatchSize) {
+          requests.add(toRequest(group));
+          groups.remove(routingKey);
+        }
+      }
+    }
+    for (List<BoundStatement> group : groups.values()) {
+      requests.add(toRequest(group));
+    }
+    return requests;
+  }
+
+  private static Statement<?> toRequest(List<BoundStatement> group) {
+    BoundStatement first = group.get(0);
+    if (group.size() == 1) {
+      return first;
+    }
+    // All statements come from the same DAO method, so they share the same attributes
+    BatchStatementBuilder builder =
+        BatchStatement.builder(BatchType.UNLOGGED)
+            .addStatements(new ArrayList<BatchableStatement<?>>(group))
+            .setExecutionProfileName(first.getExecutionProfileName())
+            .setExecutionProfile(first.getExecutionProfile())
+            .setConsistencyLevel(first.getConsistencyLevel())
+            .setSerialConsistencyLevel(first.getSerialConsistencyLevel())
+            .setTimeout(first.getTimeout())
+            .setTracing(first.isTracing());
+    if (first.isIdempotent() != null) {
+      builder.setIdempotence(first.isIdempotent());
+    }
+    return builder.build();
+  }
+
+  private final CqlSession session;
+  private final Queue<Statement<?>> pending;
+  private final AtomicInteger remaining;
+  private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+  private BulkRequestExecutor(CqlSession session, List<Statement<?>> requests) {
+    this.session = session;
+    this.pending = new ConcurrentLinkedQueue<>(requests);
+    this.remaining = new AtomicInteger(requests.size());
+  }
+
+  private CompletableFuture<Void> start(int maxConcurrentRequests) {
+    for (int i = 0; i < maxConcurrentRequests; i++) {
+      if (!sendNext()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Sends requests until one of them is still in flight when it is returned.
+   *
+   * <p>Responses that are already complete are processed in this loop; only an asynchronous
+   * completion calls this method again. Recursing from the callback instead would grow the stack
+   * with every request, and overflow it if a large number of responses complete immediately.
+   *
+   * @return whether a request was left in flight.
+   */
+  private boolean sendNext() {
+    while (!result.isDone()) {
+      Statement<?> request = pending.poll();
+      if (request == null) {
+        return false;
+      }
+      CompletableFuture<AsyncResultSet> response =
+          session.executeAsync(request).toCompletableFuture();
+      if (!response.isDone()) {
+        response.whenComplete(
+            (rs, error) -> {
+              if (onResponse(error)) {
+                sendNext();
+              }
+            });
+        return true;
+      }
+      // handle() runs synchronously on a completed future
+      if (!onResponse(response.handle((rs, error) -> error).join())) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /** @return whether more requests should be sent. */
+  private boolean onResponse(Throwable error) {
+    if (error != null) {
+      pending.clear();
+      result.completeExceptionally(error);
+      return false;
+    } else if (remaining.decrementAndGet() == 0) {
+      result.complete(null);
+      return false;
+    } else {
+      return true;
+    }
+  }
+}
@@ -20,6 +20,7 @@ import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
@@ -27,6 +28,7 @@ import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.mapper.MapperBuilder;
 import com.datastax.oss.driver.api.mapper.MapperContext;
 import com.datastax.oss.driver.api.mapper.MapperException;
 import com.datastax.oss.driver.api.mapper.annotations.Dao;
@@ -35,11 +37,15 @@ import com.datastax.oss.driver.api.mapper.entity.EntityHelper;
 import com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy;
 import com.datastax.oss.driver.internal.core.ConsistencyLevelRegistry;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.protocol.internal.ProtocolConstants;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -67,6 +73,33 @@ public class DaoBase {
     return context.getSession().prepareAsync(statement);
   }
 
+  /**
+   * Whether the given statement is still being prepared in the background (see {@link
+   * MapperBuilder#withDeferredStatementPreparation(boolean)}).
+   *
+   * <p>This is used by asynchronous DAO methods, which must not block until the statement is ready:
+   * instead, they chain their execution with {@link #afterPreparation}.
+   */
+  protected static boolean isPreparing(PreparedStatement statement) {
+    return statement instanceof DeferredPreparedStatement
+        && ((DeferredPreparedStatement) statement).isPreparing();
+  }
+
+  /**
+   * Invokes the given action once the given statement is prepared.
+   *
+   * <p>The action is invoked even if the preparation fails: it is expected to use the statement,
+   * which will rethrow the error, so that it gets reported exactly as if the DAO method had been
+   * invoked after the preparation.
+   */
+  protected static <ResultT> CompletableFuture<ResultT> afterPreparation(
+      PreparedStatement statement, Supplier<? extends CompletionStage<ResultT>> action) {
+    return ((DeferredPreparedStatement) statement)
+        .whenPrepared()
+        .handle((preparedStatement, error) -> null)
+        .thenCompose(v -> action.get());
+  }
+
   /**
    * Replaces {@link #KEYSPACE_ID_PLACEHOLDER}, {@link #TABLE_ID_PLACEHOLDER} and/or {@link
    * #QUALIFIED_TABLE_ID_PLACEHOLDER} in a query string, and turns it into a statement.
@@ -261,6 +294,33 @@ public class DaoBase {
     return executeAsync(statement).thenApply(rs -> null);
   }
 
+  /**
+   * Executes the statements generated by a DAO method that operates on multiple entities, according
+   * to the limits configured with {@link MapperBuilder#withBulkExecutionLimits(int, int)}.
+   *
+   * @param batchable whether the statements can be grouped into batches. This is false for
+   *     conditional statements, because a batch fails entirely if any of its conditions fails.
+   */
+  protected CompletableFuture<Void> executeBulkAsync(
+      List<BoundStatement> statements, boolean batchable) {
+    return BulkRequestExecutor.execute(
+        context.getSession(),
+        statements,
+        batchable,
+        getIntSetting(MapperBuilder.BULK_MAX_CONCURRENT_REQUESTS_SETTING, 32),
+        getIntSetting(MapperBuilder.BULK_MAX_BATCH_SIZE_SETTING, 20));
+  }
+
+  protected void executeBulk(List<BoundStatement> statements, boolean batchable) {
+    BlockingOperation.checkNotDriverThread();
+    CompletableFutures.getUninterruptibly(executeBulkAsync(statements, batchable));
+  }
+
+  private int getIntSetting(String key, int defaultValue) {
+    Object value = context.getCustomState().get(key);
+    return (value instanceof Integer) ? (Integer) value : defaultValue;
+  }
+
   protected CompletableFuture<Boolean> executeAsyncAndMapWasAppliedToBoolean(
       Statement<?> statement) {
     return executeAsync(statement).thenApply(AsyncResultSet::wasApplied);
@@ -0,0 +1,128 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.mapper.MapperBuilder;
+import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A prepared statement that might still be in the process of being prepared.
+ *
+ * <p>This is used by generated DAOs when {@linkplain
+ * MapperBuilder#withDeferredStatementPreparation(boolean) deferred preparation} is enabled: the DAO
+ * is built right away. Asynchronous DAO methods that are invoked before their statement is ready
+ * chain their execution on the preparation (see {@link DaoBase#afterPreparation}); other DAO
+ * methods wait for their statement the first time they're invoked (subsequent invocations don't
+ * wait, the result is cached). If the preparation failed, every use of the statement rethrows the
+ * error.
+ */
+@ThreadSafe
+public class DeferredPreparedStatement implements PreparedStatement {
+
+  private final CompletableFuture<PreparedStatement> future;
+  private volatile PreparedStatement delegate;
+
+  public DeferredPreparedStatement(@NonNull CompletionStage<PreparedStatement> stage) {
+    this.future = stage.toCompletableFuture();
+  }
+
+  /** Whether the statement is still being prepared. */
+  public boolean isPreparing() {
+    return !future.isDone();
+  }
+
+  /** A future that completes when the statement is prepared, or when the preparation fails. */
+  @NonNull
+  public CompletableFuture<PreparedStatement> whenPrepared() {
+    return future;
+  }
+
+  private PreparedStatement getDelegate() {
+    PreparedStatement result = delegate;
+    if (result == null) {
+      if (!future.isDone()) {
+        BlockingOperation.checkNotDriverThread();
+      }
+      result = CompletableFutures.getUninterruptibly(future);
+      delegate = result;
+    }
+    return result;
+  }
+
+  @NonNull
+  @Override
+  public ByteBuffer getId() {
+    return getDelegate().getId();
+  }
+
+  @NonNull
+  @Override
+  public String getQuery() {
+    return getDelegate().getQuery();
+  }
+
+  @NonNull
+  @Override
+  public ColumnDefinitions getVariableDefinitions() {
+    return getDelegate().getVariableDefinitions();
+  }
+
+  @NonNull
+  @Override
+  public List<Integer> getPartitionKeyIndices() {
+    return getDelegate().getPartitionKeyIndices();
+  }
+
+  @Override
+  public ByteBuffer getResultMetadataId() {
+    return getDelegate().getResultMetadataId();
+  }
+
+  @NonNull
+  @Override
+  public ColumnDefinitions getResultSetDefinitions() {
+    return getDelegate().getResultSetDefinitions();
+  }
+
+  @Override
+  public void setResultMetadata(
+      @NonNull ByteBuffer newResultMetadataId, @NonNull ColumnDefinitions newResultSetDefinitions) {
+    getDelegate().setResultMetadata(newResultMetadataId, newResultSetDefinitions);
+  }
+
+  @NonNull
+  @Override
+  public BoundStatement bind(@NonNull Object... values) {
+    return getDelegate().bind(values);
+  }
+
+  @NonNull
+  @Override
+  public BoundStatementBuilder boundStatementBuilder(@NonNull Object... values) {
+    return getDelegate().boundStatementBuilder(values);
+  }
+}
@@ -18,6 +18,7 @@ package com.datastax.oss.driver.internal.mapper.entity;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.data.AccessibleByName;
 import com.datastax.oss.driver.api.core.data.GettableByName;
@@ -55,6 +56,9 @@ public abstract class EntityHelperBase<EntityT> implements EntityHelper<EntityT>
 
   protected final MapperContext context;
 
+  // The last plan computed by getColumnIndices
+  private volatile ColumnIndexPlan columnIndexPlan;
+
   protected EntityHelperBase(MapperContext context, String defaultTableName) {
     this(context, null, defaultTableName);
   }
@@ -229,6 +233,31 @@ public abstract class EntityHelperBase<EntityT> implements EntityHelper<EntityT>
     return keyspaces.containsKey(keyspaceId);
   }
 
+  /**
+   * Resolves the indices of the given columns in a set of column definitions.
+   *
+   * <p>This is used by generated code to read rows by index, instead of resolving the name of each
+   * column for every row. The result is cached for the last definitions passed to this method
+   * (compared by reference), so in practice it is computed once per result set or prepared
+   * statement.
+   *
+   * @param columnNames the names of the columns to resolve. This must be the same list for every
+   *     call (typically a constant of the generated class).
+   * @return for each column name, its index in the definitions, or -1 if the column is not present.
+   *     If {@code lenient} is false and some columns are not present, {@code null} is returned
+   *     instead.
+   */
+  @Nullable
+  protected int[] getColumnIndices(
+      @NonNull ColumnDefinitions definitions, @NonNull List<String> columnNames, boolean lenient) {
+    ColumnIndexPlan plan = columnIndexPlan;
+    if (plan == null || plan.definitions != definitions) {
+      plan = new ColumnIndexPlan(definitions, columnNames);
+      columnIndexPlan = plan;
+    }
+    return (lenient || plan.complete) ? plan.indices : null;
+  }
+
   public boolean hasProperty(AccessibleByName source, String name) {
     if (source instanceof Row) {
       return ((Row) source).getColumnDefinitions().contains(name);
@@ -248,4 +277,21 @@ public abstract class EntityHelperBase<EntityT> implements EntityHelper<EntityT>
     // other implementations: assume the property is present
     return true;
   }
+
+  private static class ColumnIndexPlan {
+    private final ColumnDefinitions definitions;
+    private final int[] indices;
+    private final boolean complete;
+
+    private ColumnIndexPlan(ColumnDefinitions definitions, List<String> columnNames) {
+      this.definitions = definitions;
+      this.indices = new int[columnNames.size()];
+      boolean complete = true;
+      for (int i = 0; i < indices.length; i++) {
+        indices[i] = definitions.firstIndexOf(columnNames.get(i));
+        complete &= indices[i] >= 0;
+      }
+      this.complete = complete;
+    }
+  }
 }
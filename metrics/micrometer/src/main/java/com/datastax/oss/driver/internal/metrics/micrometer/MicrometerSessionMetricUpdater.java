@@ -36,7 +36,7 @@ public class MicrometerSessionMetricUpdater extends MicrometerMetricUpdater<Sess
 
   public MicrometerSessionMetricUpdater(
       InternalDriverContext context, Set<SessionMetric> enabledMetrics, MeterRegistry registry) {
-    super(context, enabledMetrics, registry);
+    super(context, withoutStatementTimers(context, enabledMetrics, "Micrometer"), registry);
 
     DriverExecutionProfile profile = context.getConfig().getDefaultProfile();
 
@@ -44,6 +44,17 @@ public class MicrometerSessionMetricUpdater extends MicrometerMetricUpdater<Sess
     initializeGauge(DefaultSessionMetric.THROTTLING_QUEUE_SIZE, profile, this::throttlingQueueSize);
     initializeGauge(
         DefaultSessionMetric.CQL_PREPARED_CACHE_SIZE, profile, this::preparedStatementCacheSize);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, profile, this::preparedStatementCacheHits);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES,
+        profile,
+        this::preparedStatementCacheMisses);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS,
+        profile,
+        this::preparedStatementCacheEvictions);
+    initializeGauge(DefaultSessionMetric.CQL_PREPARES_IN_FLIGHT, profile, this::preparesInFlight);
 
     initializeCounter(DefaultSessionMetric.CQL_CLIENT_TIMEOUTS, profile);
     initializeCounter(DefaultSessionMetric.THROTTLING_ERRORS, profile);
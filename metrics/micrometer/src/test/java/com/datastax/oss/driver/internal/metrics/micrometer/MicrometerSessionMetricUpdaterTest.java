@@ -18,8 +18,12 @@ package com.datastax.oss.driver.internal.metrics.micrometer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
 import com.datastax.dse.driver.api.core.config.DseDriverOption;
 import com.datastax.dse.driver.api.core.metrics.DseSessionMetric;
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
@@ -29,10 +33,13 @@ import com.datastax.oss.driver.api.core.config.DriverOption;
 import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.api.core.metrics.SessionMetric;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metrics.AbstractMetricUpdater;
 import com.datastax.oss.driver.internal.core.metrics.DefaultMetricId;
 import com.datastax.oss.driver.internal.core.metrics.MetricId;
 import com.datastax.oss.driver.internal.core.metrics.MetricIdGenerator;
+import com.datastax.oss.driver.internal.core.util.LoggerTest;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
@@ -98,6 +105,41 @@ public class MicrometerSessionMetricUpdaterTest {
     assertThat(snapshot.histogramCounts()).hasSize(2);
   }
 
+  @Test
+  public void should_disable_and_warn_about_unsupported_statement_timers() {
+    // given
+    InternalDriverContext context = mock(InternalDriverContext.class);
+    DriverExecutionProfile profile = mock(DriverExecutionProfile.class);
+    DriverConfig config = mock(DriverConfig.class);
+    Set<SessionMetric> enabledMetrics =
+        ImmutableSet.of(
+            DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT,
+            DefaultSessionMetric.CQL_REQUESTS_PER_TABLE);
+    when(context.getSessionName()).thenReturn("prefix");
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(profile);
+    when(profile.getDuration(DefaultDriverOption.METRICS_NODE_EXPIRE_AFTER))
+        .thenReturn(Duration.ofHours(1));
+    LoggerTest.LoggerSetup logger =
+        LoggerTest.setupTestLogger(AbstractMetricUpdater.class, Level.WARN);
+
+    // when
+    MicrometerSessionMetricUpdater updater =
+        new MicrometerSessionMetricUpdater(context, enabledMetrics, new SimpleMeterRegistry());
+
+    // then
+    assertThat(updater.isEnabled(DefaultSessionMetric.CQL_REQUESTS_PER_STATEMENT, null)).isFalse();
+    assertThat(updater.isEnabled(DefaultSessionMetric.CQL_REQUESTS_PER_TABLE, null)).isFalse();
+    verify(logger.appender, times(2)).doAppend(logger.loggingEventCaptor.capture());
+    assertThat(logger.loggingEventCaptor.getAllValues())
+        .extracting(ILoggingEvent::getFormattedMessage)
+        .containsExactly(
+            "[prefix] Metric cql-requests-per-statement is enabled in the config, "
+                + "but it is not supported by Micrometer. It will not be recorded",
+            "[prefix] Metric cql-requests-per-table is enabled in the config, "
+                + "but it is not supported by Micrometer. It will not be recorded");
+  }
+
   @DataProvider
   public static Object[][] timerMetrics() {
     return new Object[][] {
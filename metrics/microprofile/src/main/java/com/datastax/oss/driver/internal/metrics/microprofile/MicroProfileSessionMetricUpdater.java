@@ -32,7 +32,8 @@ public class MicroProfileSessionMetricUpdater extends MicroProfileMetricUpdater<
 
   public MicroProfileSessionMetricUpdater(
       InternalDriverContext context, Set<SessionMetric> enabledMetrics, MetricRegistry registry) {
-    super(context, enabledMetrics, registry);
+    super(
+        context, withoutStatementTimers(context, enabledMetrics, "MicroProfile Metrics"), registry);
 
     DriverExecutionProfile profile = context.getConfig().getDefaultProfile();
 
@@ -40,6 +41,17 @@ public class MicroProfileSessionMetricUpdater extends MicroProfileMetricUpdater<
     initializeGauge(DefaultSessionMetric.THROTTLING_QUEUE_SIZE, profile, this::throttlingQueueSize);
     initializeGauge(
         DefaultSessionMetric.CQL_PREPARED_CACHE_SIZE, profile, this::preparedStatementCacheSize);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, profile, this::preparedStatementCacheHits);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES,
+        profile,
+        this::preparedStatementCacheMisses);
+    initializeGauge(
+        DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS,
+        profile,
+        this::preparedStatementCacheEvictions);
+    initializeGauge(DefaultSessionMetric.CQL_PREPARES_IN_FLIGHT, profile, this::preparesInFlight);
 
     initializeCounter(DefaultSessionMetric.CQL_CLIENT_TIMEOUTS, profile);
     initializeCounter(DefaultSessionMetric.THROTTLING_ERRORS, profile);